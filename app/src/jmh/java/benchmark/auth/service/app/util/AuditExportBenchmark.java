@@ -0,0 +1,136 @@
+package benchmark.auth.service.app.util;
+
+import auth.service.app.model.dto.AuditHistoryDto;
+import auth.service.app.model.enums.TypeEnums;
+import auth.service.app.repository.AuditHistoryRepository;
+import auth.service.app.service.AuditExportService;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import tools.jackson.databind.json.JsonMapper;
+
+// compares the streamed ndjson export against reading all audits into a list and writing them
+// as one json array (as a regular mvc response would), over an in memory h2 audit_profile table
+// run with -Pjmh.includes=AuditExportBenchmark and add -prof gc to jmh args to compare allocation,
+// the list version also needs a heap big enough to hold all rows (eg: -Xmx2g)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AuditExportBenchmark {
+
+  @Param({"1000000"})
+  public int auditRows;
+
+  @Param({"false", "true"})
+  public boolean isGzip;
+
+  private AuditHistoryRepository auditHistoryRepository;
+  private AuditExportService auditExportService;
+  private JsonMapper jsonMapper;
+
+  @Setup
+  public void setUp() {
+    final DriverManagerDataSource dataSource =
+        new DriverManagerDataSource(
+            "jdbc:h2:mem:audit_export;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+    final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("DROP TABLE IF EXISTS audit_profile");
+    jdbcTemplate.execute(
+        """
+        CREATE TABLE audit_profile
+        (
+            id         BIGINT PRIMARY KEY NOT NULL,
+            profile_id BIGINT,
+            event_type VARCHAR(50)        NOT NULL,
+            event_desc TEXT,
+            event_data VARCHAR(4000),
+            created_at TIMESTAMP          NOT NULL,
+            created_by BIGINT,
+            ip_address VARCHAR(250)       NOT NULL,
+            user_agent VARCHAR(1000)      NOT NULL
+        )
+        """);
+    jdbcTemplate.update(
+        """
+        INSERT INTO audit_profile
+        SELECT x, MOD(x, 1000), 'PROFILE_UPDATE', 'Profile Update [Id: ' || MOD(x, 1000) || ']',
+        '{"id":' || MOD(x, 1000) || ',"email":"profile@one.com","isValidated":true}',
+        DATEADD('SECOND', x, TIMESTAMP '2025-01-01 00:00:00'), 1, '127.0.0.1',
+        'Mozilla/5.0 (X11; Linux x86_64) Benchmark'
+        FROM SYSTEM_RANGE(1, ?)
+        """,
+        auditRows);
+    jdbcTemplate.execute("CREATE INDEX idx_audit_profile_created_at ON audit_profile (created_at)");
+
+    auditHistoryRepository =
+        new AuditHistoryRepository(new NamedParameterJdbcTemplate(jdbcTemplate));
+    auditExportService =
+        new AuditExportService(
+            auditHistoryRepository, new DataSourceTransactionManager(dataSource));
+    jsonMapper = JsonMapper.builder().build();
+  }
+
+  @Benchmark
+  public long streamed() throws IOException {
+    final CountingOutputStream outputStream = new CountingOutputStream();
+    auditExportService.exportAudits(
+        TypeEnums.ComponentName.PROFILE, null, null, null, isGzip, outputStream);
+    return outputStream.count;
+  }
+
+  @Benchmark
+  public long materialized() throws IOException {
+    final List<AuditHistoryDto> auditHistoryDtos = new ArrayList<>();
+    auditHistoryRepository.exportAudits(
+        TypeEnums.ComponentName.PROFILE, null, null, null, auditHistoryDtos::add);
+
+    final CountingOutputStream countingOutputStream = new CountingOutputStream();
+    final OutputStream outputStream =
+        isGzip ? new GZIPOutputStream(countingOutputStream, 64 * 1024) : countingOutputStream;
+    try (Writer writer =
+        new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))) {
+      jsonMapper.writeValue(writer, auditHistoryDtos);
+    }
+    return countingOutputStream.count;
+  }
+
+  // discards the bytes, only counts them so the output can not be optimized away
+  private static final class CountingOutputStream extends OutputStream {
+    private long count;
+
+    @Override
+    public void write(final int b) {
+      count++;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) {
+      count += len;
+    }
+  }
+}
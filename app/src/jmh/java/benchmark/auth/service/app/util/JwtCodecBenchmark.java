@@ -0,0 +1,115 @@
+package benchmark.auth.service.app.util;
+
+import auth.service.app.model.token.VerifiedAuthToken;
+import auth.service.app.util.ConstantUtils;
+import auth.service.app.util.JwtCodec;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import javax.crypto.SecretKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// compares the codec against the pre-codec JwtUtils implementation, reproduced in LegacyJwtUtils
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtCodecBenchmark {
+
+  private static final String SECRET_KEY = "benchmark_secret_key_for_jwt_benchmark_purposes_only";
+  private static final long EXPIRATION_MILLIS = 60 * 60 * 1000;
+
+  private JwtCodec jwtCodec;
+  private AuthToken authToken;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    jwtCodec = new JwtCodec(SECRET_KEY);
+    authToken =
+        new AuthToken(
+            new AuthToken.AuthTokenPlatform(1L, "Platform 1"),
+            new AuthToken.AuthTokenProfile(1L, "profile@one.com"),
+            List.of(new AuthToken.AuthTokenRole(1L, "Role 1")),
+            IntStream.range(0, 25)
+                .mapToObj(i -> new AuthToken.AuthTokenPermission(i, "PERMISSION_" + i))
+                .toList(),
+            Boolean.FALSE);
+    token = jwtCodec.encodeAuthCredentials(authToken, EXPIRATION_MILLIS);
+  }
+
+  @Benchmark
+  public String encodeLegacy() {
+    return LegacyJwtUtils.encodeAuthCredentials(authToken, EXPIRATION_MILLIS);
+  }
+
+  @Benchmark
+  public String encodeCodec() {
+    return jwtCodec.encodeAuthCredentials(authToken, EXPIRATION_MILLIS);
+  }
+
+  @Benchmark
+  public Map<String, AuthToken> decodeLegacy() {
+    return LegacyJwtUtils.decodeAuthCredentials(token);
+  }
+
+  @Benchmark
+  public VerifiedAuthToken decodeCodec() {
+    return jwtCodec.verifyAuthCredentials(token);
+  }
+
+  private static final class LegacyJwtUtils {
+    private static final ObjectMapper OBJECT_MAPPER =
+        new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, true);
+
+    private static SecretKey getSigningKey() {
+      return Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String encodeAuthCredentials(
+        final AuthToken authToken, final long expirationMillis) {
+      Map<String, Object> tokenClaim = new HashMap<>();
+      tokenClaim.put(ConstantUtils.TOKEN_CLAIM_AUTH, authToken);
+      return Jwts.builder()
+          .claims(tokenClaim)
+          .subject(authToken.getProfile().getEmail())
+          .issuer(ConstantUtils.TOKEN_CLAIM_ISSUER)
+          .issuedAt(Date.from(Instant.now()))
+          .expiration(new Date(System.currentTimeMillis() + expirationMillis))
+          .signWith(getSigningKey())
+          .compact();
+    }
+
+    private static Map<String, AuthToken> decodeAuthCredentials(final String token) {
+      final String subject =
+          Jwts.parser()
+              .verifyWith(getSigningKey())
+              .build()
+              .parseSignedClaims(token)
+              .getPayload()
+              .getSubject();
+      final Claims claims =
+          Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(token).getPayload();
+
+      final AuthToken authToken =
+          OBJECT_MAPPER.convertValue(claims.get(ConstantUtils.TOKEN_CLAIM_AUTH), AuthToken.class);
+      return Map.of(subject, authToken);
+    }
+  }
+}
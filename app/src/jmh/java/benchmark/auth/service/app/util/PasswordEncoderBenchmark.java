@@ -0,0 +1,53 @@
+package benchmark.auth.service.app.util;
+
+import auth.service.app.util.PasswordEncoderRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// single benchmark thread, so the score is hashes per second per core for each encoder and cost
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class PasswordEncoderBenchmark {
+
+  private static final String PASSWORD = "benchmark-password";
+
+  @Param({"bcrypt:10", "bcrypt:11", "bcrypt:12", "bcrypt:13", "argon2id:2", "argon2id:4"})
+  public String encoder;
+
+  private PasswordEncoder passwordEncoder;
+  private String hashedPassword;
+
+  @Setup
+  public void setUp() {
+    final String[] encoderCost = encoder.split(":");
+    passwordEncoder =
+        PasswordEncoderRegistry.getPasswordEncoder(
+            encoderCost[0], Integer.parseInt(encoderCost[1]));
+    hashedPassword = passwordEncoder.encode(PASSWORD);
+  }
+
+  @Benchmark
+  public String encode() {
+    return passwordEncoder.encode(PASSWORD);
+  }
+
+  @Benchmark
+  public boolean matches() {
+    return passwordEncoder.matches(PASSWORD, hashedPassword);
+  }
+}
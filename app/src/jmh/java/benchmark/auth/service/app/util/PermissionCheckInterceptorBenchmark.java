@@ -0,0 +1,126 @@
+package benchmark.auth.service.app.util;
+
+import auth.service.app.model.annotation.CheckPermission;
+import auth.service.app.util.CommonUtils;
+import auth.service.app.util.PermissionCheck;
+import auth.service.app.util.PermissionCheckInterceptor;
+import auth.service.app.util.PermissionIndex;
+import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
+import io.github.bibekaryal86.shdsvc.exception.CheckPermissionException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+
+// compares the pre-interceptor @Before advice (reproduced in LegacyPermissionCheckAspect) through
+// an AspectJ proxy against the interceptor followed by a direct call to the controller method
+// request and response are not used by the interceptor, so they are passed as null
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PermissionCheckInterceptorBenchmark {
+
+  private BenchmarkController proxiedController;
+  private BenchmarkController controller;
+  private PermissionCheckInterceptor permissionCheckInterceptor;
+  private HandlerMethod handlerMethod;
+
+  @Setup
+  public void setUp() throws Exception {
+    final AuthToken authToken =
+        new AuthToken(
+            new AuthToken.AuthTokenPlatform(1L, "Platform 1"),
+            new AuthToken.AuthTokenProfile(1L, "profile@one.com"),
+            List.of(new AuthToken.AuthTokenRole(1L, "Role 1")),
+            IntStream.range(0, 25)
+                .mapToObj(i -> new AuthToken.AuthTokenPermission(i, "PERMISSION_" + i))
+                .toList(),
+            Boolean.FALSE);
+    // benchmark threads are not the setup thread
+    SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new UsernamePasswordAuthenticationToken(
+                "profile@one.com", authToken, Collections.emptyList()));
+
+    final AspectJProxyFactory aspectJProxyFactory =
+        new AspectJProxyFactory(new BenchmarkController());
+    aspectJProxyFactory.setProxyTargetClass(true);
+    aspectJProxyFactory.addAspect(new LegacyPermissionCheckAspect());
+    proxiedController = aspectJProxyFactory.getProxy();
+
+    final PermissionIndex permissionIndex = new PermissionIndex(null);
+    controller = new BenchmarkController();
+    permissionCheckInterceptor =
+        new PermissionCheckInterceptor(
+            new PermissionCheck(permissionIndex), permissionIndex, new SimpleMeterRegistry());
+    handlerMethod =
+        new HandlerMethod(controller, BenchmarkController.class.getMethod("readPermissions"));
+  }
+
+  @TearDown
+  public void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Benchmark
+  public String aspect() {
+    return proxiedController.readPermissions();
+  }
+
+  @Benchmark
+  public String interceptor() {
+    permissionCheckInterceptor.preHandle(null, null, handlerMethod);
+    return controller.readPermissions();
+  }
+
+  public static class BenchmarkController {
+    @CheckPermission({"PERMISSION_READ", "PERMISSION_24"})
+    public String readPermissions() {
+      return "permissions";
+    }
+  }
+
+  @Aspect
+  public static class LegacyPermissionCheckAspect {
+    @Before("@annotation(checkPermission)")
+    public void checkPermission(final CheckPermission checkPermission) {
+      final String[] requiredPermissions = checkPermission.value();
+
+      try {
+        final AuthToken authToken = CommonUtils.getAuthentication();
+        final boolean isPermitted =
+            CommonUtils.isSuperUser(authToken)
+                || authToken.getPermissions().stream()
+                    .anyMatch(
+                        authTokenPermission ->
+                            List.of(requiredPermissions)
+                                .contains(authTokenPermission.getPermissionName()));
+
+        if (!isPermitted) {
+          throw new CheckPermissionException("Profile does not have required permissions...");
+        }
+      } catch (Exception ex) {
+        if (ex instanceof CheckPermissionException) {
+          throw ex;
+        }
+        throw new CheckPermissionException(ex.getMessage());
+      }
+    }
+  }
+}
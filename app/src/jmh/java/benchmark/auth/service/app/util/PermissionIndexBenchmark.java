@@ -0,0 +1,88 @@
+package benchmark.auth.service.app.util;
+
+import auth.service.app.util.PermissionIndex;
+import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// compares the pre-index List.contains check against the mask check of PermissionIndex
+// maskCheck reuses the token mask as done within a request, maskCheckWithBuild includes building it
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PermissionIndexBenchmark {
+
+  @Param({"SUPERUSER", "TYPICAL", "LARGE"})
+  public String tokenType;
+
+  private PermissionIndex permissionIndex;
+  private AuthToken authToken;
+  private List<String> requiredPermissions;
+  private long[] requiredMask;
+  private long[] tokenMask;
+
+  @Setup
+  public void setUp() {
+    permissionIndex = new PermissionIndex(null);
+    IntStream.range(0, 1000).forEach(i -> permissionIndex.getPermissionId("PERMISSION_" + i));
+
+    final int permissionCount =
+        switch (tokenType) {
+          case "SUPERUSER" -> 0;
+          case "TYPICAL" -> 10;
+          default -> 500;
+        };
+    authToken =
+        new AuthToken(
+            new AuthToken.AuthTokenPlatform(1L, "Platform 1"),
+            new AuthToken.AuthTokenProfile(1L, "profile@one.com"),
+            List.of(new AuthToken.AuthTokenRole(1L, "Role 1")),
+            IntStream.range(0, permissionCount)
+                .mapToObj(i -> new AuthToken.AuthTokenPermission(i, "PERMISSION_" + (i * 2)))
+                .toList(),
+            "SUPERUSER".equals(tokenType));
+
+    // worst case for the legacy check, last permission of the token matches
+    requiredPermissions =
+        List.of("PERMISSION_999", "PERMISSION_998", "PERMISSION_" + (permissionCount * 2 - 2));
+    requiredMask = permissionIndex.getPermissionMask(requiredPermissions);
+    tokenMask = permissionIndex.getPermissionMask(authToken);
+  }
+
+  @Benchmark
+  public boolean legacyCheck() {
+    if (Objects.equals(authToken.getIsSuperUser(), Boolean.TRUE)) {
+      return true;
+    }
+    return authToken.getPermissions().stream()
+        .anyMatch(
+            authTokenPermission ->
+                requiredPermissions.contains(authTokenPermission.getPermissionName()));
+  }
+
+  @Benchmark
+  public boolean maskCheck() {
+    if (Objects.equals(authToken.getIsSuperUser(), Boolean.TRUE)) {
+      return true;
+    }
+    return PermissionIndex.intersects(tokenMask, requiredMask);
+  }
+
+  @Benchmark
+  public boolean maskCheckWithBuild() {
+    if (Objects.equals(authToken.getIsSuperUser(), Boolean.TRUE)) {
+      return true;
+    }
+    return PermissionIndex.intersects(permissionIndex.getPermissionMask(authToken), requiredMask);
+  }
+}
@@ -1,17 +1,60 @@
 package auth.service.app.config;
 
-import org.springframework.cache.CacheManager;
+import auth.service.app.connector.EnvServiceConnector;
+import auth.service.app.util.ConstantUtils;
+import auth.service.app.util.RefreshAheadCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 
+@Slf4j
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+  // loaders call the connector methods not cached, the cached ones would read the cache back
   @Bean
-  public CacheManager cacheManager() {
-    return new ConcurrentMapCacheManager("redirectUrls", "baseUrlForLinkInEmail");
+  public RefreshAheadCacheManager cacheManager(
+      final ObjectProvider<EnvServiceConnector> envServiceConnector,
+      final MeterRegistry meterRegistry) {
+    return new RefreshAheadCacheManager(
+        Map.of(
+            "redirectUrls",
+            appCacheSpec(key -> envServiceConnector.getObject().loadRedirectUrls()),
+            "baseUrlForLinkInEmail",
+            appCacheSpec(key -> envServiceConnector.getObject().loadBaseUrlForLinkInEmail())),
+        meterRegistry);
+  }
+
+  // loads the app caches through the cached connector methods, so the first requests hit the cache
+  // when it fails, the first request loads them again
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUpAppCaches(final ApplicationReadyEvent event) {
+    final EnvServiceConnector envServiceConnector =
+        event.getApplicationContext().getBean(EnvServiceConnector.class);
+    try {
+      envServiceConnector.getRedirectUrls();
+      envServiceConnector.getBaseUrlForLinkInEmail();
+    } catch (RuntimeException ex) {
+      log.warn("App Caches Not Loaded At Startup...", ex);
+    }
+  }
+
+  private static RefreshAheadCacheManager.CacheSpec appCacheSpec(
+      final Function<Object, Object> loader) {
+    return new RefreshAheadCacheManager.CacheSpec(
+        Duration.ofSeconds(ConstantUtils.APP_CACHE_TTL_SECONDS),
+        Duration.ofSeconds(ConstantUtils.APP_CACHE_REFRESH_AHEAD_SECONDS),
+        Duration.ofSeconds(ConstantUtils.APP_CACHE_MAX_STALE_SECONDS),
+        ConstantUtils.APP_CACHE_MAX_SIZE,
+        loader);
   }
 }
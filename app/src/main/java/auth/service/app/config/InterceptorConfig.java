@@ -1,15 +1,21 @@
 package auth.service.app.config;
 
 import auth.service.app.util.InterceptorLoggingUtilsIncoming;
+import auth.service.app.util.PermissionCheckInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@RequiredArgsConstructor
 public class InterceptorConfig implements WebMvcConfigurer {
 
+  private final PermissionCheckInterceptor permissionCheckInterceptor;
+
   @Override
   public void addInterceptors(InterceptorRegistry registry) {
     registry.addInterceptor(new InterceptorLoggingUtilsIncoming());
+    registry.addInterceptor(permissionCheckInterceptor);
   }
 }
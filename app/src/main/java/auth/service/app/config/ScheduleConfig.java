@@ -1,13 +1,15 @@
 package auth.service.app.config;
 
-import auth.service.app.connector.EnvServiceConnector;
 import auth.service.app.service.AuditService;
+import auth.service.app.service.PermissionCatalogService;
+import auth.service.app.service.ProfileService;
+import auth.service.app.service.RbacGraphService;
 import auth.service.app.service.TokenService;
+import auth.service.app.util.RefreshAheadCacheManager;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -20,27 +22,19 @@ import org.springframework.scheduling.annotation.Scheduled;
 public class ScheduleConfig {
 
   private final CacheManager cacheManager;
-  private final EnvServiceConnector envServiceConnector;
   private final AuditService auditService;
   private final TokenService tokenService;
+  private final PermissionCatalogService permissionCatalogService;
+  private final RbacGraphService rbacGraphService;
+  private final ProfileService profileService;
 
-  @Scheduled(cron = "0 3 0 * * *")
-  protected void recreateAppCaches() throws InterruptedException {
-    log.info("Recreating app caches...");
-    cacheManager
-        .getCacheNames()
-        .forEach(
-            name -> {
-              Cache cache = cacheManager.getCache(name);
-              if (cache != null) {
-                cache.clear();
-              }
-            });
-
-    Thread.sleep(5000);
-
-    CompletableFuture.runAsync(envServiceConnector::getRedirectUrls);
-    CompletableFuture.runAsync(envServiceConnector::getBaseUrlForLinkInEmail);
+  // app caches are reloaded ahead of expiry, never cleared, so requests keep hitting the cache
+  // the cache manager is a mock in some tests
+  @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+  protected void refreshAppCaches() {
+    if (cacheManager instanceof RefreshAheadCacheManager refreshAheadCacheManager) {
+      refreshAheadCacheManager.refreshDue();
+    }
   }
 
   @Scheduled(cron = "0 2 0 * * *")
@@ -50,5 +44,19 @@ public class ScheduleConfig {
     log.info("Audit cleanup completed: {}", cleanupAudits);
     int cleanupTokens = tokenService.cleanupTokens();
     log.info("Token cleanup completed: [{}]", cleanupTokens);
+    int cleanupPermissionCatalogs = permissionCatalogService.cleanupPermissionCatalogs();
+    log.info("Permission catalog cleanup completed: [{}]", cleanupPermissionCatalogs);
+  }
+
+  @Scheduled(cron = "0 */5 * * * *")
+  protected void rebuildProfileEmailFilter() {
+    log.debug("Rebuilding profile email filter...");
+    profileService.rebuildProfileEmailFilter();
+  }
+
+  @Scheduled(cron = "0 */15 * * * *")
+  protected void checkRbacGraph() {
+    log.debug("Checking rbac graph...");
+    rbacGraphService.checkRbacGraph();
   }
 }
@@ -3,6 +3,7 @@ package auth.service.app.config;
 import auth.service.app.exception.handler.CustomAccessDeniedHandler;
 import auth.service.app.exception.handler.CustomAuthenticationEntrypoint;
 import auth.service.app.filter.JwtAuthFilter;
+import auth.service.app.util.AuthTokenCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
@@ -26,7 +27,7 @@ public abstract class SecurityConfigBase {
                   request
                       .getRequestURI()
                       .matches(
-                          "^.*(?:/swagger-ui/|/v3/api-docs|/tests/ping|/auth/|/cors/|/error).*");
+                          "^.*(?:/swagger-ui/|/v3/api-docs|/tests/ping|/auth/|/cors/|/\\.well-known/|/error).*");
               //              if (matches) {
               //                System.out.println("noAuthSecurityFilterChain: " +
               // request.getRequestURI());
@@ -71,7 +72,8 @@ public abstract class SecurityConfigBase {
 
   @Bean
   @Order(3)
-  public SecurityFilterChain bearerAuthSecurityFilterChain(HttpSecurity http) throws Exception {
+  public SecurityFilterChain bearerAuthSecurityFilterChain(
+      HttpSecurity http, AuthTokenCache authTokenCache) throws Exception {
     http.csrf(AbstractHttpConfigurer::disable)
         .securityMatcher(
             request -> {
@@ -79,7 +81,8 @@ public abstract class SecurityConfigBase {
               return true;
             })
         .authorizeHttpRequests(auth -> auth.anyRequest().authenticated())
-        .addFilterBefore(new JwtAuthFilter(), UsernamePasswordAuthenticationFilter.class)
+        .addFilterBefore(
+            new JwtAuthFilter(authTokenCache), UsernamePasswordAuthenticationFilter.class)
         .sessionManagement(
             session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .exceptionHandling(
@@ -1,41 +1,67 @@
 package auth.service.app.connector;
 
+import auth.service.app.util.CircuitBreaker;
+import auth.service.app.util.ConstantUtils;
 import io.github.bibekaryal86.shdsvc.AppEnvProperty;
 import io.github.bibekaryal86.shdsvc.dtos.EnvDetailsResponse;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import lombok.RequiredArgsConstructor;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
+// env service values are cached and reloaded ahead of expiry, and loaded at startup (see
+// CacheConfig). loads go through a circuit breaker, when the env service fails, times out or its
+// circuit is open, the env properties last loaded are used
+@Slf4j
 @Component
-@RequiredArgsConstructor
 public class EnvServiceConnector {
 
   private final Environment environment;
+  private final CircuitBreaker circuitBreaker;
+  private volatile List<EnvDetailsResponse.EnvDetails> lastEnvDetails;
+
+  @Autowired
+  public EnvServiceConnector(final Environment environment, final MeterRegistry meterRegistry) {
+    this(
+        environment,
+        new CircuitBreaker(
+            "envsvc",
+            ConstantUtils.ENV_SERVICE_FAILURE_THRESHOLD,
+            ConstantUtils.ENV_SERVICE_TIMEOUT_SECONDS * 1000,
+            ConstantUtils.ENV_SERVICE_OPEN_SECONDS * 1000,
+            meterRegistry));
+  }
+
+  // to be used in tests
+  public EnvServiceConnector(final Environment environment, final CircuitBreaker circuitBreaker) {
+    this.environment = environment;
+    this.circuitBreaker = circuitBreaker;
+  }
 
   public List<EnvDetailsResponse.EnvDetails> getAuthServiceEnvProperties() {
     return AppEnvProperty.getEnvDetailsList("authsvc", Boolean.TRUE);
   }
 
-  @Cacheable("redirectUrls")
+  @Cacheable(value = "redirectUrls", sync = true)
   public Map<String, String> getRedirectUrls() {
+    return loadRedirectUrls();
+  }
+
+  // not cached, also reloads the redirectUrls cache ahead of expiry (see CacheConfig)
+  public Map<String, String> loadRedirectUrls() {
     final boolean isDevelopment = environment.matchesProfiles("sandbox");
     final String envDetailsName =
         String.format("redirectUrls_%s", isDevelopment ? "sandbox" : "production");
-    final List<EnvDetailsResponse.EnvDetails> envDetails = getAuthServiceEnvProperties();
-    EnvDetailsResponse.EnvDetails withRedirectUrls =
-        envDetails.stream()
-            .filter(envDetail -> envDetail.getName().equals(envDetailsName))
-            .findFirst()
-            .orElse(null);
-    if (withRedirectUrls == null) {
-      return Collections.emptyMap();
-    }
-    return withRedirectUrls.getMapValue();
+    return findMapValue(loadEnvDetails(), envDetailsName)
+        .map(Collections::unmodifiableMap)
+        .orElse(Collections.emptyMap());
   }
 
   @CacheEvict("redirectUrls")
@@ -44,19 +70,51 @@ public class EnvServiceConnector {
   @CacheEvict("baseUrlForLinkInEmail")
   public void evictBaseUrlForLinkInEmailCache() {}
 
-  @Cacheable("baseUrlForLinkInEmail")
+  @Cacheable(value = "baseUrlForLinkInEmail", sync = true)
   public String getBaseUrlForLinkInEmail() {
+    return loadBaseUrlForLinkInEmail();
+  }
+
+  // not cached, also reloads the baseUrlForLinkInEmail cache ahead of expiry (see CacheConfig)
+  public String loadBaseUrlForLinkInEmail() {
     final boolean isDevelopment = environment.matchesProfiles("sandbox");
     final String envDetailsName = "baseUrlForLinkInEmail";
-    final List<EnvDetailsResponse.EnvDetails> envDetails = getAuthServiceEnvProperties();
-    EnvDetailsResponse.EnvDetails withRedirectUrls =
-        envDetails.stream()
-            .filter(envDetail -> envDetail.getName().equals(envDetailsName))
-            .findFirst()
-            .orElse(null);
-    if (withRedirectUrls == null) {
-      return null;
+    return findMapValue(loadEnvDetails(), envDetailsName)
+        .map(mapValue -> mapValue.get(isDevelopment ? "sandbox" : "production"))
+        .orElse(null);
+  }
+
+  // an empty list is a failure too, authsvc always has env properties
+  // throws when none were ever loaded, so nothing is cached and a cache refresh keeps its value
+  private List<EnvDetailsResponse.EnvDetails> loadEnvDetails() {
+    final Optional<List<EnvDetailsResponse.EnvDetails>> envDetails =
+        circuitBreaker.call(
+            () -> {
+              final List<EnvDetailsResponse.EnvDetails> authServiceEnvProperties =
+                  getAuthServiceEnvProperties();
+              if (authServiceEnvProperties == null || authServiceEnvProperties.isEmpty()) {
+                throw new IllegalStateException("Env Properties Not Found");
+              }
+              return authServiceEnvProperties;
+            });
+    if (envDetails.isPresent()) {
+      lastEnvDetails = envDetails.get();
+      return envDetails.get();
     }
-    return withRedirectUrls.getMapValue().get(isDevelopment ? "sandbox" : "production");
+
+    final List<EnvDetailsResponse.EnvDetails> currentEnvDetails = lastEnvDetails;
+    if (currentEnvDetails == null) {
+      throw new IllegalStateException("Env Properties Not Loaded");
+    }
+    log.warn("Env Properties Not Loaded, Using Env Properties Last Loaded...");
+    return currentEnvDetails;
+  }
+
+  private Optional<Map<String, String>> findMapValue(
+      final List<EnvDetailsResponse.EnvDetails> envDetails, final String envDetailsName) {
+    return envDetails.stream()
+        .filter(envDetail -> envDetail.getName().equals(envDetailsName))
+        .findFirst()
+        .map(EnvDetailsResponse.EnvDetails::getMapValue);
   }
 }
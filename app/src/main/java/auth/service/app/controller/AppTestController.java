@@ -1,5 +1,6 @@
 package auth.service.app.controller;
 
+import auth.service.app.service.EntityCacheService;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.http.MediaType;
@@ -12,9 +13,12 @@ import org.springframework.web.bind.annotation.RestController;
 public class AppTestController {
 
   private final CacheManager cacheManager;
+  private final EntityCacheService entityCacheService;
 
-  public AppTestController(final CacheManager cacheManager) {
+  public AppTestController(
+      final CacheManager cacheManager, final EntityCacheService entityCacheService) {
     this.cacheManager = cacheManager;
+    this.entityCacheService = entityCacheService;
   }
 
   @CrossOrigin
@@ -34,6 +38,7 @@ public class AppTestController {
                 cache.clear();
               }
             });
+    entityCacheService.evictEntities();
     return ResponseEntity.ok("{\"reset\": \"successful\"}");
   }
 }
@@ -0,0 +1,94 @@
+package auth.service.app.controller;
+
+import auth.service.app.model.annotation.CheckPermission;
+import auth.service.app.model.enums.TypeEnums;
+import auth.service.app.service.AuditExportService;
+import auth.service.app.util.ConstantUtils;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/v1/audits")
+@Validated
+public class AuditController {
+
+  private static final MediaType APPLICATION_GZIP = MediaType.parseMediaType("application/gzip");
+
+  private final AuditExportService auditExportService;
+
+  // rows are written to the response as they are read, the export is never held in memory
+  // too many exports running: 429 with retry after, before any row is read
+  @CheckPermission("AUTHSVC_AUDIT_EXPORT")
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> exportAudits(
+      @RequestParam final TypeEnums.ComponentName componentName,
+      @RequestParam(required = false) final List<String> eventType,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final LocalDateTime fromDate,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final LocalDateTime toDate,
+      @RequestParam(required = false, defaultValue = "false") final boolean isGzip) {
+    if (!auditExportService.tryAcquireExport()) {
+      log.warn("Export Audits Busy: ComponentName=[{}]", componentName);
+      return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+          .header(
+              HttpHeaders.RETRY_AFTER,
+              String.valueOf(ConstantUtils.AUDIT_EXPORT_RETRY_AFTER_SECONDS))
+          .build();
+    }
+
+    final StreamingResponseBody streamingResponseBody =
+        outputStream -> {
+          try {
+            final long exported =
+                auditExportService.exportAudits(
+                    componentName, eventType, fromDate, toDate, isGzip, outputStream);
+            log.info(
+                "Export Audits: ComponentName=[{}], EventType=[{}], Exported=[{}]",
+                componentName,
+                eventType,
+                exported);
+          } catch (Exception ex) {
+            // headers are already sent, so the client only sees a truncated body
+            log.error(
+                "Export Audits: ComponentName=[{}], EventType=[{}], FromDate=[{}], ToDate=[{}]",
+                componentName,
+                eventType,
+                fromDate,
+                toDate,
+                ex);
+            throw ex;
+          } finally {
+            auditExportService.releaseExport();
+          }
+        };
+
+    final String fileName =
+        "audit_"
+            + componentName.name().toLowerCase(Locale.ROOT)
+            + (isGzip ? ".ndjson.gz" : ".ndjson");
+    return ResponseEntity.ok()
+        .contentType(isGzip ? APPLICATION_GZIP : MediaType.APPLICATION_NDJSON)
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(fileName).build().toString())
+        .body(streamingResponseBody);
+  }
+}
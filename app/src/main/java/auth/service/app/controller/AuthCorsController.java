@@ -1,6 +1,8 @@
 package auth.service.app.controller;
 
 import auth.service.app.connector.EnvServiceConnector;
+import auth.service.app.exception.LoginThrottledException;
+import auth.service.app.exception.PasswordEncoderBusyException;
 import auth.service.app.exception.ProfileNotAuthorizedException;
 import auth.service.app.exception.TokenInvalidException;
 import auth.service.app.model.dto.ProfilePasswordRequest;
@@ -8,6 +10,7 @@ import auth.service.app.model.dto.ProfilePasswordTokenResponse;
 import auth.service.app.model.entity.ProfileEntity;
 import auth.service.app.model.entity.TokenEntity;
 import auth.service.app.model.enums.AuditEnums;
+import auth.service.app.model.events.AuditContext;
 import auth.service.app.service.AuditService;
 import auth.service.app.service.CircularDependencyService;
 import auth.service.app.service.EmailService;
@@ -18,6 +21,7 @@ import auth.service.app.util.CommonUtils;
 import auth.service.app.util.ConstantUtils;
 import auth.service.app.util.CookieService;
 import auth.service.app.util.EntityDtoConvertUtils;
+import auth.service.app.util.LoginRateLimiter;
 import io.github.bibekaryal86.shdsvc.helpers.CommonUtilities;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -55,32 +59,37 @@ public class AuthCorsController {
   private final CookieService cookieService;
   private final AuditService auditService;
   private final EnvServiceConnector envServiceConnector;
+  private final LoginRateLimiter loginRateLimiter;
 
   @PostMapping("/{platformId}/login")
   public ResponseEntity<ProfilePasswordTokenResponse> login(
       @PathVariable final Long platformId,
       @Valid @RequestBody final ProfilePasswordRequest profilePasswordRequest,
       final HttpServletRequest request) {
+    final String email = profilePasswordRequest.getEmail();
+    final String ipAddress = CommonUtils.getIpAddress(request);
     try {
-      final ProfileEntity profileEntity =
-          profileService.readProfileByEmail(profilePasswordRequest.getEmail());
+      // rejected before any db or password work, limited by the address the proxy saw
+      loginRateLimiter.checkLogin(CommonUtils.getClientIpAddress(request), email);
+
+      // login attempts and last login date are reset with the token save
       final ProfilePasswordTokenResponse profilePasswordTokenResponse =
-          profileService.loginProfile(
-              platformId, profilePasswordRequest, CommonUtils.getIpAddress(request));
-      CompletableFuture.runAsync(
-          () ->
-              auditService.auditProfile(
-                  request,
-                  profileEntity,
-                  AuditEnums.AuditProfile.PROFILE_LOGIN,
-                  String.format(
-                      "Profile Login [Id: %s] - [Email: %s]",
-                      profileEntity.getId(), profileEntity.getEmail())));
+          profileService.loginProfile(platformId, profilePasswordRequest, ipAddress);
+      loginRateLimiter.loginSucceeded(email);
 
-      // reset login attempts and set last login date
-      profileEntity.setLoginAttempts(0);
-      profileEntity.setLastLogin(LocalDateTime.now());
-      profileService.updateProfile(profileEntity);
+      // profile for audit is read off the request thread, the rest of the audit is captured on it
+      final AuditContext auditContext = CommonUtils.getAuditContext(request);
+      CompletableFuture.runAsync(
+          () -> {
+            final ProfileEntity profileEntity = profileService.readProfileByEmail(email);
+            auditService.auditProfile(
+                auditContext,
+                profileEntity,
+                AuditEnums.AuditProfile.PROFILE_LOGIN,
+                String.format(
+                    "Profile Login [Id: %s] - [Email: %s]",
+                    profileEntity.getId(), profileEntity.getEmail()));
+          });
 
       final ResponseCookie refreshTokenCookie =
           cookieService.buildRefreshCookie(
@@ -95,35 +104,42 @@ public class AuthCorsController {
           .header(HttpHeaders.SET_COOKIE, refreshTokenCookie.toString())
           .header(HttpHeaders.SET_COOKIE, csrfTokenCookie.toString())
           .body(profilePasswordTokenResponse);
+    } catch (LoginThrottledException ex) {
+      // counted in metrics, no db work or audit while throttled
+      log.warn(
+          "Login Profile Throttled: PlatformId=[{}], Email=[{}], IpAddress=[{}]",
+          platformId,
+          email,
+          ipAddress);
+      return entityDtoConvertUtils.getResponseErrorProfilePassword(ex);
     } catch (Exception ex) {
       log.error(
           "Login Profile: PlatformId=[{}], ProfilePasswordRequest=[{}]",
           platformId,
           profilePasswordRequest,
           ex);
-      final ProfileEntity profileEntity =
-          profileService.readProfileByEmailNoException(profilePasswordRequest.getEmail());
 
-      // increase failed login attempts
-      if (profileEntity != null) {
-        int currentLoginAttempts =
-            profileEntity.getLoginAttempts() == null ? 0 : profileEntity.getLoginAttempts();
-        profileEntity.setLoginAttempts(currentLoginAttempts + 1);
-        profileService.updateProfile(profileEntity);
+      // increase failed login attempts, not when password could not be checked
+      if (!(ex instanceof PasswordEncoderBusyException)) {
+        loginRateLimiter.loginFailed(email);
+        profileService.updateProfileLoginFailure(email);
       }
 
+      final AuditContext auditContext = CommonUtils.getAuditContext(request);
       CompletableFuture.runAsync(
-          () ->
-              auditService.auditProfile(
-                  request,
-                  profileEntity,
-                  AuditEnums.AuditProfile.PROFILE_LOGIN_ERROR,
-                  String.format(
-                      "Profile Login Error [Id: %s] - [Email: %s]",
-                      profileEntity == null
-                          ? ConstantUtils.ELEMENT_ID_NOT_FOUND
-                          : profileEntity.getId(),
-                      profilePasswordRequest.getEmail())));
+          () -> {
+            final ProfileEntity profileEntity = profileService.readProfileByEmailNoException(email);
+            auditService.auditProfile(
+                auditContext,
+                profileEntity,
+                AuditEnums.AuditProfile.PROFILE_LOGIN_ERROR,
+                String.format(
+                    "Profile Login Error [Id: %s] - [Email: %s]",
+                    profileEntity == null
+                        ? ConstantUtils.ELEMENT_ID_NOT_FOUND
+                        : profileEntity.getId(),
+                    email));
+          });
       return entityDtoConvertUtils.getResponseErrorProfilePassword(ex);
     }
   }
@@ -163,17 +179,15 @@ public class AuthCorsController {
               tokenEntity.getProfile(),
               CommonUtils.getIpAddress(request));
 
-      CompletableFuture.runAsync(
-          () ->
-              auditService.auditProfile(
-                  request,
-                  tokenEntity.getProfile(),
-                  AuditEnums.AuditProfile.TOKEN_REFRESH,
-                  String.format(
-                      "Profile Token Refresh [Id: %s] - [Email: %s] - [Platform: %s]",
-                      tokenEntity.getProfile().getId(),
-                      tokenEntity.getProfile().getEmail(),
-                      tokenEntity.getPlatform().getId())));
+      auditService.auditProfile(
+          request,
+          tokenEntity.getProfile(),
+          AuditEnums.AuditProfile.TOKEN_REFRESH,
+          String.format(
+              "Profile Token Refresh [Id: %s] - [Email: %s] - [Platform: %s]",
+              tokenEntity.getProfile().getId(),
+              tokenEntity.getProfile().getEmail(),
+              tokenEntity.getPlatform().getId()));
 
       final ResponseCookie refreshTokenCookieResponse =
           cookieService.buildRefreshCookie(
@@ -192,17 +206,13 @@ public class AuthCorsController {
       log.error("Refresh Token: PlatformId=[{}], ProfileId=[{}]", platformId, profileId, ex);
       final ProfileEntity profileEntity =
           circularDependencyService.readProfileNoException(profileId, Boolean.TRUE);
-      CompletableFuture.runAsync(
-          () ->
-              auditService.auditProfile(
-                  request,
-                  profileEntity,
-                  AuditEnums.AuditProfile.TOKEN_REFRESH_ERROR,
-                  String.format(
-                      "Profile Token Refresh Error [Id: %s] - [Email: %s] - [Platform: %s]",
-                      profileId,
-                      profileEntity == null ? "N/A" : profileEntity.getEmail(),
-                      platformId)));
+      auditService.auditProfile(
+          request,
+          profileEntity,
+          AuditEnums.AuditProfile.TOKEN_REFRESH_ERROR,
+          String.format(
+              "Profile Token Refresh Error [Id: %s] - [Email: %s] - [Platform: %s]",
+              profileId, profileEntity == null ? "N/A" : profileEntity.getEmail(), platformId));
       return entityDtoConvertUtils.getResponseErrorProfilePassword(ex);
     }
   }
@@ -217,15 +227,13 @@ public class AuthCorsController {
           circularDependencyService.readProfile(profileId, Boolean.TRUE, Boolean.FALSE);
       tokenService.setTokenDeletedDateByProfileId(profileId);
 
-      CompletableFuture.runAsync(
-          () ->
-              auditService.auditProfile(
-                  request,
-                  profileEntity,
-                  AuditEnums.AuditProfile.PROFILE_LOGOUT,
-                  String.format(
-                      "Profile Logout [Id: %s] - [Email: %s] - [Platform: %s]",
-                      profileId, profileEntity.getEmail(), platformId)));
+      auditService.auditProfile(
+          request,
+          profileEntity,
+          AuditEnums.AuditProfile.PROFILE_LOGOUT,
+          String.format(
+              "Profile Logout [Id: %s] - [Email: %s] - [Platform: %s]",
+              profileId, profileEntity.getEmail(), platformId));
 
       final ResponseCookie refreshTokenCookieResponse = cookieService.buildRefreshCookie("", 0);
       final ResponseCookie csrfTokenCookieResponse = cookieService.buildCsrfCookie("", 0);
@@ -238,17 +246,13 @@ public class AuthCorsController {
       log.error("Logout: PlatformId=[{}], ProfileId=[{}]", platformId, profileId, ex);
       final ProfileEntity profileEntity =
           circularDependencyService.readProfileNoException(profileId, Boolean.TRUE);
-      CompletableFuture.runAsync(
-          () ->
-              auditService.auditProfile(
-                  request,
-                  profileEntity,
-                  AuditEnums.AuditProfile.PROFILE_LOGOUT_ERROR,
-                  String.format(
-                      "Profile Logout Error [Id: %s] - [Email: %s] - [Platform: %s]",
-                      profileId,
-                      profileEntity == null ? "N/A" : profileEntity.getEmail(),
-                      platformId)));
+      auditService.auditProfile(
+          request,
+          profileEntity,
+          AuditEnums.AuditProfile.PROFILE_LOGOUT_ERROR,
+          String.format(
+              "Profile Logout Error [Id: %s] - [Email: %s] - [Platform: %s]",
+              profileId, profileEntity == null ? "N/A" : profileEntity.getEmail(), platformId));
       return entityDtoConvertUtils.getResponseErrorProfilePassword(ex);
     }
   }
@@ -1,12 +1,14 @@
 package auth.service.app.controller;
 
 import auth.service.app.model.annotation.CheckPermission;
+import auth.service.app.model.dto.AuditHistoryResponse;
 import auth.service.app.model.dto.PermissionRequest;
 import auth.service.app.model.dto.PermissionResponse;
 import auth.service.app.model.entity.AuditPermissionEntity;
 import auth.service.app.model.entity.PermissionEntity;
 import auth.service.app.model.entity.PlatformRolePermissionEntity;
 import auth.service.app.model.enums.AuditEnums;
+import auth.service.app.model.enums.TypeEnums;
 import auth.service.app.service.AuditService;
 import auth.service.app.service.CircularDependencyService;
 import auth.service.app.service.PermissionService;
@@ -16,11 +18,12 @@ import auth.service.app.util.EntityDtoConvertUtils;
 import io.github.bibekaryal86.shdsvc.dtos.ResponseMetadata;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -55,15 +58,13 @@ public class PermissionController {
     try {
       final PermissionEntity permissionEntity =
           permissionService.createPermission(permissionRequest);
-      CompletableFuture.runAsync(
-          () ->
-              auditService.auditPermission(
-                  request,
-                  permissionEntity,
-                  AuditEnums.AuditPermission.PERMISSION_CREATE,
-                  String.format(
-                      "Permission Create [Id: %s] - [Name: %s]",
-                      permissionEntity.getId(), permissionEntity.getPermissionName())));
+      auditService.auditPermission(
+          request,
+          permissionEntity,
+          AuditEnums.AuditPermission.PERMISSION_CREATE,
+          String.format(
+              "Permission Create [Id: %s] - [Name: %s]",
+              permissionEntity.getId(), permissionEntity.getPermissionName()));
       final ResponseMetadata.ResponseCrudInfo responseCrudInfo =
           CommonUtils.defaultResponseCrudInfo(1, 0, 0, 0);
       return entityDtoConvertUtils.getResponseSinglePermission(
@@ -136,6 +137,38 @@ public class PermissionController {
     }
   }
 
+  @CheckPermission("AUTHSVC_PERMISSION_READ")
+  @GetMapping("/permission/{id}/history")
+  public ResponseEntity<AuditHistoryResponse> readPermissionHistory(
+      @PathVariable final long id,
+      @RequestParam(required = false) final List<String> eventType,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final LocalDateTime fromDate,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final LocalDateTime toDate,
+      @RequestParam(required = false) final String cursor,
+      @RequestParam(required = false) final Integer perPage) {
+    try {
+      return ResponseEntity.ok(
+          auditService.auditHistory(
+              TypeEnums.ComponentName.PERMISSION,
+              id,
+              eventType,
+              fromDate,
+              toDate,
+              cursor,
+              perPage));
+    } catch (Exception ex) {
+      log.error(
+          "Read Permission History: Id=[{}], EventType=[{}], Cursor=[{}]",
+          id,
+          eventType,
+          cursor,
+          ex);
+      return entityDtoConvertUtils.getResponseErrorAuditHistory(ex);
+    }
+  }
+
   @CheckPermission("AUTHSVC_PERMISSION_UPDATE")
   @PutMapping("/permission/{id}")
   public ResponseEntity<PermissionResponse> updatePermission(
@@ -145,15 +178,13 @@ public class PermissionController {
     try {
       final PermissionEntity permissionEntity =
           permissionService.updatePermission(id, permissionRequest);
-      CompletableFuture.runAsync(
-          () ->
-              auditService.auditPermission(
-                  request,
-                  permissionEntity,
-                  AuditEnums.AuditPermission.PERMISSION_UPDATE,
-                  String.format(
-                      "Permission Update [Id: %s] - [Name: %s]",
-                      permissionEntity.getId(), permissionEntity.getPermissionName())));
+      auditService.auditPermission(
+          request,
+          permissionEntity,
+          AuditEnums.AuditPermission.PERMISSION_UPDATE,
+          String.format(
+              "Permission Update [Id: %s] - [Name: %s]",
+              permissionEntity.getId(), permissionEntity.getPermissionName()));
       final ResponseMetadata.ResponseCrudInfo responseCrudInfo =
           CommonUtils.defaultResponseCrudInfo(0, 1, 0, 0);
       return entityDtoConvertUtils.getResponseSinglePermission(
@@ -170,15 +201,13 @@ public class PermissionController {
       @PathVariable final long id, final HttpServletRequest request) {
     try {
       final PermissionEntity permissionEntity = permissionService.softDeletePermission(id);
-      CompletableFuture.runAsync(
-          () ->
-              auditService.auditPermission(
-                  request,
-                  permissionEntity,
-                  AuditEnums.AuditPermission.PERMISSION_DELETE_SOFT,
-                  String.format(
-                      "Permission Delete Soft [Id: %s] - [Name: %s]",
-                      permissionEntity.getId(), permissionEntity.getPermissionName())));
+      auditService.auditPermission(
+          request,
+          permissionEntity,
+          AuditEnums.AuditPermission.PERMISSION_DELETE_SOFT,
+          String.format(
+              "Permission Delete Soft [Id: %s] - [Name: %s]",
+              permissionEntity.getId(), permissionEntity.getPermissionName()));
       final ResponseMetadata.ResponseCrudInfo responseCrudInfo =
           CommonUtils.defaultResponseCrudInfo(0, 0, 1, 0);
       return entityDtoConvertUtils.getResponseSinglePermission(
@@ -203,7 +232,7 @@ public class PermissionController {
               "Permission Delete Hard [Id: %s] - [Name: %s]",
               permissionEntity.getId(), permissionEntity.getPermissionName());
       final Long auditEntityId =
-          auditService.auditPermission(
+          auditService.auditPermissionBeforeHardDelete(
               request,
               permissionEntity,
               AuditEnums.AuditPermission.PERMISSION_DELETE_HARD,
@@ -233,15 +262,13 @@ public class PermissionController {
       @PathVariable final long id, final HttpServletRequest request) {
     try {
       final PermissionEntity permissionEntity = permissionService.restoreSoftDeletedPermission(id);
-      CompletableFuture.runAsync(
-          () ->
-              auditService.auditPermission(
-                  request,
-                  permissionEntity,
-                  AuditEnums.AuditPermission.PERMISSION_RESTORE,
-                  String.format(
-                      "Permission Restore [Id: %s] - [Name: %s]",
-                      permissionEntity.getId(), permissionEntity.getPermissionName())));
+      auditService.auditPermission(
+          request,
+          permissionEntity,
+          AuditEnums.AuditPermission.PERMISSION_RESTORE,
+          String.format(
+              "Permission Restore [Id: %s] - [Name: %s]",
+              permissionEntity.getId(), permissionEntity.getPermissionName()));
       final ResponseMetadata.ResponseCrudInfo responseCrudInfo =
           CommonUtils.defaultResponseCrudInfo(0, 0, 0, 1);
       return entityDtoConvertUtils.getResponseSinglePermission(
@@ -1,11 +1,13 @@
 package auth.service.app.controller;
 
 import auth.service.app.model.annotation.CheckPermission;
+import auth.service.app.model.dto.AuditHistoryResponse;
 import auth.service.app.model.dto.PlatformRequest;
 import auth.service.app.model.dto.PlatformResponse;
 import auth.service.app.model.entity.AuditPlatformEntity;
 import auth.service.app.model.entity.PlatformEntity;
 import auth.service.app.model.enums.AuditEnums;
+import auth.service.app.model.enums.TypeEnums;
 import auth.service.app.service.AuditService;
 import auth.service.app.service.CircularDependencyService;
 import auth.service.app.service.PlatformService;
@@ -14,11 +16,12 @@ import auth.service.app.util.EntityDtoConvertUtils;
 import io.github.bibekaryal86.shdsvc.dtos.ResponseMetadata;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -50,15 +53,13 @@ public class PlatformController {
       @Valid @RequestBody final PlatformRequest platformRequest, final HttpServletRequest request) {
     try {
       final PlatformEntity platformEntity = platformService.createPlatform(platformRequest);
-      CompletableFuture.runAsync(
-          () ->
-              auditService.auditPlatform(
-                  request,
-                  platformEntity,
-                  AuditEnums.AuditPlatform.PLATFORM_CREATE,
-                  String.format(
-                      "Platform Create [Id: %s] - [Name: %s]",
-                      platformEntity.getId(), platformEntity.getPlatformName())));
+      auditService.auditPlatform(
+          request,
+          platformEntity,
+          AuditEnums.AuditPlatform.PLATFORM_CREATE,
+          String.format(
+              "Platform Create [Id: %s] - [Name: %s]",
+              platformEntity.getId(), platformEntity.getPlatformName()));
       final ResponseMetadata.ResponseCrudInfo responseCrudInfo =
           CommonUtils.defaultResponseCrudInfo(1, 0, 0, 0);
       return entityDtoConvertUtils.getResponseSinglePlatform(
@@ -113,6 +114,28 @@ public class PlatformController {
     }
   }
 
+  @CheckPermission("AUTHSVC_PLATFORM_READ")
+  @GetMapping("/platform/{id}/history")
+  public ResponseEntity<AuditHistoryResponse> readPlatformHistory(
+      @PathVariable final long id,
+      @RequestParam(required = false) final List<String> eventType,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final LocalDateTime fromDate,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final LocalDateTime toDate,
+      @RequestParam(required = false) final String cursor,
+      @RequestParam(required = false) final Integer perPage) {
+    try {
+      return ResponseEntity.ok(
+          auditService.auditHistory(
+              TypeEnums.ComponentName.PLATFORM, id, eventType, fromDate, toDate, cursor, perPage));
+    } catch (Exception ex) {
+      log.error(
+          "Read Platform History: Id=[{}], EventType=[{}], Cursor=[{}]", id, eventType, cursor, ex);
+      return entityDtoConvertUtils.getResponseErrorAuditHistory(ex);
+    }
+  }
+
   @CheckPermission("AUTHSVC_PLATFORM_UPDATE")
   @PutMapping("/platform/{id}")
   public ResponseEntity<PlatformResponse> updatePlatform(
@@ -121,15 +144,13 @@ public class PlatformController {
       final HttpServletRequest request) {
     try {
       final PlatformEntity platformEntity = platformService.updatePlatform(id, platformRequest);
-      CompletableFuture.runAsync(
-          () ->
-              auditService.auditPlatform(
-                  request,
-                  platformEntity,
-                  AuditEnums.AuditPlatform.PLATFORM_UPDATE,
-                  String.format(
-                      "Platform Update [Id: %s] - [Name: %s]",
-                      platformEntity.getId(), platformEntity.getPlatformName())));
+      auditService.auditPlatform(
+          request,
+          platformEntity,
+          AuditEnums.AuditPlatform.PLATFORM_UPDATE,
+          String.format(
+              "Platform Update [Id: %s] - [Name: %s]",
+              platformEntity.getId(), platformEntity.getPlatformName()));
       final ResponseMetadata.ResponseCrudInfo responseCrudInfo =
           CommonUtils.defaultResponseCrudInfo(0, 1, 0, 0);
       return entityDtoConvertUtils.getResponseSinglePlatform(
@@ -146,15 +167,13 @@ public class PlatformController {
       @PathVariable final long id, final HttpServletRequest request) {
     try {
       final PlatformEntity platformEntity = platformService.softDeletePlatform(id);
-      CompletableFuture.runAsync(
-          () ->
-              auditService.auditPlatform(
-                  request,
-                  platformEntity,
-                  AuditEnums.AuditPlatform.PLATFORM_DELETE_SOFT,
-                  String.format(
-                      "Platform Delete Soft [Id: %s] - [Name: %s]",
-                      platformEntity.getId(), platformEntity.getPlatformName())));
+      auditService.auditPlatform(
+          request,
+          platformEntity,
+          AuditEnums.AuditPlatform.PLATFORM_DELETE_SOFT,
+          String.format(
+              "Platform Delete Soft [Id: %s] - [Name: %s]",
+              platformEntity.getId(), platformEntity.getPlatformName()));
       final ResponseMetadata.ResponseCrudInfo responseCrudInfo =
           CommonUtils.defaultResponseCrudInfo(0, 0, 1, 0);
       return entityDtoConvertUtils.getResponseSinglePlatform(
@@ -179,7 +198,7 @@ public class PlatformController {
               "Platform Delete Hard [Id: %s] - [Name: %s]",
               platformEntity.getId(), platformEntity.getPlatformName());
       final Long auditEntityId =
-          auditService.auditPlatform(
+          auditService.auditPlatformBeforeHardDelete(
               request, platformEntity, AuditEnums.AuditPlatform.PLATFORM_DELETE_HARD, eventDesc);
 
       platformService.hardDeletePlatform(id);
@@ -206,15 +225,13 @@ public class PlatformController {
       @PathVariable final long id, final HttpServletRequest request) {
     try {
       final PlatformEntity platformEntity = platformService.restoreSoftDeletedPlatform(id);
-      CompletableFuture.runAsync(
-          () ->
-              auditService.auditPlatform(
-                  request,
-                  platformEntity,
-                  AuditEnums.AuditPlatform.PLATFORM_RESTORE,
-                  String.format(
-                      "Platform Restore [Id: %s] - [Name: %s]",
-                      platformEntity.getId(), platformEntity.getPlatformName())));
+      auditService.auditPlatform(
+          request,
+          platformEntity,
+          AuditEnums.AuditPlatform.PLATFORM_RESTORE,
+          String.format(
+              "Platform Restore [Id: %s] - [Name: %s]",
+              platformEntity.getId(), platformEntity.getPlatformName()));
       final ResponseMetadata.ResponseCrudInfo responseCrudInfo =
           CommonUtils.defaultResponseCrudInfo(0, 0, 0, 1);
       return entityDtoConvertUtils.getResponseSinglePlatform(
@@ -12,7 +12,6 @@ import io.github.bibekaryal86.shdsvc.dtos.ResponseMetadata;
 import io.github.bibekaryal86.shdsvc.dtos.ResponseWithMetadata;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
-import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -43,17 +42,15 @@ public class PlatformProfileRoleController {
       final PlatformProfileRoleEntity platformProfileRoleEntity =
           platformProfileRoleService.assignPlatformProfileRole(platformProfileRoleRequest);
 
-      CompletableFuture.runAsync(
-          () ->
-              auditService.auditProfile(
-                  request,
-                  platformProfileRoleEntity.getProfile(),
-                  AuditEnums.AuditProfile.ASSIGN_PLATFORM_ROLE,
-                  String.format(
-                      "Platform Profile Role Assign [Platform: %s] - [Profile: %s] - [Role: %s]",
-                      platformProfileRoleEntity.getPlatform().getId(),
-                      platformProfileRoleEntity.getProfile().getId(),
-                      platformProfileRoleEntity.getRole().getId())));
+      auditService.auditProfile(
+          request,
+          platformProfileRoleEntity.getProfile(),
+          AuditEnums.AuditProfile.ASSIGN_PLATFORM_ROLE,
+          String.format(
+              "Platform Profile Role Assign [Platform: %s] - [Profile: %s] - [Role: %s]",
+              platformProfileRoleEntity.getPlatform().getId(),
+              platformProfileRoleEntity.getProfile().getId(),
+              platformProfileRoleEntity.getRole().getId()));
 
       final ResponseMetadata.ResponseCrudInfo responseCrudInfo =
           CommonUtils.defaultResponseCrudInfo(1, 0, 0, 0);
@@ -84,17 +81,15 @@ public class PlatformProfileRoleController {
       final PlatformProfileRoleEntity platformProfileRoleEntity =
           platformProfileRoleService.unassignPlatformProfileRole(platformId, profileId, roleId);
 
-      CompletableFuture.runAsync(
-          () ->
-              auditService.auditProfile(
-                  request,
-                  platformProfileRoleEntity.getProfile(),
-                  AuditEnums.AuditProfile.UNASSIGN_PLATFORM_ROLE,
-                  String.format(
-                      "Platform Profile Role UnAssign [Platform: %s] - [Profile: %s] - [Role: %s]",
-                      platformProfileRoleEntity.getPlatform().getId(),
-                      platformProfileRoleEntity.getProfile().getId(),
-                      platformProfileRoleEntity.getRole().getId())));
+      auditService.auditProfile(
+          request,
+          platformProfileRoleEntity.getProfile(),
+          AuditEnums.AuditProfile.UNASSIGN_PLATFORM_ROLE,
+          String.format(
+              "Platform Profile Role UnAssign [Platform: %s] - [Profile: %s] - [Role: %s]",
+              platformProfileRoleEntity.getPlatform().getId(),
+              platformProfileRoleEntity.getProfile().getId(),
+              platformProfileRoleEntity.getRole().getId()));
 
       final ResponseMetadata.ResponseCrudInfo responseCrudInfo =
           CommonUtils.defaultResponseCrudInfo(0, 0, 1, 0);
@@ -12,7 +12,6 @@ import io.github.bibekaryal86.shdsvc.dtos.ResponseMetadata;
 import io.github.bibekaryal86.shdsvc.dtos.ResponseWithMetadata;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
-import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -43,17 +42,15 @@ public class PlatformRolePermissionController {
       final PlatformRolePermissionEntity platformRolePermissionEntity =
           platformRolePermissionService.assignPlatformRolePermission(platformRolePermissionRequest);
 
-      CompletableFuture.runAsync(
-          () ->
-              auditService.auditRole(
-                  request,
-                  platformRolePermissionEntity.getRole(),
-                  AuditEnums.AuditRole.ASSIGN_PLATFORM_PERMISSION,
-                  String.format(
-                      "Platform Role Permission Assign [Platform: %s] - [Role: %s] - [Permission: %s]",
-                      platformRolePermissionEntity.getPlatform().getId(),
-                      platformRolePermissionEntity.getRole().getId(),
-                      platformRolePermissionEntity.getPermission().getId())));
+      auditService.auditRole(
+          request,
+          platformRolePermissionEntity.getRole(),
+          AuditEnums.AuditRole.ASSIGN_PLATFORM_PERMISSION,
+          String.format(
+              "Platform Role Permission Assign [Platform: %s] - [Role: %s] - [Permission: %s]",
+              platformRolePermissionEntity.getPlatform().getId(),
+              platformRolePermissionEntity.getRole().getId(),
+              platformRolePermissionEntity.getPermission().getId()));
 
       final ResponseMetadata.ResponseCrudInfo responseCrudInfo =
           CommonUtils.defaultResponseCrudInfo(1, 0, 0, 0);
@@ -85,17 +82,15 @@ public class PlatformRolePermissionController {
           platformRolePermissionService.unassignPlatformRolePermission(
               platformId, roleId, permissionId);
 
-      CompletableFuture.runAsync(
-          () ->
-              auditService.auditRole(
-                  request,
-                  platformRolePermissionEntity.getRole(),
-                  AuditEnums.AuditRole.UNASSIGN_PLATFORM_PERMISSION,
-                  String.format(
-                      "Platform Profile Role UnAssign [Platform: %s] - [Role: %s] - [Permission: %s]",
-                      platformRolePermissionEntity.getPlatform().getId(),
-                      platformRolePermissionEntity.getRole().getId(),
-                      platformRolePermissionEntity.getPermission().getId())));
+      auditService.auditRole(
+          request,
+          platformRolePermissionEntity.getRole(),
+          AuditEnums.AuditRole.UNASSIGN_PLATFORM_PERMISSION,
+          String.format(
+              "Platform Profile Role UnAssign [Platform: %s] - [Role: %s] - [Permission: %s]",
+              platformRolePermissionEntity.getPlatform().getId(),
+              platformRolePermissionEntity.getRole().getId(),
+              platformRolePermissionEntity.getPermission().getId()));
 
       final ResponseMetadata.ResponseCrudInfo responseCrudInfo =
           CommonUtils.defaultResponseCrudInfo(0, 0, 1, 0);
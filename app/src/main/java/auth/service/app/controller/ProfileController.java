@@ -2,6 +2,7 @@ package auth.service.app.controller;
 
 import auth.service.app.connector.EnvServiceConnector;
 import auth.service.app.model.annotation.CheckPermission;
+import auth.service.app.model.dto.AuditHistoryResponse;
 import auth.service.app.model.dto.ProfileEmailRequest;
 import auth.service.app.model.dto.ProfilePasswordRequest;
 import auth.service.app.model.dto.ProfileRequest;
@@ -10,6 +11,7 @@ import auth.service.app.model.entity.AuditProfileEntity;
 import auth.service.app.model.entity.PlatformProfileRoleEntity;
 import auth.service.app.model.entity.ProfileEntity;
 import auth.service.app.model.enums.AuditEnums;
+import auth.service.app.model.enums.TypeEnums;
 import auth.service.app.service.AuditService;
 import auth.service.app.service.CircularDependencyService;
 import auth.service.app.service.PlatformProfileRoleService;
@@ -20,11 +22,12 @@ import auth.service.app.util.PermissionCheck;
 import io.github.bibekaryal86.shdsvc.dtos.ResponseMetadata;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -111,6 +114,28 @@ public class ProfileController {
     }
   }
 
+  @GetMapping("/profile/{id}/history")
+  public ResponseEntity<AuditHistoryResponse> readProfileHistory(
+      @PathVariable final long id,
+      @RequestParam(required = false) final List<String> eventType,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final LocalDateTime fromDate,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final LocalDateTime toDate,
+      @RequestParam(required = false) final String cursor,
+      @RequestParam(required = false) final Integer perPage) {
+    try {
+      permissionCheck.checkProfileAccess("", id);
+      return ResponseEntity.ok(
+          auditService.auditHistory(
+              TypeEnums.ComponentName.PROFILE, id, eventType, fromDate, toDate, cursor, perPage));
+    } catch (Exception ex) {
+      log.error(
+          "Read Profile History: Id=[{}], EventType=[{}], Cursor=[{}]", id, eventType, cursor, ex);
+      return entityDtoConvertUtils.getResponseErrorAuditHistory(ex);
+    }
+  }
+
   @PutMapping("/profile/{id}")
   public ResponseEntity<ProfileResponse> updateProfile(
       @PathVariable final long id,
@@ -119,15 +144,13 @@ public class ProfileController {
     try {
       permissionCheck.checkProfileAccess("", id);
       ProfileEntity profileEntity = profileService.updateProfile(id, profileRequest);
-      CompletableFuture.runAsync(
-          () ->
-              auditService.auditProfile(
-                  request,
-                  profileEntity,
-                  AuditEnums.AuditProfile.PROFILE_UPDATE,
-                  String.format(
-                      "Profile Update [Id: %s] - [Email: %s]",
-                      profileEntity.getId(), profileEntity.getEmail())));
+      auditService.auditProfile(
+          request,
+          profileEntity,
+          AuditEnums.AuditProfile.PROFILE_UPDATE,
+          String.format(
+              "Profile Update [Id: %s] - [Email: %s]",
+              profileEntity.getId(), profileEntity.getEmail()));
       final ResponseMetadata.ResponseCrudInfo responseCrudInfo =
           CommonUtils.defaultResponseCrudInfo(0, 1, 0, 0);
       return entityDtoConvertUtils.getResponseSingleProfile(profileEntity, responseCrudInfo, null);
@@ -160,18 +183,16 @@ public class ProfileController {
               profileEmailRequest,
               platformProfileRoleEntity.getPlatform(),
               baseUrlForLinkInEmail);
-      CompletableFuture.runAsync(
-          () ->
-              auditService.auditProfile(
-                  request,
-                  profileEntity,
-                  AuditEnums.AuditProfile.PROFILE_EMAIL_UPDATE,
-                  String.format(
-                      "Profile Update Email [PlatformId: %s] - [Id: %s] - [OldEmail: %s] - [NewEmail: %s]",
-                      platformId,
-                      profileEntity.getId(),
-                      profileEmailRequest.getOldEmail(),
-                      profileEmailRequest.getNewEmail())));
+      auditService.auditProfile(
+          request,
+          profileEntity,
+          AuditEnums.AuditProfile.PROFILE_EMAIL_UPDATE,
+          String.format(
+              "Profile Update Email [PlatformId: %s] - [Id: %s] - [OldEmail: %s] - [NewEmail: %s]",
+              platformId,
+              profileEntity.getId(),
+              profileEmailRequest.getOldEmail(),
+              profileEmailRequest.getNewEmail()));
       final ResponseMetadata.ResponseCrudInfo responseCrudInfo =
           CommonUtils.defaultResponseCrudInfo(0, 1, 0, 0);
       return entityDtoConvertUtils.getResponseSingleProfile(profileEntity, responseCrudInfo, null);
@@ -201,15 +222,13 @@ public class ProfileController {
       final ProfileEntity profileEntity =
           profileService.updateProfilePassword(
               id, profilePasswordRequest, platformProfileRoleEntity.getPlatform());
-      CompletableFuture.runAsync(
-          () ->
-              auditService.auditProfile(
-                  request,
-                  profileEntity,
-                  AuditEnums.AuditProfile.PROFILE_PASSWORD_UPDATE,
-                  String.format(
-                      "Profile Update Password [PlatformId: %s] - [Id: %s] - [Email: %s]",
-                      platformId, profileEntity.getId(), profileEntity.getEmail())));
+      auditService.auditProfile(
+          request,
+          profileEntity,
+          AuditEnums.AuditProfile.PROFILE_PASSWORD_UPDATE,
+          String.format(
+              "Profile Update Password [PlatformId: %s] - [Id: %s] - [Email: %s]",
+              platformId, profileEntity.getId(), profileEntity.getEmail()));
       final ResponseMetadata.ResponseCrudInfo responseCrudInfo =
           CommonUtils.defaultResponseCrudInfo(0, 1, 0, 0);
       return entityDtoConvertUtils.getResponseSingleProfile(profileEntity, responseCrudInfo, null);
@@ -230,15 +249,13 @@ public class ProfileController {
       @PathVariable final long id, final HttpServletRequest request) {
     try {
       final ProfileEntity profileEntity = profileService.softDeleteProfile(id);
-      CompletableFuture.runAsync(
-          () ->
-              auditService.auditProfile(
-                  request,
-                  profileEntity,
-                  AuditEnums.AuditProfile.PROFILE_DELETE_SOFT,
-                  String.format(
-                      "Profile Delete Soft [Id: %s] - [Email: %s]",
-                      profileEntity.getId(), profileEntity.getEmail())));
+      auditService.auditProfile(
+          request,
+          profileEntity,
+          AuditEnums.AuditProfile.PROFILE_DELETE_SOFT,
+          String.format(
+              "Profile Delete Soft [Id: %s] - [Email: %s]",
+              profileEntity.getId(), profileEntity.getEmail()));
       final ResponseMetadata.ResponseCrudInfo responseCrudInfo =
           CommonUtils.defaultResponseCrudInfo(0, 0, 1, 0);
       return entityDtoConvertUtils.getResponseSingleProfile(profileEntity, responseCrudInfo, null);
@@ -262,7 +279,7 @@ public class ProfileController {
               "Profile Delete Hard [Id: %s] - [Email: %s]",
               profileEntity.getId(), profileEntity.getEmail());
       final Long auditEntityId =
-          auditService.auditProfile(
+          auditService.auditProfileBeforeHardDelete(
               request, profileEntity, AuditEnums.AuditProfile.PROFILE_DELETE_HARD, eventDesc);
 
       profileService.hardDeleteProfile(id);
@@ -289,15 +306,13 @@ public class ProfileController {
       @PathVariable final long id, final HttpServletRequest request) {
     try {
       final ProfileEntity profileEntity = profileService.restoreSoftDeletedProfile(id);
-      CompletableFuture.runAsync(
-          () ->
-              auditService.auditProfile(
-                  request,
-                  profileEntity,
-                  AuditEnums.AuditProfile.PROFILE_RESTORE,
-                  String.format(
-                      "Profile Restore [Id: %s] - [Email: %s]",
-                      profileEntity.getId(), profileEntity.getEmail())));
+      auditService.auditProfile(
+          request,
+          profileEntity,
+          AuditEnums.AuditProfile.PROFILE_RESTORE,
+          String.format(
+              "Profile Restore [Id: %s] - [Email: %s]",
+              profileEntity.getId(), profileEntity.getEmail()));
       final ResponseMetadata.ResponseCrudInfo responseCrudInfo =
           CommonUtils.defaultResponseCrudInfo(0, 0, 0, 1);
       return entityDtoConvertUtils.getResponseSingleProfile(profileEntity, responseCrudInfo, null);
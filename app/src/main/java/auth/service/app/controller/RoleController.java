@@ -1,11 +1,13 @@
 package auth.service.app.controller;
 
 import auth.service.app.model.annotation.CheckPermission;
+import auth.service.app.model.dto.AuditHistoryResponse;
 import auth.service.app.model.dto.RoleRequest;
 import auth.service.app.model.dto.RoleResponse;
 import auth.service.app.model.entity.AuditRoleEntity;
 import auth.service.app.model.entity.RoleEntity;
 import auth.service.app.model.enums.AuditEnums;
+import auth.service.app.model.enums.TypeEnums;
 import auth.service.app.service.AuditService;
 import auth.service.app.service.CircularDependencyService;
 import auth.service.app.service.RoleService;
@@ -14,11 +16,12 @@ import auth.service.app.util.EntityDtoConvertUtils;
 import io.github.bibekaryal86.shdsvc.dtos.ResponseMetadata;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -50,15 +53,12 @@ public class RoleController {
       @Valid @RequestBody final RoleRequest roleRequest, final HttpServletRequest request) {
     try {
       final RoleEntity roleEntity = roleService.createRole(roleRequest);
-      CompletableFuture.runAsync(
-          () ->
-              auditService.auditRole(
-                  request,
-                  roleEntity,
-                  AuditEnums.AuditRole.ROLE_CREATE,
-                  String.format(
-                      "Role Create [Id: %s] - [Name: %s]",
-                      roleEntity.getId(), roleEntity.getRoleName())));
+      auditService.auditRole(
+          request,
+          roleEntity,
+          AuditEnums.AuditRole.ROLE_CREATE,
+          String.format(
+              "Role Create [Id: %s] - [Name: %s]", roleEntity.getId(), roleEntity.getRoleName()));
       final ResponseMetadata.ResponseCrudInfo responseCrudInfo =
           CommonUtils.defaultResponseCrudInfo(1, 0, 0, 0);
       return entityDtoConvertUtils.getResponseSingleRole(roleEntity, responseCrudInfo, null);
@@ -109,6 +109,28 @@ public class RoleController {
     }
   }
 
+  @CheckPermission("AUTHSVC_ROLE_READ")
+  @GetMapping("/role/{id}/history")
+  public ResponseEntity<AuditHistoryResponse> readRoleHistory(
+      @PathVariable final long id,
+      @RequestParam(required = false) final List<String> eventType,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final LocalDateTime fromDate,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final LocalDateTime toDate,
+      @RequestParam(required = false) final String cursor,
+      @RequestParam(required = false) final Integer perPage) {
+    try {
+      return ResponseEntity.ok(
+          auditService.auditHistory(
+              TypeEnums.ComponentName.ROLE, id, eventType, fromDate, toDate, cursor, perPage));
+    } catch (Exception ex) {
+      log.error(
+          "Read Role History: Id=[{}], EventType=[{}], Cursor=[{}]", id, eventType, cursor, ex);
+      return entityDtoConvertUtils.getResponseErrorAuditHistory(ex);
+    }
+  }
+
   @CheckPermission("AUTHSVC_ROLE_UPDATE")
   @PutMapping("/role/{id}")
   public ResponseEntity<RoleResponse> updateRole(
@@ -117,15 +139,12 @@ public class RoleController {
       final HttpServletRequest request) {
     try {
       final RoleEntity roleEntity = roleService.updateRole(id, roleRequest);
-      CompletableFuture.runAsync(
-          () ->
-              auditService.auditRole(
-                  request,
-                  roleEntity,
-                  AuditEnums.AuditRole.ROLE_UPDATE,
-                  String.format(
-                      "Role Update [Id: %s] - [Name: %s]",
-                      roleEntity.getId(), roleEntity.getRoleName())));
+      auditService.auditRole(
+          request,
+          roleEntity,
+          AuditEnums.AuditRole.ROLE_UPDATE,
+          String.format(
+              "Role Update [Id: %s] - [Name: %s]", roleEntity.getId(), roleEntity.getRoleName()));
       final ResponseMetadata.ResponseCrudInfo responseCrudInfo =
           CommonUtils.defaultResponseCrudInfo(0, 1, 0, 0);
       return entityDtoConvertUtils.getResponseSingleRole(roleEntity, responseCrudInfo, null);
@@ -141,15 +160,13 @@ public class RoleController {
       @PathVariable final long id, final HttpServletRequest request) {
     try {
       RoleEntity roleEntity = roleService.softDeleteRole(id);
-      CompletableFuture.runAsync(
-          () ->
-              auditService.auditRole(
-                  request,
-                  roleEntity,
-                  AuditEnums.AuditRole.ROLE_DELETE_SOFT,
-                  String.format(
-                      "Role Delete Soft [Id: %s] - [Name: %s]",
-                      roleEntity.getId(), roleEntity.getRoleName())));
+      auditService.auditRole(
+          request,
+          roleEntity,
+          AuditEnums.AuditRole.ROLE_DELETE_SOFT,
+          String.format(
+              "Role Delete Soft [Id: %s] - [Name: %s]",
+              roleEntity.getId(), roleEntity.getRoleName()));
       final ResponseMetadata.ResponseCrudInfo responseCrudInfo =
           CommonUtils.defaultResponseCrudInfo(0, 0, 1, 0);
       return entityDtoConvertUtils.getResponseSingleRole(roleEntity, responseCrudInfo, null);
@@ -172,7 +189,7 @@ public class RoleController {
               "Role Delete Hard [Id: %s] - [Name: %s]",
               roleEntity.getId(), roleEntity.getRoleName());
       final Long auditEntityId =
-          auditService.auditRole(
+          auditService.auditRoleBeforeHardDelete(
               request, roleEntity, AuditEnums.AuditRole.ROLE_DELETE_HARD, eventDesc);
 
       roleService.hardDeleteRole(id);
@@ -198,15 +215,12 @@ public class RoleController {
       @PathVariable final long id, final HttpServletRequest request) {
     try {
       final RoleEntity roleEntity = roleService.restoreSoftDeletedRole(id);
-      CompletableFuture.runAsync(
-          () ->
-              auditService.auditRole(
-                  request,
-                  roleEntity,
-                  AuditEnums.AuditRole.ROLE_RESTORE,
-                  String.format(
-                      "Role Restore [Id: %s] - [Name: %s]",
-                      roleEntity.getId(), roleEntity.getRoleName())));
+      auditService.auditRole(
+          request,
+          roleEntity,
+          AuditEnums.AuditRole.ROLE_RESTORE,
+          String.format(
+              "Role Restore [Id: %s] - [Name: %s]", roleEntity.getId(), roleEntity.getRoleName()));
       final ResponseMetadata.ResponseCrudInfo responseCrudInfo =
           CommonUtils.defaultResponseCrudInfo(0, 0, 0, 1);
       return entityDtoConvertUtils.getResponseSingleRole(roleEntity, responseCrudInfo, null);
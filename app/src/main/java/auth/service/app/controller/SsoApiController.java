@@ -3,6 +3,8 @@ package auth.service.app.controller;
 import auth.service.app.model.dto.ProfileResponse;
 import auth.service.app.model.entity.PlatformProfileRoleEntity;
 import auth.service.app.model.entity.ProfileEntity;
+import auth.service.app.model.token.PermissionCatalog;
+import auth.service.app.service.PermissionCatalogService;
 import auth.service.app.service.PlatformProfileRoleService;
 import auth.service.app.util.CommonUtils;
 import auth.service.app.util.EntityDtoConvertUtils;
@@ -21,6 +23,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @Slf4j
@@ -30,6 +33,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class SsoApiController {
 
   private final PlatformProfileRoleService platformProfileRoleService;
+  private final PermissionCatalogService permissionCatalogService;
   private final EntityDtoConvertUtils entityDtoConvertUtils;
   private final PermissionCheck permissionCheck;
 
@@ -71,6 +75,33 @@ public class SsoApiController {
     }
   }
 
+  // maps permission bits of compact tokens (pcv = version, pbs = bits) back to permission names
+  // the current catalog, or the one of the version given to decode a token issued before a change
+  @GetMapping(value = "/permissions/catalog", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<PermissionCatalog> readPermissionCatalog(
+      @PathVariable final Long platformId,
+      @RequestParam(required = false) final String version) {
+    try {
+      final AuthToken authToken = CommonUtils.getAuthentication();
+      if (authToken != null
+          && authToken.getPlatform() != null
+          && Objects.equals(platformId, authToken.getPlatform().getId())) {
+        if (version == null) {
+          return ResponseEntity.ok(permissionCatalogService.readPermissionCatalog(platformId));
+        }
+        final PermissionCatalog permissionCatalog =
+            permissionCatalogService.readPermissionCatalog(platformId, version);
+        return permissionCatalog == null
+            ? ResponseEntity.notFound().build()
+            : ResponseEntity.ok(permissionCatalog);
+      }
+      return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    } catch (Exception ex) {
+      log.error("Read Permission Catalog Error: PlatformId=[{}]", platformId, ex);
+      return ResponseEntity.internalServerError().build();
+    }
+  }
+
   @GetMapping(value = "/ba_profiles/list", produces = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<ProfileResponse> listSsoProfiles(@PathVariable final Long platformId) {
     try {
@@ -0,0 +1,32 @@
+package auth.service.app.controller;
+
+import auth.service.app.util.JwtUtils;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/.well-known")
+public class WellKnownController {
+
+  // public keys for downstream services to verify auth tokens locally
+  @GetMapping(value = "/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<Map<String, List<Map<String, ?>>>> jwks() {
+    try {
+      return ResponseEntity.ok()
+          .cacheControl(CacheControl.maxAge(Duration.ofHours(1)).cachePublic())
+          .body(JwtUtils.getJsonWebKeySet());
+    } catch (Exception ex) {
+      log.error("JWKS Error...", ex);
+      return ResponseEntity.internalServerError().build();
+    }
+  }
+}
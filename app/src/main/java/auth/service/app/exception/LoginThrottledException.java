@@ -0,0 +1,13 @@
+package auth.service.app.exception;
+
+import lombok.Getter;
+
+@Getter
+public class LoginThrottledException extends RuntimeException {
+  private final long retryAfterSeconds;
+
+  public LoginThrottledException(final long retryAfterSeconds) {
+    super("Too many login attempts, please try again later...");
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+}
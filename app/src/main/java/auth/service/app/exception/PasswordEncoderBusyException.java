@@ -0,0 +1,7 @@
+package auth.service.app.exception;
+
+public class PasswordEncoderBusyException extends RuntimeException {
+  public PasswordEncoderBusyException() {
+    super("Service is busy, please try again later...");
+  }
+}
@@ -1,9 +1,9 @@
 package auth.service.app.filter;
 
 import auth.service.app.exception.TokenInvalidException;
+import auth.service.app.model.token.VerifiedAuthToken;
+import auth.service.app.util.AuthTokenCache;
 import auth.service.app.util.ConstantUtils;
-import auth.service.app.util.JwtUtils;
-import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
 import io.github.bibekaryal86.shdsvc.dtos.ResponseMetadata;
 import io.github.bibekaryal86.shdsvc.dtos.ResponseWithMetadata;
 import jakarta.servlet.FilterChain;
@@ -12,15 +12,18 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Collections;
-import java.util.Map;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+@RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+  private final AuthTokenCache authTokenCache;
+
   @Override
   protected void doFilterInternal(
       final HttpServletRequest request,
@@ -33,19 +36,16 @@ public class JwtAuthFilter extends OncePerRequestFilter {
       final String token = authorizationHeader.substring(7);
 
       try {
-        final Map<String, AuthToken> emailAuthToken = JwtUtils.decodeAuthCredentials(token);
+        final VerifiedAuthToken verifiedAuthToken = authTokenCache.getVerifiedAuthToken(token);
 
-        if (emailAuthToken.size() != 1) {
+        if (verifiedAuthToken.email() == null || verifiedAuthToken.authToken() == null) {
           sendUnauthorizedResponse(response, "Malformed Auth Token");
           return;
         }
 
-        final Map.Entry<String, AuthToken> firstEntry = emailAuthToken.entrySet().iterator().next();
-        final String email = firstEntry.getKey();
-        final AuthToken authToken = firstEntry.getValue();
-
         final UsernamePasswordAuthenticationToken authentication =
-            new UsernamePasswordAuthenticationToken(email, authToken, Collections.emptyList());
+            new UsernamePasswordAuthenticationToken(
+                verifiedAuthToken.email(), verifiedAuthToken.authToken(), Collections.emptyList());
         SecurityContextHolder.getContext().setAuthentication(authentication);
       } catch (TokenInvalidException ex) {
         sendUnauthorizedResponse(response, ex.getMessage());
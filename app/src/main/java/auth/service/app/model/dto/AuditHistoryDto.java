@@ -0,0 +1,23 @@
+package auth.service.app.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class AuditHistoryDto {
+  private final Long id;
+  private final Long entityId;
+  private final String eventType;
+  private final String eventDesc;
+  private final LocalDateTime createdAt;
+  private final Long createdBy;
+  private final String ipAddress;
+  private final String userAgent;
+  // json as stored in event_data, written into the response as is without parsing it
+  @JsonRawValue private final String eventData;
+}
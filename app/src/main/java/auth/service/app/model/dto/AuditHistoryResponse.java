@@ -0,0 +1,17 @@
+package auth.service.app.model.dto;
+
+import io.github.bibekaryal86.shdsvc.dtos.ResponseMetadata;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class AuditHistoryResponse {
+  private List<AuditHistoryDto> history;
+  // pass back as cursor for the next page, null on the last page
+  private String nextCursor;
+  private ResponseMetadata responseMetadata;
+}
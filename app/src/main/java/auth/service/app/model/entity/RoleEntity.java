@@ -1,13 +1,16 @@
 package auth.service.app.model.entity;
 
+import auth.service.app.service.EntityCacheService;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@EntityListeners(EntityCacheService.class)
 @Table(name = "role")
 @Getter
 @Setter
@@ -0,0 +1,6 @@
+package auth.service.app.model.events;
+
+// who and where an audit comes from, captured on the request thread so nothing reads the request
+// (or the security context) after the response, when it may be recycled or on another thread
+public record AuditContext(
+    String ipAddress, String userAgent, Long actorProfileId, String requestId) {}
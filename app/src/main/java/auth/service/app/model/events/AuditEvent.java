@@ -0,0 +1,18 @@
+package auth.service.app.model.events;
+
+import auth.service.app.model.enums.TypeEnums;
+import java.time.LocalDateTime;
+
+// one audit row, captured when audited, spooled to disk and inserted later by the audit writer
+public record AuditEvent(
+    TypeEnums.ComponentName componentName,
+    Long entityId,
+    String eventType,
+    String eventDesc,
+    String eventData,
+    LocalDateTime createdAt,
+    Long createdBy,
+    String ipAddress,
+    String userAgent,
+    String requestId,
+    long queuedAtMillis) {}
@@ -0,0 +1,45 @@
+package auth.service.app.model.token;
+
+import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// permissions assigned to a platform, ordered by id, a token's permissions are bit positions in it
+public record PermissionCatalog(
+    long platformId, String version, List<AuthToken.AuthTokenPermission> permissions) {
+
+  // returns null when a permission is not in the catalog, so caller can fall back to names
+  public String encodePermissions(final List<AuthToken.AuthTokenPermission> tokenPermissions) {
+    final Map<String, Integer> positions = new HashMap<>();
+    for (int i = 0; i < permissions.size(); i++) {
+      positions.put(permissions.get(i).getPermissionName(), i);
+    }
+
+    final BitSet permissionBits = new BitSet(permissions.size());
+    for (final AuthToken.AuthTokenPermission tokenPermission : tokenPermissions) {
+      final Integer position = positions.get(tokenPermission.getPermissionName());
+      if (position == null) {
+        return null;
+      }
+      permissionBits.set(position);
+    }
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(permissionBits.toByteArray());
+  }
+
+  public List<AuthToken.AuthTokenPermission> decodePermissions(final String encodedPermissions) {
+    final BitSet permissionBits = BitSet.valueOf(Base64.getUrlDecoder().decode(encodedPermissions));
+    final List<AuthToken.AuthTokenPermission> tokenPermissions =
+        new ArrayList<>(permissionBits.cardinality());
+    for (int i = permissionBits.nextSetBit(0); i >= 0; i = permissionBits.nextSetBit(i + 1)) {
+      if (i >= permissions.size()) {
+        throw new IllegalArgumentException("Permission Not In Catalog: " + version);
+      }
+      tokenPermissions.add(permissions.get(i));
+    }
+    return tokenPermissions;
+  }
+}
@@ -0,0 +1,19 @@
+package auth.service.app.model.token;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// isActive: at least one platform profile role where platform, profile and role are not deleted
+// rolesPermissions: assigned roles with assigned permissions, same as AuthToken lookup
+public record ProfileLoginLookup(
+    Long platformId,
+    String platformName,
+    Long profileId,
+    String email,
+    String password,
+    Boolean isValidated,
+    Integer loginAttempts,
+    LocalDateTime lastLogin,
+    LocalDateTime updatedDate,
+    boolean isActive,
+    List<AuthTokenRolePermissionLookup> rolesPermissions) {}
@@ -0,0 +1,16 @@
+package auth.service.app.model.token;
+
+import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
+
+// permissionCatalogVersion and permissionBits are only set for compact tokens
+public record VerifiedAuthToken(
+    String email,
+    AuthToken authToken,
+    long expiresAtMillis,
+    String permissionCatalogVersion,
+    String permissionBits) {
+
+  public boolean isCompact() {
+    return permissionBits != null;
+  }
+}
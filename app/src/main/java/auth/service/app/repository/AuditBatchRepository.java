@@ -0,0 +1,78 @@
+package auth.service.app.repository;
+
+import auth.service.app.model.enums.TypeEnums;
+import auth.service.app.model.events.AuditEvent;
+import java.sql.Types;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// audit rows inserted with jdbc batches, audit entities use identity ids so hibernate cannot batch
+@Repository
+@RequiredArgsConstructor
+public class AuditBatchRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private volatile String jsonParameter;
+
+  public int insertAudits(
+      final TypeEnums.ComponentName componentName, final List<AuditEvent> auditEvents) {
+    final String sql =
+        String.format(
+            """
+            INSERT INTO %s
+            (%s, event_type, event_desc, event_data, created_at, created_by, ip_address, user_agent)
+            VALUES (?, ?, ?, %s, ?, ?, ?, ?)
+            """,
+            getTableName(componentName), getEntityColumnName(componentName), getJsonParameter());
+
+    jdbcTemplate.batchUpdate(
+        sql,
+        auditEvents,
+        auditEvents.size(),
+        (preparedStatement, auditEvent) -> {
+          preparedStatement.setObject(1, auditEvent.entityId(), Types.BIGINT);
+          preparedStatement.setString(2, auditEvent.eventType());
+          preparedStatement.setString(3, auditEvent.eventDesc());
+          preparedStatement.setString(4, auditEvent.eventData());
+          preparedStatement.setObject(5, auditEvent.createdAt());
+          preparedStatement.setObject(6, auditEvent.createdBy(), Types.BIGINT);
+          preparedStatement.setString(7, auditEvent.ipAddress());
+          preparedStatement.setString(8, auditEvent.userAgent());
+        });
+    return auditEvents.size();
+  }
+
+  static String getTableName(final TypeEnums.ComponentName componentName) {
+    return switch (componentName) {
+      case PLATFORM -> "audit_platform";
+      case PROFILE -> "audit_profile";
+      case ROLE -> "audit_role";
+      case PERMISSION -> "audit_permission";
+    };
+  }
+
+  static String getEntityColumnName(final TypeEnums.ComponentName componentName) {
+    return switch (componentName) {
+      case PLATFORM -> "platform_id";
+      case PROFILE -> "profile_id";
+      case ROLE -> "role_id";
+      case PERMISSION -> "permission_id";
+    };
+  }
+
+  // postgres casts the json text to jsonb, h2 (used in tests) parses it only with FORMAT JSON
+  private String getJsonParameter() {
+    if (jsonParameter == null) {
+      final String databaseProductName =
+          jdbcTemplate.execute(
+              (ConnectionCallback<String>)
+                  connection -> connection.getMetaData().getDatabaseProductName());
+      jsonParameter = "H2".equals(databaseProductName) ? "? FORMAT JSON" : "CAST(? AS JSONB)";
+    }
+    return jsonParameter;
+  }
+}
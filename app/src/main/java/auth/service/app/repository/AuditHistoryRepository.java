@@ -0,0 +1,218 @@
+package auth.service.app.repository;
+
+import auth.service.app.model.dto.AuditHistoryDto;
+import auth.service.app.model.enums.TypeEnums;
+import auth.service.app.util.ConstantUtils;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// audit history read newest first by keyset on (created_at, id), the next page starts after the
+// last row of the previous one so every page is an index range scan of (entity_id, created_at, id)
+@Repository
+public class AuditHistoryRepository {
+
+  private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+  private final NamedParameterJdbcTemplate exportJdbcTemplate;
+
+  public AuditHistoryRepository(final NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+    this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    final JdbcTemplate jdbcTemplate =
+        new JdbcTemplate(namedParameterJdbcTemplate.getJdbcTemplate().getDataSource());
+    jdbcTemplate.setFetchSize(ConstantUtils.AUDIT_EXPORT_FETCH_SIZE);
+    this.exportJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+  }
+
+  public List<AuditHistoryDto> findAuditHistory(
+      final TypeEnums.ComponentName componentName,
+      final long entityId,
+      final List<String> eventTypes,
+      final LocalDateTime fromDate,
+      final LocalDateTime toDate,
+      final LocalDateTime beforeCreatedAt,
+      final Long beforeId,
+      final int limit) {
+    final MapSqlParameterSource params = new MapSqlParameterSource();
+    final StringBuilder sql = getSelectSql(componentName);
+    appendFilters(sql, params, componentName, entityId, eventTypes, fromDate, toDate);
+    if (beforeCreatedAt != null && beforeId != null) {
+      // the first condition is what bounds the index scan, the second skips rows already returned
+      sql.append(" AND created_at <= :beforeCreatedAt")
+          .append(" AND (created_at < :beforeCreatedAt OR id < :beforeId)");
+      params.addValue("beforeCreatedAt", beforeCreatedAt).addValue("beforeId", beforeId);
+    }
+    sql.append(" ORDER BY created_at DESC, id DESC LIMIT :limit");
+    params.addValue("limit", limit);
+
+    return namedParameterJdbcTemplate.query(
+        sql.toString(), params, (resultSet, rowNum) -> toAuditHistoryDto(resultSet));
+  }
+
+  // whole audit table (or the filtered part of it) oldest first, for exports. rows are read with a
+  // forward only cursor fetching AUDIT_EXPORT_FETCH_SIZE rows at a time and handed over one by one,
+  // nothing is collected. postgres only uses the cursor inside a transaction, else reads all rows
+  public void exportAudits(
+      final TypeEnums.ComponentName componentName,
+      final List<String> eventTypes,
+      final LocalDateTime fromDate,
+      final LocalDateTime toDate,
+      final Consumer<AuditHistoryDto> auditHistoryConsumer) {
+    final MapSqlParameterSource params = new MapSqlParameterSource();
+    final StringBuilder sql = getSelectSql(componentName);
+    appendFilters(sql, params, componentName, null, eventTypes, fromDate, toDate);
+    sql.append(" ORDER BY created_at, id");
+
+    exportJdbcTemplate.query(
+        sql.toString(),
+        params,
+        (RowCallbackHandler)
+            resultSet -> auditHistoryConsumer.accept(toAuditHistoryDto(resultSet)));
+  }
+
+  // audits created in [fromDate, toDate) ordered by entity for the archive, read like the export
+  public void archiveAudits(
+      final TypeEnums.ComponentName componentName,
+      final LocalDateTime fromDate,
+      final LocalDateTime toDate,
+      final Consumer<AuditHistoryDto> auditHistoryConsumer) {
+    final MapSqlParameterSource params = new MapSqlParameterSource();
+    final StringBuilder sql = getSelectSql(componentName);
+    appendFilters(sql, params, componentName, null, null, fromDate, toDate);
+    sql.append(" ORDER BY ")
+        .append(AuditBatchRepository.getEntityColumnName(componentName))
+        .append(" NULLS LAST, created_at, id");
+
+    exportJdbcTemplate.query(
+        sql.toString(),
+        params,
+        (RowCallbackHandler)
+            resultSet -> auditHistoryConsumer.accept(toAuditHistoryDto(resultSet)));
+  }
+
+  public LocalDateTime findOldestCreatedAt(
+      final TypeEnums.ComponentName componentName, final LocalDateTime beforeDate) {
+    return namedParameterJdbcTemplate.queryForObject(
+        "SELECT MIN(created_at) FROM "
+            + AuditBatchRepository.getTableName(componentName)
+            + " WHERE created_at < :beforeDate",
+        new MapSqlParameterSource("beforeDate", beforeDate),
+        LocalDateTime.class);
+  }
+
+  // deletes at most chunkSize audits created in [fromDate, toDate), each call is a short
+  // transaction of its own, called until it returns less than chunkSize
+  public int deleteAudits(
+      final TypeEnums.ComponentName componentName,
+      final LocalDateTime fromDate,
+      final LocalDateTime toDate,
+      final int chunkSize) {
+    final String tableName = AuditBatchRepository.getTableName(componentName);
+    return namedParameterJdbcTemplate.update(
+        String.format(
+            """
+            DELETE FROM %1$s WHERE created_at >= :fromDate AND created_at < :toDate AND id IN (
+            SELECT id FROM %1$s WHERE created_at >= :fromDate AND created_at < :toDate
+            LIMIT :chunkSize)
+            """,
+            tableName),
+        new MapSqlParameterSource()
+            .addValue("fromDate", fromDate)
+            .addValue("toDate", toDate)
+            .addValue("chunkSize", chunkSize));
+  }
+
+  // audits created in [fromDate, toDate), to confirm a month was archived in full
+  public int countAudits(
+      final TypeEnums.ComponentName componentName,
+      final LocalDateTime fromDate,
+      final LocalDateTime toDate) {
+    final MapSqlParameterSource params = new MapSqlParameterSource();
+    final StringBuilder sql =
+        new StringBuilder("SELECT COUNT(*) FROM ")
+            .append(AuditBatchRepository.getTableName(componentName))
+            .append(' ');
+    appendFilters(sql, params, componentName, null, null, fromDate, toDate);
+    final Integer count =
+        namedParameterJdbcTemplate.queryForObject(sql.toString(), params, Integer.class);
+    return count == null ? 0 : count;
+  }
+
+  public int countAuditHistory(
+      final TypeEnums.ComponentName componentName,
+      final long entityId,
+      final List<String> eventTypes,
+      final LocalDateTime fromDate,
+      final LocalDateTime toDate) {
+    final MapSqlParameterSource params = new MapSqlParameterSource();
+    final StringBuilder sql =
+        new StringBuilder("SELECT COUNT(*) FROM ")
+            .append(AuditBatchRepository.getTableName(componentName))
+            .append(' ');
+    appendFilters(sql, params, componentName, entityId, eventTypes, fromDate, toDate);
+    final Integer count =
+        namedParameterJdbcTemplate.queryForObject(sql.toString(), params, Integer.class);
+    return count == null ? 0 : count;
+  }
+
+  private static StringBuilder getSelectSql(final TypeEnums.ComponentName componentName) {
+    return new StringBuilder(
+        String.format(
+            """
+            SELECT id, %s AS entity_id, event_type, event_desc, event_data, created_at,
+            created_by, ip_address, user_agent
+            FROM %s
+            """,
+            AuditBatchRepository.getEntityColumnName(componentName),
+            AuditBatchRepository.getTableName(componentName)));
+  }
+
+  private static void appendFilters(
+      final StringBuilder sql,
+      final MapSqlParameterSource params,
+      final TypeEnums.ComponentName componentName,
+      final Long entityId,
+      final List<String> eventTypes,
+      final LocalDateTime fromDate,
+      final LocalDateTime toDate) {
+    final List<String> conditions = new ArrayList<>();
+    if (entityId != null) {
+      conditions.add(AuditBatchRepository.getEntityColumnName(componentName) + " = :entityId");
+      params.addValue("entityId", entityId);
+    }
+    if (eventTypes != null && !eventTypes.isEmpty()) {
+      conditions.add("event_type IN (:eventTypes)");
+      params.addValue("eventTypes", eventTypes);
+    }
+    if (fromDate != null) {
+      conditions.add("created_at >= :fromDate");
+      params.addValue("fromDate", fromDate);
+    }
+    if (toDate != null) {
+      conditions.add("created_at < :toDate");
+      params.addValue("toDate", toDate);
+    }
+    sql.append("WHERE ").append(conditions.isEmpty() ? "1 = 1" : String.join(" AND ", conditions));
+  }
+
+  private static AuditHistoryDto toAuditHistoryDto(final ResultSet resultSet)
+      throws SQLException {
+    return new AuditHistoryDto(
+        resultSet.getLong("id"),
+        resultSet.getObject("entity_id", Long.class),
+        resultSet.getString("event_type"),
+        resultSet.getString("event_desc"),
+        resultSet.getObject("created_at", LocalDateTime.class),
+        resultSet.getObject("created_by", Long.class),
+        resultSet.getString("ip_address"),
+        resultSet.getString("user_agent"),
+        resultSet.getString("event_data"));
+  }
+}
@@ -0,0 +1,109 @@
+package auth.service.app.repository;
+
+import auth.service.app.model.enums.TypeEnums;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// monthly partitions of the audit tables (postgres only, see V3_1 migration), named <table>_pYYYYMM
+@Repository
+@RequiredArgsConstructor
+public class AuditPartitionRepository {
+
+  private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private volatile Boolean isPostgres;
+
+  public boolean isPartitioned(final TypeEnums.ComponentName componentName) {
+    if (!isPostgres()) {
+      return false;
+    }
+    final Integer count =
+        jdbcTemplate.queryForObject(
+            """
+            SELECT COUNT(*) FROM pg_partitioned_table pt
+            JOIN pg_class c ON c.oid = pt.partrelid
+            WHERE c.relname = ? AND c.relnamespace = current_schema()::regnamespace
+            """,
+            Integer.class,
+            AuditBatchRepository.getTableName(componentName));
+    return count != null && count > 0;
+  }
+
+  // monthly partitions only, the default partition is not included
+  public List<YearMonth> findPartitions(final TypeEnums.ComponentName componentName) {
+    final String tableName = AuditBatchRepository.getTableName(componentName);
+    final List<String> partitionNames =
+        jdbcTemplate.queryForList(
+            """
+            SELECT c.relname FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            WHERE p.relname = ? AND p.relnamespace = current_schema()::regnamespace
+            """,
+            String.class,
+            tableName);
+
+    final String prefix = tableName + "_p";
+    final List<YearMonth> partitions = new ArrayList<>();
+    for (final String partitionName : partitionNames) {
+      if (partitionName.startsWith(prefix)) {
+        try {
+          partitions.add(
+              YearMonth.parse(partitionName.substring(prefix.length()), PARTITION_MONTH));
+        } catch (DateTimeParseException ignored) {
+          // not one of ours, left alone
+        }
+      }
+    }
+    return partitions;
+  }
+
+  public void createPartition(
+      final TypeEnums.ComponentName componentName, final YearMonth partitionMonth) {
+    jdbcTemplate.execute(
+        String.format(
+            "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+            getPartitionName(componentName, partitionMonth),
+            AuditBatchRepository.getTableName(componentName),
+            partitionMonth.atDay(1),
+            partitionMonth.plusMonths(1).atDay(1)));
+  }
+
+  // detached before the drop so the parent is locked only for the detach, not the file removal
+  public void dropPartition(
+      final TypeEnums.ComponentName componentName, final YearMonth partitionMonth) {
+    final String partitionName = getPartitionName(componentName, partitionMonth);
+    jdbcTemplate.execute(
+        String.format(
+            "ALTER TABLE %s DETACH PARTITION %s",
+            AuditBatchRepository.getTableName(componentName), partitionName));
+    jdbcTemplate.execute("DROP TABLE " + partitionName);
+  }
+
+  private static String getPartitionName(
+      final TypeEnums.ComponentName componentName, final YearMonth partitionMonth) {
+    return AuditBatchRepository.getTableName(componentName)
+        + "_p"
+        + partitionMonth.format(PARTITION_MONTH);
+  }
+
+  private boolean isPostgres() {
+    if (isPostgres == null) {
+      final String databaseProductName =
+          jdbcTemplate.execute(
+              (ConnectionCallback<String>)
+                  connection -> connection.getMetaData().getDatabaseProductName());
+      isPostgres = "PostgreSQL".equals(databaseProductName);
+    }
+    return isPostgres;
+  }
+}
@@ -0,0 +1,73 @@
+package auth.service.app.repository;
+
+import auth.service.app.model.token.PermissionCatalog;
+import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// permission catalogs by version (see V3_4 migration), permissions stored as id:name lines
+@Repository
+@RequiredArgsConstructor
+public class PermissionCatalogRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  // a version is content based, so one already saved has the same permissions
+  public void savePermissionCatalog(final PermissionCatalog permissionCatalog) {
+    final String permissions =
+        permissionCatalog.permissions().stream()
+            .map(permission -> permission.getId() + ":" + permission.getPermissionName())
+            .collect(Collectors.joining("\n"));
+    try {
+      jdbcTemplate.update(
+          "INSERT INTO permission_catalog (version, platform_id, permissions) VALUES (?, ?, ?)",
+          permissionCatalog.version(),
+          permissionCatalog.platformId(),
+          permissions);
+    } catch (DuplicateKeyException ignored) {
+      // saved by another instance
+    }
+  }
+
+  public Optional<PermissionCatalog> findPermissionCatalog(final String version) {
+    return jdbcTemplate
+        .query(
+            "SELECT platform_id, permissions FROM permission_catalog WHERE version = ?",
+            (resultSet, rowNum) ->
+                new PermissionCatalog(
+                    resultSet.getLong("platform_id"),
+                    version,
+                    toPermissions(resultSet.getString("permissions"))),
+            version)
+        .stream()
+        .findFirst();
+  }
+
+  public int deletePermissionCatalogsBefore(final LocalDateTime createdDate) {
+    return jdbcTemplate.update(
+        "DELETE FROM permission_catalog WHERE created_date < ?", Timestamp.valueOf(createdDate));
+  }
+
+  private static List<AuthToken.AuthTokenPermission> toPermissions(final String permissions) {
+    final List<AuthToken.AuthTokenPermission> permissionList = new ArrayList<>();
+    if (permissions.isEmpty()) {
+      return permissionList;
+    }
+    for (final String permission : permissions.split("\n")) {
+      final int separator = permission.indexOf(':');
+      permissionList.add(
+          new AuthToken.AuthTokenPermission(
+              Long.parseLong(permission.substring(0, separator)),
+              permission.substring(separator + 1)));
+    }
+    return permissionList;
+  }
+}
@@ -1,12 +1,15 @@
 package auth.service.app.repository;
 
 import auth.service.app.model.entity.ProfileEntity;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface ProfileRepository extends JpaRepository<ProfileEntity, Long> {
@@ -15,4 +18,30 @@ public interface ProfileRepository extends JpaRepository<ProfileEntity, Long> {
   List<ProfileEntity> findAllProfiles(@Param("isIncludeDeleted") final boolean isIncludeDeleted);
 
   Optional<ProfileEntity> findByEmail(final String email);
+
+  // id only, without loading the profile and its address
+  @Query("SELECT p.id FROM ProfileEntity p WHERE p.email = :email")
+  Optional<Long> findIdByEmail(@Param("email") final String email);
+
+  @Query("SELECT p.email FROM ProfileEntity p")
+  List<String> findAllEmails();
+
+  @Modifying
+  @Transactional
+  @Query("UPDATE ProfileEntity p SET p.password = :password WHERE p.id = :id")
+  int updateProfilePassword(@Param("id") Long id, @Param("password") String password);
+
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE ProfileEntity p SET p.loginAttempts = 0, p.lastLogin = :lastLogin WHERE p.id = :id")
+  int updateProfileLoginSuccess(@Param("id") Long id, @Param("lastLogin") LocalDateTime lastLogin);
+
+  // updated date is when login attempts last changed, lock on login attempts expires after it
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE ProfileEntity p SET p.loginAttempts = COALESCE(p.loginAttempts, 0) + 1, p.updatedDate = :updatedDate WHERE p.email = :email")
+  int updateProfileLoginFailure(
+      @Param("email") String email, @Param("updatedDate") LocalDateTime updatedDate);
 }
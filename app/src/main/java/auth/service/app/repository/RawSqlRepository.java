@@ -1,8 +1,12 @@
 package auth.service.app.repository;
 
 import auth.service.app.model.token.AuthTokenRolePermissionLookup;
+import auth.service.app.model.token.ProfileLoginLookup;
+import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -76,9 +80,152 @@ public class RawSqlRepository {
     return result;
   }
 
+  // everything login needs in one round trip, one row per platform profile role and permission
+  // permissions are left joined so roles without permissions still count towards active check
+  public ProfileLoginLookup findProfileForLogin(final Long platformId, final String email) {
+    final String sql =
+        """
+        SELECT
+            pl.id AS platform_id,
+            pl.platform_name AS platform_name,
+            pr.id AS profile_id,
+            pr.email AS email,
+            pr.password AS password,
+            pr.is_validated AS is_validated,
+            pr.login_attempts AS login_attempts,
+            pr.last_login AS last_login,
+            pr.updated_date AS updated_date,
+            (pl.deleted_date IS NULL
+                AND pr.deleted_date IS NULL
+                AND r.deleted_date IS NULL) AS is_active,
+            r.id AS role_id,
+            r.role_name AS role_name,
+            p.id AS permission_id,
+            p.permission_name AS permission_name
+        FROM platform_profile_role ppr
+        JOIN platform pl ON pl.id = ppr.platform_id
+        JOIN profile pr ON pr.id = ppr.profile_id
+        JOIN role r ON r.id = ppr.role_id
+        LEFT JOIN platform_role_permission prp
+            ON  prp.platform_id = ppr.platform_id
+            AND prp.role_id = ppr.role_id
+            AND prp.unassigned_date IS NULL
+            AND ppr.unassigned_date IS NULL
+        LEFT JOIN permission p ON p.id = prp.permission_id
+        WHERE ppr.platform_id = :platformId
+          AND pr.email = :email
+    """;
+
+    Map<String, Object> params =
+        Map.of(
+            "platformId", platformId,
+            "email", email);
+
+    @SuppressWarnings({"unchecked"})
+    List<Object[]> rows = queryList(sql, params);
+
+    if (rows.isEmpty()) {
+      return null;
+    }
+
+    boolean isActive = false;
+    List<AuthTokenRolePermissionLookup> rolesPermissions = new ArrayList<>();
+
+    for (Object[] row : rows) {
+      isActive = isActive || Boolean.TRUE.equals(row[9]);
+      if (row[12] != null) {
+        rolesPermissions.add(
+            new AuthTokenRolePermissionLookup(
+                ((Number) row[10]).longValue(),
+                (String) row[11],
+                ((Number) row[12]).longValue(),
+                (String) row[13]));
+      }
+    }
+
+    final Object[] first = rows.getFirst();
+    return new ProfileLoginLookup(
+        ((Number) first[0]).longValue(),
+        (String) first[1],
+        ((Number) first[2]).longValue(),
+        (String) first[3],
+        (String) first[4],
+        (Boolean) first[5],
+        first[6] == null ? null : ((Number) first[6]).intValue(),
+        toLocalDateTime(first[7]),
+        toLocalDateTime(first[8]),
+        isActive,
+        rolesPermissions);
+  }
+
+  public List<AuthToken.AuthTokenPermission> findPermissionsForPermissionCatalog(
+      final Long platformId) {
+    final String sql =
+        """
+        SELECT DISTINCT
+            p.id AS permission_id,
+            p.permission_name AS permission_name
+        FROM platform_role_permission prp
+        JOIN permission p ON p.id = prp.permission_id
+        WHERE prp.platform_id = :platformId
+          AND prp.unassigned_date IS NULL
+        ORDER BY p.id
+    """;
+
+    Map<String, Object> params = Map.of("platformId", platformId);
+
+    @SuppressWarnings({"unchecked"})
+    List<Object[]> rows = queryList(sql, params);
+
+    List<AuthToken.AuthTokenPermission> result = new ArrayList<>();
+
+    for (Object[] row : rows) {
+      result.add(
+          new AuthToken.AuthTokenPermission(((Number) row[0]).longValue(), (String) row[1]));
+    }
+
+    return result;
+  }
+
+  public List<long[]> findPlatformRolePermissionIds() {
+    final String sql =
+        """
+        SELECT
+            prp.platform_id AS platform_id,
+            prp.role_id AS role_id,
+            prp.permission_id AS permission_id
+        FROM platform_role_permission prp
+    """;
+
+    @SuppressWarnings({"unchecked"})
+    List<Object[]> rows = queryList(sql, Map.of());
+
+    List<long[]> result = new ArrayList<>(rows.size());
+
+    for (Object[] row : rows) {
+      result.add(
+          new long[] {
+            ((Number) row[0]).longValue(),
+            ((Number) row[1]).longValue(),
+            ((Number) row[2]).longValue()
+          });
+    }
+
+    return result;
+  }
+
   public int updateAuditTableAfterDeletion(final String tableName, Long id, String eventDesc) {
     final String sql = "UPDATE " + tableName + " SET event_desc = :eventDesc WHERE id = :id";
     Map<String, Object> params = Map.of("eventDesc", eventDesc, "id", id);
     return queryUpdate(sql, params);
   }
+
+  private static LocalDateTime toLocalDateTime(final Object value) {
+    return switch (value) {
+      case null -> null;
+      case LocalDateTime localDateTime -> localDateTime;
+      case Timestamp timestamp -> timestamp.toLocalDateTime();
+      default -> throw new IllegalArgumentException("Unsupported date value: " + value.getClass());
+    };
+  }
 }
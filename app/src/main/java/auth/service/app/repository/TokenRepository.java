@@ -32,6 +32,20 @@ public interface TokenRepository extends JpaRepository<TokenEntity, Long> {
       nativeQuery = true)
   int setTokensAsDeletedByProfileIdTest(@Param("profileId") Long profileId);
 
+  // created and updated dates are set by column defaults
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO token (platform_id, profile_id, ip_address, refresh_token, csrf_token, expiry_date) VALUES (:platformId, :profileId, :ipAddress, :refreshToken, :csrfToken, :expiryDate)",
+      nativeQuery = true)
+  int insertToken(
+      @Param("platformId") Long platformId,
+      @Param("profileId") Long profileId,
+      @Param("ipAddress") String ipAddress,
+      @Param("refreshToken") String refreshToken,
+      @Param("csrfToken") String csrfToken,
+      @Param("expiryDate") LocalDateTime expiryDate);
+
   @Modifying
   @Query("DELETE FROM TokenEntity t WHERE t.expiryDate < :paramDate")
   int deleteByExpiryDateBefore(@Param("paramDate") LocalDateTime paramDate);
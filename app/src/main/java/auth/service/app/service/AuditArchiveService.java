@@ -0,0 +1,288 @@
+package auth.service.app.service;
+
+import auth.service.app.model.dto.AuditHistoryDto;
+import auth.service.app.model.enums.TypeEnums;
+import auth.service.app.repository.AuditHistoryRepository;
+import auth.service.app.util.AuditArchive;
+import auth.service.app.util.ConstantUtils;
+import io.github.bibekaryal86.shdsvc.helpers.CommonUtilities;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// audits past retention are moved from the db to the local AuditArchive one month at a time, the
+// month is deleted from the db (or its partition dropped) only after its segment is committed and
+// holds as many audits as the db, so an audit is always in the db, the archive or both. history
+// reads go on into the archive for audits older than what the db holds
+// AUDIT_ARCHIVE_DIR is required for retention, it must be durable storage (eg: a mounted volume
+// or bucket), without it or while it is not available nothing is archived and nothing is deleted
+@Slf4j
+@Service
+public class AuditArchiveService {
+
+  public static final Comparator<AuditHistoryDto> NEWEST_FIRST =
+      Comparator.comparing(AuditHistoryDto::getCreatedAt)
+          .thenComparing(AuditHistoryDto::getId)
+          .reversed();
+
+  private final AuditArchive auditArchive;
+  private final AuditHistoryRepository auditHistoryRepository;
+  private final TransactionOperations transactionOperations;
+
+  @Autowired
+  public AuditArchiveService(
+      final AuditHistoryRepository auditHistoryRepository,
+      final PlatformTransactionManager transactionManager) {
+    this(openAuditArchive(), auditHistoryRepository, readOnly(transactionManager));
+  }
+
+  public AuditArchiveService(
+      final AuditArchive auditArchive,
+      final AuditHistoryRepository auditHistoryRepository,
+      final TransactionOperations transactionOperations) {
+    this.auditArchive = auditArchive;
+    this.auditHistoryRepository = auditHistoryRepository;
+    this.transactionOperations = transactionOperations;
+  }
+
+  private static AuditArchive openAuditArchive() {
+    final String archiveDir =
+        CommonUtilities.getSystemEnvProperty(ConstantUtils.ENV_AUDIT_ARCHIVE_DIR);
+    if (archiveDir == null || archiveDir.isBlank()) {
+      log.warn("Audit Archive Dir Not Configured, Audits Past Retention Are Kept In The DB...");
+      return null;
+    }
+    final Path archiveDirectory = Path.of(archiveDir);
+    try {
+      final AuditArchive auditArchive =
+          AuditArchive.open(archiveDirectory, ConstantUtils.AUDIT_ARCHIVE_BLOCK_SIZE);
+      log.info("Open Audit Archive: Directory=[{}]", auditArchive.getDirectory());
+      return auditArchive;
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Audit Archive Open Error: " + archiveDirectory, ex);
+    }
+  }
+
+  // postgres streams the rows with the fetch size only inside a transaction
+  private static TransactionOperations readOnly(
+      final PlatformTransactionManager transactionManager) {
+    final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    transactionTemplate.setReadOnly(true);
+    return transactionTemplate;
+  }
+
+  // writes the audits of the month to a new archive segment, nothing is deleted from the db
+  // throws when the month cannot be confirmed archived in full, the caller then keeps it in the db
+  public long archiveMonth(final TypeEnums.ComponentName componentName, final YearMonth month)
+      throws IOException {
+    if (auditArchive == null) {
+      throw new IOException("Audit Archive Not Configured: " + ConstantUtils.ENV_AUDIT_ARCHIVE_DIR);
+    }
+    if (!auditArchive.isAvailable()) {
+      throw new IOException("Audit Archive Not Available: " + auditArchive.getDirectory());
+    }
+
+    final LocalDateTime fromDate = month.atDay(1).atStartOfDay();
+    final LocalDateTime toDate = month.plusMonths(1).atDay(1).atStartOfDay();
+    try (AuditArchive.SegmentWriter segmentWriter =
+        auditArchive.newSegment(componentName, month)) {
+      try {
+        transactionOperations.executeWithoutResult(
+            status ->
+                auditHistoryRepository.archiveAudits(
+                    componentName,
+                    fromDate,
+                    toDate,
+                    auditHistoryDto -> {
+                      try {
+                        segmentWriter.append(auditHistoryDto);
+                      } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                      }
+                    }));
+      } catch (UncheckedIOException ex) {
+        throw ex.getCause();
+      }
+      final long archived = segmentWriter.commit();
+      final int audits = auditHistoryRepository.countAudits(componentName, fromDate, toDate);
+      if (audits != archived) {
+        throw new IOException(
+            String.format(
+                "Audit Month Archive Not Confirmed: %s, %s, Archived=[%d], Audits=[%d]",
+                componentName, month, archived, audits));
+      }
+      log.info(
+          "Audit Month Archived: ComponentName=[{}], Month=[{}], Archived=[{}]",
+          componentName,
+          month,
+          archived);
+      return archived;
+    }
+  }
+
+  // for audit tables not partitioned (and rows left in the default partition of those that are),
+  // archives and then deletes in chunks every month older than retention, stops at the first month
+  // that fails to archive. returns the audits deleted
+  public int archiveAudits(
+      final TypeEnums.ComponentName componentName, final YearMonth currentMonth) {
+    final YearMonth oldestMonth = currentMonth.minusMonths(ConstantUtils.AUDIT_RETENTION_MONTHS);
+    final LocalDateTime oldestCreatedAt =
+        auditHistoryRepository.findOldestCreatedAt(
+            componentName, oldestMonth.atDay(1).atStartOfDay());
+    if (oldestCreatedAt == null) {
+      return 0;
+    }
+
+    int deleted = 0;
+    for (YearMonth month = YearMonth.from(oldestCreatedAt);
+        month.isBefore(oldestMonth);
+        month = month.plusMonths(1)) {
+      try {
+        archiveMonth(componentName, month);
+      } catch (IOException | RuntimeException ex) {
+        log.error(
+            "Audit Month Archive Error: ComponentName=[{}], Month=[{}]", componentName, month, ex);
+        break;
+      }
+
+      int chunkDeleted;
+      do {
+        chunkDeleted =
+            auditHistoryRepository.deleteAudits(
+                componentName,
+                month.atDay(1).atStartOfDay(),
+                month.plusMonths(1).atDay(1).atStartOfDay(),
+                ConstantUtils.AUDIT_ARCHIVE_DELETE_CHUNK_SIZE);
+        deleted += chunkDeleted;
+      } while (chunkDeleted == ConstantUtils.AUDIT_ARCHIVE_DELETE_CHUNK_SIZE);
+    }
+    return deleted;
+  }
+
+  // archived history of one entity, same filters and keyset as the db history, newest first
+  // months are read newest first and only until there are enough audits for the limit
+  public List<AuditHistoryDto> findAuditHistory(
+      final TypeEnums.ComponentName componentName,
+      final long entityId,
+      final List<String> eventTypes,
+      final LocalDateTime fromDate,
+      final LocalDateTime toDate,
+      final LocalDateTime beforeCreatedAt,
+      final Long beforeId,
+      final int limit) {
+    final List<AuditHistoryDto> auditHistoryDtos = new ArrayList<>();
+    for (final YearMonth month : findMonths(componentName, fromDate, toDate, beforeCreatedAt)) {
+      final List<AuditHistoryDto> monthAuditHistoryDtos = new ArrayList<>();
+      readAudits(
+          componentName,
+          month,
+          entityId,
+          auditHistoryDto -> {
+            if (isMatch(auditHistoryDto, eventTypes, fromDate, toDate)
+                && isBefore(auditHistoryDto, beforeCreatedAt, beforeId)) {
+              monthAuditHistoryDtos.add(auditHistoryDto);
+            }
+          });
+      monthAuditHistoryDtos.sort(NEWEST_FIRST);
+      auditHistoryDtos.addAll(monthAuditHistoryDtos);
+      if (auditHistoryDtos.size() >= limit) {
+        return auditHistoryDtos.subList(0, limit);
+      }
+    }
+    return auditHistoryDtos;
+  }
+
+  public int countAuditHistory(
+      final TypeEnums.ComponentName componentName,
+      final long entityId,
+      final List<String> eventTypes,
+      final LocalDateTime fromDate,
+      final LocalDateTime toDate) {
+    final int[] count = {0};
+    for (final YearMonth month : findMonths(componentName, fromDate, toDate, null)) {
+      readAudits(
+          componentName,
+          month,
+          entityId,
+          auditHistoryDto -> {
+            if (isMatch(auditHistoryDto, eventTypes, fromDate, toDate)) {
+              count[0]++;
+            }
+          });
+    }
+    return count[0];
+  }
+
+  // archived months newest first, left out when entirely outside of the date range
+  private List<YearMonth> findMonths(
+      final TypeEnums.ComponentName componentName,
+      final LocalDateTime fromDate,
+      final LocalDateTime toDate,
+      final LocalDateTime beforeCreatedAt) {
+    if (auditArchive == null) {
+      return List.of();
+    }
+    try {
+      return auditArchive.findMonths(componentName).stream()
+          .filter(
+              month -> {
+                final LocalDateTime monthStart = month.atDay(1).atStartOfDay();
+                final LocalDateTime monthEnd = month.plusMonths(1).atDay(1).atStartOfDay();
+                return (fromDate == null || monthEnd.isAfter(fromDate))
+                    && (toDate == null || monthStart.isBefore(toDate))
+                    && (beforeCreatedAt == null || !monthStart.isAfter(beforeCreatedAt));
+              })
+          .toList();
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Audit Archive Read Error: " + componentName, ex);
+    }
+  }
+
+  private void readAudits(
+      final TypeEnums.ComponentName componentName,
+      final YearMonth month,
+      final long entityId,
+      final Consumer<AuditHistoryDto> auditConsumer) {
+    try {
+      auditArchive.readAudits(componentName, month, entityId, auditConsumer);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(
+          "Audit Archive Read Error: " + componentName + ", " + month, ex);
+    }
+  }
+
+  private static boolean isMatch(
+      final AuditHistoryDto auditHistoryDto,
+      final List<String> eventTypes,
+      final LocalDateTime fromDate,
+      final LocalDateTime toDate) {
+    return (eventTypes == null
+            || eventTypes.isEmpty()
+            || eventTypes.contains(auditHistoryDto.getEventType()))
+        && (fromDate == null || !auditHistoryDto.getCreatedAt().isBefore(fromDate))
+        && (toDate == null || auditHistoryDto.getCreatedAt().isBefore(toDate));
+  }
+
+  private static boolean isBefore(
+      final AuditHistoryDto auditHistoryDto,
+      final LocalDateTime beforeCreatedAt,
+      final Long beforeId) {
+    if (beforeCreatedAt == null || beforeId == null) {
+      return true;
+    }
+    final int compared = auditHistoryDto.getCreatedAt().compareTo(beforeCreatedAt);
+    return compared < 0 || (compared == 0 && auditHistoryDto.getId() < beforeId);
+  }
+}
@@ -0,0 +1,112 @@
+package auth.service.app.service;
+
+import auth.service.app.model.dto.AuditHistoryDto;
+import auth.service.app.model.enums.TypeEnums;
+import auth.service.app.repository.AuditHistoryRepository;
+import auth.service.app.util.AuditNdjsonUtils;
+import auth.service.app.util.ConstantUtils;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// audits exported as ndjson, one json object per line, written while the rows are read from the db
+// cursor so memory stays the same whatever the number of rows, event_data is copied as stored
+// an export holds its read only transaction, and a db connection, until the client has read it
+// all, so at most AUDIT_EXPORT_MAX_CONCURRENT exports run at a time and slow clients can not take
+// the connections logins and token refreshes need
+@Service
+public class AuditExportService {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final AuditHistoryRepository auditHistoryRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final Semaphore exportPermits = new Semaphore(ConstantUtils.AUDIT_EXPORT_MAX_CONCURRENT);
+
+  public AuditExportService(
+      final AuditHistoryRepository auditHistoryRepository,
+      final PlatformTransactionManager transactionManager) {
+    this.auditHistoryRepository = auditHistoryRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+  }
+
+  // before the response is sent, false when as many exports as allowed are running
+  public boolean tryAcquireExport() {
+    return exportPermits.tryAcquire();
+  }
+
+  // once per export acquired, after it is written or failed
+  public void releaseExport() {
+    exportPermits.release();
+  }
+
+  // returns the number of audits written, the output stream is flushed but not closed
+  public long exportAudits(
+      final TypeEnums.ComponentName componentName,
+      final List<String> eventTypes,
+      final LocalDateTime fromDate,
+      final LocalDateTime toDate,
+      final boolean isGzip,
+      final OutputStream outputStream)
+      throws IOException {
+    final GZIPOutputStream gzipOutputStream =
+        isGzip ? new GZIPOutputStream(outputStream, BUFFER_SIZE) : null;
+    final Writer writer =
+        new BufferedWriter(
+            new OutputStreamWriter(
+                isGzip ? gzipOutputStream : outputStream, StandardCharsets.UTF_8),
+            BUFFER_SIZE);
+    // lenient allows one top level value after another, the new lines are written in between
+    final JsonWriter jsonWriter = new JsonWriter(writer);
+    jsonWriter.setStrictness(Strictness.LENIENT);
+
+    final long[] exported = {0};
+    try {
+      transactionTemplate.executeWithoutResult(
+          status ->
+              auditHistoryRepository.exportAudits(
+                  componentName,
+                  eventTypes,
+                  fromDate,
+                  toDate,
+                  auditHistoryDto -> {
+                    writeAudit(jsonWriter, writer, auditHistoryDto);
+                    exported[0]++;
+                  }));
+    } catch (UncheckedIOException ex) {
+      // mostly the client went away, the transaction (and cursor) is already closed
+      throw ex.getCause();
+    }
+
+    writer.flush();
+    if (gzipOutputStream != null) {
+      gzipOutputStream.finish();
+    }
+    outputStream.flush();
+    return exported[0];
+  }
+
+  private static void writeAudit(
+      final JsonWriter jsonWriter, final Writer writer, final AuditHistoryDto auditHistoryDto) {
+    try {
+      AuditNdjsonUtils.writeAudit(jsonWriter, auditHistoryDto);
+      writer.write('\n');
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+}
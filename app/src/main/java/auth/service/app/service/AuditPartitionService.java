@@ -0,0 +1,77 @@
+package auth.service.app.service;
+
+import auth.service.app.model.enums.TypeEnums;
+import auth.service.app.repository.AuditPartitionRepository;
+import auth.service.app.util.ConstantUtils;
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+// keeps the monthly audit partitions: the next months are created ahead of time and months older
+// than retention are dropped whole, so retention does not delete (and vacuum) rows one by one
+// a month is archived before its partition is dropped, and kept when the archive fails or cannot
+// be confirmed (eg: AUDIT_ARCHIVE_DIR not configured or not mounted), see AuditArchiveService
+// rows in the default partition are archived and deleted with the tables not partitioned
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditPartitionService {
+
+  private final AuditPartitionRepository auditPartitionRepository;
+  private final AuditArchiveService auditArchiveService;
+
+  // partitions dropped by audit table, tables not partitioned (eg: not migrated yet) are left out
+  public Map<TypeEnums.ComponentName, Integer> maintainPartitions(final YearMonth currentMonth) {
+    final Map<TypeEnums.ComponentName, Integer> droppedPartitions =
+        new EnumMap<>(TypeEnums.ComponentName.class);
+    // a month is dropped only when all of it is older than retention
+    final YearMonth oldestMonth = currentMonth.minusMonths(ConstantUtils.AUDIT_RETENTION_MONTHS);
+
+    for (final TypeEnums.ComponentName componentName : TypeEnums.ComponentName.values()) {
+      if (!auditPartitionRepository.isPartitioned(componentName)) {
+        continue;
+      }
+
+      final List<YearMonth> partitions = auditPartitionRepository.findPartitions(componentName);
+      for (int i = 0; i <= ConstantUtils.AUDIT_PARTITION_MONTHS_AHEAD; i++) {
+        final YearMonth partitionMonth = currentMonth.plusMonths(i);
+        if (!partitions.contains(partitionMonth)) {
+          auditPartitionRepository.createPartition(componentName, partitionMonth);
+          log.info(
+              "Audit Partition Created: ComponentName=[{}], Month=[{}]",
+              componentName,
+              partitionMonth);
+        }
+      }
+
+      int dropped = 0;
+      for (final YearMonth partitionMonth : partitions) {
+        if (partitionMonth.isBefore(oldestMonth)) {
+          try {
+            auditArchiveService.archiveMonth(componentName, partitionMonth);
+          } catch (IOException | RuntimeException ex) {
+            log.error(
+                "Audit Partition Archive Error: ComponentName=[{}], Month=[{}]",
+                componentName,
+                partitionMonth,
+                ex);
+            continue;
+          }
+          auditPartitionRepository.dropPartition(componentName, partitionMonth);
+          log.info(
+              "Audit Partition Dropped: ComponentName=[{}], Month=[{}]",
+              componentName,
+              partitionMonth);
+          dropped++;
+        }
+      }
+      droppedPartitions.put(componentName, dropped);
+    }
+    return droppedPartitions;
+  }
+}
@@ -0,0 +1,281 @@
+package auth.service.app.service;
+
+import auth.service.app.model.enums.TypeEnums;
+import auth.service.app.model.events.AuditEvent;
+import auth.service.app.repository.AuditBatchRepository;
+import auth.service.app.util.AuditSpool;
+import auth.service.app.util.ConstantUtils;
+import io.github.bibekaryal86.shdsvc.helpers.CommonUtilities;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// audits are appended to a local disk spool and inserted by a single writer thread, one jdbc
+// batch per audit table and one transaction per drain, so a burst of audits holds one connection
+// the spool is only moved past audits once written, when the db is slow or down the writer backs
+// off and audits wait on disk, also across restarts, instead of being lost or piling up in memory
+// when the spool is full the audit is dropped and counted, auditing never blocks a request
+@Slf4j
+@Service
+public class AuditQueueService {
+
+  private static final long POLL_MILLIS = 200;
+
+  private final AuditSpool auditSpool;
+  private final AuditBatchRepository auditBatchRepository;
+  private final TransactionOperations transactionOperations;
+  private final int maxBatchSize;
+  private final long retryMillis;
+  private final Thread auditWriter;
+  private final AtomicLong droppedSinceLastBatch = new AtomicLong();
+  private final Counter droppedCounter;
+  private final Counter failedCounter;
+  private final DistributionSummary batchSizeSummary;
+  private final Timer lagTimer;
+
+  private volatile boolean isRunning = true;
+
+  @Autowired
+  public AuditQueueService(
+      final AuditBatchRepository auditBatchRepository,
+      final PlatformTransactionManager transactionManager,
+      final MeterRegistry meterRegistry) {
+    this(
+        auditBatchRepository,
+        new TransactionTemplate(transactionManager),
+        meterRegistry,
+        openAuditSpool(),
+        ConstantUtils.AUDIT_BATCH_MAX_SIZE,
+        ConstantUtils.AUDIT_RETRY_MILLIS);
+  }
+
+  public AuditQueueService(
+      final AuditBatchRepository auditBatchRepository,
+      final TransactionOperations transactionOperations,
+      final MeterRegistry meterRegistry,
+      final AuditSpool auditSpool,
+      final int maxBatchSize,
+      final long retryMillis) {
+    this.auditSpool = auditSpool;
+    this.auditBatchRepository = auditBatchRepository;
+    this.transactionOperations = transactionOperations;
+    this.maxBatchSize = maxBatchSize;
+    this.retryMillis = retryMillis;
+
+    Gauge.builder("authsvc.audit.queue", auditSpool, AuditSpool::pending).register(meterRegistry);
+    Gauge.builder("authsvc.audit.spool.segments", auditSpool, AuditSpool::segments)
+        .register(meterRegistry);
+    this.droppedCounter = Counter.builder("authsvc.audit.dropped").register(meterRegistry);
+    this.failedCounter = Counter.builder("authsvc.audit.failed").register(meterRegistry);
+    this.batchSizeSummary =
+        DistributionSummary.builder("authsvc.audit.batch.size").register(meterRegistry);
+    this.lagTimer =
+        Timer.builder("authsvc.audit.lag").publishPercentileHistogram().register(meterRegistry);
+
+    this.auditWriter = new Thread(this::writeAudits, "audit-writer");
+    this.auditWriter.setDaemon(true);
+    this.auditWriter.start();
+  }
+
+  // without AUDIT_SPOOL_DIR the spool is in the tmp directory, which on app engine standard is
+  // in memory and gone when the instance stops, so audits not yet written then are lost
+  private static AuditSpool openAuditSpool() {
+    final String spoolDir = CommonUtilities.getSystemEnvProperty(ConstantUtils.ENV_AUDIT_SPOOL_DIR);
+    final boolean isTmpSpool = spoolDir == null || spoolDir.isBlank();
+    if (isTmpSpool) {
+      log.warn("Audit Spool Dir Not Configured, Spool In Tmp Directory Is Not Durable...");
+    }
+    final Path spoolDirectory =
+        isTmpSpool
+            ? Path.of(System.getProperty("java.io.tmpdir"), "authsvc-audit-spool")
+            : Path.of(spoolDir);
+    try {
+      final AuditSpool auditSpool =
+          AuditSpool.open(
+              spoolDirectory,
+              ConstantUtils.AUDIT_SPOOL_SLOTS,
+              ConstantUtils.AUDIT_SPOOL_SEGMENT_SIZE,
+              isTmpSpool
+                  ? ConstantUtils.AUDIT_SPOOL_TMP_MAX_SEGMENTS
+                  : ConstantUtils.AUDIT_SPOOL_MAX_SEGMENTS);
+      log.info(
+          "Open Audit Spool: Directory=[{}], Pending=[{}]",
+          auditSpool.getDirectory(),
+          auditSpool.pending());
+      return auditSpool;
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Audit Spool Open Error: " + spoolDirectory, ex);
+    }
+  }
+
+  public void queueAudit(final AuditEvent auditEvent) {
+    if (isRunning && auditSpool.append(auditEvent)) {
+      LockSupport.unpark(auditWriter);
+    } else {
+      droppedCounter.increment();
+      droppedSinceLastBatch.incrementAndGet();
+    }
+  }
+
+  public long size() {
+    return auditSpool.pending();
+  }
+
+  // audits not written by the timeout (or while the db is down) stay in the spool for next start
+  @PreDestroy
+  public void shutdown() {
+    isRunning = false;
+    LockSupport.unpark(auditWriter);
+    try {
+      auditWriter.join(TimeUnit.SECONDS.toMillis(ConstantUtils.AUDIT_SHUTDOWN_TIMEOUT_SECONDS));
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+    if (auditWriter.isAlive() || auditSpool.pending() > 0) {
+      log.warn("Audit Writer Shutdown, Left In Spool: Pending=[{}]", auditSpool.pending());
+    }
+    try {
+      auditSpool.close();
+    } catch (IOException ex) {
+      log.error("Audit Spool Close Error...", ex);
+    }
+  }
+
+  private void writeAudits() {
+    while (true) {
+      try {
+        auditSpool.force();
+        final List<AuditSpool.Entry> entries = auditSpool.read(maxBatchSize);
+        if (entries.isEmpty()) {
+          if (!isRunning) {
+            return;
+          }
+          LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(POLL_MILLIS));
+          continue;
+        }
+
+        final List<AuditSpool.Entry> written = entries.subList(0, writeBatch(entries));
+        auditSpool.commit(written);
+        // unreadable spool records, skipped
+        failedCounter.increment(
+            written.stream().filter(entry -> entry.auditEvent() == null).count());
+        if (written.size() < entries.size()) {
+          if (!isRunning) {
+            return;
+          }
+          LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(retryMillis));
+        }
+      } catch (Exception ex) {
+        // writer must keep running whatever happens to a batch
+        log.error("Audit Writer Error...", ex);
+        if (!isRunning) {
+          return;
+        }
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(retryMillis));
+      }
+    }
+  }
+
+  // returns how many entries from the start are done (written or failed for good)
+  // stops at the first that could not be written because the db is slow or unavailable
+  private int writeBatch(final List<AuditSpool.Entry> entries) {
+    final List<AuditEvent> auditEvents =
+        entries.stream().map(AuditSpool.Entry::auditEvent).filter(Objects::nonNull).toList();
+    batchSizeSummary.record(auditEvents.size());
+    final Map<TypeEnums.ComponentName, List<AuditEvent>> auditEventsByTable =
+        new EnumMap<>(TypeEnums.ComponentName.class);
+    auditEvents.forEach(
+        auditEvent ->
+            auditEventsByTable
+                .computeIfAbsent(auditEvent.componentName(), ignored -> new ArrayList<>())
+                .add(auditEvent));
+
+    final long dropped = droppedSinceLastBatch.getAndSet(0);
+    if (dropped > 0) {
+      log.warn("Audit Spool Full: Dropped=[{}]", dropped);
+    }
+
+    try {
+      transactionOperations.executeWithoutResult(
+          status -> auditEventsByTable.forEach(auditBatchRepository::insertAudits));
+      recordLag(auditEvents);
+      return entries.size();
+    } catch (Exception ex) {
+      if (isDatabaseUnavailable(ex)) {
+        log.warn("Audit Batch Error, Database Unavailable: BatchSize=[{}]", entries.size(), ex);
+        return 0;
+      }
+      // one bad row (eg: entity deleted since audited) fails the whole batch, so retry one by one
+      log.error("Audit Batch Error, Retrying Individually: BatchSize=[{}]", entries.size(), ex);
+    }
+
+    for (int i = 0; i < entries.size(); i++) {
+      final AuditEvent auditEvent = entries.get(i).auditEvent();
+      if (auditEvent != null && !writeAudit(auditEvent)) {
+        return i;
+      }
+    }
+    return entries.size();
+  }
+
+  // false if the audit should be tried again later
+  private boolean writeAudit(final AuditEvent auditEvent) {
+    try {
+      auditBatchRepository.insertAudits(auditEvent.componentName(), List.of(auditEvent));
+      recordLag(List.of(auditEvent));
+      return true;
+    } catch (Exception ex) {
+      if (isDatabaseUnavailable(ex)) {
+        log.warn("Audit Write Error, Database Unavailable...", ex);
+        return false;
+      }
+      failedCounter.increment();
+      log.error(
+          "Audit Write Error: ComponentName=[{}], EntityId=[{}], EventType=[{}], RequestId=[{}]",
+          auditEvent.componentName(),
+          auditEvent.entityId(),
+          auditEvent.eventType(),
+          auditEvent.requestId(),
+          ex);
+      return true;
+    }
+  }
+
+  private void recordLag(final List<AuditEvent> auditEvents) {
+    final long writtenAtMillis = System.currentTimeMillis();
+    auditEvents.forEach(
+        auditEvent ->
+            lagTimer.record(writtenAtMillis - auditEvent.queuedAtMillis(), TimeUnit.MILLISECONDS));
+  }
+
+  private static boolean isDatabaseUnavailable(final Exception ex) {
+    return ex instanceof CannotCreateTransactionException
+        || ex instanceof DataAccessResourceFailureException
+        || ex instanceof TransientDataAccessException
+        || ex instanceof RecoverableDataAccessException;
+  }
+}
@@ -1,5 +1,8 @@
 package auth.service.app.service;
 
+import auth.service.app.exception.ElementMissingException;
+import auth.service.app.model.dto.AuditHistoryDto;
+import auth.service.app.model.dto.AuditHistoryResponse;
 import auth.service.app.model.entity.AuditPermissionEntity;
 import auth.service.app.model.entity.AuditPlatformEntity;
 import auth.service.app.model.entity.AuditProfileEntity;
@@ -9,6 +12,10 @@ import auth.service.app.model.entity.PlatformEntity;
 import auth.service.app.model.entity.ProfileEntity;
 import auth.service.app.model.entity.RoleEntity;
 import auth.service.app.model.enums.AuditEnums;
+import auth.service.app.model.enums.TypeEnums;
+import auth.service.app.model.events.AuditContext;
+import auth.service.app.model.events.AuditEvent;
+import auth.service.app.repository.AuditHistoryRepository;
 import auth.service.app.repository.AuditPermissionRepository;
 import auth.service.app.repository.AuditPlatformRepository;
 import auth.service.app.repository.AuditProfileRepository;
@@ -17,16 +24,22 @@ import auth.service.app.repository.ProfileRepository;
 import auth.service.app.repository.RawSqlRepository;
 import auth.service.app.util.CommonUtils;
 import auth.service.app.util.ConstantUtils;
-import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
+import io.github.bibekaryal86.shdsvc.dtos.ResponseMetadata;
+import io.github.bibekaryal86.shdsvc.helpers.CommonUtilities;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.transaction.Transactional;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.type.descriptor.java.JavaType;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -40,18 +53,81 @@ public class AuditService {
   private final AuditProfileRepository auditProfileRepository;
   private final RawSqlRepository rawSqlRepository;
   private final ProfileRepository profileRepository;
+  private final AuditQueueService auditQueueService;
+  private final AuditPartitionService auditPartitionService;
+  private final AuditHistoryRepository auditHistoryRepository;
+  private final AuditArchiveService auditArchiveService;
+  private final EntityManagerFactory entityManagerFactory;
 
-  private ProfileEntity getCreatedByProfileEntity() {
-    final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-    if (authentication != null
-        && authentication.getCredentials() != null
-        && authentication.getCredentials() instanceof AuthToken authToken) {
-      return profileRepository.findById(authToken.getProfile().getId()).orElse(null);
+  // reference by id, created_by only needs the id so the profile is not read
+  private ProfileEntity getCreatedByReference(final AuditContext auditContext) {
+    return auditContext.actorProfileId() == null
+        ? null
+        : profileRepository.getReferenceById(auditContext.actorProfileId());
+  }
+
+  // same json as hibernate writes for event_data, so audit history reads it back the same way
+  private <T> String getEventData(final T entity, final Class<T> entityClass) {
+    if (entity == null) {
+      return null;
     }
-    return null;
+    final SessionFactoryImplementor sessionFactory =
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    final JavaType<T> javaType =
+        sessionFactory.getTypeConfiguration().getJavaTypeRegistry().getDescriptor(entityClass);
+    return sessionFactory
+        .getSessionFactoryOptions()
+        .getJsonFormatMapper()
+        .toString(entity, javaType, sessionFactory.getWrapperOptions());
+  }
+
+  private void queueAudit(
+      final TypeEnums.ComponentName componentName,
+      final AuditContext auditContext,
+      final Long entityId,
+      final String eventData,
+      final String eventType,
+      final String eventDesc) {
+    auditQueueService.queueAudit(
+        new AuditEvent(
+            componentName,
+            entityId,
+            eventType,
+            eventDesc,
+            eventData,
+            LocalDateTime.now(),
+            auditContext.actorProfileId(),
+            auditContext.ipAddress(),
+            auditContext.userAgent(),
+            auditContext.requestId(),
+            System.currentTimeMillis()));
   }
 
-  public Long auditPermission(
+  public void auditPermission(
+      final HttpServletRequest request,
+      final PermissionEntity permissionEntity,
+      final AuditEnums.AuditPermission eventType,
+      final String eventDesc) {
+    try {
+      queueAudit(
+          TypeEnums.ComponentName.PERMISSION,
+          CommonUtils.getAuditContext(request),
+          permissionEntity.getId(),
+          getEventData(permissionEntity, PermissionEntity.class),
+          eventType.name(),
+          eventDesc);
+    } catch (Exception ex) {
+      log.error(
+          "AuditPermissionException: PermissionsId=[{}], EventType=[{}], EventDesc=[{}]",
+          permissionEntity.getId(),
+          eventType,
+          eventDesc,
+          ex);
+    }
+  }
+
+  // written now, as the row must exist before the entity is deleted and is updated after
+  public Long auditPermissionBeforeHardDelete(
       final HttpServletRequest request,
       final PermissionEntity permissionEntity,
       final AuditEnums.AuditPermission eventType,
@@ -63,10 +139,11 @@ public class AuditService {
       auditPermissionEntity.setEventData(permissionEntity);
       auditPermissionEntity.setPermission(permissionEntity);
 
-      auditPermissionEntity.setCreatedBy(getCreatedByProfileEntity());
+      final AuditContext auditContext = CommonUtils.getAuditContext(request);
+      auditPermissionEntity.setCreatedBy(getCreatedByReference(auditContext));
       auditPermissionEntity.setCreatedAt(LocalDateTime.now());
-      auditPermissionEntity.setIpAddress(CommonUtils.getIpAddress(request));
-      auditPermissionEntity.setUserAgent(CommonUtils.getUserAgent(request));
+      auditPermissionEntity.setIpAddress(auditContext.ipAddress());
+      auditPermissionEntity.setUserAgent(auditContext.userAgent());
 
       return auditPermissionRepository.save(auditPermissionEntity).getId();
     } catch (Exception ex) {
@@ -88,7 +165,31 @@ public class AuditService {
     return auditPermissionRepository.findByPermissionId(id);
   }
 
-  public Long auditRole(
+  public void auditRole(
+      final HttpServletRequest request,
+      final RoleEntity roleEntity,
+      final AuditEnums.AuditRole eventType,
+      final String eventDesc) {
+    try {
+      queueAudit(
+          TypeEnums.ComponentName.ROLE,
+          CommonUtils.getAuditContext(request),
+          roleEntity.getId(),
+          getEventData(roleEntity, RoleEntity.class),
+          eventType.name(),
+          eventDesc);
+    } catch (Exception ex) {
+      log.error(
+          "AuditRoleException: RoleId=[{}], EventType=[{}], EventDesc=[{}]",
+          roleEntity.getId(),
+          eventType,
+          eventDesc,
+          ex);
+    }
+  }
+
+  // written now, as the row must exist before the entity is deleted and is updated after
+  public Long auditRoleBeforeHardDelete(
       final HttpServletRequest request,
       final RoleEntity roleEntity,
       final AuditEnums.AuditRole eventType,
@@ -100,10 +201,11 @@ public class AuditService {
       auditRoleEntity.setEventData(roleEntity);
       auditRoleEntity.setRole(roleEntity);
 
-      auditRoleEntity.setCreatedBy(getCreatedByProfileEntity());
+      final AuditContext auditContext = CommonUtils.getAuditContext(request);
+      auditRoleEntity.setCreatedBy(getCreatedByReference(auditContext));
       auditRoleEntity.setCreatedAt(LocalDateTime.now());
-      auditRoleEntity.setIpAddress(CommonUtils.getIpAddress(request));
-      auditRoleEntity.setUserAgent(CommonUtils.getUserAgent(request));
+      auditRoleEntity.setIpAddress(auditContext.ipAddress());
+      auditRoleEntity.setUserAgent(auditContext.userAgent());
 
       return auditRoleRepository.save(auditRoleEntity).getId();
     } catch (Exception ex) {
@@ -121,7 +223,31 @@ public class AuditService {
     return auditRoleRepository.findByRoleId(id);
   }
 
-  public Long auditPlatform(
+  public void auditPlatform(
+      final HttpServletRequest request,
+      final PlatformEntity platformEntity,
+      final AuditEnums.AuditPlatform eventType,
+      final String eventDesc) {
+    try {
+      queueAudit(
+          TypeEnums.ComponentName.PLATFORM,
+          CommonUtils.getAuditContext(request),
+          platformEntity.getId(),
+          getEventData(platformEntity, PlatformEntity.class),
+          eventType.name(),
+          eventDesc);
+    } catch (Exception ex) {
+      log.error(
+          "AuditPlatformException: PlatformId=[{}], EventType=[{}], EventDesc=[{}]",
+          platformEntity.getId(),
+          eventType,
+          eventDesc,
+          ex);
+    }
+  }
+
+  // written now, as the row must exist before the entity is deleted and is updated after
+  public Long auditPlatformBeforeHardDelete(
       final HttpServletRequest request,
       final PlatformEntity platformEntity,
       final AuditEnums.AuditPlatform eventType,
@@ -133,10 +259,11 @@ public class AuditService {
       auditPlatformEntity.setEventData(platformEntity);
       auditPlatformEntity.setPlatform(platformEntity);
 
-      auditPlatformEntity.setCreatedBy(getCreatedByProfileEntity());
+      final AuditContext auditContext = CommonUtils.getAuditContext(request);
+      auditPlatformEntity.setCreatedBy(getCreatedByReference(auditContext));
       auditPlatformEntity.setCreatedAt(LocalDateTime.now());
-      auditPlatformEntity.setIpAddress(CommonUtils.getIpAddress(request));
-      auditPlatformEntity.setUserAgent(CommonUtils.getUserAgent(request));
+      auditPlatformEntity.setIpAddress(auditContext.ipAddress());
+      auditPlatformEntity.setUserAgent(auditContext.userAgent());
 
       return auditPlatformRepository.save(auditPlatformEntity).getId();
     } catch (Exception ex) {
@@ -154,7 +281,40 @@ public class AuditService {
     return auditPlatformRepository.findByPlatformId(id);
   }
 
-  public Long auditProfile(
+  public void auditProfile(
+      final HttpServletRequest request,
+      final ProfileEntity profileEntity,
+      final AuditEnums.AuditProfile eventType,
+      final String eventDesc) {
+    auditProfile(CommonUtils.getAuditContext(request), profileEntity, eventType, eventDesc);
+  }
+
+  // for audits finished off the request thread, context captured on it beforehand
+  public void auditProfile(
+      final AuditContext auditContext,
+      final ProfileEntity profileEntity,
+      final AuditEnums.AuditProfile eventType,
+      final String eventDesc) {
+    try {
+      queueAudit(
+          TypeEnums.ComponentName.PROFILE,
+          auditContext,
+          profileEntity == null ? null : profileEntity.getId(),
+          getEventData(profileEntity, ProfileEntity.class),
+          eventType.name(),
+          eventDesc);
+    } catch (Exception ex) {
+      log.error(
+          "AuditProfileException: ProfileId=[{}], EventType=[{}], EventDesc=[{}]",
+          profileEntity == null ? ConstantUtils.ELEMENT_ID_NOT_FOUND : profileEntity.getId(),
+          eventType,
+          eventDesc,
+          ex);
+    }
+  }
+
+  // written now, as the row must exist before the entity is deleted and is updated after
+  public Long auditProfileBeforeHardDelete(
       final HttpServletRequest request,
       final ProfileEntity profileEntity,
       final AuditEnums.AuditProfile eventType,
@@ -167,10 +327,11 @@ public class AuditService {
         auditProfileEntity.setEventData(profileEntity);
         auditProfileEntity.setProfile(profileEntity);
       }
-      auditProfileEntity.setCreatedBy(getCreatedByProfileEntity());
+      final AuditContext auditContext = CommonUtils.getAuditContext(request);
+      auditProfileEntity.setCreatedBy(getCreatedByReference(auditContext));
       auditProfileEntity.setCreatedAt(LocalDateTime.now());
-      auditProfileEntity.setIpAddress(CommonUtils.getIpAddress(request));
-      auditProfileEntity.setUserAgent(CommonUtils.getUserAgent(request));
+      auditProfileEntity.setIpAddress(auditContext.ipAddress());
+      auditProfileEntity.setUserAgent(auditContext.userAgent());
 
       return auditProfileRepository.save(auditProfileEntity).getId();
     } catch (Exception ex) {
@@ -188,6 +349,116 @@ public class AuditService {
     return auditProfileRepository.findByProfileId(id);
   }
 
+  // history of one entity newest first, keyset paged. the cursor carries the page number and the
+  // total items counted for the first page, so the next pages do not count again
+  // once the db has no more audits for the page, the page goes on with the archived audits
+  public AuditHistoryResponse auditHistory(
+      final TypeEnums.ComponentName componentName,
+      final long entityId,
+      final List<String> eventTypes,
+      final LocalDateTime fromDate,
+      final LocalDateTime toDate,
+      final String cursor,
+      final Integer perPage) {
+    final int limit =
+        perPage == null || perPage < 1
+            ? ConstantUtils.AUDIT_HISTORY_PER_PAGE
+            : Math.min(perPage, ConstantUtils.AUDIT_HISTORY_MAX_PER_PAGE);
+
+    int pageNumber = 1;
+    int totalItems;
+    LocalDateTime beforeCreatedAt = null;
+    Long beforeId = null;
+    if (CommonUtilities.isEmpty(cursor)) {
+      totalItems =
+          auditHistoryRepository.countAuditHistory(
+                  componentName, entityId, eventTypes, fromDate, toDate)
+              + auditArchiveService.countAuditHistory(
+                  componentName, entityId, eventTypes, fromDate, toDate);
+    } else {
+      try {
+        final String[] values =
+            new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",");
+        pageNumber = Integer.parseInt(values[0]);
+        totalItems = Integer.parseInt(values[1]);
+        beforeCreatedAt = LocalDateTime.parse(values[2]);
+        beforeId = Long.parseLong(values[3]);
+      } catch (RuntimeException ex) {
+        throw new ElementMissingException("Audit History", "cursor");
+      }
+    }
+
+    List<AuditHistoryDto> auditHistoryDtos =
+        auditHistoryRepository.findAuditHistory(
+            componentName,
+            entityId,
+            eventTypes,
+            fromDate,
+            toDate,
+            beforeCreatedAt,
+            beforeId,
+            limit + 1);
+    if (auditHistoryDtos.size() <= limit) {
+      auditHistoryDtos =
+          addArchivedHistory(
+              auditHistoryDtos,
+              auditArchiveService.findAuditHistory(
+                  componentName,
+                  entityId,
+                  eventTypes,
+                  fromDate,
+                  toDate,
+                  beforeCreatedAt,
+                  beforeId,
+                  limit + 1),
+              limit + 1);
+    }
+    String nextCursor = null;
+    if (auditHistoryDtos.size() > limit) {
+      auditHistoryDtos = auditHistoryDtos.subList(0, limit);
+      final AuditHistoryDto last = auditHistoryDtos.get(limit - 1);
+      nextCursor =
+          Base64.getUrlEncoder()
+              .withoutPadding()
+              .encodeToString(
+                  String.join(
+                          ",",
+                          String.valueOf(pageNumber + 1),
+                          String.valueOf(totalItems),
+                          last.getCreatedAt().toString(),
+                          String.valueOf(last.getId()))
+                      .getBytes(StandardCharsets.UTF_8));
+    }
+
+    return AuditHistoryResponse.builder()
+        .history(auditHistoryDtos)
+        .nextCursor(nextCursor)
+        .responseMetadata(
+            new ResponseMetadata(
+                ResponseMetadata.emptyResponseStatusInfo(),
+                ResponseMetadata.emptyResponseCrudInfo(),
+                new ResponseMetadata.ResponsePageInfo(
+                    totalItems, (totalItems + limit - 1) / limit, pageNumber, limit)))
+        .build();
+  }
+
+  // audits archived but not deleted from the db yet (eg: archive interrupted) are in both
+  private static List<AuditHistoryDto> addArchivedHistory(
+      final List<AuditHistoryDto> auditHistoryDtos,
+      final List<AuditHistoryDto> archivedAuditHistoryDtos,
+      final int limit) {
+    if (archivedAuditHistoryDtos.isEmpty()) {
+      return auditHistoryDtos;
+    }
+    final Map<Long, AuditHistoryDto> mergedAuditHistoryDtos = new LinkedHashMap<>();
+    auditHistoryDtos.forEach(dto -> mergedAuditHistoryDtos.put(dto.getId(), dto));
+    archivedAuditHistoryDtos.forEach(dto -> mergedAuditHistoryDtos.putIfAbsent(dto.getId(), dto));
+    return mergedAuditHistoryDtos.values().stream()
+        .sorted(AuditArchiveService.NEWEST_FIRST)
+        .limit(limit)
+        .toList();
+  }
+
   @Transactional
   public int auditUpdateAfterDelete(String tableName, Long id, String eventDesc) {
     try {
@@ -203,16 +474,48 @@ public class AuditService {
     }
   }
 
+  // months older than retention are archived first, then partitioned audit tables drop the month
+  // partition and the audits of tables not partitioned (or in a default partition) are deleted in
+  // chunks. nothing is dropped or deleted unless its month is confirmed archived
   public Map<String, Integer> cleanupAudits() {
-    LocalDateTime oneYearAgo = LocalDateTime.now().minusYears(1);
-    int auditPermissionsDeleteCount = auditPermissionRepository.deleteByCreatedAtBefore(oneYearAgo);
-    int auditRolesDeleteCount = auditRoleRepository.deleteByCreatedAtBefore(oneYearAgo);
-    int auditPlatformsDeleteCount = auditPlatformRepository.deleteByCreatedAtBefore(oneYearAgo);
-    int auditProfilesDeleteCount = auditProfileRepository.deleteByCreatedAtBefore(oneYearAgo);
-    return Map.of(
-        "auditPermissionsDeleteCount", auditPermissionsDeleteCount,
-        "auditRolesDeleteCount", auditRolesDeleteCount,
-        "auditPlatformsDeleteCount", auditPlatformsDeleteCount,
-        "auditProfilesDeleteCount", auditProfilesDeleteCount);
+    final YearMonth currentMonth = YearMonth.now();
+    Map<TypeEnums.ComponentName, Integer> droppedPartitions =
+        auditPartitionService.maintainPartitions(currentMonth);
+    Map<String, Integer> cleanupAudits = new LinkedHashMap<>();
+    cleanupAudits(
+        cleanupAudits,
+        droppedPartitions,
+        currentMonth,
+        TypeEnums.ComponentName.PERMISSION,
+        "auditPermissions");
+    cleanupAudits(
+        cleanupAudits, droppedPartitions, currentMonth, TypeEnums.ComponentName.ROLE, "auditRoles");
+    cleanupAudits(
+        cleanupAudits,
+        droppedPartitions,
+        currentMonth,
+        TypeEnums.ComponentName.PLATFORM,
+        "auditPlatforms");
+    cleanupAudits(
+        cleanupAudits,
+        droppedPartitions,
+        currentMonth,
+        TypeEnums.ComponentName.PROFILE,
+        "auditProfiles");
+    return cleanupAudits;
+  }
+
+  private void cleanupAudits(
+      final Map<String, Integer> cleanupAudits,
+      final Map<TypeEnums.ComponentName, Integer> droppedPartitions,
+      final YearMonth currentMonth,
+      final TypeEnums.ComponentName componentName,
+      final String name) {
+    if (droppedPartitions.containsKey(componentName)) {
+      cleanupAudits.put(name + "PartitionDropCount", droppedPartitions.get(componentName));
+    }
+    // for partitioned tables, the rows in the default partition (months not created in time)
+    cleanupAudits.put(
+        name + "DeleteCount", auditArchiveService.archiveAudits(componentName, currentMonth));
   }
 }
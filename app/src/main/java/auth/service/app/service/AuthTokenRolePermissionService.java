@@ -0,0 +1,218 @@
+package auth.service.app.service;
+
+import auth.service.app.model.token.AuthTokenRolePermissionLookup;
+import auth.service.app.repository.RawSqlRepository;
+import auth.service.app.util.ConstantUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// resolved role permissions for auth tokens, by platform and profile
+// evicted by the services that change assignments, roles or permissions, ttl is only a backstop
+// a role without permissions is not in the resolved list, so permission assignment evicts the
+// whole platform, everything else evicts only the entries it can change
+// inside a transaction entries are evicted right away and again after commit, a read between the
+// two can only cache the permissions before the change until the commit
+@Slf4j
+@Service
+public class AuthTokenRolePermissionService {
+
+  private final Map<RolePermissionKey, RolePermissionEntry> rolePermissions =
+      new ConcurrentHashMap<>();
+  // incremented on every eviction, a load that overlaps an eviction is returned but not cached
+  private final AtomicLong generation = new AtomicLong();
+  private final RawSqlRepository rawSqlRepository;
+  private final int maxSize;
+  private final long ttlMillis;
+  private final Clock clock;
+  private final Counter hitCounter;
+  private final Counter missCounter;
+  private final Counter evictionCounter;
+
+  @Autowired
+  public AuthTokenRolePermissionService(
+      final RawSqlRepository rawSqlRepository, final MeterRegistry meterRegistry) {
+    this(
+        rawSqlRepository,
+        meterRegistry,
+        ConstantUtils.ROLE_PERMISSION_CACHE_MAX_SIZE,
+        ConstantUtils.ROLE_PERMISSION_CACHE_TTL_SECONDS * 1000,
+        Clock.systemUTC());
+  }
+
+  public AuthTokenRolePermissionService(
+      final RawSqlRepository rawSqlRepository,
+      final MeterRegistry meterRegistry,
+      final int maxSize,
+      final long ttlMillis,
+      final Clock clock) {
+    this.rawSqlRepository = rawSqlRepository;
+    this.maxSize = maxSize;
+    this.ttlMillis = ttlMillis;
+    this.clock = clock;
+    this.hitCounter = cacheCounter(meterRegistry, "hit");
+    this.missCounter = cacheCounter(meterRegistry, "miss");
+    this.evictionCounter = cacheCounter(meterRegistry, "eviction");
+    Gauge.builder("authsvc.rolepermission.cache.size", rolePermissions, Map::size)
+        .register(meterRegistry);
+  }
+
+  // READ
+  public List<AuthTokenRolePermissionLookup> readAuthTokenRolePermissions(
+      final Long platformId, final Long profileId) {
+    if (platformId == null || profileId == null) {
+      return rawSqlRepository.findRolePermissionsForAuthToken(platformId, profileId);
+    }
+
+    final RolePermissionKey key = new RolePermissionKey(platformId, profileId);
+    final RolePermissionEntry cachedEntry = rolePermissions.get(key);
+    if (cachedEntry != null && cachedEntry.expiresAtMillis() > clock.millis()) {
+      hitCounter.increment();
+      return cachedEntry.rolesPermissions();
+    }
+
+    missCounter.increment();
+    log.debug(
+        "Load Auth Token Role Permissions: PlatformId=[{}], ProfileId=[{}]", platformId, profileId);
+    final long loadGeneration = generation.get();
+    final RolePermissionEntry loadedEntry =
+        new RolePermissionEntry(
+            List.copyOf(rawSqlRepository.findRolePermissionsForAuthToken(platformId, profileId)),
+            clock.millis() + ttlMillis);
+
+    if (rolePermissions.size() >= maxSize) {
+      evict();
+    }
+    rolePermissions.put(key, loadedEntry);
+    if (generation.get() != loadGeneration) {
+      rolePermissions.remove(key, loadedEntry);
+    }
+    return loadedEntry.rolesPermissions();
+  }
+
+  public int size() {
+    return rolePermissions.size();
+  }
+
+  // EVICT
+  public void evictAuthTokenRolePermissions(final Long platformId, final Long profileId) {
+    log.debug(
+        "Evict Auth Token Role Permissions: PlatformId=[{}], ProfileId=[{}]",
+        platformId,
+        profileId);
+    evictIf(key -> key.platformId() == platformId && key.profileId() == profileId, null);
+  }
+
+  public void evictAuthTokenRolePermissionsByPlatformRole(
+      final Long platformId, final Long roleId) {
+    log.debug(
+        "Evict Auth Token Role Permissions By Platform Role: PlatformId=[{}], RoleId=[{}]",
+        platformId,
+        roleId);
+    evictIf(
+        key -> key.platformId() == platformId,
+        rolePermission -> rolePermission.roleId().equals(roleId));
+  }
+
+  public void evictAuthTokenRolePermissionsByPlatformIds(final Collection<Long> platformIds) {
+    log.debug("Evict Auth Token Role Permissions By Platform Ids: PlatformIds=[{}]", platformIds);
+    evictIf(key -> platformIds.contains(key.platformId()), null);
+  }
+
+  public void evictAuthTokenRolePermissionsByProfileIds(final Collection<Long> profileIds) {
+    log.debug("Evict Auth Token Role Permissions By Profile Ids: ProfileIds=[{}]", profileIds);
+    evictIf(key -> profileIds.contains(key.profileId()), null);
+  }
+
+  public void evictAuthTokenRolePermissionsByRoleIds(final Collection<Long> roleIds) {
+    log.debug("Evict Auth Token Role Permissions By Role Ids: RoleIds=[{}]", roleIds);
+    evictIf(key -> true, rolePermission -> roleIds.contains(rolePermission.roleId()));
+  }
+
+  public void evictAuthTokenRolePermissionsByPermissionIds(final Collection<Long> permissionIds) {
+    log.debug(
+        "Evict Auth Token Role Permissions By Permission Ids: PermissionIds=[{}]", permissionIds);
+    evictIf(
+        key -> true, rolePermission -> permissionIds.contains(rolePermission.permissionId()));
+  }
+
+  public void evictAuthTokenRolePermissions() {
+    log.debug("Evict Auth Token Role Permissions...");
+    evictIf(key -> true, null);
+  }
+
+  // entries matching the key predicate are evicted, if there is a role permission predicate then
+  // only when one of the entry's role permissions also matches it
+  private void evictIf(
+      final Predicate<RolePermissionKey> keyPredicate,
+      final Predicate<AuthTokenRolePermissionLookup> rolePermissionPredicate) {
+    removeIf(keyPredicate, rolePermissionPredicate);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              removeIf(keyPredicate, rolePermissionPredicate);
+            }
+          });
+    }
+  }
+
+  private void removeIf(
+      final Predicate<RolePermissionKey> keyPredicate,
+      final Predicate<AuthTokenRolePermissionLookup> rolePermissionPredicate) {
+    generation.incrementAndGet();
+    rolePermissions
+        .entrySet()
+        .removeIf(
+            entry -> {
+              final boolean isEvicted =
+                  keyPredicate.test(entry.getKey())
+                      && (rolePermissionPredicate == null
+                          || entry.getValue().rolesPermissions().stream()
+                              .anyMatch(rolePermissionPredicate));
+              if (isEvicted) {
+                evictionCounter.increment();
+              }
+              return isEvicted;
+            });
+  }
+
+  private void evict() {
+    final long nowMillis = clock.millis();
+    rolePermissions.values().removeIf(entry -> entry.expiresAtMillis() <= nowMillis);
+
+    // still full, drop arbitrary entries down to 90% so eviction is not per put
+    final int targetSize = maxSize - Math.max(1, maxSize / 10);
+    final Iterator<RolePermissionKey> iterator = rolePermissions.keySet().iterator();
+    while (rolePermissions.size() > targetSize && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+    }
+    log.debug("Evicted Auth Token Role Permissions: Size=[{}]", rolePermissions.size());
+  }
+
+  private static Counter cacheCounter(final MeterRegistry meterRegistry, final String result) {
+    return Counter.builder("authsvc.rolepermission.cache")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  private record RolePermissionKey(long platformId, long profileId) {}
+
+  private record RolePermissionEntry(
+      List<AuthTokenRolePermissionLookup> rolesPermissions, long expiresAtMillis) {}
+}
@@ -11,12 +11,15 @@ import auth.service.app.repository.PlatformRepository;
 import auth.service.app.repository.ProfileRepository;
 import auth.service.app.repository.RoleRepository;
 import auth.service.app.util.CommonUtils;
+import auth.service.app.util.RequestIdentityMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.ExampleMatcher;
 import org.springframework.stereotype.Service;
 
+// platforms, roles and permissions are read through EntityCacheService, profiles from the db
+// and each of them once per request through RequestIdentityMap
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -26,13 +29,19 @@ public class CircularDependencyService {
   private final PlatformRepository platformRepository;
   private final RoleRepository roleRepository;
   private final ProfileRepository profileRepository;
+  private final EntityCacheService entityCacheService;
 
   public PermissionEntity readPermission(final Long id, final boolean isIncludeDeleted) {
     log.debug("Read Permission: Id=[{}], IsIncludeDeleted=[{}]", id, isIncludeDeleted);
     final PermissionEntity permissionEntity =
-        permissionRepository
-            .findById(id)
-            .orElseThrow(() -> new ElementNotFoundException("Permission", String.valueOf(id)));
+        RequestIdentityMap.read(
+            PermissionEntity.class,
+            id,
+            () ->
+                entityCacheService
+                    .readPermission(id, permissionRepository::findById)
+                    .orElseThrow(
+                        () -> new ElementNotFoundException("Permission", String.valueOf(id))));
 
     if (permissionEntity.getDeletedDate() == null
         || (isIncludeDeleted && CommonUtils.getAuthentication().getIsSuperUser())) {
@@ -45,9 +54,14 @@ public class CircularDependencyService {
   public PlatformEntity readPlatform(final Long id, final boolean isIncludeDeleted) {
     log.debug("Read Platform: Id=[{}], IsIncludeDeleted=[{}]", id, isIncludeDeleted);
     final PlatformEntity platformEntity =
-        platformRepository
-            .findById(id)
-            .orElseThrow(() -> new ElementNotFoundException("Platform", String.valueOf(id)));
+        RequestIdentityMap.read(
+            PlatformEntity.class,
+            id,
+            () ->
+                entityCacheService
+                    .readPlatform(id, platformRepository::findById)
+                    .orElseThrow(
+                        () -> new ElementNotFoundException("Platform", String.valueOf(id))));
 
     if (platformEntity.getDeletedDate() == null
         || (isIncludeDeleted && CommonUtils.getAuthentication().getIsSuperUser())) {
@@ -60,9 +74,13 @@ public class CircularDependencyService {
   public RoleEntity readRole(final Long id, final boolean isIncludeDeleted) {
     log.debug("Read Role: Id=[{}], IsIncludeDeleted=[{}]", id, isIncludeDeleted);
     final RoleEntity roleEntity =
-        roleRepository
-            .findById(id)
-            .orElseThrow(() -> new ElementNotFoundException("Role", String.valueOf(id)));
+        RequestIdentityMap.read(
+            RoleEntity.class,
+            id,
+            () ->
+                entityCacheService
+                    .readRole(id, roleRepository::findById)
+                    .orElseThrow(() -> new ElementNotFoundException("Role", String.valueOf(id))));
 
     if (roleEntity.getDeletedDate() == null
         || (isIncludeDeleted && CommonUtils.getAuthentication().getIsSuperUser())) {
@@ -75,9 +93,16 @@ public class CircularDependencyService {
   public RoleEntity readRoleByName(final String roleName, final boolean isIncludeDeleted) {
     log.debug("Read Role By Name: Name=[{}], IsIncludeDeleted=[{}]", roleName, isIncludeDeleted);
     final RoleEntity roleEntity =
-        roleRepository
-            .findOne(getRoleNameExample(roleName))
-            .orElseThrow(() -> new ElementNotFoundException("Role", roleName));
+        RequestIdentityMap.read(
+            RoleEntity.class,
+            roleName,
+            () ->
+                entityCacheService
+                    .readRoleByName(
+                        roleName, name -> roleRepository.findOne(getRoleNameExample(name)))
+                    .orElseThrow(() -> new ElementNotFoundException("Role", roleName)));
+    // the role is usually read by id next, eg: to assign it
+    RequestIdentityMap.put(roleEntity);
 
     if (roleEntity.getDeletedDate() == null
         || (isIncludeDeleted && CommonUtils.getAuthentication().getIsSuperUser())) {
@@ -108,9 +133,14 @@ public class CircularDependencyService {
         isForceIncludeDeleted);
 
     final ProfileEntity profileEntity =
-        profileRepository
-            .findById(id)
-            .orElseThrow(() -> new ElementNotFoundException("Profile", String.valueOf(id)));
+        RequestIdentityMap.read(
+            ProfileEntity.class,
+            id,
+            () ->
+                profileRepository
+                    .findById(id)
+                    .orElseThrow(
+                        () -> new ElementNotFoundException("Profile", String.valueOf(id))));
 
     if (profileEntity.getDeletedDate() == null
         || isForceIncludeDeleted
@@ -0,0 +1,244 @@
+package auth.service.app.service;
+
+import auth.service.app.model.entity.BaseEntity;
+import auth.service.app.model.entity.PermissionEntity;
+import auth.service.app.model.entity.PlatformEntity;
+import auth.service.app.model.entity.ProfileEntity;
+import auth.service.app.model.entity.RoleEntity;
+import auth.service.app.util.ConstantUtils;
+import auth.service.app.util.ProfileEmailFilter;
+import auth.service.app.util.RequestIdentityMap;
+import auth.service.app.util.VersionedNearCache;
+import io.github.bibekaryal86.shdsvc.helpers.CommonUtilities;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// platforms, roles and permissions read by id (and roles by name) for CircularDependencyService
+// the caches hold immutable snapshots, every read returns a new detached entity from the snapshot
+// also the entity listener of those entities, so every create, update, (soft) delete and restore
+// invalidates the entity when flushed and again after commit, a read between the two can only
+// cache the old row until the commit. no repositories here, the entity manager factory needs this
+// profiles are not cached here, they are listened to only to evict them from RequestIdentityMap
+// and to add their email to ProfileEmailFilter, again after commit to drop it from its absent cache
+@Slf4j
+@Service
+public class EntityCacheService {
+
+  private final VersionedNearCache<Long, PlatformSnapshot> platforms;
+  private final VersionedNearCache<Long, RoleSnapshot> roles;
+  private final VersionedNearCache<String, RoleSnapshot> rolesByName;
+  private final VersionedNearCache<Long, PermissionSnapshot> permissions;
+  private final ProfileEmailFilter profileEmailFilter;
+
+  @Autowired
+  public EntityCacheService(
+      final MeterRegistry meterRegistry, final ProfileEmailFilter profileEmailFilter) {
+    this(
+        meterRegistry,
+        profileEmailFilter,
+        Long.parseLong(
+                CommonUtilities.getSystemEnvProperty(
+                    ConstantUtils.ENV_ENTITY_CACHE_MAX_STALE_SECONDS,
+                    String.valueOf(ConstantUtils.ENTITY_CACHE_MAX_STALE_SECONDS)))
+            * 1000,
+        Clock.systemUTC());
+  }
+
+  public EntityCacheService(
+      final MeterRegistry meterRegistry,
+      final ProfileEmailFilter profileEmailFilter,
+      final long maxStaleMillis,
+      final Clock clock) {
+    this.profileEmailFilter = profileEmailFilter;
+    final int maxSize = ConstantUtils.ENTITY_CACHE_MAX_SIZE;
+    this.platforms =
+        new VersionedNearCache<>("platform", maxStaleMillis, maxSize, clock, meterRegistry);
+    this.roles = new VersionedNearCache<>("role", maxStaleMillis, maxSize, clock, meterRegistry);
+    this.rolesByName =
+        new VersionedNearCache<>("roleByName", maxStaleMillis, maxSize, clock, meterRegistry);
+    this.permissions =
+        new VersionedNearCache<>("permission", maxStaleMillis, maxSize, clock, meterRegistry);
+  }
+
+  // READ
+  public Optional<PlatformEntity> readPlatform(
+      final Long id, final Function<Long, Optional<PlatformEntity>> loader) {
+    return platforms
+        .get(id, key -> loader.apply(key).map(PlatformSnapshot::of))
+        .map(PlatformSnapshot::toEntity);
+  }
+
+  public Optional<RoleEntity> readRole(
+      final Long id, final Function<Long, Optional<RoleEntity>> loader) {
+    return roles
+        .get(id, key -> loader.apply(key).map(RoleSnapshot::of))
+        .map(RoleSnapshot::toEntity);
+  }
+
+  public Optional<RoleEntity> readRoleByName(
+      final String roleName, final Function<String, Optional<RoleEntity>> loader) {
+    return rolesByName
+        .get(roleName, key -> loader.apply(key).map(RoleSnapshot::of))
+        .map(RoleSnapshot::toEntity);
+  }
+
+  public Optional<PermissionEntity> readPermission(
+      final Long id, final Function<Long, Optional<PermissionEntity>> loader) {
+    return permissions
+        .get(id, key -> loader.apply(key).map(PermissionSnapshot::of))
+        .map(PermissionSnapshot::toEntity);
+  }
+
+  // EVICT
+  @PostPersist
+  @PostUpdate
+  @PostRemove
+  public void evictEntity(final BaseEntity entity) {
+    if (entity.getId() == null) {
+      return;
+    }
+    RequestIdentityMap.evict(entity.getClass(), entity.getId());
+    if (entity instanceof ProfileEntity profileEntity) {
+      final String email = profileEntity.getEmail();
+      profileEmailFilter.add(email);
+      afterCommit(() -> profileEmailFilter.add(email));
+      return;
+    }
+
+    final Class<? extends BaseEntity> entityClass = entity.getClass();
+    final Long id = entity.getId();
+    evictEntity(entityClass, id);
+    afterCommit(() -> evictEntity(entityClass, id));
+  }
+
+  public void evictEntities() {
+    log.debug("Evict Entities...");
+    platforms.invalidateAll();
+    roles.invalidateAll();
+    rolesByName.invalidateAll();
+    permissions.invalidateAll();
+  }
+
+  private void afterCommit(final Runnable runnable) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              runnable.run();
+            }
+          });
+    }
+  }
+
+  private void evictEntity(final Class<? extends BaseEntity> entityClass, final Long id) {
+    log.debug("Evict Entity: Entity=[{}], Id=[{}]", entityClass.getSimpleName(), id);
+    if (PlatformEntity.class.isAssignableFrom(entityClass)) {
+      platforms.invalidate(id);
+    } else if (RoleEntity.class.isAssignableFrom(entityClass)) {
+      roles.invalidate(id);
+      // the role may have been read by its old name
+      rolesByName.invalidateIf(roleSnapshot -> roleSnapshot.id().equals(id));
+    } else if (PermissionEntity.class.isAssignableFrom(entityClass)) {
+      permissions.invalidate(id);
+    }
+  }
+
+  private record PlatformSnapshot(
+      Long id,
+      String platformName,
+      String platformDesc,
+      LocalDateTime createdDate,
+      LocalDateTime updatedDate,
+      LocalDateTime deletedDate) {
+    private static PlatformSnapshot of(final PlatformEntity platformEntity) {
+      return new PlatformSnapshot(
+          platformEntity.getId(),
+          platformEntity.getPlatformName(),
+          platformEntity.getPlatformDesc(),
+          platformEntity.getCreatedDate(),
+          platformEntity.getUpdatedDate(),
+          platformEntity.getDeletedDate());
+    }
+
+    private PlatformEntity toEntity() {
+      final PlatformEntity platformEntity = new PlatformEntity();
+      platformEntity.setId(id);
+      platformEntity.setPlatformName(platformName);
+      platformEntity.setPlatformDesc(platformDesc);
+      platformEntity.setCreatedDate(createdDate);
+      platformEntity.setUpdatedDate(updatedDate);
+      platformEntity.setDeletedDate(deletedDate);
+      return platformEntity;
+    }
+  }
+
+  private record RoleSnapshot(
+      Long id,
+      String roleName,
+      String roleDesc,
+      LocalDateTime createdDate,
+      LocalDateTime updatedDate,
+      LocalDateTime deletedDate) {
+    private static RoleSnapshot of(final RoleEntity roleEntity) {
+      return new RoleSnapshot(
+          roleEntity.getId(),
+          roleEntity.getRoleName(),
+          roleEntity.getRoleDesc(),
+          roleEntity.getCreatedDate(),
+          roleEntity.getUpdatedDate(),
+          roleEntity.getDeletedDate());
+    }
+
+    private RoleEntity toEntity() {
+      final RoleEntity roleEntity = new RoleEntity();
+      roleEntity.setId(id);
+      roleEntity.setRoleName(roleName);
+      roleEntity.setRoleDesc(roleDesc);
+      roleEntity.setCreatedDate(createdDate);
+      roleEntity.setUpdatedDate(updatedDate);
+      roleEntity.setDeletedDate(deletedDate);
+      return roleEntity;
+    }
+  }
+
+  private record PermissionSnapshot(
+      Long id,
+      String permissionName,
+      String permissionDesc,
+      LocalDateTime createdDate,
+      LocalDateTime updatedDate,
+      LocalDateTime deletedDate) {
+    private static PermissionSnapshot of(final PermissionEntity permissionEntity) {
+      return new PermissionSnapshot(
+          permissionEntity.getId(),
+          permissionEntity.getPermissionName(),
+          permissionEntity.getPermissionDesc(),
+          permissionEntity.getCreatedDate(),
+          permissionEntity.getUpdatedDate(),
+          permissionEntity.getDeletedDate());
+    }
+
+    private PermissionEntity toEntity() {
+      final PermissionEntity permissionEntity = new PermissionEntity();
+      permissionEntity.setId(id);
+      permissionEntity.setPermissionName(permissionName);
+      permissionEntity.setPermissionDesc(permissionDesc);
+      permissionEntity.setCreatedDate(createdDate);
+      permissionEntity.setUpdatedDate(updatedDate);
+      permissionEntity.setDeletedDate(deletedDate);
+      return permissionEntity;
+    }
+  }
+}
@@ -0,0 +1,183 @@
+package auth.service.app.service;
+
+import auth.service.app.model.token.PermissionCatalog;
+import auth.service.app.repository.PermissionCatalogRepository;
+import auth.service.app.repository.RawSqlRepository;
+import auth.service.app.util.ConstantUtils;
+import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+// catalogs are cached per instance for up to PERMISSION_CATALOG_MAX_AGE_SECONDS and evicted per
+// platform, a change evicts only the catalogs of the platforms it touches. a change made on another
+// instance reaches this one within the max age. every catalog loaded is saved by its content based
+// version, so a token of a version this instance never loaded is decoded from the saved catalog
+@Slf4j
+@Service
+public class PermissionCatalogService {
+
+  // previous versions are kept so compact tokens issued before a change still decode
+  private static final int MAX_CATALOG_VERSIONS = 100;
+
+  private record CachedCatalog(PermissionCatalog permissionCatalog, long loadedAtMillis) {}
+
+  private final RawSqlRepository rawSqlRepository;
+  private final PermissionCatalogRepository permissionCatalogRepository;
+  private final long maxAgeMillis;
+  private final Clock clock;
+
+  private final Map<Long, CachedCatalog> catalogsByPlatform = new ConcurrentHashMap<>();
+  private final Map<String, PermissionCatalog> catalogsByVersion = new ConcurrentHashMap<>();
+
+  @Autowired
+  public PermissionCatalogService(
+      final RawSqlRepository rawSqlRepository,
+      final PermissionCatalogRepository permissionCatalogRepository) {
+    this(
+        rawSqlRepository,
+        permissionCatalogRepository,
+        ConstantUtils.PERMISSION_CATALOG_MAX_AGE_SECONDS * 1000,
+        Clock.systemUTC());
+  }
+
+  public PermissionCatalogService(
+      final RawSqlRepository rawSqlRepository,
+      final PermissionCatalogRepository permissionCatalogRepository,
+      final long maxAgeMillis,
+      final Clock clock) {
+    this.rawSqlRepository = rawSqlRepository;
+    this.permissionCatalogRepository = permissionCatalogRepository;
+    this.maxAgeMillis = maxAgeMillis;
+    this.clock = clock;
+  }
+
+  // READ
+  public PermissionCatalog readPermissionCatalog(final long platformId) {
+    final CachedCatalog cachedCatalog = catalogsByPlatform.get(platformId);
+    if (cachedCatalog != null && clock.millis() - cachedCatalog.loadedAtMillis() < maxAgeMillis) {
+      return cachedCatalog.permissionCatalog();
+    }
+
+    log.debug("Load Permission Catalog: PlatformId=[{}]", platformId);
+    final long loadedAtMillis = clock.millis();
+    final PermissionCatalog loadedCatalog = loadPermissionCatalog(platformId);
+    if (!catalogsByVersion.containsKey(loadedCatalog.version())) {
+      permissionCatalogRepository.savePermissionCatalog(loadedCatalog);
+      putCatalogVersion(loadedCatalog);
+    }
+    catalogsByPlatform.put(platformId, new CachedCatalog(loadedCatalog, loadedAtMillis));
+    return loadedCatalog;
+  }
+
+  // null when the version is not of the platform, or not saved and not the current catalog
+  public PermissionCatalog readPermissionCatalog(final long platformId, final String version) {
+    final PermissionCatalog permissionCatalog = readPermissionCatalog(platformId);
+    if (Objects.equals(permissionCatalog.version(), version)) {
+      return permissionCatalog;
+    }
+
+    PermissionCatalog versionCatalog = catalogsByVersion.get(version);
+    if (versionCatalog == null) {
+      // issued on another instance, saved there, or a catalog this instance has not reloaded yet
+      versionCatalog = permissionCatalogRepository.findPermissionCatalog(version).orElse(null);
+      if (versionCatalog == null) {
+        evictPermissionCatalog(platformId);
+        versionCatalog = readPermissionCatalog(platformId);
+      }
+      if (Objects.equals(versionCatalog.version(), version)) {
+        putCatalogVersion(versionCatalog);
+      }
+    }
+    if (Objects.equals(versionCatalog.version(), version)
+        && versionCatalog.platformId() == platformId) {
+      return versionCatalog;
+    }
+    return null;
+  }
+
+  // OTHERS
+  public AuthToken expandAuthToken(
+      final AuthToken authToken, final String version, final String encodedPermissions) {
+    final PermissionCatalog permissionCatalog =
+        readPermissionCatalog(authToken.getPlatform().getId(), version);
+    if (permissionCatalog == null) {
+      return null;
+    }
+
+    try {
+      return new AuthToken(
+          authToken.getPlatform(),
+          authToken.getProfile(),
+          authToken.getRoles(),
+          permissionCatalog.decodePermissions(encodedPermissions),
+          authToken.getIsSuperUser());
+    } catch (IllegalArgumentException ex) {
+      log.error("Expand Auth Token Error: Version=[{}]", version, ex);
+      return null;
+    }
+  }
+
+  public void evictPermissionCatalog(final long platformId) {
+    log.debug("Evict Permission Catalog: PlatformId=[{}]", platformId);
+    catalogsByPlatform.remove(platformId);
+  }
+
+  // the catalogs the permissions are in, for a permission renamed or deleted
+  public void evictPermissionCatalogsByPermissionIds(final Collection<Long> permissionIds) {
+    log.debug("Evict Permission Catalogs By Permission Ids: PermissionIds=[{}]", permissionIds);
+    catalogsByPlatform
+        .values()
+        .removeIf(
+            cachedCatalog ->
+                cachedCatalog.permissionCatalog().permissions().stream()
+                    .anyMatch(permission -> permissionIds.contains(permission.getId())));
+  }
+
+  // saved catalogs are only needed while tokens encoded against them are valid
+  public int cleanupPermissionCatalogs() {
+    return permissionCatalogRepository.deletePermissionCatalogsBefore(
+        LocalDateTime.now().minusSeconds(ConstantUtils.PERMISSION_CATALOG_RETENTION_SECONDS));
+  }
+
+  private void putCatalogVersion(final PermissionCatalog permissionCatalog) {
+    if (catalogsByVersion.size() >= MAX_CATALOG_VERSIONS) {
+      catalogsByVersion.clear();
+    }
+    catalogsByVersion.put(permissionCatalog.version(), permissionCatalog);
+  }
+
+  private PermissionCatalog loadPermissionCatalog(final long platformId) {
+    final List<AuthToken.AuthTokenPermission> permissions =
+        rawSqlRepository.findPermissionsForPermissionCatalog(platformId);
+
+    // content based version over ids and names, so every instance derives the same version for
+    // the same catalog and different catalogs do not share one
+    try {
+      final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+      permissions.forEach(
+          permission ->
+              messageDigest.update(
+                  (permission.getId() + ":" + permission.getPermissionName() + "\n")
+                      .getBytes(StandardCharsets.UTF_8)));
+      final byte[] digest = Arrays.copyOf(messageDigest.digest(), 16);
+      final String version =
+          platformId + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+      return new PermissionCatalog(platformId, version, permissions);
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 Not Available", ex);
+    }
+  }
+}
@@ -20,6 +20,8 @@ public class PermissionService {
 
   private final PermissionRepository permissionRepository;
   private final PlatformRolePermissionService platformRolePermissionService;
+  private final PermissionCatalogService permissionCatalogService;
+  private final AuthTokenRolePermissionService authTokenRolePermissionService;
 
   // CREATE
   public PermissionEntity createPermission(final PermissionRequest permissionRequest) {
@@ -55,7 +57,11 @@ public class PermissionService {
 
     BeanUtils.copyProperties(permissionRequest, permissionEntity);
 
-    return permissionRepository.save(permissionEntity);
+    final PermissionEntity savedEntity = permissionRepository.save(permissionEntity);
+    // permission name may have changed
+    permissionCatalogService.evictPermissionCatalogsByPermissionIds(List.of(id));
+    authTokenRolePermissionService.evictAuthTokenRolePermissionsByPermissionIds(List.of(id));
+    return savedEntity;
   }
 
   // DELETE
@@ -68,7 +74,9 @@ public class PermissionService {
     }
 
     permissionEntity.setDeletedDate(LocalDateTime.now());
-    return permissionRepository.save(permissionEntity);
+    final PermissionEntity savedEntity = permissionRepository.save(permissionEntity);
+    authTokenRolePermissionService.evictAuthTokenRolePermissionsByPermissionIds(List.of(id));
+    return savedEntity;
   }
 
   @Transactional
@@ -87,6 +95,8 @@ public class PermissionService {
     log.info("Restore Soft Deleted Permission: Id=[{}]", id);
     final PermissionEntity permissionEntity = readPermission(id);
     permissionEntity.setDeletedDate(null);
-    return permissionRepository.save(permissionEntity);
+    final PermissionEntity savedEntity = permissionRepository.save(permissionEntity);
+    authTokenRolePermissionService.evictAuthTokenRolePermissionsByPermissionIds(List.of(id));
+    return savedEntity;
   }
 }
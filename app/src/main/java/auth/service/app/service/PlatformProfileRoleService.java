@@ -23,6 +23,7 @@ public class PlatformProfileRoleService {
 
   private final PlatformProfileRoleRepository platformProfileRoleRepository;
   private final CircularDependencyService circularDependencyService;
+  private final AuthTokenRolePermissionService authTokenRolePermissionService;
 
   // ASSIGN
   public PlatformProfileRoleEntity assignPlatformProfileRole(
@@ -49,7 +50,11 @@ public class PlatformProfileRoleService {
         new PlatformProfileRoleId(
             platformEntity.getId(), profileEntity.getId(), roleEntity.getId()));
 
-    return platformProfileRoleRepository.save(platformProfileRoleEntity);
+    final PlatformProfileRoleEntity savedEntity =
+        platformProfileRoleRepository.save(platformProfileRoleEntity);
+    authTokenRolePermissionService.evictAuthTokenRolePermissions(
+        platformEntity.getId(), profileEntity.getId());
+    return savedEntity;
   }
 
   // UNASSIGN
@@ -63,7 +68,10 @@ public class PlatformProfileRoleService {
     final PlatformProfileRoleEntity platformProfileRoleEntity =
         readPlatformProfileRole(platformId, profileId, roleId);
     platformProfileRoleEntity.setUnassignedDate(LocalDateTime.now());
-    return platformProfileRoleRepository.save(platformProfileRoleEntity);
+    final PlatformProfileRoleEntity savedEntity =
+        platformProfileRoleRepository.save(platformProfileRoleEntity);
+    authTokenRolePermissionService.evictAuthTokenRolePermissions(platformId, profileId);
+    return savedEntity;
   }
 
   // READ
@@ -153,16 +161,19 @@ public class PlatformProfileRoleService {
   public void hardDeletePlatformProfileRolesByPlatformIds(final List<Long> platformIds) {
     log.info("Hard Delete Platform Profile Roles By Platform Ids: PlatformIds=[{}]", platformIds);
     platformProfileRoleRepository.deleteByIdPlatformIdIn(platformIds);
+    authTokenRolePermissionService.evictAuthTokenRolePermissionsByPlatformIds(platformIds);
   }
 
   public void hardDeletePlatformProfileRolesByProfileIds(final List<Long> profileIds) {
     log.info("Hard Delete Platform Profile Roles By Profile Ids: ProfileIds=[{}]", profileIds);
     platformProfileRoleRepository.deleteByIdProfileIdIn(profileIds);
+    authTokenRolePermissionService.evictAuthTokenRolePermissionsByProfileIds(profileIds);
   }
 
   public void hardDeletePlatformProfileRolesByRoleIds(final List<Long> roleIds) {
     log.info("Hard Delete Platform Profile Roles By Role Ids: RoleIds=[{}]", roleIds);
     platformProfileRoleRepository.deleteByIdRoleIdIn(roleIds);
+    authTokenRolePermissionService.evictAuthTokenRolePermissionsByRoleIds(roleIds);
   }
 
   public void hardDeletePlatformProfileRole(
@@ -176,5 +187,6 @@ public class PlatformProfileRoleService {
     readPlatformProfileRole(platformId, profileId, roleId);
     platformProfileRoleRepository.deleteById(
         new PlatformProfileRoleId(platformId, profileId, roleId));
+    authTokenRolePermissionService.evictAuthTokenRolePermissions(platformId, profileId);
   }
 }
@@ -10,6 +10,7 @@ import auth.service.app.model.entity.RoleEntity;
 import auth.service.app.repository.PlatformRolePermissionRepository;
 import auth.service.app.util.JpaSpecificationUtils;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +23,9 @@ public class PlatformRolePermissionService {
 
   private final PlatformRolePermissionRepository platformRolePermissionRepository;
   private final CircularDependencyService circularDependencyService;
+  private final PermissionCatalogService permissionCatalogService;
+  private final AuthTokenRolePermissionService authTokenRolePermissionService;
+  private final RbacGraphService rbacGraphService;
 
   // ASSIGN
   public PlatformRolePermissionEntity assignPlatformRolePermission(
@@ -49,7 +53,15 @@ public class PlatformRolePermissionService {
         new PlatformRolePermissionId(
             platformEntity.getId(), roleEntity.getId(), permissionEntity.getId()));
 
-    return platformRolePermissionRepository.save(platformRolePermissionEntity);
+    final PlatformRolePermissionEntity savedEntity =
+        platformRolePermissionRepository.save(platformRolePermissionEntity);
+    permissionCatalogService.evictPermissionCatalog(platformEntity.getId());
+    // role may not have had permissions, so it is not in any resolved role permissions
+    authTokenRolePermissionService.evictAuthTokenRolePermissionsByPlatformIds(
+        List.of(platformEntity.getId()));
+    rbacGraphService.addPlatformRolePermission(
+        platformEntity.getId(), roleEntity.getId(), permissionEntity.getId());
+    return savedEntity;
   }
 
   // UNASSIGN
@@ -63,7 +75,11 @@ public class PlatformRolePermissionService {
     final PlatformRolePermissionEntity platformRolePermissionEntity =
         readPlatformRolePermission(platformId, roleId, permissionId);
     platformRolePermissionEntity.setUnassignedDate(LocalDateTime.now());
-    return platformRolePermissionRepository.save(platformRolePermissionEntity);
+    final PlatformRolePermissionEntity savedEntity =
+        platformRolePermissionRepository.save(platformRolePermissionEntity);
+    permissionCatalogService.evictPermissionCatalog(platformId);
+    authTokenRolePermissionService.evictAuthTokenRolePermissionsByPlatformRole(platformId, roleId);
+    return savedEntity;
   }
 
   // READ
@@ -90,6 +106,9 @@ public class PlatformRolePermissionService {
         platformId,
         roleId,
         isIncludeDeleted);
+    if (!rbacGraphService.hasPlatformRolePermissions(platformId, roleId, null)) {
+      return Collections.emptyList();
+    }
     return platformRolePermissionRepository.findAll(
         JpaSpecificationUtils.prpFilters(platformId, roleId, isIncludeDeleted));
   }
@@ -100,6 +119,9 @@ public class PlatformRolePermissionService {
         "Read Platform Role Permissions By Platform Ids: PlatformIds=[{}], IsIncludeUnassigned=[{}]",
         platformIds,
         isIncludeUnassigned);
+    if (!rbacGraphService.hasPlatformRolePermissionsByPlatformIds(platformIds)) {
+      return Collections.emptyList();
+    }
     return platformRolePermissionRepository.findByPlatformIds(platformIds, isIncludeUnassigned);
   }
 
@@ -109,6 +131,9 @@ public class PlatformRolePermissionService {
         "Read Platform Role Permissions By Permission Ids: PermissionIds=[{}], IsIncludeUnassigned=[{}]",
         permissionIds,
         isIncludeUnassigned);
+    if (!rbacGraphService.hasPlatformRolePermissionsByPermissionIds(permissionIds)) {
+      return Collections.emptyList();
+    }
     return platformRolePermissionRepository.findByPermissionIds(permissionIds, isIncludeUnassigned);
   }
 
@@ -118,6 +143,9 @@ public class PlatformRolePermissionService {
         "Read Platform Role Permissions By Role Ids: RoleIds=[{}], IsIncludeUnassigned=[{}]",
         roleIds,
         isIncludeUnassigned);
+    if (!rbacGraphService.hasPlatformRolePermissionsByRoleIds(roleIds)) {
+      return Collections.emptyList();
+    }
     return platformRolePermissionRepository.findByRoleIds(roleIds, isIncludeUnassigned);
   }
 
@@ -125,11 +153,23 @@ public class PlatformRolePermissionService {
     log.info(
         "Hard Delete Platform Role Permissions By Platform Ids: PlatformIds=[{}]", platformIds);
     platformRolePermissionRepository.deleteByIdPlatformIdIn(platformIds);
+    platformIds.forEach(permissionCatalogService::evictPermissionCatalog);
+    authTokenRolePermissionService.evictAuthTokenRolePermissionsByPlatformIds(platformIds);
+    rbacGraphService.removePlatformRolePermissionsByPlatformIds(platformIds);
   }
 
   public void hardDeletePlatformRolePermissionsByRoleIds(final List<Long> roleIds) {
     log.info("Hard Delete Platform Role Permissions By Role Ids: RoleIds=[{}]", roleIds);
+    // the platforms the roles had permissions in, read before they are deleted
+    final List<Long> platformIds =
+        readPlatformRolePermissionsByRoleIds(roleIds, Boolean.TRUE).stream()
+            .map(platformRolePermission -> platformRolePermission.getId().getPlatformId())
+            .distinct()
+            .toList();
     platformRolePermissionRepository.deleteByIdRoleIdIn(roleIds);
+    platformIds.forEach(permissionCatalogService::evictPermissionCatalog);
+    authTokenRolePermissionService.evictAuthTokenRolePermissionsByRoleIds(roleIds);
+    rbacGraphService.removePlatformRolePermissionsByRoleIds(roleIds);
   }
 
   public void hardDeletePlatformRolePermissionsByPermissionIds(final List<Long> permissionIds) {
@@ -137,6 +177,9 @@ public class PlatformRolePermissionService {
         "Hard Delete Platform Role Permissions By Permission Ids: PermissionIds=[{}]",
         permissionIds);
     platformRolePermissionRepository.deleteByIdPermissionIdIn(permissionIds);
+    permissionCatalogService.evictPermissionCatalogsByPermissionIds(permissionIds);
+    authTokenRolePermissionService.evictAuthTokenRolePermissionsByPermissionIds(permissionIds);
+    rbacGraphService.removePlatformRolePermissionsByPermissionIds(permissionIds);
   }
 
   public void hardDeletePlatformRolePermission(
@@ -150,5 +193,8 @@ public class PlatformRolePermissionService {
     readPlatformRolePermission(platformId, roleId, permissionId);
     platformRolePermissionRepository.deleteById(
         new PlatformRolePermissionId(platformId, roleId, permissionId));
+    permissionCatalogService.evictPermissionCatalog(platformId);
+    authTokenRolePermissionService.evictAuthTokenRolePermissionsByPlatformRole(platformId, roleId);
+    rbacGraphService.removePlatformRolePermission(platformId, roleId, permissionId);
   }
 }
@@ -19,11 +19,14 @@ import auth.service.app.model.entity.ProfileEntity;
 import auth.service.app.model.entity.RoleEntity;
 import auth.service.app.model.enums.TypeEnums;
 import auth.service.app.model.events.ProfileEvent;
+import auth.service.app.model.token.ProfileLoginLookup;
 import auth.service.app.repository.ProfileAddressRepository;
 import auth.service.app.repository.ProfileRepository;
+import auth.service.app.repository.RawSqlRepository;
 import auth.service.app.util.ConstantUtils;
 import auth.service.app.util.JwtUtils;
 import auth.service.app.util.PasswordUtils;
+import auth.service.app.util.ProfileEmailFilter;
 import io.github.bibekaryal86.shdsvc.helpers.CommonUtilities;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -31,7 +34,9 @@ import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -42,11 +47,13 @@ public class ProfileService {
 
   private final ProfileRepository profileRepository;
   private final ProfileAddressRepository profileAddressRepository;
+  private final RawSqlRepository rawSqlRepository;
   private final PlatformProfileRoleService platformProfileRoleService;
   private final CircularDependencyService circularDependencyService;
   private final TokenService tokenService;
   private final PasswordUtils passwordUtils;
   private final ApplicationEventPublisher applicationEventPublisher;
+  private final ProfileEmailFilter profileEmailFilter;
 
   // CREATE
   @Transactional
@@ -125,9 +132,23 @@ public class ProfileService {
         .orElseThrow(() -> new ElementNotFoundException("Profile", email));
   }
 
+  // for the error paths, that need only the id and email to audit
+  // an unknown email is answered by the email filter, a known one is read as its id only
   public ProfileEntity readProfileByEmailNoException(final String email) {
+    if (email == null || !profileEmailFilter.mightExist(email)) {
+      return null;
+    }
     try {
-      return readProfileByEmail(email);
+      final long addVersion = profileEmailFilter.getAddVersion();
+      final Long id = profileRepository.findIdByEmail(email).orElse(null);
+      if (id == null) {
+        profileEmailFilter.addAbsent(email, addVersion);
+        return null;
+      }
+      final ProfileEntity profileEntity = new ProfileEntity();
+      profileEntity.setId(id);
+      profileEntity.setEmail(email);
+      return profileEntity;
     } catch (Exception ignored) {
       return null;
     }
@@ -138,6 +159,14 @@ public class ProfileService {
     return profileRepository.save(profileEntity);
   }
 
+  // not gated on the email filter, it misses profiles created on other instances until rebuilt
+  // the update changes nothing for an unknown email
+  public void updateProfileLoginFailure(final String email) {
+    if (email != null) {
+      profileRepository.updateProfileLoginFailure(email, LocalDateTime.now());
+    }
+  }
+
   @Transactional
   public ProfileEntity updateProfile(final Long id, final ProfileRequest profileRequest) {
     log.debug("Update Profile: Id=[{}], ProfileRequest=[{}]", id, profileRequest);
@@ -280,6 +309,14 @@ public class ProfileService {
     return profileRepository.save(profileEntity);
   }
 
+  // EMAIL FILTER
+  // built at startup, rebuilt every 5 minutes so emails of other instances are added and changed
+  // and deleted emails leave it
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuildProfileEmailFilter() {
+    profileEmailFilter.rebuild(profileRepository::findAllEmails);
+  }
+
   // OTHERS
   public ProfilePasswordTokenResponse loginProfile(
       final Long platformId,
@@ -290,22 +327,25 @@ public class ProfileService {
         platformId,
         profilePasswordRequest.getEmail(),
         ipAddress);
-    final PlatformProfileRoleEntity platformProfileRoleEntity =
-        platformProfileRoleService.readPlatformProfileRole(
-            platformId, profilePasswordRequest.getEmail());
-    final PlatformEntity platformEntity = platformProfileRoleEntity.getPlatform();
-    final ProfileEntity profileEntity = platformProfileRoleEntity.getProfile();
-    loginProfileValidate(platformEntity, profileEntity);
+    // one read for profile, platform profile role and role permissions, one write for token
+    final ProfileLoginLookup profileLoginLookup =
+        rawSqlRepository.findProfileForLogin(platformId, profilePasswordRequest.getEmail());
+    loginProfileValidate(platformId, profilePasswordRequest.getEmail(), profileLoginLookup);
 
     final boolean isLoginSuccess =
         passwordUtils.verifyPassword(
-            profilePasswordRequest.getPassword(), profileEntity.getPassword());
+            profilePasswordRequest.getPassword(), profileLoginLookup.password());
 
     if (!isLoginSuccess) {
       throw new ProfileNotAuthorizedException();
     }
 
-    return tokenService.saveToken(null, null, platformEntity, profileEntity, ipAddress);
+    upgradeProfilePassword(
+        profileLoginLookup.profileId(),
+        profilePasswordRequest.getPassword(),
+        profileLoginLookup.password());
+
+    return tokenService.saveLoginToken(profileLoginLookup, ipAddress);
   }
 
   public ProfileEntity resetProfile(
@@ -340,29 +380,48 @@ public class ProfileService {
     }
   }
 
+  // stored hash uses an older encoder or a lower cost, login does not fail if this does
+  private void upgradeProfilePassword(
+      final Long profileId, final String password, final String hashedPassword) {
+    try {
+      final String upgradedPassword = passwordUtils.getUpgradedPassword(password, hashedPassword);
+      if (upgradedPassword != null) {
+        profileRepository.updateProfilePassword(profileId, upgradedPassword);
+        log.info("Upgrade Profile Password: ProfileId=[{}]", profileId);
+      }
+    } catch (Exception ex) {
+      log.error("Upgrade Profile Password: ProfileId=[{}]", profileId, ex);
+    }
+  }
+
   private void loginProfileValidate(
-      final PlatformEntity platformEntity, final ProfileEntity profileEntity) {
-    // this code block should never be true
-    // deleted date is checked when looking up PPR
-    if (platformEntity.getDeletedDate() != null) {
-      throw new ElementNotActiveException("Platform", String.valueOf(platformEntity.getId()));
+      final Long platformId, final String email, final ProfileLoginLookup profileLoginLookup) {
+    if (profileLoginLookup == null) {
+      throw new ElementNotFoundException(
+          "Platform Profile Role", String.format("%s,%s", platformId, email));
     }
-    // this code block should never be true
-    // deleted date is checked when looking up PPR
-    if (profileEntity.getDeletedDate() != null) {
-      throw new ElementNotActiveException("Profile", profileEntity.getEmail());
+
+    if (!profileLoginLookup.isActive()) {
+      throw new ElementNotActiveException(
+          "Platform Profile Role", String.format("%s,%s", platformId, email));
     }
 
-    if (!profileEntity.getIsValidated()) {
+    if (!profileLoginLookup.isValidated()) {
       throw new ProfileNotValidatedException();
     }
 
-    if (profileEntity.getLoginAttempts() != null && profileEntity.getLoginAttempts() >= 5) {
+    // lock expires when there has been no failed login for the lock duration
+    if (profileLoginLookup.loginAttempts() != null
+        && profileLoginLookup.loginAttempts() >= ConstantUtils.PROFILE_LOCK_LOGIN_ATTEMPTS
+        && profileLoginLookup.updatedDate() != null
+        && profileLoginLookup
+            .updatedDate()
+            .isAfter(LocalDateTime.now().minusMinutes(ConstantUtils.PROFILE_LOCK_MINUTES))) {
       throw new ProfileLockedException();
     }
 
-    if (profileEntity.getLastLogin() != null
-        && profileEntity.getLastLogin().isBefore(LocalDateTime.now().minusDays(45))) {
+    if (profileLoginLookup.lastLogin() != null
+        && profileLoginLookup.lastLogin().isBefore(LocalDateTime.now().minusDays(45))) {
       throw new ProfileNotActiveException();
     }
   }
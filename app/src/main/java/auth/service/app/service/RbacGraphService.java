@@ -0,0 +1,164 @@
+package auth.service.app.service;
+
+import auth.service.app.repository.RawSqlRepository;
+import auth.service.app.util.RbacGraph;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// in memory copy of platform_role_permission, loaded at startup and swapped on every change
+// changes are applied after commit, the scheduled check reloads it if it ever differs from the db
+// until it is loaded every read answers true, so callers fall back to the db
+@Slf4j
+@Service
+public class RbacGraphService {
+
+  private static final RbacGraphSnapshot NOT_LOADED =
+      new RbacGraphSnapshot(RbacGraph.EMPTY, Boolean.FALSE);
+
+  private final AtomicReference<RbacGraphSnapshot> rbacGraph = new AtomicReference<>(NOT_LOADED);
+  private final RawSqlRepository rawSqlRepository;
+  private final Counter matchCounter;
+  private final Counter mismatchCounter;
+  private final Counter skippedCounter;
+
+  public RbacGraphService(
+      final RawSqlRepository rawSqlRepository, final MeterRegistry meterRegistry) {
+    this.rawSqlRepository = rawSqlRepository;
+    this.matchCounter = checkCounter(meterRegistry, "match");
+    this.mismatchCounter = checkCounter(meterRegistry, "mismatch");
+    this.skippedCounter = checkCounter(meterRegistry, "skipped");
+    Gauge.builder("authsvc.rbacgraph.edges", rbacGraph, reference -> reference.get().size())
+        .register(meterRegistry);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void loadRbacGraph() {
+    checkRbacGraph();
+    log.info("Load Rbac Graph: Edges=[{}]", rbacGraph.get().size());
+  }
+
+  // READ
+  public boolean hasPlatformRolePermissions(
+      final Long platformId, final Long roleId, final Long permissionId) {
+    final RbacGraphSnapshot snapshot = rbacGraph.get();
+    if (!snapshot.isLoaded()) {
+      return true;
+    }
+    final RbacGraph graph = snapshot.graph();
+    if (platformId != null && roleId != null && permissionId != null) {
+      return graph.hasEdge(platformId, roleId, permissionId);
+    }
+    if (platformId != null && roleId != null) {
+      return graph.hasPlatformRole(platformId, roleId);
+    }
+    return (platformId == null || graph.hasPlatform(platformId))
+        && (roleId == null || graph.hasRole(roleId))
+        && (permissionId == null || graph.hasPermission(permissionId));
+  }
+
+  public boolean hasPlatformRolePermissionsByPlatformIds(final Collection<Long> platformIds) {
+    return platformIds.stream()
+        .anyMatch(platformId -> hasPlatformRolePermissions(platformId, null, null));
+  }
+
+  public boolean hasPlatformRolePermissionsByRoleIds(final Collection<Long> roleIds) {
+    return roleIds.stream().anyMatch(roleId -> hasPlatformRolePermissions(null, roleId, null));
+  }
+
+  public boolean hasPlatformRolePermissionsByPermissionIds(final Collection<Long> permissionIds) {
+    return permissionIds.stream()
+        .anyMatch(permissionId -> hasPlatformRolePermissions(null, null, permissionId));
+  }
+
+  // UPDATE
+  public void addPlatformRolePermission(
+      final long platformId, final long roleId, final long permissionId) {
+    updateAfterCommit(graph -> graph.withEdge(platformId, roleId, permissionId));
+  }
+
+  public void removePlatformRolePermission(
+      final long platformId, final long roleId, final long permissionId) {
+    updateAfterCommit(graph -> graph.withoutEdge(platformId, roleId, permissionId));
+  }
+
+  public void removePlatformRolePermissionsByPlatformIds(final List<Long> platformIds) {
+    updateAfterCommit(graph -> graph.withoutPlatforms(platformIds));
+  }
+
+  public void removePlatformRolePermissionsByRoleIds(final List<Long> roleIds) {
+    updateAfterCommit(graph -> graph.withoutRoles(roleIds));
+  }
+
+  public void removePlatformRolePermissionsByPermissionIds(final List<Long> permissionIds) {
+    updateAfterCommit(graph -> graph.withoutPermissions(permissionIds));
+  }
+
+  // CHECK
+  // compares with the db and swaps in the db version when they differ
+  // skipped if a change was applied while reading, as the read may or may not include it
+  public void checkRbacGraph() {
+    final RbacGraphSnapshot expected = rbacGraph.get();
+    final RbacGraph loaded = RbacGraph.of(rawSqlRepository.findPlatformRolePermissionIds());
+
+    if (expected.isLoaded() && expected.graph().equals(loaded)) {
+      matchCounter.increment();
+      return;
+    }
+
+    if (rbacGraph.compareAndSet(expected, new RbacGraphSnapshot(loaded, Boolean.TRUE))) {
+      if (expected.isLoaded()) {
+        mismatchCounter.increment();
+        log.warn(
+            "Check Rbac Graph Mismatch: Edges=[{}], DbEdges=[{}]",
+            expected.graph().size(),
+            loaded.size());
+      }
+    } else {
+      skippedCounter.increment();
+      log.debug("Check Rbac Graph Skipped, Changed While Loading...");
+    }
+  }
+
+  private void updateAfterCommit(final UnaryOperator<RbacGraph> update) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              update(update);
+            }
+          });
+    } else {
+      update(update);
+    }
+  }
+
+  // always a new snapshot, so a check that read the db before this change does not swap over it
+  private void update(final UnaryOperator<RbacGraph> update) {
+    rbacGraph.updateAndGet(
+        snapshot -> new RbacGraphSnapshot(update.apply(snapshot.graph()), snapshot.isLoaded()));
+  }
+
+  private static Counter checkCounter(final MeterRegistry meterRegistry, final String result) {
+    return Counter.builder("authsvc.rbacgraph.check")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  private record RbacGraphSnapshot(RbacGraph graph, boolean isLoaded) {
+    private int size() {
+      return graph.size();
+    }
+  }
+}
@@ -21,6 +21,7 @@ public class RoleService {
   private final RoleRepository roleRepository;
   private final PlatformProfileRoleService platformProfileRoleService;
   private final PlatformRolePermissionService platformRolePermissionService;
+  private final AuthTokenRolePermissionService authTokenRolePermissionService;
 
   // CREATE
   public RoleEntity createRole(final RoleRequest roleRequest) {
@@ -54,7 +55,10 @@ public class RoleService {
     }
 
     BeanUtils.copyProperties(roleRequest, roleEntity);
-    return roleRepository.save(roleEntity);
+    final RoleEntity savedEntity = roleRepository.save(roleEntity);
+    // role name may have changed
+    authTokenRolePermissionService.evictAuthTokenRolePermissionsByRoleIds(List.of(id));
+    return savedEntity;
   }
 
   // DELETE
@@ -67,7 +71,9 @@ public class RoleService {
     }
 
     roleEntity.setDeletedDate(LocalDateTime.now());
-    return roleRepository.save(roleEntity);
+    final RoleEntity savedEntity = roleRepository.save(roleEntity);
+    authTokenRolePermissionService.evictAuthTokenRolePermissionsByRoleIds(List.of(id));
+    return savedEntity;
   }
 
   @Transactional
@@ -88,6 +94,8 @@ public class RoleService {
     log.info("Restore Soft Deleted Role: Id=[{}]", id);
     final RoleEntity roleEntity = readRole(id);
     roleEntity.setDeletedDate(null);
-    return roleRepository.save(roleEntity);
+    final RoleEntity savedEntity = roleRepository.save(roleEntity);
+    authTokenRolePermissionService.evictAuthTokenRolePermissionsByRoleIds(List.of(id));
+    return savedEntity;
   }
 }
@@ -5,26 +5,35 @@ import auth.service.app.model.dto.ProfilePasswordTokenResponse;
 import auth.service.app.model.entity.PlatformEntity;
 import auth.service.app.model.entity.ProfileEntity;
 import auth.service.app.model.entity.TokenEntity;
+import auth.service.app.model.token.PermissionCatalog;
+import auth.service.app.model.token.ProfileLoginLookup;
+import auth.service.app.repository.ProfileRepository;
 import auth.service.app.repository.TokenRepository;
 import auth.service.app.util.ConstantUtils;
 import auth.service.app.util.EntityDtoConvertUtils;
 import auth.service.app.util.JwtUtils;
 import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
 import io.github.bibekaryal86.shdsvc.dtos.ResponseMetadata;
+import io.github.bibekaryal86.shdsvc.helpers.CommonUtilities;
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TokenService {
   private final TokenRepository tokenRepository;
+  private final ProfileRepository profileRepository;
   private final EntityDtoConvertUtils entityDtoConvertUtils;
+  private final PermissionCatalogService permissionCatalogService;
   private final Environment environment;
 
   private final SecureRandom secureRandom = new SecureRandom();
@@ -100,8 +109,7 @@ public class TokenService {
 
     final AuthToken authToken =
         entityDtoConvertUtils.getAuthTokenFromProfile(platformEntity, profileEntity);
-    final String accessToken =
-        JwtUtils.encodeAuthCredentials(authToken, ConstantUtils.ACCESS_TOKEN_VALIDITY_MILLISECONDS);
+    final String accessToken = encodeAccessToken(authToken);
     final String refreshToken = generateSecureToken();
     final String csrfToken = generateSecureToken();
 
@@ -131,6 +139,84 @@ public class TokenService {
         .build();
   }
 
+  // login writes the token row and resets login state in one transaction
+  // targeted statements, so neither platform nor profile entity is loaded
+  @Transactional
+  public ProfilePasswordTokenResponse saveLoginToken(
+      final ProfileLoginLookup profileLoginLookup, final String ipAddress) {
+    log.debug(
+        "Save Login Token: PlatformId=[{}], Email=[{}], IpAddress=[{}]",
+        profileLoginLookup.platformId(),
+        profileLoginLookup.email(),
+        ipAddress);
+
+    final AuthToken authToken =
+        entityDtoConvertUtils.getAuthTokenFromProfileLoginLookup(profileLoginLookup);
+    final String accessToken = encodeAccessToken(authToken);
+    final String refreshToken = generateSecureToken();
+    final String csrfToken = generateSecureToken();
+    final LocalDateTime now = LocalDateTime.now();
+
+    tokenRepository.insertToken(
+        profileLoginLookup.platformId(),
+        profileLoginLookup.profileId(),
+        ipAddress,
+        refreshToken,
+        csrfToken,
+        now.plusSeconds(ConstantUtils.REFRESH_TOKEN_VALIDITY_SECONDS));
+    profileRepository.updateProfileLoginSuccess(profileLoginLookup.profileId(), now);
+
+    return ProfilePasswordTokenResponse.builder()
+        .accessToken(accessToken)
+        .refreshToken(refreshToken)
+        .csrfToken(csrfToken)
+        .authToken(authToken)
+        .responseMetadata(ResponseMetadata.emptyResponseMetadata())
+        .build();
+  }
+
+  private String encodeAccessToken(final AuthToken authToken) {
+    final boolean isCompact =
+        ConstantUtils.TOKEN_CLAIM_FORMAT_COMPACT.equals(
+            CommonUtilities.getSystemEnvProperty(
+                ConstantUtils.ENV_TOKEN_CLAIM_FORMAT, ConstantUtils.TOKEN_CLAIM_FORMAT_LEGACY));
+
+    if (isCompact) {
+      PermissionCatalog permissionCatalog =
+          permissionCatalogService.readPermissionCatalog(authToken.getPlatform().getId());
+      String permissionBits = permissionCatalog.encodePermissions(authToken.getPermissions());
+      if (permissionBits == null) {
+        // the cached catalog may predate a permission assigned on another instance
+        permissionCatalogService.evictPermissionCatalog(authToken.getPlatform().getId());
+        permissionCatalog =
+            permissionCatalogService.readPermissionCatalog(authToken.getPlatform().getId());
+        permissionBits = permissionCatalog.encodePermissions(authToken.getPermissions());
+      }
+
+      if (permissionBits != null) {
+        final AuthToken compactAuthToken =
+            new AuthToken(
+                authToken.getPlatform(),
+                authToken.getProfile(),
+                authToken.getRoles(),
+                Collections.emptyList(),
+                authToken.getIsSuperUser());
+        return JwtUtils.encodeAuthCredentials(
+            compactAuthToken,
+            ConstantUtils.ACCESS_TOKEN_VALIDITY_MILLISECONDS,
+            Map.of(
+                ConstantUtils.TOKEN_CLAIM_PERMISSION_CATALOG,
+                permissionCatalog.version(),
+                ConstantUtils.TOKEN_CLAIM_PERMISSION_BITS,
+                permissionBits));
+      }
+      // permission not in catalog yet, names are still correct so use legacy format
+    }
+
+    return JwtUtils.encodeAuthCredentials(
+        authToken, ConstantUtils.ACCESS_TOKEN_VALIDITY_MILLISECONDS);
+  }
+
   private String generateSecureToken() {
     byte[] bytes = new byte[ConstantUtils.TOKEN_LENGTH];
     secureRandom.nextBytes(bytes);
@@ -0,0 +1,383 @@
+package auth.service.app.util;
+
+import auth.service.app.model.dto.AuditHistoryDto;
+import auth.service.app.model.enums.TypeEnums;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// archive of audits past retention on local disk, segment files by audit table and month:
+// <component>/<yyyyMM>-<millis>.ndjson.gz, ndjson in blocks of up to blockAudits audits where each
+// block is its own gzip member, so a block is read alone from its offset and the whole segment is
+// still a plain gzip file (eg: zcat)
+// audits are written ordered by entity id, the sparse index (<segment>.idx) keeps for each block
+// [long offset][int length][long first entity id][long last entity id][int audits], so the
+// history of one entity reads only the blocks holding it
+// the index is moved in place last, a segment without one (eg: crash while archiving) is ignored
+// a month archived again (eg: crash before its audits were deleted) gets one more segment, the
+// audits in both are read once
+// the directory must exist (eg: a mounted volume), it is never created so an unmounted volume is
+// not replaced by local disk. a commit returns only once the segment is synced and read back
+public final class AuditArchive {
+
+  public record Block(
+      long offset, int length, long firstEntityId, long lastEntityId, int audits) {}
+
+  private static final int INDEX_MAGIC = 0x41415831;
+  private static final String SEGMENT_SUFFIX = ".ndjson.gz";
+  private static final String INDEX_SUFFIX = ".idx";
+  private static final String TEMP_SUFFIX = ".tmp";
+  private static final DateTimeFormatter SEGMENT_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+  // audits without an entity (entity deleted since) are written last and never match an entity
+  private static final long NO_ENTITY_ID = Long.MAX_VALUE;
+
+  private final Path directory;
+  private final int blockAudits;
+  // segments are never changed once written, so their index is read once
+  private final Map<Path, List<Block>> indexes = new ConcurrentHashMap<>();
+  // segment names are the millis they were created at, never the same twice
+  private final AtomicLong lastSegmentMillis = new AtomicLong();
+
+  private AuditArchive(final Path directory, final int blockAudits) {
+    this.directory = directory;
+    this.blockAudits = blockAudits;
+  }
+
+  // temp files left by an archive interrupted before its commit are removed
+  public static AuditArchive open(final Path directory, final int blockAudits)
+      throws IOException {
+    if (!Files.isDirectory(directory)) {
+      throw new IOException("Audit Archive Directory Not Found: " + directory);
+    }
+    for (final TypeEnums.ComponentName componentName : TypeEnums.ComponentName.values()) {
+      final Path componentDirectory = directory.resolve(getDirectoryName(componentName));
+      Files.createDirectories(componentDirectory);
+      try (Stream<Path> paths = Files.list(componentDirectory)) {
+        for (final Path path : paths.toList()) {
+          if (path.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+            Files.deleteIfExists(path);
+          }
+        }
+      }
+    }
+    return new AuditArchive(directory, blockAudits);
+  }
+
+  public Path getDirectory() {
+    return directory;
+  }
+
+  // checked before a month is archived, the volume may have gone since it was opened
+  public boolean isAvailable() {
+    return Files.isDirectory(directory) && Files.isWritable(directory);
+  }
+
+  // audits must be appended ordered by entity id, nothing is visible to readers before commit
+  public SegmentWriter newSegment(
+      final TypeEnums.ComponentName componentName, final YearMonth month) throws IOException {
+    final long segmentMillis =
+        lastSegmentMillis.updateAndGet(last -> Math.max(last + 1, System.currentTimeMillis()));
+    final String segmentName = month.format(SEGMENT_MONTH) + "-" + segmentMillis + SEGMENT_SUFFIX;
+    return new SegmentWriter(
+        directory.resolve(getDirectoryName(componentName)).resolve(segmentName));
+  }
+
+  // months with at least one segment, newest first
+  public List<YearMonth> findMonths(final TypeEnums.ComponentName componentName)
+      throws IOException {
+    final Set<YearMonth> months = new TreeSet<>(Comparator.reverseOrder());
+    for (final Path indexPath : findIndexes(componentName)) {
+      months.add(getSegmentMonth(indexPath));
+    }
+    return new ArrayList<>(months);
+  }
+
+  // audits of the month, of only one entity when entityId is not null, in the order written
+  public void readAudits(
+      final TypeEnums.ComponentName componentName,
+      final YearMonth month,
+      final Long entityId,
+      final Consumer<AuditHistoryDto> auditConsumer)
+      throws IOException {
+    final List<Path> indexPaths =
+        findIndexes(componentName).stream()
+            .filter(indexPath -> getSegmentMonth(indexPath).equals(month))
+            .sorted()
+            .toList();
+    // only needed when the month was archived more than once
+    final Set<Long> readIds = indexPaths.size() > 1 ? new HashSet<>() : null;
+
+    for (final Path indexPath : indexPaths) {
+      final Path segmentPath = getSegmentPath(indexPath);
+      try (FileChannel segmentChannel = FileChannel.open(segmentPath, StandardOpenOption.READ)) {
+        for (final Block block : getIndex(indexPath)) {
+          if (entityId != null
+              && (entityId < block.firstEntityId() || entityId > block.lastEntityId())) {
+            continue;
+          }
+          readBlock(
+              segmentChannel,
+              block,
+              auditHistoryDto -> {
+                if ((entityId == null || entityId.equals(auditHistoryDto.getEntityId()))
+                    && (readIds == null || readIds.add(auditHistoryDto.getId()))) {
+                  auditConsumer.accept(auditHistoryDto);
+                }
+              });
+        }
+      }
+    }
+  }
+
+  private static void readBlock(
+      final FileChannel segmentChannel,
+      final Block block,
+      final Consumer<AuditHistoryDto> auditConsumer)
+      throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(block.length());
+    while (buffer.hasRemaining()) {
+      if (segmentChannel.read(buffer, block.offset() + buffer.position()) < 0) {
+        throw new IOException("Audit Archive Segment Truncated: " + block);
+      }
+    }
+    try (JsonReader jsonReader =
+        new JsonReader(
+            new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(buffer.array())),
+                StandardCharsets.UTF_8))) {
+      // lenient reads one top level object after another
+      jsonReader.setStrictness(Strictness.LENIENT);
+      while (jsonReader.peek() != JsonToken.END_DOCUMENT) {
+        auditConsumer.accept(AuditNdjsonUtils.readAudit(jsonReader));
+      }
+    }
+  }
+
+  private List<Path> findIndexes(final TypeEnums.ComponentName componentName)
+      throws IOException {
+    final Path componentDirectory = directory.resolve(getDirectoryName(componentName));
+    if (!Files.isDirectory(componentDirectory)) {
+      return List.of();
+    }
+    try (Stream<Path> paths = Files.list(componentDirectory)) {
+      return paths.filter(path -> path.getFileName().toString().endsWith(INDEX_SUFFIX)).toList();
+    }
+  }
+
+  private List<Block> getIndex(final Path indexPath) throws IOException {
+    List<Block> blocks = indexes.get(indexPath);
+    if (blocks == null) {
+      blocks = readIndex(indexPath);
+      indexes.put(indexPath, blocks);
+    }
+    return blocks;
+  }
+
+  private static List<Block> readIndex(final Path indexPath) throws IOException {
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath)))) {
+      if (in.readInt() != INDEX_MAGIC) {
+        throw new IOException("Audit Archive Index Invalid: " + indexPath);
+      }
+      final int blockCount = in.readInt();
+      final List<Block> blocks = new ArrayList<>(blockCount);
+      for (int i = 0; i < blockCount; i++) {
+        blocks.add(
+            new Block(in.readLong(), in.readInt(), in.readLong(), in.readLong(), in.readInt()));
+      }
+      return List.copyOf(blocks);
+    }
+  }
+
+  private static String getDirectoryName(final TypeEnums.ComponentName componentName) {
+    return componentName.name().toLowerCase(Locale.ROOT);
+  }
+
+  private static YearMonth getSegmentMonth(final Path path) {
+    return YearMonth.parse(path.getFileName().toString().substring(0, 6), SEGMENT_MONTH);
+  }
+
+  private static Path getSegmentPath(final Path indexPath) {
+    final String indexName = indexPath.getFileName().toString();
+    return indexPath.resolveSibling(
+        indexName.substring(0, indexName.length() - INDEX_SUFFIX.length()));
+  }
+
+  private static Path getTempPath(final Path path) {
+    return path.resolveSibling(path.getFileName() + TEMP_SUFFIX);
+  }
+
+  // not thread safe, one writer archives one month
+  public final class SegmentWriter implements Closeable {
+
+    private final Path segmentPath;
+    private final Path indexPath;
+    private final FileChannel segmentChannel;
+    private final List<Block> blocks = new ArrayList<>();
+
+    private StringWriter blockWriter;
+    private JsonWriter jsonWriter;
+    private int audits;
+    private long firstEntityId;
+    private long lastEntityId;
+    private long offset;
+    private long totalAudits;
+    private boolean isCommitted;
+
+    private SegmentWriter(final Path segmentPath) throws IOException {
+      this.segmentPath = segmentPath;
+      this.indexPath = segmentPath.resolveSibling(segmentPath.getFileName() + INDEX_SUFFIX);
+      this.segmentChannel =
+          FileChannel.open(
+              getTempPath(segmentPath), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    public void append(final AuditHistoryDto auditHistoryDto) throws IOException {
+      final long entityId =
+          auditHistoryDto.getEntityId() == null ? NO_ENTITY_ID : auditHistoryDto.getEntityId();
+      if (entityId < lastEntityId) {
+        throw new IllegalStateException(
+            "Audit Archive Not Ordered By Entity: " + entityId + " after " + lastEntityId);
+      }
+      if (jsonWriter == null) {
+        blockWriter = new StringWriter();
+        jsonWriter = new JsonWriter(blockWriter);
+        jsonWriter.setStrictness(Strictness.LENIENT);
+        firstEntityId = entityId;
+      }
+      AuditNdjsonUtils.writeAudit(jsonWriter, auditHistoryDto);
+      blockWriter.write('\n');
+      lastEntityId = entityId;
+      totalAudits++;
+      if (++audits == blockAudits) {
+        writeBlock();
+      }
+    }
+
+    // makes the segment visible and returns the audits in it, a segment with none is not kept
+    public long commit() throws IOException {
+      if (jsonWriter != null) {
+        writeBlock();
+      }
+      segmentChannel.force(true);
+      segmentChannel.close();
+      isCommitted = true;
+      if (totalAudits == 0) {
+        Files.deleteIfExists(getTempPath(segmentPath));
+        return 0;
+      }
+
+      final Path indexTempPath = getTempPath(indexPath);
+      try (FileChannel indexChannel =
+              FileChannel.open(
+                  indexTempPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+          DataOutputStream out =
+              new DataOutputStream(
+                  new BufferedOutputStream(Channels.newOutputStream(indexChannel)))) {
+        out.writeInt(INDEX_MAGIC);
+        out.writeInt(blocks.size());
+        for (final Block block : blocks) {
+          out.writeLong(block.offset());
+          out.writeInt(block.length());
+          out.writeLong(block.firstEntityId());
+          out.writeLong(block.lastEntityId());
+          out.writeInt(block.audits());
+        }
+        out.flush();
+        indexChannel.force(true);
+      }
+      Files.move(getTempPath(segmentPath), segmentPath, StandardCopyOption.ATOMIC_MOVE);
+      Files.move(indexTempPath, indexPath, StandardCopyOption.ATOMIC_MOVE);
+      try (FileChannel directoryChannel =
+          FileChannel.open(segmentPath.getParent(), StandardOpenOption.READ)) {
+        directoryChannel.force(true);
+      }
+
+      // what the caller deletes from the db must be readable from the archive
+      final long readAudits = readBack();
+      if (readAudits != totalAudits) {
+        Files.deleteIfExists(indexPath);
+        Files.deleteIfExists(segmentPath);
+        throw new IOException(
+            String.format(
+                "Audit Archive Segment Not Confirmed: %s, Written=[%d], Read=[%d]",
+                segmentPath, totalAudits, readAudits));
+      }
+      indexes.put(indexPath, List.copyOf(blocks));
+      return totalAudits;
+    }
+
+    private long readBack() throws IOException {
+      final List<Block> readBlocks = readIndex(indexPath);
+      final long[] readAudits = {0};
+      try (FileChannel readChannel = FileChannel.open(segmentPath, StandardOpenOption.READ)) {
+        for (final Block block : readBlocks) {
+          readBlock(readChannel, block, auditHistoryDto -> readAudits[0]++);
+        }
+      }
+      return readAudits[0];
+    }
+
+    private void writeBlock() throws IOException {
+      jsonWriter.flush();
+      final ByteArrayOutputStream block = new ByteArrayOutputStream();
+      try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(block)) {
+        gzipOutputStream.write(blockWriter.toString().getBytes(StandardCharsets.UTF_8));
+      }
+      final ByteBuffer buffer = ByteBuffer.wrap(block.toByteArray());
+      while (buffer.hasRemaining()) {
+        segmentChannel.write(buffer);
+      }
+      blocks.add(new Block(offset, block.size(), firstEntityId, lastEntityId, audits));
+      offset += block.size();
+      jsonWriter = null;
+      blockWriter = null;
+      audits = 0;
+    }
+
+    // a segment not committed is removed
+    @Override
+    public void close() throws IOException {
+      if (!isCommitted) {
+        segmentChannel.close();
+        Files.deleteIfExists(getTempPath(segmentPath));
+        Files.deleteIfExists(getTempPath(indexPath));
+      }
+    }
+  }
+}
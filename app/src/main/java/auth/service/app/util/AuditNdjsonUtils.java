@@ -0,0 +1,81 @@
+package auth.service.app.util;
+
+import auth.service.app.model.dto.AuditHistoryDto;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+// one audit as one json object, as written to audit exports and the audit archive
+// event_data is copied as stored, it is not mapped to any type
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class AuditNdjsonUtils {
+
+  public static void writeAudit(final JsonWriter jsonWriter, final AuditHistoryDto auditHistoryDto)
+      throws IOException {
+    jsonWriter.beginObject();
+    jsonWriter.name("id").value(auditHistoryDto.getId());
+    jsonWriter.name("entityId").value(auditHistoryDto.getEntityId());
+    jsonWriter.name("eventType").value(auditHistoryDto.getEventType());
+    jsonWriter.name("eventDesc").value(auditHistoryDto.getEventDesc());
+    jsonWriter
+        .name("createdAt")
+        .value(
+            auditHistoryDto.getCreatedAt() == null
+                ? null
+                : auditHistoryDto.getCreatedAt().toString());
+    jsonWriter.name("createdBy").value(auditHistoryDto.getCreatedBy());
+    jsonWriter.name("ipAddress").value(auditHistoryDto.getIpAddress());
+    jsonWriter.name("userAgent").value(auditHistoryDto.getUserAgent());
+    jsonWriter.name("eventData").jsonValue(auditHistoryDto.getEventData());
+    jsonWriter.endObject();
+  }
+
+  public static AuditHistoryDto readAudit(final JsonReader jsonReader) throws IOException {
+    final AuditHistoryDto.AuditHistoryDtoBuilder auditHistoryDto = AuditHistoryDto.builder();
+    jsonReader.beginObject();
+    while (jsonReader.hasNext()) {
+      switch (jsonReader.nextName()) {
+        case "id" -> auditHistoryDto.id(nextLong(jsonReader));
+        case "entityId" -> auditHistoryDto.entityId(nextLong(jsonReader));
+        case "eventType" -> auditHistoryDto.eventType(nextString(jsonReader));
+        case "eventDesc" -> auditHistoryDto.eventDesc(nextString(jsonReader));
+        case "createdAt" -> {
+          final String createdAt = nextString(jsonReader);
+          auditHistoryDto.createdAt(createdAt == null ? null : LocalDateTime.parse(createdAt));
+        }
+        case "createdBy" -> auditHistoryDto.createdBy(nextLong(jsonReader));
+        case "ipAddress" -> auditHistoryDto.ipAddress(nextString(jsonReader));
+        case "userAgent" -> auditHistoryDto.userAgent(nextString(jsonReader));
+        case "eventData" -> {
+          final JsonElement eventData = JsonParser.parseReader(jsonReader);
+          auditHistoryDto.eventData(eventData.isJsonNull() ? null : eventData.toString());
+        }
+        default -> jsonReader.skipValue();
+      }
+    }
+    jsonReader.endObject();
+    return auditHistoryDto.build();
+  }
+
+  private static Long nextLong(final JsonReader jsonReader) throws IOException {
+    if (jsonReader.peek() == JsonToken.NULL) {
+      jsonReader.nextNull();
+      return null;
+    }
+    return jsonReader.nextLong();
+  }
+
+  private static String nextString(final JsonReader jsonReader) throws IOException {
+    if (jsonReader.peek() == JsonToken.NULL) {
+      jsonReader.nextNull();
+      return null;
+    }
+    return jsonReader.nextString();
+  }
+}
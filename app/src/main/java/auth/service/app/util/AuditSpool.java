@@ -0,0 +1,507 @@
+package auth.service.app.util;
+
+import auth.service.app.model.enums.TypeEnums;
+import auth.service.app.model.events.AuditEvent;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import lombok.extern.slf4j.Slf4j;
+
+// append only spool of audit events on local disk, in fixed size memory mapped segment files
+// record: [int length][int crc32c][payload], a zero length marks the end of written records
+// the checkpoint file holds the position of the first record not yet written to the db
+// appended records are in the os page cache so survive a process crash, force() makes them
+// survive a power loss too, replay after a crash is at least once (from the last checkpoint)
+// force and the checkpoint msync run under their own lock, appends never wait on the disk
+// disk use is bounded to maxSegments * segmentSize, append returns false when the spool is full
+@Slf4j
+public final class AuditSpool implements Closeable {
+
+  public record Position(long segmentId, int offset) {}
+
+  // auditEvent is null for a record that could not be read, it is committed like any other
+  public record Entry(AuditEvent auditEvent, Position next) {}
+
+  // version 1 had no request id
+  private static final byte FORMAT_VERSION = 2;
+  private static final int HEADER_SIZE = 8;
+  private static final int CHECKPOINT_SIZE = 16;
+  private static final String SEGMENT_SUFFIX = ".seg";
+  private static final String CHECKPOINT_FILE = "checkpoint";
+  private static final String LOCK_FILE = "lock";
+
+  private final Path directory;
+  private final int segmentSize;
+  private final int maxSegments;
+  private final FileChannel lockChannel;
+  private final FileLock lock;
+  private final FileChannel checkpointChannel;
+  private final MappedByteBuffer checkpointBuffer;
+  private final TreeMap<Long, Segment> segments = new TreeMap<>();
+  private final Object flushLock = new Object();
+
+  private Segment writeSegment;
+  private Position checkpoint;
+  private long pending;
+  // segments before it are forced in full
+  private long forcedSegmentId;
+  private boolean isClosed;
+
+  private AuditSpool(
+      final Path directory,
+      final int segmentSize,
+      final int maxSegments,
+      final FileChannel lockChannel,
+      final FileLock lock)
+      throws IOException {
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    this.maxSegments = maxSegments;
+    this.lockChannel = lockChannel;
+    this.lock = lock;
+    this.checkpointChannel =
+        FileChannel.open(
+            directory.resolve(CHECKPOINT_FILE),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+    this.checkpointBuffer =
+        checkpointChannel.map(FileChannel.MapMode.READ_WRITE, 0, CHECKPOINT_SIZE);
+    recover();
+  }
+
+  // opens the first spool under the base directory not locked by another instance,
+  // so more than one app instance (or test context) on a host never share one spool
+  public static AuditSpool open(
+      final Path baseDirectory, final int slots, final int segmentSize, final int maxSegments)
+      throws IOException {
+    for (int slot = 0; slot < slots; slot++) {
+      final Path directory = baseDirectory.resolve(String.valueOf(slot));
+      Files.createDirectories(directory);
+      final FileChannel lockChannel =
+          FileChannel.open(
+              directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+      FileLock lock;
+      try {
+        lock = lockChannel.tryLock();
+      } catch (OverlappingFileLockException ex) {
+        lock = null;
+      }
+      if (lock == null) {
+        lockChannel.close();
+        continue;
+      }
+      try {
+        return new AuditSpool(directory, segmentSize, maxSegments, lockChannel, lock);
+      } catch (IOException ex) {
+        lock.release();
+        lockChannel.close();
+        throw ex;
+      }
+    }
+    throw new IOException("No Unlocked Audit Spool: " + baseDirectory);
+  }
+
+  public Path getDirectory() {
+    return directory;
+  }
+
+  // APPEND
+  public synchronized boolean append(final AuditEvent auditEvent) {
+    if (isClosed) {
+      return false;
+    }
+    final byte[] payload = encode(auditEvent);
+    final int recordSize = HEADER_SIZE + payload.length;
+    if (recordSize > segmentSize) {
+      log.error(
+          "Audit Spool Record Too Large: EntityId=[{}], EventType=[{}], Size=[{}]",
+          auditEvent.entityId(),
+          auditEvent.eventType(),
+          recordSize);
+      return false;
+    }
+    if (writeSegment.writeOffset + recordSize > segmentSize) {
+      if (segments.size() >= maxSegments) {
+        return false;
+      }
+      writeSegment = openSegment(writeSegment.id + 1);
+    }
+
+    final MappedByteBuffer buffer = writeSegment.buffer;
+    final int offset = writeSegment.writeOffset;
+    buffer.put(offset + HEADER_SIZE, payload);
+    buffer.putInt(offset + 4, checksum(payload));
+    // length last, a record is not there until its length is
+    buffer.putInt(offset, payload.length);
+    writeSegment.writeOffset += recordSize;
+    pending++;
+    return true;
+  }
+
+  // READ
+  // reads from the checkpoint, the same entries are read again until committed
+  public List<Entry> read(final int maxEntries) {
+    final List<Entry> entries = new ArrayList<>();
+    Position position;
+    synchronized (this) {
+      if (isClosed) {
+        return entries;
+      }
+      position = checkpoint;
+      while (entries.size() < maxEntries) {
+        final Segment segment = segments.get(position.segmentId());
+        final byte[] payload = readPayload(segment, position.offset());
+        if (payload == null) {
+          if (segment == writeSegment) {
+            break;
+          }
+          position = new Position(segments.higherKey(segment.id), 0);
+          continue;
+        }
+
+        position = new Position(segment.id, position.offset() + HEADER_SIZE + payload.length);
+        entries.add(new Entry(decode(payload, position), position));
+      }
+
+      // nothing to write but moved past drained segments
+      if (!entries.isEmpty() || position.equals(checkpoint)) {
+        return entries;
+      }
+      writeCheckpoint(position);
+    }
+    flushCheckpoint(position);
+    return entries;
+  }
+
+  // COMMIT
+  public void commit(final List<Entry> written) {
+    if (written.isEmpty()) {
+      return;
+    }
+    final Position position = written.getLast().next();
+    synchronized (this) {
+      if (isClosed) {
+        return;
+      }
+      pending -= written.size();
+      writeCheckpoint(position);
+    }
+    flushCheckpoint(position);
+  }
+
+  public synchronized long pending() {
+    return pending;
+  }
+
+  public synchronized int segments() {
+    return segments.size();
+  }
+
+  // forces what was appended up to now, segments rolled since the last force are forced in full
+  public void force() {
+    final List<Segment> unforcedSegments;
+    final Segment lastSegment;
+    final int lastOffset;
+    synchronized (this) {
+      if (isClosed) {
+        return;
+      }
+      unforcedSegments = new ArrayList<>(segments.tailMap(forcedSegmentId, true).values());
+      lastSegment = writeSegment;
+      lastOffset = writeSegment.writeOffset;
+    }
+
+    synchronized (flushLock) {
+      for (final Segment segment : unforcedSegments) {
+        if (segment == lastSegment) {
+          segment.buffer.force(0, lastOffset);
+        } else {
+          segment.buffer.force();
+        }
+      }
+    }
+
+    synchronized (this) {
+      forcedSegmentId = Math.max(forcedSegmentId, lastSegment.id);
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (isClosed) {
+      return;
+    }
+    isClosed = true;
+    for (final Segment segment : segments.values()) {
+      segment.buffer.force();
+      segment.channel.close();
+    }
+    checkpointBuffer.force();
+    checkpointChannel.close();
+    lock.release();
+    lockChannel.close();
+  }
+
+  // RECOVER
+  // finds the checkpoint and the end of written records, a torn record at the end is zeroed
+  private void recover() throws IOException {
+    try (Stream<Path> paths = Files.list(directory)) {
+      for (final Path path : paths.toList()) {
+        final String fileName = path.getFileName().toString();
+        if (fileName.endsWith(SEGMENT_SUFFIX)) {
+          final long segmentId =
+              Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+          openSegment(segmentId);
+        }
+      }
+    }
+
+    checkpoint = readCheckpoint();
+    if (checkpoint == null) {
+      checkpoint = new Position(segments.isEmpty() ? 0 : segments.firstKey(), 0);
+    }
+    while (!segments.isEmpty() && segments.firstKey() < checkpoint.segmentId()) {
+      deleteSegment(segments.firstKey());
+    }
+    if (segments.isEmpty()) {
+      checkpoint = new Position(checkpoint.segmentId(), 0);
+      openSegment(checkpoint.segmentId());
+    } else if (segments.firstKey() > checkpoint.segmentId()) {
+      log.error("Audit Spool Checkpoint Segment Not Found, Replaying: Checkpoint=[{}]", checkpoint);
+      checkpoint = new Position(segments.firstKey(), 0);
+    }
+
+    for (final Segment segment : segments.values()) {
+      int offset = segment.id == checkpoint.segmentId() ? checkpoint.offset() : 0;
+      byte[] payload;
+      while ((payload = readPayload(segment, offset)) != null) {
+        offset += HEADER_SIZE + payload.length;
+        pending++;
+      }
+      segment.writeOffset = offset;
+    }
+
+    writeSegment = segments.lastEntry().getValue();
+    for (int offset = writeSegment.writeOffset; offset < segmentSize; offset++) {
+      if (writeSegment.buffer.get(offset) != 0) {
+        writeSegment.buffer.put(offset, (byte) 0);
+      }
+    }
+    writeSegment.buffer.force();
+    forcedSegmentId = writeSegment.id;
+    writeCheckpoint(checkpoint);
+    flushCheckpoint(checkpoint);
+  }
+
+  // payload of the valid record at the offset, or null if there is none
+  private byte[] readPayload(final Segment segment, final int offset) {
+    if (offset + HEADER_SIZE > segmentSize) {
+      return null;
+    }
+    if (segment == writeSegment && offset >= segment.writeOffset) {
+      return null;
+    }
+    final int length = segment.buffer.getInt(offset);
+    if (length <= 0 || length > segmentSize - offset - HEADER_SIZE) {
+      return null;
+    }
+    final byte[] payload = new byte[length];
+    segment.buffer.get(offset + HEADER_SIZE, payload);
+    return checksum(payload) == segment.buffer.getInt(offset + 4) ? payload : null;
+  }
+
+  private Position readCheckpoint() {
+    final long segmentId = checkpointBuffer.getLong(0);
+    final int offset = checkpointBuffer.getInt(8);
+    final int crc = checkpointBuffer.getInt(12);
+    if (segmentId == 0 && offset == 0 && crc == 0) {
+      return null;
+    }
+    if (checkpointChecksum(segmentId, offset) != crc || offset < 0 || offset > segmentSize) {
+      log.error("Audit Spool Checkpoint Corrupt: SegmentId=[{}], Offset=[{}]", segmentId, offset);
+      return null;
+    }
+    return new Position(segmentId, offset);
+  }
+
+  // called holding the spool lock, the checkpoint is durable after flushCheckpoint
+  private void writeCheckpoint(final Position position) {
+    checkpoint = position;
+    checkpointBuffer.putLong(0, position.segmentId());
+    checkpointBuffer.putInt(8, position.offset());
+    checkpointBuffer.putInt(12, checkpointChecksum(position.segmentId(), position.offset()));
+  }
+
+  // called without the spool lock, segments before the checkpoint are deleted once it is forced
+  private void flushCheckpoint(final Position position) {
+    synchronized (flushLock) {
+      checkpointBuffer.force();
+    }
+    synchronized (this) {
+      while (!isClosed && segments.firstKey() < position.segmentId()) {
+        deleteSegment(segments.firstKey());
+      }
+    }
+  }
+
+  private Segment openSegment(final long segmentId) {
+    try {
+      final FileChannel channel =
+          FileChannel.open(
+              segmentPath(segmentId),
+              StandardOpenOption.CREATE,
+              StandardOpenOption.READ,
+              StandardOpenOption.WRITE);
+      final Segment segment =
+          new Segment(
+              segmentId, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+      segments.put(segmentId, segment);
+      return segment;
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private void deleteSegment(final long segmentId) {
+    final Segment segment = segments.remove(segmentId);
+    try {
+      segment.channel.close();
+      Files.deleteIfExists(segmentPath(segmentId));
+    } catch (IOException ex) {
+      log.error("Audit Spool Segment Delete Error: SegmentId=[{}]", segmentId, ex);
+    }
+  }
+
+  private Path segmentPath(final long segmentId) {
+    return directory.resolve(String.format("%020d%s", segmentId, SEGMENT_SUFFIX));
+  }
+
+  private static int checksum(final byte[] payload) {
+    final CRC32C crc32c = new CRC32C();
+    crc32c.update(payload);
+    return (int) crc32c.getValue();
+  }
+
+  private static int checkpointChecksum(final long segmentId, final int offset) {
+    final CRC32C crc32c = new CRC32C();
+    crc32c.update(ByteBuffer.allocate(12).putLong(segmentId).putInt(offset).flip());
+    return (int) crc32c.getValue();
+  }
+
+  // ENCODE / DECODE
+  private static byte[] encode(final AuditEvent auditEvent) {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(FORMAT_VERSION);
+      writeString(out, auditEvent.componentName().name());
+      writeLong(out, auditEvent.entityId());
+      writeString(out, auditEvent.eventType());
+      writeString(out, auditEvent.eventDesc());
+      writeString(out, auditEvent.eventData());
+      writeString(out, auditEvent.createdAt() == null ? null : auditEvent.createdAt().toString());
+      writeLong(out, auditEvent.createdBy());
+      writeString(out, auditEvent.ipAddress());
+      writeString(out, auditEvent.userAgent());
+      writeString(out, auditEvent.requestId());
+      out.writeLong(auditEvent.queuedAtMillis());
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static AuditEvent decode(final byte[] payload, final Position position) {
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+      final byte formatVersion = in.readByte();
+      if (formatVersion < 1 || formatVersion > FORMAT_VERSION) {
+        throw new IOException("Unknown Audit Spool Format: " + formatVersion);
+      }
+      final TypeEnums.ComponentName componentName =
+          TypeEnums.ComponentName.valueOf(readString(in));
+      final Long entityId = readLong(in);
+      final String eventType = readString(in);
+      final String eventDesc = readString(in);
+      final String eventData = readString(in);
+      final String createdAt = readString(in);
+      final Long createdBy = readLong(in);
+      final String ipAddress = readString(in);
+      final String userAgent = readString(in);
+      final String requestId = formatVersion > 1 ? readString(in) : null;
+      return new AuditEvent(
+          componentName,
+          entityId,
+          eventType,
+          eventDesc,
+          eventData,
+          createdAt == null ? null : LocalDateTime.parse(createdAt),
+          createdBy,
+          ipAddress,
+          userAgent,
+          requestId,
+          in.readLong());
+    } catch (IOException | RuntimeException ex) {
+      log.error("Audit Spool Record Unreadable: Position=[{}]", position, ex);
+      return null;
+    }
+  }
+
+  private static void writeString(final DataOutputStream out, final String value)
+      throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(final DataInputStream in) throws IOException {
+    final int length = in.readInt();
+    return length < 0 ? null : new String(in.readNBytes(length), StandardCharsets.UTF_8);
+  }
+
+  private static void writeLong(final DataOutputStream out, final Long value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeLong(value);
+    }
+  }
+
+  private static Long readLong(final DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readLong() : null;
+  }
+
+  private static final class Segment {
+    private final long id;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private int writeOffset;
+
+    private Segment(final long id, final FileChannel channel, final MappedByteBuffer buffer) {
+      this.id = id;
+      this.channel = channel;
+      this.buffer = buffer;
+    }
+  }
+}
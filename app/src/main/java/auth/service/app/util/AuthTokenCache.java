@@ -0,0 +1,165 @@
+package auth.service.app.util;
+
+import auth.service.app.exception.TokenInvalidException;
+import auth.service.app.model.token.VerifiedAuthToken;
+import auth.service.app.service.PermissionCatalogService;
+import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class AuthTokenCache {
+
+  private final Map<String, VerifiedAuthToken> verifiedAuthTokens = new ConcurrentHashMap<>();
+  private final PermissionCatalogService permissionCatalogService;
+  private final int maxSize;
+  private final Clock clock;
+  private final Counter hitCounter;
+  private final Counter missCounter;
+  private final Counter evictionCounter;
+
+  @Autowired
+  public AuthTokenCache(
+      final MeterRegistry meterRegistry, final PermissionCatalogService permissionCatalogService) {
+    this(
+        meterRegistry,
+        permissionCatalogService,
+        ConstantUtils.AUTH_TOKEN_CACHE_MAX_SIZE,
+        Clock.systemUTC());
+  }
+
+  public AuthTokenCache(
+      final MeterRegistry meterRegistry,
+      final PermissionCatalogService permissionCatalogService,
+      final int maxSize,
+      final Clock clock) {
+    this.permissionCatalogService = permissionCatalogService;
+    this.maxSize = maxSize;
+    this.clock = clock;
+    this.hitCounter = cacheCounter(meterRegistry, "hit");
+    this.missCounter = cacheCounter(meterRegistry, "miss");
+    this.evictionCounter = cacheCounter(meterRegistry, "eviction");
+    Gauge.builder("authsvc.token.cache.size", verifiedAuthTokens, Map::size)
+        .register(meterRegistry);
+  }
+
+  public VerifiedAuthToken getVerifiedAuthToken(final String token) {
+    final String tokenDigest = digest(token);
+    final VerifiedAuthToken cachedAuthToken = verifiedAuthTokens.get(tokenDigest);
+
+    if (cachedAuthToken != null) {
+      if (cachedAuthToken.expiresAtMillis() > clock.millis()) {
+        hitCounter.increment();
+        return cachedAuthToken;
+      }
+      if (verifiedAuthTokens.remove(tokenDigest, cachedAuthToken)) {
+        evictionCounter.increment();
+      }
+    }
+
+    missCounter.increment();
+    // throws for expired or invalid tokens, so only verified tokens are cached
+    final VerifiedAuthToken verifiedAuthToken =
+        expandPermissions(JwtUtils.verifyAuthCredentials(token));
+
+    if (verifiedAuthTokens.size() >= maxSize) {
+      evict();
+    }
+    verifiedAuthTokens.put(tokenDigest, verifiedAuthToken);
+    return verifiedAuthToken;
+  }
+
+  public long getHitCount() {
+    return (long) hitCounter.count();
+  }
+
+  public long getMissCount() {
+    return (long) missCounter.count();
+  }
+
+  public long getEvictionCount() {
+    return (long) evictionCounter.count();
+  }
+
+  public int size() {
+    return verifiedAuthTokens.size();
+  }
+
+  public void clear() {
+    verifiedAuthTokens.clear();
+  }
+
+  // compact tokens carry permission bits, cache them with permission names restored
+  private VerifiedAuthToken expandPermissions(final VerifiedAuthToken verifiedAuthToken) {
+    if (!verifiedAuthToken.isCompact() || verifiedAuthToken.authToken() == null) {
+      return verifiedAuthToken;
+    }
+
+    final AuthToken authToken =
+        permissionCatalogService.expandAuthToken(
+            verifiedAuthToken.authToken(),
+            verifiedAuthToken.permissionCatalogVersion(),
+            verifiedAuthToken.permissionBits());
+    if (authToken == null) {
+      throw new TokenInvalidException("Outdated Auth Credentials");
+    }
+
+    return new VerifiedAuthToken(
+        verifiedAuthToken.email(),
+        authToken,
+        verifiedAuthToken.expiresAtMillis(),
+        verifiedAuthToken.permissionCatalogVersion(),
+        verifiedAuthToken.permissionBits());
+  }
+
+  private void evict() {
+    final long nowMillis = clock.millis();
+    verifiedAuthTokens
+        .entrySet()
+        .removeIf(
+            entry -> {
+              final boolean isExpired = entry.getValue().expiresAtMillis() <= nowMillis;
+              if (isExpired) {
+                evictionCounter.increment();
+              }
+              return isExpired;
+            });
+
+    // still full of live tokens, drop arbitrary entries down to 90% so eviction is not per put
+    final int targetSize = maxSize - Math.max(1, maxSize / 10);
+    final Iterator<String> iterator = verifiedAuthTokens.keySet().iterator();
+    while (verifiedAuthTokens.size() > targetSize && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+      evictionCounter.increment();
+    }
+    log.debug("Evicted Auth Token Cache: Size=[{}]", verifiedAuthTokens.size());
+  }
+
+  private static Counter cacheCounter(final MeterRegistry meterRegistry, final String result) {
+    return Counter.builder("authsvc.token.cache").tag("result", result).register(meterRegistry);
+  }
+
+  private static String digest(final String token) {
+    try {
+      final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+      final byte[] digest = messageDigest.digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 Not Available", ex);
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package auth.service.app.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// set membership with no false negatives and about falsePositiveRate false positives at the
+// expected size, values can be added concurrently but never removed
+public class BloomFilter {
+
+  private final AtomicLongArray bits;
+  private final int bitSize;
+  private final int hashCount;
+
+  public BloomFilter(final int expectedSize, final double falsePositiveRate) {
+    final int size = Math.max(1, expectedSize);
+    final long optimalBits =
+        (long) Math.ceil(-size * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    this.bitSize = (int) Math.min(Integer.MAX_VALUE - 63L, Math.max(64L, optimalBits));
+    this.hashCount = Math.max(1, (int) Math.round((double) bitSize / size * Math.log(2)));
+    this.bits = new AtomicLongArray((bitSize + 63) >>> 6);
+  }
+
+  public void add(final String value) {
+    final long hash = hash(value);
+    final int hash1 = (int) hash;
+    final int hash2 = (int) (hash >>> 32);
+    for (int i = 0; i < hashCount; i++) {
+      final int index = Math.floorMod(hash1 + i * hash2, bitSize);
+      final long mask = 1L << index;
+      bits.getAndUpdate(index >>> 6, word -> word | mask);
+    }
+  }
+
+  public boolean mightContain(final String value) {
+    final long hash = hash(value);
+    final int hash1 = (int) hash;
+    final int hash2 = (int) (hash >>> 32);
+    for (int i = 0; i < hashCount; i++) {
+      final int index = Math.floorMod(hash1 + i * hash2, bitSize);
+      if ((bits.get(index >>> 6) & (1L << index)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public int getBitSize() {
+    return bitSize;
+  }
+
+  // 64 bit fnv-1a over the chars, then the murmur3 finalizer to spread it over both halves
+  private static long hash(final String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
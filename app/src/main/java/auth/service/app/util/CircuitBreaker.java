@@ -0,0 +1,149 @@
+package auth.service.app.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.extern.slf4j.Slf4j;
+
+// guards the calls to a remote service, every call runs with a timeout on its own virtual thread
+// closed until failureThreshold calls in a row fail or time out, then open: calls are rejected
+// without running for openMillis. after that it is half open, one call runs and closes it again
+// if it succeeds or opens it again if it does not
+@Slf4j
+public class CircuitBreaker {
+
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final String name;
+  private final int failureThreshold;
+  private final long timeoutMillis;
+  private final long openMillis;
+  private final Clock clock;
+  private final ExecutorService callExecutor;
+  private final Counter successCounter;
+  private final Counter failureCounter;
+  private final Counter timeoutCounter;
+  private final Counter rejectedCounter;
+  private State state = State.CLOSED;
+  private int failures;
+  private long openedAtMillis;
+
+  public CircuitBreaker(
+      final String name,
+      final int failureThreshold,
+      final long timeoutMillis,
+      final long openMillis,
+      final MeterRegistry meterRegistry) {
+    this(name, failureThreshold, timeoutMillis, openMillis, meterRegistry, Clock.systemUTC());
+  }
+
+  public CircuitBreaker(
+      final String name,
+      final int failureThreshold,
+      final long timeoutMillis,
+      final long openMillis,
+      final MeterRegistry meterRegistry,
+      final Clock clock) {
+    this.name = name;
+    this.failureThreshold = failureThreshold;
+    this.timeoutMillis = timeoutMillis;
+    this.openMillis = openMillis;
+    this.clock = clock;
+    this.callExecutor =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-call-", 0).factory());
+
+    this.successCounter = callCounter(meterRegistry, "success");
+    this.failureCounter = callCounter(meterRegistry, "failure");
+    this.timeoutCounter = callCounter(meterRegistry, "timeout");
+    this.rejectedCounter = callCounter(meterRegistry, "rejected");
+    Gauge.builder("authsvc.circuit.breaker.state", this, breaker -> breaker.getState().ordinal())
+        .tag("name", name)
+        .register(meterRegistry);
+  }
+
+  // empty when the call is rejected, fails or times out, the caller falls back
+  public <T> Optional<T> call(final Callable<T> callable) {
+    if (!tryAcquire()) {
+      rejectedCounter.increment();
+      return Optional.empty();
+    }
+
+    final Future<T> future = callExecutor.submit(callable);
+    try {
+      final T value = future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+      successCounter.increment();
+      onSuccess();
+      return Optional.ofNullable(value);
+    } catch (TimeoutException ex) {
+      future.cancel(true);
+      timeoutCounter.increment();
+      log.warn("Circuit Breaker Call Timeout: Name=[{}], Timeout=[{}ms]", name, timeoutMillis);
+    } catch (ExecutionException ex) {
+      failureCounter.increment();
+      log.warn("Circuit Breaker Call Failure: Name=[{}]", name, ex.getCause());
+    } catch (InterruptedException ex) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+    }
+    onFailure();
+    return Optional.empty();
+  }
+
+  public synchronized State getState() {
+    return state;
+  }
+
+  // when open past openMillis, the call acquiring it is the one half open call
+  private synchronized boolean tryAcquire() {
+    return switch (state) {
+      case CLOSED -> true;
+      case HALF_OPEN -> false;
+      case OPEN -> {
+        if (clock.millis() - openedAtMillis < openMillis) {
+          yield false;
+        }
+        state = State.HALF_OPEN;
+        yield true;
+      }
+    };
+  }
+
+  private synchronized void onSuccess() {
+    if (state != State.CLOSED) {
+      log.info("Circuit Breaker Closed: Name=[{}]", name);
+    }
+    state = State.CLOSED;
+    failures = 0;
+  }
+
+  private synchronized void onFailure() {
+    failures++;
+    if (state == State.HALF_OPEN || failures >= failureThreshold) {
+      if (state != State.OPEN) {
+        log.warn("Circuit Breaker Opened: Name=[{}], Failures=[{}]", name, failures);
+      }
+      state = State.OPEN;
+      openedAtMillis = clock.millis();
+    }
+  }
+
+  private Counter callCounter(final MeterRegistry meterRegistry, final String result) {
+    return Counter.builder("authsvc.circuit.breaker.calls")
+        .tag("name", name)
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
@@ -1,11 +1,13 @@
 package auth.service.app.util;
 
+import auth.service.app.model.events.AuditContext;
 import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
 import io.github.bibekaryal86.shdsvc.dtos.ResponseMetadata;
 import io.github.bibekaryal86.shdsvc.exception.CheckPermissionException;
 import io.github.bibekaryal86.shdsvc.helpers.CommonUtilities;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.Objects;
+import java.util.UUID;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.springframework.security.core.Authentication;
@@ -45,10 +47,58 @@ public class CommonUtils {
     return ipAddress;
   }
 
+  // the address to limit requests by. each of the TRUSTED_PROXY_HOPS proxies in front appends the
+  // address it received the request from to x-forwarded-for, so the client address is that many
+  // hops from the right, hops left of it are sent by the client and can be anything. without
+  // trusted proxies (default) or with fewer hops than that, the header is not trusted at all
+  public static String getClientIpAddress(final HttpServletRequest request) {
+    final int trustedProxyHops =
+        Integer.parseInt(
+            CommonUtilities.getSystemEnvProperty(
+                ConstantUtils.ENV_TRUSTED_PROXY_HOPS,
+                String.valueOf(ConstantUtils.TRUSTED_PROXY_HOPS)));
+    final String forwardedFor = request.getHeader("X-Forwarded-For");
+    if (trustedProxyHops > 0 && forwardedFor != null) {
+      final String[] hops = forwardedFor.split(",");
+      if (hops.length >= trustedProxyHops) {
+        final String hop = hops[hops.length - trustedProxyHops].trim();
+        if (!hop.isEmpty() && !"unknown".equalsIgnoreCase(hop)) {
+          return hop;
+        }
+      }
+    }
+    return request.getRemoteAddr();
+  }
+
   public static String getUserAgent(final HttpServletRequest request) {
     return request.getHeader("User-Agent");
   }
 
+  // request id from the caller if sent, else one per request so its audits can be matched
+  public static String getRequestId(final HttpServletRequest request) {
+    String requestId = (String) request.getAttribute(ConstantUtils.HEADER_REQUEST_ID);
+    if (requestId == null) {
+      requestId = request.getHeader(ConstantUtils.HEADER_REQUEST_ID);
+      if (requestId == null || requestId.isEmpty()) {
+        requestId = UUID.randomUUID().toString();
+      }
+      request.setAttribute(ConstantUtils.HEADER_REQUEST_ID, requestId);
+    }
+    return requestId;
+  }
+
+  public static AuditContext getAuditContext(final HttpServletRequest request) {
+    Long actorProfileId = null;
+    final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null
+        && authentication.getCredentials() != null
+        && authentication.getCredentials() instanceof AuthToken authToken) {
+      actorProfileId = authToken.getProfile().getId();
+    }
+    return new AuditContext(
+        getIpAddress(request), getUserAgent(request), actorProfileId, getRequestId(request));
+  }
+
   public static ResponseMetadata.ResponseCrudInfo defaultResponseCrudInfo(
       final int inserted, final int updated, final int deleted, final int restored) {
     return new ResponseMetadata.ResponseCrudInfo(inserted, updated, deleted, restored);
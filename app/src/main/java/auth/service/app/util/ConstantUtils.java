@@ -48,6 +48,24 @@ public class ConstantUtils {
   public static final String ENV_EMAIL_API_USERNAME = "EMAIL_API_USR";
   public static final String ENV_EMAIL_API_PASSWORD = "EMAIL_API_PWD";
   public static final String ENV_ALLOWED_ORIGINS = "ALLOWED_ORIGINS";
+  // optional, base64 DER (PKCS#8 private, X.509 public) EC P-256 or Ed25519 keys
+  public static final String ENV_TOKEN_SIGNING_PRIVATE_KEY = "TOKEN_SIGNING_PRIVATE_KEY";
+  public static final String ENV_TOKEN_SIGNING_PUBLIC_KEY = "TOKEN_SIGNING_PUBLIC_KEY";
+  // optional, true (default) or false, accept HS256 auth tokens issued before the keys were set
+  public static final String ENV_TOKEN_ACCEPT_HMAC = "TOKEN_ACCEPT_HMAC";
+  // optional, legacy (default, permission names in token) or compact (permission catalog bits)
+  public static final String ENV_TOKEN_CLAIM_FORMAT = "TOKEN_CLAIM_FORMAT";
+  // optional, bcrypt (default) or argon2id, cost is calibrated to target millis (default 250)
+  public static final String ENV_PASSWORD_ENCODER = "PASSWORD_ENCODER";
+  public static final String ENV_PASSWORD_ENCODER_TARGET_MILLIS = "PASSWORD_ENCODER_TARGET_MILLIS";
+  // optional, local directory for the audit spool (default: <java.io.tmpdir>/authsvc-audit-spool)
+  public static final String ENV_AUDIT_SPOOL_DIR = "AUDIT_SPOOL_DIR";
+  // optional, local directory for archived audits (default: <java.io.tmpdir>/authsvc-audit-archive)
+  public static final String ENV_AUDIT_ARCHIVE_DIR = "AUDIT_ARCHIVE_DIR";
+  // optional, max seconds a cached platform, role or permission is served (default: 300)
+  public static final String ENV_ENTITY_CACHE_MAX_STALE_SECONDS = "ENTITY_CACHE_MAX_STALE_SECONDS";
+  // optional, proxies in front that append to x-forwarded-for (default: 0, remote address only)
+  public static final String ENV_TRUSTED_PROXY_HOPS = "TRUSTED_PROXY_HOPS";
   public static final List<String> ENV_KEY_NAMES =
       List.of(
           ENV_SERVER_PORT,
@@ -87,12 +105,77 @@ public class ConstantUtils {
   public static final String TOKEN_CLAIM_EMAIL = "emailToken";
   public static final String TOKEN_CLAIM_ISSUER = "authsvc";
   public static final String TOKEN_CLAIM_AUTH = "authToken";
+  public static final String TOKEN_CLAIM_PERMISSION_CATALOG = "pcv";
+  public static final String TOKEN_CLAIM_PERMISSION_BITS = "pbs";
+  public static final String TOKEN_CLAIM_FORMAT_LEGACY = "legacy";
+  public static final String TOKEN_CLAIM_FORMAT_COMPACT = "compact";
   public static final String COOKIE_REFRESH_TOKEN = "refresh_token";
   public static final String COOKIE_CSRF_TOKEN = "csrf_token";
   public static final String HEADER_CSRF_TOKEN = "x-auth-csrf";
+  public static final String HEADER_REQUEST_ID = "X-Request-Id";
   public static final long ACCESS_TOKEN_VALIDITY_MILLISECONDS = 15 * 60 * 1000;
   public static final long REFRESH_TOKEN_VALIDITY_SECONDS = 24 * 60 * 60;
   public static final int TOKEN_LENGTH = 32;
+  public static final int AUTH_TOKEN_CACHE_MAX_SIZE = 10_000;
+  public static final int TRUSTED_PROXY_HOPS = 0;
+  public static final int ROLE_PERMISSION_CACHE_MAX_SIZE = 10_000;
+  public static final long ROLE_PERMISSION_CACHE_TTL_SECONDS = 60 * 60;
+  public static final long PERMISSION_CATALOG_MAX_AGE_SECONDS = 60;
+  // well past the access token validity, saved catalogs decode only access tokens
+  public static final long PERMISSION_CATALOG_RETENTION_SECONDS = 24 * 60 * 60;
+  public static final int PASSWORD_ENCODER_QUEUE_SIZE_PER_THREAD = 8;
+  public static final long PASSWORD_ENCODER_RETRY_AFTER_SECONDS = 2;
+  public static final long PASSWORD_ENCODER_TARGET_MILLIS = 250;
+
+  // APP CACHES (env service values)
+  public static final long APP_CACHE_TTL_SECONDS = 60 * 60;
+  public static final long APP_CACHE_REFRESH_AHEAD_SECONDS = 10 * 60;
+  public static final long APP_CACHE_MAX_STALE_SECONDS = 24 * 60 * 60;
+  public static final int APP_CACHE_MAX_SIZE = 100;
+
+  // ENV SERVICE
+  public static final long ENV_SERVICE_TIMEOUT_SECONDS = 5;
+  public static final int ENV_SERVICE_FAILURE_THRESHOLD = 3;
+  public static final long ENV_SERVICE_OPEN_SECONDS = 2 * 60;
+
+  // ENTITY CACHES (platform, role, permission)
+  public static final long ENTITY_CACHE_MAX_STALE_SECONDS = 5 * 60;
+  public static final int ENTITY_CACHE_MAX_SIZE = 1000;
+
+  // LOGIN
+  public static final int LOGIN_LIMIT_IP_ATTEMPTS = 30;
+  public static final long LOGIN_LIMIT_IP_WINDOW_SECONDS = 60;
+  public static final int LOGIN_LIMIT_EMAIL_FAILURES = 5;
+  public static final long LOGIN_LIMIT_EMAIL_WINDOW_SECONDS = 15 * 60;
+  public static final int LOGIN_LIMIT_MAX_KEYS = 100_000;
+  public static final int PROFILE_LOCK_LOGIN_ATTEMPTS = 5;
+  public static final long PROFILE_LOCK_MINUTES = 15;
+  public static final long PROFILE_EMAIL_ABSENT_TTL_SECONDS = 60;
+  public static final int PROFILE_EMAIL_ABSENT_MAX_SIZE = 100_000;
+  public static final int PROFILE_EMAIL_FILTER_MIN_SIZE = 10_000;
+  public static final double PROFILE_EMAIL_FILTER_FALSE_POSITIVE_RATE = 0.01;
+  // rebuilt every 5 minutes (see ScheduleConfig), a filter older than this is not used
+  public static final long PROFILE_EMAIL_FILTER_MAX_AGE_SECONDS = 15 * 60;
+
+  // AUDIT
+  public static final int AUDIT_BATCH_MAX_SIZE = 500;
+  public static final long AUDIT_SHUTDOWN_TIMEOUT_SECONDS = 10;
+  public static final long AUDIT_RETRY_MILLIS = 1000;
+  public static final int AUDIT_SPOOL_SEGMENT_SIZE = 4 * 1024 * 1024;
+  public static final int AUDIT_SPOOL_MAX_SEGMENTS = 32;
+  // tmp is memory backed on app engine standard, the spool there takes less and is not durable
+  public static final int AUDIT_SPOOL_TMP_MAX_SEGMENTS = 4;
+  public static final int AUDIT_SPOOL_SLOTS = 8;
+  public static final int AUDIT_PARTITION_MONTHS_AHEAD = 3;
+  public static final int AUDIT_RETENTION_MONTHS = 12;
+  public static final int AUDIT_HISTORY_PER_PAGE = 25;
+  public static final int AUDIT_HISTORY_MAX_PER_PAGE = 100;
+  public static final int AUDIT_EXPORT_FETCH_SIZE = 1000;
+  // each export holds a db connection while it streams, keep most of the pool for other requests
+  public static final int AUDIT_EXPORT_MAX_CONCURRENT = 2;
+  public static final long AUDIT_EXPORT_RETRY_AFTER_SECONDS = 60;
+  public static final int AUDIT_ARCHIVE_BLOCK_SIZE = 1000;
+  public static final int AUDIT_ARCHIVE_DELETE_CHUNK_SIZE = 5000;
 
   // ID for elements not found
   public static final Long ELEMENT_ID_NOT_FOUND = -1L;
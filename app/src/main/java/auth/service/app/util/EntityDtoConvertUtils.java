@@ -3,12 +3,15 @@ package auth.service.app.util;
 import auth.service.app.exception.ElementMissingException;
 import auth.service.app.exception.ElementNotActiveException;
 import auth.service.app.exception.ElementNotFoundException;
+import auth.service.app.exception.LoginThrottledException;
+import auth.service.app.exception.PasswordEncoderBusyException;
 import auth.service.app.exception.ProfileForbiddenException;
 import auth.service.app.exception.ProfileLockedException;
 import auth.service.app.exception.ProfileNotActiveException;
 import auth.service.app.exception.ProfileNotAuthorizedException;
 import auth.service.app.exception.ProfileNotValidatedException;
 import auth.service.app.exception.TokenInvalidException;
+import auth.service.app.model.dto.AuditHistoryResponse;
 import auth.service.app.model.dto.AuditPermissionDto;
 import auth.service.app.model.dto.AuditPlatformDto;
 import auth.service.app.model.dto.AuditProfileDto;
@@ -36,7 +39,8 @@ import auth.service.app.model.entity.PlatformRolePermissionEntity;
 import auth.service.app.model.entity.ProfileEntity;
 import auth.service.app.model.entity.RoleEntity;
 import auth.service.app.model.token.AuthTokenRolePermissionLookup;
-import auth.service.app.repository.RawSqlRepository;
+import auth.service.app.model.token.ProfileLoginLookup;
+import auth.service.app.service.AuthTokenRolePermissionService;
 import auth.service.app.service.PlatformProfileRoleService;
 import auth.service.app.service.PlatformRolePermissionService;
 import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
@@ -45,9 +49,12 @@ import io.github.bibekaryal86.shdsvc.dtos.ResponseWithMetadata;
 import io.github.bibekaryal86.shdsvc.exception.CheckPermissionException;
 import io.github.bibekaryal86.shdsvc.helpers.CommonUtilities;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
@@ -67,7 +74,7 @@ public class EntityDtoConvertUtils {
   private final PlatformProfileRoleService pprService;
   private final PlatformRolePermissionService prpService;
   private final CookieService cookieService;
-  private final RawSqlRepository rawSqlRepository;
+  private final AuthTokenRolePermissionService authTokenRolePermissionService;
 
   // HELPERS
 
@@ -88,11 +95,28 @@ public class EntityDtoConvertUtils {
       return HttpStatus.UNAUTHORIZED;
     } else if (exception instanceof DataIntegrityViolationException) {
       return HttpStatus.BAD_REQUEST;
+    } else if (exception instanceof PasswordEncoderBusyException) {
+      return HttpStatus.SERVICE_UNAVAILABLE;
+    } else if (exception instanceof LoginThrottledException) {
+      return HttpStatus.TOO_MANY_REQUESTS;
     } else {
       return HttpStatus.INTERNAL_SERVER_ERROR;
     }
   }
 
+  public HttpHeaders getHttpHeadersForErrorResponse(final Exception exception) {
+    final HttpHeaders headers = new HttpHeaders();
+    if (exception instanceof PasswordEncoderBusyException) {
+      headers.set(
+          HttpHeaders.RETRY_AFTER,
+          String.valueOf(ConstantUtils.PASSWORD_ENCODER_RETRY_AFTER_SECONDS));
+    } else if (exception instanceof LoginThrottledException loginThrottledException) {
+      headers.set(
+          HttpHeaders.RETRY_AFTER, String.valueOf(loginThrottledException.getRetryAfterSeconds()));
+    }
+    return headers;
+  }
+
   public <T> HttpStatus getHttpStatusForSingleResponse(final T object) {
     return ObjectUtils.isEmpty(object) ? HttpStatus.INTERNAL_SERVER_ERROR : HttpStatus.OK;
   }
@@ -125,6 +149,7 @@ public class EntityDtoConvertUtils {
                 new ResponseMetadata.ResponseStatusInfo(exception.getMessage()),
                 ResponseMetadata.emptyResponseCrudInfo(),
                 ResponseMetadata.emptyResponsePageInfo())),
+        getHttpHeadersForErrorResponse(exception),
         httpStatus);
   }
 
@@ -209,6 +234,21 @@ public class EntityDtoConvertUtils {
         eventData);
   }
 
+  public ResponseEntity<AuditHistoryResponse> getResponseErrorAuditHistory(
+      final Exception exception) {
+    return new ResponseEntity<>(
+        AuditHistoryResponse.builder()
+            .history(Collections.emptyList())
+            .responseMetadata(
+                new ResponseMetadata(
+                    new ResponseMetadata.ResponseStatusInfo(exception.getMessage()),
+                    ResponseMetadata.emptyResponseCrudInfo(),
+                    ResponseMetadata.emptyResponsePageInfo()))
+            .build(),
+        getHttpHeadersForErrorResponse(exception),
+        getHttpStatusForErrorResponse(exception));
+  }
+
   // PERMISSIONS
 
   private PermissionDto convertEntityToDtoPermission(
@@ -742,6 +782,7 @@ public class EntityDtoConvertUtils {
                     ResponseMetadata.emptyResponseCrudInfo(),
                     ResponseMetadata.emptyResponsePageInfo()))
             .build(),
+        getHttpHeadersForErrorResponse(exception),
         getHttpStatusForErrorResponse(exception));
   }
 
@@ -786,6 +827,7 @@ public class EntityDtoConvertUtils {
             .build();
     final HttpStatus httpStatus = getHttpStatusForErrorResponse(exception);
     return ResponseEntity.status(httpStatus)
+        .headers(getHttpHeadersForErrorResponse(exception))
         .header(HttpHeaders.SET_COOKIE, refreshTokenCookieResponse.toString())
         .header(HttpHeaders.SET_COOKIE, csrfTokenCookieResponse.toString())
         .body(profilePasswordTokenResponse);
@@ -794,30 +836,48 @@ public class EntityDtoConvertUtils {
   public AuthToken getAuthTokenFromProfile(
       final PlatformEntity platformEntity, final ProfileEntity profileEntity) {
     final List<AuthTokenRolePermissionLookup> rolesPermissions =
-        rawSqlRepository.findRolePermissionsForAuthToken(
+        authTokenRolePermissionService.readAuthTokenRolePermissions(
             platformEntity.getId(), profileEntity.getId());
+    return getAuthToken(
+        new AuthToken.AuthTokenPlatform(platformEntity.getId(), platformEntity.getPlatformName()),
+        new AuthToken.AuthTokenProfile(profileEntity.getId(), profileEntity.getEmail()),
+        rolesPermissions);
+  }
+
+  public AuthToken getAuthTokenFromProfileLoginLookup(
+      final ProfileLoginLookup profileLoginLookup) {
+    return getAuthToken(
+        new AuthToken.AuthTokenPlatform(
+            profileLoginLookup.platformId(), profileLoginLookup.platformName()),
+        new AuthToken.AuthTokenProfile(profileLoginLookup.profileId(), profileLoginLookup.email()),
+        profileLoginLookup.rolesPermissions());
+  }
 
-    final AuthToken.AuthTokenPlatform platform =
-        new AuthToken.AuthTokenPlatform(platformEntity.getId(), platformEntity.getPlatformName());
-    final AuthToken.AuthTokenProfile profile =
-        new AuthToken.AuthTokenProfile(profileEntity.getId(), profileEntity.getEmail());
-    final List<AuthToken.AuthTokenRole> roles =
-        rolesPermissions.stream()
-            .map(
-                rolePermission ->
-                    new AuthToken.AuthTokenRole(rolePermission.roleId(), rolePermission.roleName()))
-            .toList();
-    final List<AuthToken.AuthTokenPermission> permissions =
-        rolesPermissions.stream()
-            .map(
-                rolePermission ->
-                    new AuthToken.AuthTokenPermission(
-                        rolePermission.permissionId(), rolePermission.permissionName()))
-            .toList();
+  private AuthToken getAuthToken(
+      final AuthToken.AuthTokenPlatform platform,
+      final AuthToken.AuthTokenProfile profile,
+      final List<AuthTokenRolePermissionLookup> rolesPermissions) {
+    // one row per role-permission pair, so roles and permissions repeat across rows
+    final Map<Long, AuthToken.AuthTokenRole> roles = new LinkedHashMap<>();
+    final Map<Long, AuthToken.AuthTokenPermission> permissions = new LinkedHashMap<>();
+    for (final AuthTokenRolePermissionLookup rolePermission : rolesPermissions) {
+      roles.computeIfAbsent(
+          rolePermission.roleId(),
+          roleId -> new AuthToken.AuthTokenRole(roleId, rolePermission.roleName()));
+      permissions.computeIfAbsent(
+          rolePermission.permissionId(),
+          permissionId ->
+              new AuthToken.AuthTokenPermission(permissionId, rolePermission.permissionName()));
+    }
     final boolean isSuperUser =
-        roles.stream()
+        roles.values().stream()
             .anyMatch(role -> role.getRoleName().equals(ConstantUtils.ROLE_NAME_SUPERUSER));
 
-    return new AuthToken(platform, profile, roles, permissions, isSuperUser);
+    return new AuthToken(
+        platform,
+        profile,
+        new ArrayList<>(roles.values()),
+        new ArrayList<>(permissions.values()),
+        isSuperUser);
   }
 }
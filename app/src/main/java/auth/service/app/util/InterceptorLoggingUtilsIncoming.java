@@ -24,10 +24,11 @@ public class InterceptorLoggingUtilsIncoming implements HandlerInterceptor {
       final Exception ex) {
     final long duration = System.currentTimeMillis() - (Long) request.getAttribute("startTime");
     log.info(
-        "Returning [{}] Status Code [{}] URL [{}] AFTER [{}ms]",
+        "Returning [{}] Status Code [{}] URL [{}] AFTER [{}ms] READS AVOIDED [{}]",
         request.getMethod(),
         response.getStatus(),
         request.getRequestURI(),
-        duration);
+        duration,
+        RequestIdentityMap.getReadsAvoided(request));
   }
 }
@@ -0,0 +1,219 @@
+package auth.service.app.util;
+
+import auth.service.app.exception.TokenInvalidException;
+import auth.service.app.model.token.VerifiedAuthToken;
+import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.jackson.io.JacksonDeserializer;
+import io.jsonwebtoken.jackson.io.JacksonSerializer;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PublicJwk;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.crypto.SecretKey;
+
+// key, parsers and json mappers are immutable and thread-safe, so built once and shared
+public final class JwtCodec {
+
+  private static final List<String> ASYMMETRIC_KEY_ALGORITHMS = List.of("EC", "Ed25519");
+
+  private final SecretKey signingKey;
+  private final KeyPair authSigningKeyPair;
+  private final boolean isAcceptHmacAuthTokens;
+  private final PublicJwk<?> authPublicJwk;
+  private final JacksonSerializer<Map<String, ?>> serializer;
+  private final JwtParser emailParser;
+  private final JwtParser authParser;
+
+  public JwtCodec(final String secretKey) {
+    this(secretKey, null, true);
+  }
+
+  public JwtCodec(final String secretKey, final KeyPair authSigningKeyPair) {
+    this(secretKey, authSigningKeyPair, true);
+  }
+
+  // when a key pair is given auth tokens are signed with it (ES256 or EdDSA) and carry its key id,
+  // HS256 auth tokens (no key id) issued before the switch are accepted only while the flag is on,
+  // it is turned off once they have expired. a key id other than the key pair's is never accepted
+  public JwtCodec(
+      final String secretKey,
+      final KeyPair authSigningKeyPair,
+      final boolean isAcceptHmacAuthTokens) {
+    this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+    this.authSigningKeyPair = authSigningKeyPair;
+    this.isAcceptHmacAuthTokens = authSigningKeyPair == null || isAcceptHmacAuthTokens;
+    this.authPublicJwk =
+        authSigningKeyPair == null
+            ? null
+            : Jwks.builder()
+                .key(authSigningKeyPair.getPublic())
+                .idFromThumbprint()
+                .algorithm(getAuthSigningAlgorithm(authSigningKeyPair.getPublic()))
+                .publicKeyUse("sig")
+                .build();
+    this.serializer = new JacksonSerializer<>();
+    this.emailParser = Jwts.parser().verifyWith(signingKey).build();
+    // authToken claim is deserialized directly into AuthToken while the payload is parsed
+    this.authParser =
+        Jwts.parser()
+            .keyLocator(new AuthKeyLocator())
+            .json(
+                new JacksonDeserializer<>(Map.of(ConstantUtils.TOKEN_CLAIM_AUTH, AuthToken.class)))
+            .build();
+  }
+
+  public static KeyPair readKeyPair(final String privateKeyBase64, final String publicKeyBase64) {
+    final PKCS8EncodedKeySpec privateKeySpec =
+        new PKCS8EncodedKeySpec(Base64.getDecoder().decode(privateKeyBase64));
+    final X509EncodedKeySpec publicKeySpec =
+        new X509EncodedKeySpec(Base64.getDecoder().decode(publicKeyBase64));
+
+    for (final String algorithm : ASYMMETRIC_KEY_ALGORITHMS) {
+      try {
+        final KeyFactory keyFactory = KeyFactory.getInstance(algorithm);
+        final PrivateKey privateKey = keyFactory.generatePrivate(privateKeySpec);
+        final PublicKey publicKey = keyFactory.generatePublic(publicKeySpec);
+        return new KeyPair(publicKey, privateKey);
+      } catch (GeneralSecurityException ignored) {
+        // try next algorithm
+      }
+    }
+    throw new IllegalArgumentException("Unsupported Token Signing Key, Expected EC or Ed25519");
+  }
+
+  // the alg the jwt builder signs with for the key: ES256/ES384/ES512 by curve size, or EdDSA
+  private static String getAuthSigningAlgorithm(final PublicKey publicKey) {
+    if (publicKey instanceof ECPublicKey ecPublicKey) {
+      final int fieldSize = ecPublicKey.getParams().getCurve().getField().getFieldSize();
+      return fieldSize == 521 ? "ES512" : "ES" + fieldSize;
+    }
+    return "EdDSA";
+  }
+
+  public String getAuthKeyId() {
+    return authPublicJwk == null ? null : authPublicJwk.getId();
+  }
+
+  public Map<String, List<Map<String, ?>>> getJsonWebKeySet() {
+    if (authPublicJwk == null) {
+      return Map.of("keys", Collections.emptyList());
+    }
+    return Map.of("keys", List.of(authPublicJwk));
+  }
+
+  public String encodeEmailAddress(final String email) {
+    return Jwts.builder()
+        .json(serializer)
+        .claim(ConstantUtils.TOKEN_CLAIM_EMAIL, email)
+        .issuer(ConstantUtils.TOKEN_CLAIM_ISSUER)
+        .issuedAt(Date.from(Instant.now()))
+        .expiration(Date.from(Instant.now().plus(15, ChronoUnit.MINUTES)))
+        .signWith(signingKey)
+        .compact();
+  }
+
+  public String decodeEmailAddress(final String encodedEmail) {
+    try {
+      final String emailToken =
+          emailParser
+              .parseSignedClaims(encodedEmail)
+              .getPayload()
+              .get(ConstantUtils.TOKEN_CLAIM_EMAIL, String.class);
+
+      if (emailToken == null) {
+        throw new IllegalArgumentException("Incorrect Email Credentials");
+      }
+
+      return emailToken;
+    } catch (ExpiredJwtException e) {
+      throw new TokenInvalidException("Expired Email Credentials");
+    } catch (JwtException e) {
+      throw new TokenInvalidException("Invalid Email Credentials");
+    }
+  }
+
+  public String encodeAuthCredentials(final AuthToken authToken, final long expirationMillis) {
+    return encodeAuthCredentials(authToken, expirationMillis, Collections.emptyMap());
+  }
+
+  public String encodeAuthCredentials(
+      final AuthToken authToken, final long expirationMillis, final Map<String, ?> extraClaims) {
+    final JwtBuilder jwtBuilder =
+        Jwts.builder()
+            .json(serializer)
+            .claims(extraClaims)
+            .claim(ConstantUtils.TOKEN_CLAIM_AUTH, authToken)
+            .subject(authToken.getProfile().getEmail())
+            .issuer(ConstantUtils.TOKEN_CLAIM_ISSUER)
+            .issuedAt(Date.from(Instant.now()))
+            .expiration(new Date(System.currentTimeMillis() + expirationMillis));
+
+    if (authSigningKeyPair == null) {
+      return jwtBuilder.signWith(signingKey).compact();
+    }
+
+    return jwtBuilder
+        .header()
+        .keyId(authPublicJwk.getId())
+        .and()
+        .signWith(authSigningKeyPair.getPrivate())
+        .compact();
+  }
+
+  public VerifiedAuthToken verifyAuthCredentials(final String token) {
+    try {
+      final Claims claims = authParser.parseSignedClaims(token).getPayload();
+      final AuthToken authToken = claims.get(ConstantUtils.TOKEN_CLAIM_AUTH, AuthToken.class);
+      return new VerifiedAuthToken(
+          claims.getSubject(),
+          authToken,
+          claims.getExpiration().getTime(),
+          claims.get(ConstantUtils.TOKEN_CLAIM_PERMISSION_CATALOG, String.class),
+          claims.get(ConstantUtils.TOKEN_CLAIM_PERMISSION_BITS, String.class));
+    } catch (ExpiredJwtException e) {
+      throw new TokenInvalidException("Expired Auth Credentials");
+    } catch (JwtException e) {
+      throw new TokenInvalidException("Invalid Auth Credentials");
+    }
+  }
+
+  private class AuthKeyLocator extends LocatorAdapter<Key> {
+    @Override
+    protected Key locate(final JwsHeader header) {
+      // algorithm/key type mismatch is rejected by the parser, so a forged alg can't downgrade
+      if (authPublicJwk != null && Objects.equals(authPublicJwk.getId(), header.getKeyId())) {
+        return authSigningKeyPair.getPublic();
+      }
+      if (header.getKeyId() == null && isAcceptHmacAuthTokens) {
+        return signingKey;
+      }
+      throw new UnsupportedJwtException("Auth Key Not Accepted: " + header.getKeyId());
+    }
+  }
+}
@@ -1,67 +1,50 @@
 package auth.service.app.util;
 
-import auth.service.app.exception.TokenInvalidException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import auth.service.app.model.token.VerifiedAuthToken;
 import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
 import io.github.bibekaryal86.shdsvc.helpers.CommonUtilities;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import java.nio.charset.StandardCharsets;
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
-import java.util.Date;
-import java.util.HashMap;
+import java.security.KeyPair;
+import java.util.List;
 import java.util.Map;
-import javax.crypto.SecretKey;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class JwtUtils {
 
-  private static final String SECRET_KEY =
-      CommonUtilities.getSystemEnvProperty(ConstantUtils.ENV_SECRET_KEY);
-  private static final ObjectMapper OBJECT_MAPPER =
-      new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, true);
+  private static final JwtCodec JWT_CODEC =
+      new JwtCodec(
+          CommonUtilities.getSystemEnvProperty(ConstantUtils.ENV_SECRET_KEY),
+          getAuthSigningKeyPair(),
+          isAcceptHmacAuthTokens());
 
-  private static SecretKey getSigningKey() {
-    return Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+  // optional, auth tokens are HS256 signed with SECRET_KEY unless both keys are provided
+  private static KeyPair getAuthSigningKeyPair() {
+    final String privateKey =
+        CommonUtilities.getSystemEnvProperty(ConstantUtils.ENV_TOKEN_SIGNING_PRIVATE_KEY);
+    final String publicKey =
+        CommonUtilities.getSystemEnvProperty(ConstantUtils.ENV_TOKEN_SIGNING_PUBLIC_KEY);
+
+    // plain checks, CommonUtilities is statically mocked in tests while this class initializes
+    if (privateKey == null || privateKey.isBlank() || publicKey == null || publicKey.isBlank()) {
+      return null;
+    }
+    return JwtCodec.readKeyPair(privateKey, publicKey);
+  }
+
+  // optional, HS256 auth tokens stay accepted after switching to the key pair unless set to false
+  private static boolean isAcceptHmacAuthTokens() {
+    final String acceptHmac =
+        CommonUtilities.getSystemEnvProperty(ConstantUtils.ENV_TOKEN_ACCEPT_HMAC);
+    return !"false".equalsIgnoreCase(acceptHmac);
   }
 
   public static String encodeEmailAddress(final String email) {
-    return Jwts.builder()
-        .claim(ConstantUtils.TOKEN_CLAIM_EMAIL, email)
-        .issuer(ConstantUtils.TOKEN_CLAIM_ISSUER)
-        .issuedAt(Date.from(Instant.now()))
-        .expiration(Date.from(Instant.now().plus(15, ChronoUnit.MINUTES)))
-        .signWith(getSigningKey())
-        .compact();
+    return JWT_CODEC.encodeEmailAddress(email);
   }
 
   public static String decodeEmailAddress(final String encodedEmail) {
-    try {
-      final String emailToken =
-          Jwts.parser()
-              .verifyWith(getSigningKey())
-              .build()
-              .parseSignedClaims(encodedEmail)
-              .getPayload()
-              .get(ConstantUtils.TOKEN_CLAIM_EMAIL, String.class);
-
-      if (emailToken == null) {
-        throw new IllegalArgumentException("Incorrect Email Credentials");
-      }
-
-      return emailToken;
-    } catch (ExpiredJwtException e) {
-      throw new TokenInvalidException("Expired Email Credentials");
-    } catch (JwtException e) {
-      throw new TokenInvalidException("Invalid Email Credentials");
-    }
+    return JWT_CODEC.decodeEmailAddress(encodedEmail);
   }
 
   public static String decodeEmailAddressNoException(final String encodedEmail) {
@@ -74,37 +57,24 @@ public class JwtUtils {
 
   public static String encodeAuthCredentials(
       final AuthToken authToken, final long expirationMillis) {
-    Map<String, Object> tokenClaim = new HashMap<>();
-    tokenClaim.put(ConstantUtils.TOKEN_CLAIM_AUTH, authToken);
-    return Jwts.builder()
-        .claims(tokenClaim)
-        .subject(authToken.getProfile().getEmail())
-        .issuer(ConstantUtils.TOKEN_CLAIM_ISSUER)
-        .issuedAt(Date.from(Instant.now()))
-        .expiration(new Date(System.currentTimeMillis() + expirationMillis))
-        .signWith(getSigningKey())
-        .compact();
+    return JWT_CODEC.encodeAuthCredentials(authToken, expirationMillis);
+  }
+
+  public static String encodeAuthCredentials(
+      final AuthToken authToken, final long expirationMillis, final Map<String, ?> extraClaims) {
+    return JWT_CODEC.encodeAuthCredentials(authToken, expirationMillis, extraClaims);
   }
 
   public static Map<String, AuthToken> decodeAuthCredentials(final String token) {
-    try {
-      final String subject =
-          Jwts.parser()
-              .verifyWith(getSigningKey())
-              .build()
-              .parseSignedClaims(token)
-              .getPayload()
-              .getSubject();
-      final Claims claims =
-          Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(token).getPayload();
+    final VerifiedAuthToken verifiedAuthToken = verifyAuthCredentials(token);
+    return Map.of(verifiedAuthToken.email(), verifiedAuthToken.authToken());
+  }
 
-      final AuthToken authToken =
-          OBJECT_MAPPER.convertValue(claims.get(ConstantUtils.TOKEN_CLAIM_AUTH), AuthToken.class);
-      return Map.of(subject, authToken);
-    } catch (ExpiredJwtException e) {
-      throw new TokenInvalidException("Expired Auth Credentials");
-    } catch (JwtException e) {
-      throw new TokenInvalidException("Invalid Auth Credentials");
-    }
+  public static VerifiedAuthToken verifyAuthCredentials(final String token) {
+    return JWT_CODEC.verifyAuthCredentials(token);
+  }
+
+  public static Map<String, List<Map<String, ?>>> getJsonWebKeySet() {
+    return JWT_CODEC.getJsonWebKeySet();
   }
 }
@@ -0,0 +1,257 @@
+package auth.service.app.util;
+
+import auth.service.app.exception.LoginThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// login attempts are limited per ip address, and failed logins per email, before any db or bcrypt
+// each limit approximates a sliding window from the previous and current fixed window counts, so
+// a lockout decays over the window, window state per key is swapped with compare and set
+// keys are spread over striped maps of bounded size, keys with no recent counts are evicted first
+@Component
+public class LoginRateLimiter {
+
+  private static final int STRIPES = 64;
+  private static final Window EMPTY_WINDOW = new Window(Long.MIN_VALUE, 0, 0);
+
+  private final SlidingWindowLimit ipLimit;
+  private final SlidingWindowLimit emailLimit;
+
+  @Autowired
+  public LoginRateLimiter(final MeterRegistry meterRegistry) {
+    this(
+        meterRegistry,
+        System::nanoTime,
+        ConstantUtils.LOGIN_LIMIT_IP_ATTEMPTS,
+        ConstantUtils.LOGIN_LIMIT_IP_WINDOW_SECONDS,
+        ConstantUtils.LOGIN_LIMIT_EMAIL_FAILURES,
+        ConstantUtils.LOGIN_LIMIT_EMAIL_WINDOW_SECONDS,
+        ConstantUtils.LOGIN_LIMIT_MAX_KEYS);
+  }
+
+  public LoginRateLimiter(
+      final MeterRegistry meterRegistry,
+      final LongSupplier nanoClock,
+      final int ipAttempts,
+      final long ipWindowSeconds,
+      final int emailFailures,
+      final long emailWindowSeconds,
+      final int maxKeys) {
+    this.ipLimit =
+        new SlidingWindowLimit(
+            "ip", ipAttempts, ipWindowSeconds, maxKeys, nanoClock, meterRegistry);
+    this.emailLimit =
+        new SlidingWindowLimit(
+            "email", emailFailures, emailWindowSeconds, maxKeys, nanoClock, meterRegistry);
+  }
+
+  // counts the attempt against the ip address, the email is only checked
+  public void checkLogin(final String ipAddress, final String email) {
+    final long ipRetryAfterSeconds = ipLimit.tryAcquire(Objects.toString(ipAddress, ""));
+    if (ipRetryAfterSeconds > 0) {
+      throw new LoginThrottledException(ipRetryAfterSeconds);
+    }
+
+    final long emailRetryAfterSeconds = emailLimit.getRetryAfterSeconds(getEmailKey(email));
+    if (emailRetryAfterSeconds > 0) {
+      throw new LoginThrottledException(emailRetryAfterSeconds);
+    }
+  }
+
+  public void loginFailed(final String email) {
+    emailLimit.increment(getEmailKey(email));
+  }
+
+  public void loginSucceeded(final String email) {
+    emailLimit.remove(getEmailKey(email));
+  }
+
+  public void clear() {
+    ipLimit.clear();
+    emailLimit.clear();
+  }
+
+  private static String getEmailKey(final String email) {
+    return email == null ? "" : email.toLowerCase(Locale.ROOT);
+  }
+
+  private record Window(long index, int previous, int current) {
+
+    // counts as seen from the given window, anything older than the previous window is dropped
+    private Window roll(final long index) {
+      if (this.index == index) {
+        return this;
+      }
+      if (this.index == index - 1) {
+        return new Window(index, this.current, 0);
+      }
+      return new Window(index, 0, 0);
+    }
+  }
+
+  private static final class SlidingWindowLimit {
+    private final int maxCount;
+    private final long windowNanos;
+    private final int maxKeysPerStripe;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, AtomicReference<Window>>[] stripes;
+    private final Counter throttledCounter;
+    private final Counter evictedCounter;
+
+    @SuppressWarnings("unchecked")
+    private SlidingWindowLimit(
+        final String name,
+        final int maxCount,
+        final long windowSeconds,
+        final int maxKeys,
+        final LongSupplier nanoClock,
+        final MeterRegistry meterRegistry) {
+      this.maxCount = maxCount;
+      this.windowNanos = windowSeconds * 1_000_000_000L;
+      this.maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+      this.nanoClock = nanoClock;
+      this.stripes = new ConcurrentHashMap[STRIPES];
+      for (int i = 0; i < STRIPES; i++) {
+        this.stripes[i] = new ConcurrentHashMap<>();
+      }
+
+      Gauge.builder("authsvc.login.limiter.keys", this, SlidingWindowLimit::size)
+          .tag("limit", name)
+          .register(meterRegistry);
+      this.throttledCounter =
+          Counter.builder("authsvc.login.throttled").tag("limit", name).register(meterRegistry);
+      this.evictedCounter =
+          Counter.builder("authsvc.login.limiter.evicted")
+              .tag("limit", name)
+              .register(meterRegistry);
+    }
+
+    // counts the attempt when under the limit, otherwise returns seconds until it is allowed
+    private long tryAcquire(final String key) {
+      final AtomicReference<Window> reference = getOrCreate(key);
+      while (true) {
+        final long now = nanoClock.getAsLong();
+        final Window window = reference.get();
+        final long retryAfterSeconds = getRetryAfterSeconds(window, now);
+        if (retryAfterSeconds > 0) {
+          throttledCounter.increment();
+          return retryAfterSeconds;
+        }
+        if (reference.compareAndSet(window, increment(window, now))) {
+          return 0;
+        }
+      }
+    }
+
+    private long getRetryAfterSeconds(final String key) {
+      final AtomicReference<Window> reference = getStripe(key).get(key);
+      if (reference == null) {
+        return 0;
+      }
+      final long retryAfterSeconds = getRetryAfterSeconds(reference.get(), nanoClock.getAsLong());
+      if (retryAfterSeconds > 0) {
+        throttledCounter.increment();
+      }
+      return retryAfterSeconds;
+    }
+
+    private void increment(final String key) {
+      getOrCreate(key).updateAndGet(window -> increment(window, nanoClock.getAsLong()));
+    }
+
+    private void remove(final String key) {
+      getStripe(key).remove(key);
+    }
+
+    private void clear() {
+      for (final ConcurrentHashMap<String, AtomicReference<Window>> stripe : stripes) {
+        stripe.clear();
+      }
+    }
+
+    private int size() {
+      int size = 0;
+      for (final ConcurrentHashMap<String, AtomicReference<Window>> stripe : stripes) {
+        size += stripe.size();
+      }
+      return size;
+    }
+
+    private Window increment(final Window window, final long now) {
+      final Window rolled = window.roll(Math.floorDiv(now, windowNanos));
+      return new Window(rolled.index(), rolled.previous(), rolled.current() + 1);
+    }
+
+    // estimate is previous count weighted by the part of the previous window still covered
+    private long getRetryAfterSeconds(final Window window, final long now) {
+      final Window rolled = window.roll(Math.floorDiv(now, windowNanos));
+      final double elapsed = (double) Math.floorMod(now, windowNanos) / windowNanos;
+      final double estimate = rolled.previous() * (1 - elapsed) + rolled.current();
+      if (estimate < maxCount) {
+        return 0;
+      }
+
+      final double waitWindows;
+      if (rolled.current() >= maxCount) {
+        // wait for the next window, then for the current count to decay below the limit
+        waitWindows = (1 - elapsed) + (1 - (double) maxCount / rolled.current());
+      } else {
+        // previous count decays below the limit within the current window
+        waitWindows = (1 - (double) (maxCount - rolled.current()) / rolled.previous()) - elapsed;
+      }
+      return Math.max(1L, (long) Math.ceil(waitWindows * windowNanos / 1_000_000_000D));
+    }
+
+    private AtomicReference<Window> getOrCreate(final String key) {
+      final ConcurrentHashMap<String, AtomicReference<Window>> stripe = getStripe(key);
+      final AtomicReference<Window> reference = stripe.get(key);
+      if (reference != null) {
+        return reference;
+      }
+      if (stripe.size() >= maxKeysPerStripe) {
+        evict(stripe);
+      }
+      return stripe.computeIfAbsent(key, ignored -> new AtomicReference<>(EMPTY_WINDOW));
+    }
+
+    // keys with no counts in the current or previous window are dropped first
+    // if every key is still counting, arbitrary keys are dropped down to three quarters full
+    private void evict(final ConcurrentHashMap<String, AtomicReference<Window>> stripe) {
+      final long index = Math.floorDiv(nanoClock.getAsLong(), windowNanos);
+      int evicted = 0;
+
+      final Iterator<AtomicReference<Window>> coldIterator = stripe.values().iterator();
+      while (coldIterator.hasNext()) {
+        if (coldIterator.next().get().index() < index - 1) {
+          coldIterator.remove();
+          evicted++;
+        }
+      }
+
+      if (stripe.size() >= maxKeysPerStripe) {
+        final Iterator<AtomicReference<Window>> warmIterator = stripe.values().iterator();
+        while (stripe.size() > maxKeysPerStripe * 3 / 4 && warmIterator.hasNext()) {
+          warmIterator.next();
+          warmIterator.remove();
+          evicted++;
+        }
+      }
+
+      evictedCounter.increment(evicted);
+    }
+
+    private ConcurrentHashMap<String, AtomicReference<Window>> getStripe(final String key) {
+      final int hash = key.hashCode();
+      return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package auth.service.app.util;
+
+import io.github.bibekaryal86.shdsvc.helpers.CommonUtilities;
+import java.util.Map;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+// stored hashes are prefixed with the encoder id, eg: {bcrypt}$2a$12$..., {argon2id}$argon2id$...
+// hashes without a prefix were created before the registry and are matched as bcrypt
+// the cost of the encoder used for new hashes is calibrated at startup to the target latency
+// this is deliberately not a PasswordEncoder bean, SecurityConfig keeps its own BCrypt encoder
+@Slf4j
+@Component
+public class PasswordEncoderRegistry {
+
+  public static final String ENCODER_ID_BCRYPT = "bcrypt";
+  public static final String ENCODER_ID_ARGON2ID = "argon2id";
+
+  private static final int BCRYPT_CALIBRATION_STRENGTH = 10;
+  // strength of hashes from before the registry (SecurityConfigPassword), never calibrated below
+  private static final int BCRYPT_MIN_STRENGTH = 12;
+  private static final int BCRYPT_MAX_STRENGTH = 16;
+  private static final int ARGON2_SALT_LENGTH = 16;
+  private static final int ARGON2_HASH_LENGTH = 32;
+  private static final int ARGON2_PARALLELISM = 1;
+  private static final int ARGON2_MEMORY_KB = 1 << 14;
+  private static final int ARGON2_MIN_ITERATIONS = 2;
+  private static final int ARGON2_MAX_ITERATIONS = 10;
+  private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+  @Getter private final String encoderId;
+  @Getter private final int cost;
+  @Getter private final PasswordEncoder passwordEncoder;
+
+  public PasswordEncoderRegistry() {
+    this(
+        CommonUtilities.getSystemEnvProperty(ConstantUtils.ENV_PASSWORD_ENCODER, ENCODER_ID_BCRYPT),
+        Long.parseLong(
+            CommonUtilities.getSystemEnvProperty(
+                ConstantUtils.ENV_PASSWORD_ENCODER_TARGET_MILLIS,
+                String.valueOf(ConstantUtils.PASSWORD_ENCODER_TARGET_MILLIS))));
+  }
+
+  public PasswordEncoderRegistry(final String encoderId, final long targetMillis) {
+    this.encoderId =
+        ENCODER_ID_ARGON2ID.equals(encoderId) ? ENCODER_ID_ARGON2ID : ENCODER_ID_BCRYPT;
+    this.cost =
+        ENCODER_ID_ARGON2ID.equals(this.encoderId)
+            ? calibrateArgon2Iterations(targetMillis)
+            : calibrateBCryptStrength(targetMillis);
+    this.passwordEncoder = getPasswordEncoder(this.encoderId, this.cost);
+    log.info(
+        "Password Encoder: EncoderId=[{}], Cost=[{}], TargetMillis=[{}]",
+        this.encoderId,
+        this.cost,
+        targetMillis);
+  }
+
+  public static PasswordEncoder getPasswordEncoder(final String encoderId, final int cost) {
+    final Map<String, PasswordEncoder> passwordEncoders =
+        Map.of(
+            ENCODER_ID_BCRYPT,
+            new BCryptPasswordEncoder(
+                ENCODER_ID_BCRYPT.equals(encoderId) ? cost : BCRYPT_MIN_STRENGTH),
+            ENCODER_ID_ARGON2ID,
+            getArgon2PasswordEncoder(
+                ENCODER_ID_ARGON2ID.equals(encoderId) ? cost : ARGON2_MIN_ITERATIONS));
+    final DelegatingPasswordEncoder delegatingPasswordEncoder =
+        new DelegatingPasswordEncoder(encoderId, passwordEncoders);
+    delegatingPasswordEncoder.setDefaultPasswordEncoderForMatches(
+        passwordEncoders.get(ENCODER_ID_BCRYPT));
+    return delegatingPasswordEncoder;
+  }
+
+  public static Argon2PasswordEncoder getArgon2PasswordEncoder(final int iterations) {
+    return new Argon2PasswordEncoder(
+        ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH, ARGON2_PARALLELISM, ARGON2_MEMORY_KB, iterations);
+  }
+
+  // each bcrypt strength step doubles the work
+  private static int calibrateBCryptStrength(final long targetMillis) {
+    final double nanos = measure(new BCryptPasswordEncoder(BCRYPT_CALIBRATION_STRENGTH));
+    final double steps = Math.log(targetMillis * 1_000_000D / nanos) / Math.log(2);
+    return clamp(
+        BCRYPT_CALIBRATION_STRENGTH + (int) Math.round(steps),
+        BCRYPT_MIN_STRENGTH,
+        BCRYPT_MAX_STRENGTH);
+  }
+
+  // argon2 work grows linearly with iterations
+  private static int calibrateArgon2Iterations(final long targetMillis) {
+    final double nanos = measure(getArgon2PasswordEncoder(ARGON2_MIN_ITERATIONS));
+    final double iterations = ARGON2_MIN_ITERATIONS * targetMillis * 1_000_000D / nanos;
+    return clamp((int) Math.round(iterations), ARGON2_MIN_ITERATIONS, ARGON2_MAX_ITERATIONS);
+  }
+
+  // first run is warm up, best of the next two is used
+  private static double measure(final PasswordEncoder passwordEncoder) {
+    passwordEncoder.encode(CALIBRATION_PASSWORD);
+    long best = Long.MAX_VALUE;
+    for (int i = 0; i < 2; i++) {
+      final long start = System.nanoTime();
+      passwordEncoder.encode(CALIBRATION_PASSWORD);
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    return Math.max(best, 1L);
+  }
+
+  private static int clamp(final int value, final int min, final int max) {
+    return Math.max(min, Math.min(max, value));
+  }
+}
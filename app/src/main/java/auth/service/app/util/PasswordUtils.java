@@ -1,19 +1,151 @@
 package auth.service.app.util;
 
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import auth.service.app.exception.PasswordEncoderBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+// bcrypt runs on its own core sized pool with a bounded queue, so a burst of logins cannot hold
+// every request thread, when the queue is full it fails fast with PasswordEncoderBusyException
+@Slf4j
 @Component
-@RequiredArgsConstructor
 public class PasswordUtils {
-  private final BCryptPasswordEncoder bCryptPasswordEncoder;
+  private final PasswordEncoder passwordEncoder;
+  private final ThreadPoolExecutor passwordEncoderExecutor;
+  private final Timer waitTimer;
+  private final Timer hashTimer;
+  private final Timer verifyTimer;
+  private final Counter rejectedCounter;
+
+  @Autowired
+  public PasswordUtils(
+      final PasswordEncoderRegistry passwordEncoderRegistry, final MeterRegistry meterRegistry) {
+    this(passwordEncoderRegistry.getPasswordEncoder(), meterRegistry);
+  }
+
+  public PasswordUtils(final PasswordEncoder passwordEncoder, final MeterRegistry meterRegistry) {
+    this(
+        passwordEncoder,
+        meterRegistry,
+        Runtime.getRuntime().availableProcessors(),
+        Runtime.getRuntime().availableProcessors()
+            * ConstantUtils.PASSWORD_ENCODER_QUEUE_SIZE_PER_THREAD);
+  }
+
+  public PasswordUtils(
+      final PasswordEncoder passwordEncoder,
+      final MeterRegistry meterRegistry,
+      final int poolSize,
+      final int queueSize) {
+    this.passwordEncoder = passwordEncoder;
+
+    final AtomicInteger threadCount = new AtomicInteger();
+    this.passwordEncoderExecutor =
+        new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            runnable -> {
+              final Thread thread =
+                  new Thread(runnable, "password-encoder-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+
+    Gauge.builder("authsvc.password.queue", passwordEncoderExecutor, e -> e.getQueue().size())
+        .register(meterRegistry);
+    this.waitTimer =
+        Timer.builder("authsvc.password.wait").publishPercentileHistogram().register(meterRegistry);
+    this.hashTimer = getOperationTimer(meterRegistry, "hash");
+    this.verifyTimer = getOperationTimer(meterRegistry, "verify");
+    this.rejectedCounter = Counter.builder("authsvc.password.rejected").register(meterRegistry);
+  }
 
   public String hashPassword(final String plainPassword) {
-    return bCryptPasswordEncoder.encode(plainPassword);
+    return execute(hashTimer, () -> passwordEncoder.encode(plainPassword));
   }
 
   public boolean verifyPassword(final String plainPassword, final String hashedPassword) {
-    return bCryptPasswordEncoder.matches(plainPassword, hashedPassword);
+    return execute(verifyTimer, () -> passwordEncoder.matches(plainPassword, hashedPassword));
+  }
+
+  // the hash to store after a login when the stored one was created by an older encoder or with a
+  // lower cost, null when it is current. a hash from before the registry has no prefix, when its
+  // bcrypt cost is not below the current one it only gets the prefix, a rehash could lower it
+  public String getUpgradedPassword(final String plainPassword, final String hashedPassword) {
+    if (hashedPassword == null || !passwordEncoder.upgradeEncoding(hashedPassword)) {
+      return null;
+    }
+    if (!hashedPassword.startsWith("{")) {
+      final String prefixedPassword =
+          String.format("{%s}%s", PasswordEncoderRegistry.ENCODER_ID_BCRYPT, hashedPassword);
+      if (!passwordEncoder.upgradeEncoding(prefixedPassword)) {
+        return prefixedPassword;
+      }
+    }
+    return hashPassword(plainPassword);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    passwordEncoderExecutor.shutdown();
+  }
+
+  private <T> T execute(final Timer operationTimer, final Callable<T> callable) {
+    final long submittedAt = System.nanoTime();
+    final Future<T> future;
+    try {
+      future =
+          passwordEncoderExecutor.submit(
+              () -> {
+                waitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return operationTimer.recordCallable(callable);
+              });
+    } catch (RejectedExecutionException ex) {
+      rejectedCounter.increment();
+      log.warn(
+          "Password Encoder Busy: Active=[{}], Queued=[{}]",
+          passwordEncoderExecutor.getActiveCount(),
+          passwordEncoderExecutor.getQueue().size());
+      throw new PasswordEncoderBusyException();
+    }
+
+    try {
+      return future.get();
+    } catch (InterruptedException ex) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new PasswordEncoderBusyException();
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException(ex.getCause());
+    }
+  }
+
+  private static Timer getOperationTimer(
+      final MeterRegistry meterRegistry, final String operation) {
+    return Timer.builder("authsvc.password.time")
+        .tag("operation", operation)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
   }
 }
@@ -7,23 +7,24 @@ import io.github.bibekaryal86.shdsvc.exception.CheckPermissionException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.stream.Collectors;
-import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-@Aspect
 @Component
+@RequiredArgsConstructor
 public class PermissionCheck {
 
-  @Before("@annotation(checkPermission)")
+  private final PermissionIndex permissionIndex;
+
   public void checkPermission(final CheckPermission checkPermission) {
-    final String[] requiredPermissions = checkPermission.value();
+    checkPermission(permissionIndex.getPermissionMask(checkPermission));
+  }
 
+  public void checkPermission(final long[] requiredMask) {
     try {
       final AuthToken authToken = CommonUtils.getAuthentication();
-      final boolean isPermitted = checkUserPermission(authToken, List.of(requiredPermissions));
+      final boolean isPermitted = checkUserPermission(authToken, requiredMask);
 
       if (!isPermitted) {
         throw new CheckPermissionException("Profile does not have required permissions...");
@@ -81,28 +82,24 @@ public class PermissionCheck {
     }
   }
 
-  private boolean checkUserPermission(
-      final AuthToken authToken, final List<String> requiredPermissions) {
+  private boolean checkUserPermission(final AuthToken authToken, final long[] requiredMask) {
     if (CommonUtils.isSuperUser(authToken)) {
       return true;
     }
 
-    return authToken.getPermissions().stream()
-        .anyMatch(
-            authTokenPermission ->
-                requiredPermissions.contains(authTokenPermission.getPermissionName()));
+    return PermissionIndex.intersects(permissionIndex.getPermissionMask(authToken), requiredMask);
   }
 
   private Map<String, Boolean> checkUserPermissionDuplicate(
       final AuthToken authToken, final List<String> requiredPermissions) {
-    final Set<String> userPermissions =
-        authToken.getPermissions().stream()
-            .map(AuthToken.AuthTokenPermission::getPermissionName)
-            .collect(Collectors.toSet());
+    final long[] userMask = permissionIndex.getPermissionMask(authToken);
 
     final Map<String, Boolean> checkedPermissions =
         requiredPermissions.stream()
-            .collect(Collectors.toMap(permission -> permission, userPermissions::contains));
+            .collect(
+                Collectors.toMap(
+                    permission -> permission,
+                    permission -> permissionIndex.hasPermission(userMask, permission)));
 
     if (CommonUtils.isSuperUser(authToken)) {
       checkedPermissions.put(ConstantUtils.ROLE_NAME_SUPERUSER, Boolean.TRUE);
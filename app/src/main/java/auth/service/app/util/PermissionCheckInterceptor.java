@@ -0,0 +1,95 @@
+package auth.service.app.util;
+
+import auth.service.app.model.annotation.CheckPermission;
+import io.github.bibekaryal86.shdsvc.exception.CheckPermissionException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+// checks @CheckPermission before arguments are bound and validated
+// required permissions are resolved once per handler method, when the mappings are registered
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PermissionCheckInterceptor implements HandlerInterceptor {
+
+  private static final RequiredPermission NOT_REQUIRED = new RequiredPermission(null, null);
+
+  private final PermissionCheck permissionCheck;
+  private final PermissionIndex permissionIndex;
+  private final MeterRegistry meterRegistry;
+
+  private final Map<Method, RequiredPermission> requiredPermissions = new ConcurrentHashMap<>();
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void loadRequiredPermissions(final ApplicationReadyEvent applicationReadyEvent) {
+    final RequestMappingHandlerMapping requestMappingHandlerMapping =
+        applicationReadyEvent
+            .getApplicationContext()
+            .getBean("requestMappingHandlerMapping", RequestMappingHandlerMapping.class);
+    requestMappingHandlerMapping.getHandlerMethods().values().forEach(this::getRequiredPermission);
+    log.info(
+        "Load Required Permissions: HandlerMethods=[{}], Checked=[{}]",
+        requiredPermissions.size(),
+        requiredPermissions.values().stream().filter(rp -> rp != NOT_REQUIRED).count());
+  }
+
+  @Override
+  public boolean preHandle(
+      final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+    if (!(handler instanceof HandlerMethod handlerMethod)) {
+      return true;
+    }
+
+    final RequiredPermission requiredPermission = getRequiredPermission(handlerMethod);
+    if (requiredPermission == NOT_REQUIRED) {
+      return true;
+    }
+
+    try {
+      permissionCheck.checkPermission(requiredPermission.mask());
+    } catch (CheckPermissionException ex) {
+      requiredPermission.deniedCounter().increment();
+      throw ex;
+    }
+    return true;
+  }
+
+  private RequiredPermission getRequiredPermission(final HandlerMethod handlerMethod) {
+    return requiredPermissions.computeIfAbsent(
+        handlerMethod.getMethod(), method -> resolveRequiredPermission(handlerMethod));
+  }
+
+  private RequiredPermission resolveRequiredPermission(final HandlerMethod handlerMethod) {
+    final CheckPermission checkPermission =
+        AnnotatedElementUtils.findMergedAnnotation(
+            handlerMethod.getMethod(), CheckPermission.class);
+    if (checkPermission == null) {
+      return NOT_REQUIRED;
+    }
+
+    final String endpoint =
+        handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+    return new RequiredPermission(
+        permissionIndex.getPermissionMask(checkPermission),
+        Counter.builder("authsvc.permission.denied")
+            .description("Requests denied by @CheckPermission")
+            .tag("endpoint", endpoint)
+            .register(meterRegistry));
+  }
+
+  private record RequiredPermission(long[] mask, Counter deniedCounter) {}
+}
@@ -0,0 +1,125 @@
+package auth.service.app.util;
+
+import auth.service.app.model.annotation.CheckPermission;
+import auth.service.app.model.entity.PermissionEntity;
+import auth.service.app.repository.PermissionRepository;
+import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+// permission names mapped to dense ids, so permission checks are a few ANDs over long[] masks
+// names are loaded at startup, names seen later (eg: new permission) get the next id on first use
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PermissionIndex {
+
+  private static final String REQUEST_ATTRIBUTE_PERMISSION_MASK =
+      PermissionIndex.class.getName() + ".PERMISSION_MASK";
+
+  private final PermissionRepository permissionRepository;
+
+  private final Map<String, Integer> permissionIds = new ConcurrentHashMap<>();
+  private final Map<CheckPermission, long[]> requiredMasks = new ConcurrentHashMap<>();
+  private final AtomicInteger nextPermissionId = new AtomicInteger();
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void loadPermissionIndex() {
+    final List<PermissionEntity> permissionEntities =
+        permissionRepository.findAllPermissions(Boolean.TRUE);
+    permissionEntities.forEach(
+        permissionEntity -> getPermissionId(permissionEntity.getPermissionName()));
+    log.info("Load Permission Index: Permissions=[{}]", permissionIds.size());
+  }
+
+  public int getPermissionId(final String permissionName) {
+    return permissionIds.computeIfAbsent(
+        permissionName, ignored -> nextPermissionId.getAndIncrement());
+  }
+
+  public int size() {
+    return permissionIds.size();
+  }
+
+  public long[] getPermissionMask(final Collection<String> permissionNames) {
+    final int[] ids = new int[permissionNames.size()];
+    int maxId = -1;
+    int i = 0;
+    for (final String permissionName : permissionNames) {
+      ids[i] = getPermissionId(permissionName);
+      maxId = Math.max(maxId, ids[i++]);
+    }
+
+    final long[] mask = new long[(maxId >> 6) + 1];
+    for (final int id : ids) {
+      mask[id >> 6] |= 1L << id;
+    }
+    return mask;
+  }
+
+  public long[] getPermissionMask(final CheckPermission checkPermission) {
+    return requiredMasks.computeIfAbsent(
+        checkPermission, ignored -> getPermissionMask(List.of(checkPermission.value())));
+  }
+
+  // the mask of an auth token is built once per request and kept in the request attributes
+  public long[] getPermissionMask(final AuthToken authToken) {
+    final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+    if (requestAttributes == null) {
+      return buildPermissionMask(authToken);
+    }
+
+    final Object cached =
+        requestAttributes.getAttribute(
+            REQUEST_ATTRIBUTE_PERMISSION_MASK, RequestAttributes.SCOPE_REQUEST);
+    if (cached instanceof AuthTokenMask authTokenMask && authTokenMask.authToken() == authToken) {
+      return authTokenMask.mask();
+    }
+
+    final long[] mask = buildPermissionMask(authToken);
+    requestAttributes.setAttribute(
+        REQUEST_ATTRIBUTE_PERMISSION_MASK,
+        new AuthTokenMask(authToken, mask),
+        RequestAttributes.SCOPE_REQUEST);
+    return mask;
+  }
+
+  public boolean hasPermission(final long[] mask, final String permissionName) {
+    final Integer id = permissionName == null ? null : permissionIds.get(permissionName);
+    return id != null && (id >> 6) < mask.length && (mask[id >> 6] & (1L << id)) != 0;
+  }
+
+  public static boolean intersects(final long[] mask, final long[] otherMask) {
+    final int length = Math.min(mask.length, otherMask.length);
+    for (int i = 0; i < length; i++) {
+      if ((mask[i] & otherMask[i]) != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private long[] buildPermissionMask(final AuthToken authToken) {
+    if (authToken.getPermissions() == null) {
+      return new long[0];
+    }
+    return getPermissionMask(
+        authToken.getPermissions().stream()
+            .map(AuthToken.AuthTokenPermission::getPermissionName)
+            .filter(Objects::nonNull)
+            .toList());
+  }
+
+  private record AuthTokenMask(AuthToken authToken, long[] mask) {}
+}
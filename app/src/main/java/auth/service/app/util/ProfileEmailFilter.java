@@ -0,0 +1,162 @@
+package auth.service.app.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// answers "no such profile" for an email without a db read, for the error paths that read a
+// profile by email only to audit it. a bloom filter of every profile email (rebuilt at startup and
+// every few minutes, as emails changed or deleted are never removed from it) plus a short lived
+// negative cache of emails the filter let through but the db did not have. emails are added when a
+// profile is persisted or updated on this instance, before commit. emails persisted on other
+// instances are only in it from its next rebuild, so it must not gate anything but the audit reads
+// a filter not rebuilt within maxAge (rebuilds failing) lets every email through
+// an email is cached absent only if no email was added while the db was read, and is added again
+// after commit, so a read racing a profile create never caches the new email absent
+// until it is first built every email might exist, so callers fall back to the db
+@Slf4j
+@Component
+public class ProfileEmailFilter {
+
+  private final Map<String, Long> absentEmails = new ConcurrentHashMap<>();
+  private final AtomicLong addVersion = new AtomicLong();
+  private final long absentTtlMillis;
+  private final int absentMaxSize;
+  private final long maxAgeMillis;
+  private final Clock clock;
+  private final Counter absentCounter;
+  private final Counter negativeCounter;
+  private final Counter presentCounter;
+  private volatile BloomFilter bloomFilter;
+  // when the emails of the bloom filter were read
+  private volatile long builtAtMillis;
+  // emails added while a rebuild reads the db, the rebuilt filter may not have them
+  private Set<String> rebuildEmails;
+
+  @Autowired
+  public ProfileEmailFilter(final MeterRegistry meterRegistry) {
+    this(
+        meterRegistry,
+        ConstantUtils.PROFILE_EMAIL_ABSENT_TTL_SECONDS * 1000,
+        ConstantUtils.PROFILE_EMAIL_ABSENT_MAX_SIZE,
+        ConstantUtils.PROFILE_EMAIL_FILTER_MAX_AGE_SECONDS * 1000,
+        Clock.systemUTC());
+  }
+
+  public ProfileEmailFilter(
+      final MeterRegistry meterRegistry,
+      final long absentTtlMillis,
+      final int absentMaxSize,
+      final long maxAgeMillis,
+      final Clock clock) {
+    this.absentTtlMillis = absentTtlMillis;
+    this.absentMaxSize = absentMaxSize;
+    this.maxAgeMillis = maxAgeMillis;
+    this.clock = clock;
+    this.absentCounter = filterCounter(meterRegistry, "absent");
+    this.negativeCounter = filterCounter(meterRegistry, "negative");
+    this.presentCounter = filterCounter(meterRegistry, "present");
+  }
+
+  public boolean mightExist(final String email) {
+    final BloomFilter currentBloomFilter = bloomFilter;
+    if (currentBloomFilter == null || clock.millis() - builtAtMillis >= maxAgeMillis) {
+      return true;
+    }
+    if (!currentBloomFilter.mightContain(email)) {
+      absentCounter.increment();
+      return false;
+    }
+
+    final Long absentUntilMillis = absentEmails.get(email);
+    if (absentUntilMillis != null) {
+      if (absentUntilMillis > clock.millis()) {
+        negativeCounter.increment();
+        return false;
+      }
+      absentEmails.remove(email, absentUntilMillis);
+    }
+    presentCounter.increment();
+    return true;
+  }
+
+  // read before the db is, and passed to addAbsent
+  public long getAddVersion() {
+    return addVersion.get();
+  }
+
+  // the filter let the email through but the db does not have it, as read after addVersion
+  // put before the version check, an add after the check removes it again
+  public void addAbsent(final String email, final long readAddVersion) {
+    if (absentEmails.size() >= absentMaxSize) {
+      absentEmails.clear();
+    }
+    absentEmails.put(email, clock.millis() + absentTtlMillis);
+    if (addVersion.get() != readAddVersion) {
+      absentEmails.remove(email);
+    }
+  }
+
+  public void add(final String email) {
+    if (email == null) {
+      return;
+    }
+    synchronized (this) {
+      if (bloomFilter != null) {
+        bloomFilter.add(email);
+      }
+      if (rebuildEmails != null) {
+        rebuildEmails.add(email);
+      }
+    }
+    addVersion.incrementAndGet();
+    absentEmails.remove(email);
+  }
+
+  // sized for twice the emails now, so it holds its false positive rate until the next rebuild
+  public void rebuild(final Supplier<Collection<String>> emailsLoader) {
+    synchronized (this) {
+      rebuildEmails = new HashSet<>();
+    }
+    try {
+      final long startMillis = clock.millis();
+      final Collection<String> emails = emailsLoader.get();
+      final BloomFilter rebuiltBloomFilter =
+          new BloomFilter(
+              Math.max(emails.size() * 2, ConstantUtils.PROFILE_EMAIL_FILTER_MIN_SIZE),
+              ConstantUtils.PROFILE_EMAIL_FILTER_FALSE_POSITIVE_RATE);
+      emails.forEach(rebuiltBloomFilter::add);
+
+      synchronized (this) {
+        rebuildEmails.forEach(rebuiltBloomFilter::add);
+        builtAtMillis = startMillis;
+        bloomFilter = rebuiltBloomFilter;
+      }
+      absentEmails.clear();
+      log.debug(
+          "Rebuild Profile Email Filter: Emails=[{}], Bits=[{}]",
+          emails.size(),
+          rebuiltBloomFilter.getBitSize());
+    } finally {
+      synchronized (this) {
+        rebuildEmails = null;
+      }
+    }
+  }
+
+  private static Counter filterCounter(final MeterRegistry meterRegistry, final String result) {
+    return Counter.builder("authsvc.profile.email.filter")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,221 @@
+package auth.service.app.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+// platform -> role -> permission edges of platform_role_permission, as sorted long[] columns
+// lookups are binary searches over primitives, changes return a new graph and never modify this one
+public final class RbacGraph {
+
+  public static final RbacGraph EMPTY = new RbacGraph(new long[0], new long[0], new long[0]);
+
+  // edge i is (platformIds[i], roleIds[i], permissionIds[i]), ordered by platform, role, permission
+  private final long[] platformIds;
+  private final long[] roleIds;
+  private final long[] permissionIds;
+  // edge positions ordered by role id and by permission id
+  private final int[] roleOrder;
+  private final int[] permissionOrder;
+
+  private RbacGraph(final long[] platformIds, final long[] roleIds, final long[] permissionIds) {
+    this.platformIds = platformIds;
+    this.roleIds = roleIds;
+    this.permissionIds = permissionIds;
+    this.roleOrder = order(roleIds);
+    this.permissionOrder = order(permissionIds);
+  }
+
+  // each edge is {platformId, roleId, permissionId}, duplicates are ignored
+  public static RbacGraph of(final Collection<long[]> edges) {
+    final List<long[]> sortedEdges = new ArrayList<>(edges);
+    sortedEdges.sort(
+        Comparator.<long[]>comparingLong(edge -> edge[0])
+            .thenComparingLong(edge -> edge[1])
+            .thenComparingLong(edge -> edge[2]));
+
+    final long[] platformIds = new long[sortedEdges.size()];
+    final long[] roleIds = new long[sortedEdges.size()];
+    final long[] permissionIds = new long[sortedEdges.size()];
+    int size = 0;
+    for (final long[] edge : sortedEdges) {
+      if (size > 0
+          && platformIds[size - 1] == edge[0]
+          && roleIds[size - 1] == edge[1]
+          && permissionIds[size - 1] == edge[2]) {
+        continue;
+      }
+      platformIds[size] = edge[0];
+      roleIds[size] = edge[1];
+      permissionIds[size] = edge[2];
+      size++;
+    }
+
+    return new RbacGraph(
+        Arrays.copyOf(platformIds, size),
+        Arrays.copyOf(roleIds, size),
+        Arrays.copyOf(permissionIds, size));
+  }
+
+  public int size() {
+    return platformIds.length;
+  }
+
+  // READ
+  public boolean hasEdge(final long platformId, final long roleId, final long permissionId) {
+    final int position = lowerBound(platformId, roleId, permissionId);
+    return position < size()
+        && platformIds[position] == platformId
+        && roleIds[position] == roleId
+        && permissionIds[position] == permissionId;
+  }
+
+  public boolean hasPlatform(final long platformId) {
+    final int position = lowerBound(platformId, Long.MIN_VALUE, Long.MIN_VALUE);
+    return position < size() && platformIds[position] == platformId;
+  }
+
+  public boolean hasPlatformRole(final long platformId, final long roleId) {
+    final int position = lowerBound(platformId, roleId, Long.MIN_VALUE);
+    return position < size() && platformIds[position] == platformId && roleIds[position] == roleId;
+  }
+
+  public boolean hasRole(final long roleId) {
+    final int position = lowerBound(roleOrder, roleIds, roleId);
+    return position < size() && roleIds[roleOrder[position]] == roleId;
+  }
+
+  public boolean hasPermission(final long permissionId) {
+    final int position = lowerBound(permissionOrder, permissionIds, permissionId);
+    return position < size() && permissionIds[permissionOrder[position]] == permissionId;
+  }
+
+  // UPDATE
+  public RbacGraph withEdge(final long platformId, final long roleId, final long permissionId) {
+    if (hasEdge(platformId, roleId, permissionId)) {
+      return this;
+    }
+    final int position = lowerBound(platformId, roleId, permissionId);
+    return new RbacGraph(
+        insert(platformIds, position, platformId),
+        insert(roleIds, position, roleId),
+        insert(permissionIds, position, permissionId));
+  }
+
+  public RbacGraph withoutEdge(final long platformId, final long roleId, final long permissionId) {
+    if (!hasEdge(platformId, roleId, permissionId)) {
+      return this;
+    }
+    final int position = lowerBound(platformId, roleId, permissionId);
+    return without(i -> i == position);
+  }
+
+  public RbacGraph withoutPlatforms(final Collection<Long> platformIds) {
+    return without(i -> platformIds.contains(this.platformIds[i]));
+  }
+
+  public RbacGraph withoutRoles(final Collection<Long> roleIds) {
+    return without(i -> roleIds.contains(this.roleIds[i]));
+  }
+
+  public RbacGraph withoutPermissions(final Collection<Long> permissionIds) {
+    return without(i -> permissionIds.contains(this.permissionIds[i]));
+  }
+
+  private RbacGraph without(final IntPredicate isRemoved) {
+    final int[] kept = IntStream.range(0, size()).filter(isRemoved.negate()).toArray();
+    if (kept.length == size()) {
+      return this;
+    }
+    final long[] keptPlatformIds = new long[kept.length];
+    final long[] keptRoleIds = new long[kept.length];
+    final long[] keptPermissionIds = new long[kept.length];
+    for (int i = 0; i < kept.length; i++) {
+      keptPlatformIds[i] = platformIds[kept[i]];
+      keptRoleIds[i] = roleIds[kept[i]];
+      keptPermissionIds[i] = permissionIds[kept[i]];
+    }
+    return new RbacGraph(keptPlatformIds, keptRoleIds, keptPermissionIds);
+  }
+
+  // first edge position not less than the given edge
+  private int lowerBound(final long platformId, final long roleId, final long permissionId) {
+    int low = 0;
+    int high = size();
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      if (compare(middle, platformId, roleId, permissionId) < 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private int compare(
+      final int position, final long platformId, final long roleId, final long permissionId) {
+    int result = Long.compare(platformIds[position], platformId);
+    if (result == 0) {
+      result = Long.compare(roleIds[position], roleId);
+    }
+    if (result == 0) {
+      result = Long.compare(permissionIds[position], permissionId);
+    }
+    return result;
+  }
+
+  // first position in the order whose column value is not less than the given value
+  private static int lowerBound(final int[] order, final long[] column, final long value) {
+    int low = 0;
+    int high = order.length;
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      if (column[order[middle]] < value) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private static int[] order(final long[] column) {
+    return IntStream.range(0, column.length)
+        .boxed()
+        .sorted(Comparator.comparingLong(i -> column[i]))
+        .mapToInt(Integer::intValue)
+        .toArray();
+  }
+
+  private static long[] insert(final long[] column, final int position, final long value) {
+    final long[] inserted = new long[column.length + 1];
+    System.arraycopy(column, 0, inserted, 0, position);
+    inserted[position] = value;
+    System.arraycopy(column, position, inserted, position + 1, column.length - position);
+    return inserted;
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    return other instanceof RbacGraph rbacGraph
+        && Arrays.equals(platformIds, rbacGraph.platformIds)
+        && Arrays.equals(roleIds, rbacGraph.roleIds)
+        && Arrays.equals(permissionIds, rbacGraph.permissionIds);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * Arrays.hashCode(platformIds) + Arrays.hashCode(roleIds))
+        + Arrays.hashCode(permissionIds);
+  }
+
+  @Override
+  public String toString() {
+    return "RbacGraph[size=" + size() + "]";
+  }
+}
@@ -0,0 +1,322 @@
+package auth.service.app.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.Closeable;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+// cache manager of a fixed set of caches, each with its own ttl, max size and (optional) loader
+// with a loader, an entry is reloaded in the background from refreshAhead before it expires,
+// when it is read past that point or by refreshDue (scheduled), so entries not read are reloaded
+// too. an entry past ttl is still served (stale) for up to maxStale while its reload is running or
+// failing, so a slow or failing loader never empties a cache under live traffic, only misses wait
+@Slf4j
+public class RefreshAheadCacheManager implements CacheManager, Closeable {
+
+  public record CacheSpec(
+      Duration ttl,
+      Duration refreshAhead,
+      Duration maxStale,
+      int maxSize,
+      Function<Object, Object> loader) {}
+
+  private final Map<String, RefreshAheadCache> caches;
+  private final Executor refreshExecutor;
+
+  public RefreshAheadCacheManager(
+      final Map<String, CacheSpec> cacheSpecs, final MeterRegistry meterRegistry) {
+    this(
+        cacheSpecs,
+        meterRegistry,
+        Clock.systemUTC(),
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("cache-refresh-", 0).factory()));
+  }
+
+  public RefreshAheadCacheManager(
+      final Map<String, CacheSpec> cacheSpecs,
+      final MeterRegistry meterRegistry,
+      final Clock clock,
+      final Executor refreshExecutor) {
+    this.refreshExecutor = refreshExecutor;
+    final Map<String, RefreshAheadCache> refreshAheadCaches = new LinkedHashMap<>();
+    cacheSpecs.forEach(
+        (name, cacheSpec) ->
+            refreshAheadCaches.put(
+                name,
+                new RefreshAheadCache(name, cacheSpec, meterRegistry, clock, refreshExecutor)));
+    this.caches = Collections.unmodifiableMap(refreshAheadCaches);
+  }
+
+  @Override
+  public Cache getCache(final String name) {
+    return caches.get(name);
+  }
+
+  @Override
+  public Collection<String> getCacheNames() {
+    return caches.keySet();
+  }
+
+  // starts the reload of every entry due for it, and removes entries too stale to be served
+  public void refreshDue() {
+    caches.values().forEach(RefreshAheadCache::refreshDue);
+  }
+
+  @Override
+  public void close() {
+    if (refreshExecutor instanceof ExecutorService executorService) {
+      executorService.shutdownNow();
+    }
+  }
+
+  public static class RefreshAheadCache extends AbstractValueAdaptingCache {
+
+    private record Entry(Object storeValue, long loadedAtMillis) {}
+
+    private final String name;
+    private final CacheSpec cacheSpec;
+    private final Clock clock;
+    private final Executor refreshExecutor;
+    private final Map<Object, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Object, FutureTask<Object>> loads = new ConcurrentHashMap<>();
+    private final Set<Object> refreshes = ConcurrentHashMap.newKeySet();
+    private final Counter hitCounter;
+    private final Counter staleCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+    private final Timer loadSuccessTimer;
+    private final Timer loadFailureTimer;
+
+    RefreshAheadCache(
+        final String name,
+        final CacheSpec cacheSpec,
+        final MeterRegistry meterRegistry,
+        final Clock clock,
+        final Executor refreshExecutor) {
+      super(true);
+      this.name = name;
+      this.cacheSpec = cacheSpec;
+      this.clock = clock;
+      this.refreshExecutor = refreshExecutor;
+
+      this.hitCounter = cacheCounter(meterRegistry, "hit");
+      this.staleCounter = cacheCounter(meterRegistry, "stale");
+      this.missCounter = cacheCounter(meterRegistry, "miss");
+      this.evictionCounter =
+          Counter.builder("authsvc.cache.evictions").tag("cache", name).register(meterRegistry);
+      this.loadSuccessTimer = loadTimer(meterRegistry, "success");
+      this.loadFailureTimer = loadTimer(meterRegistry, "failure");
+      Gauge.builder("authsvc.cache.size", entries, Map::size)
+          .tag("cache", name)
+          .register(meterRegistry);
+      // stale values are served, so they count as hits
+      Gauge.builder("authsvc.cache.hit.ratio", this, RefreshAheadCache::getHitRatio)
+          .tag("cache", name)
+          .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+      return entries;
+    }
+
+    @Override
+    protected Object lookup(final Object key) {
+      final Entry entry = entries.get(key);
+      if (entry == null) {
+        missCounter.increment();
+        return null;
+      }
+
+      final long ageMillis = clock.millis() - entry.loadedAtMillis();
+      if (ageMillis >= getRefreshAfterMillis()) {
+        refresh(key);
+      }
+      if (ageMillis < cacheSpec.ttl().toMillis()) {
+        hitCounter.increment();
+        return entry.storeValue();
+      }
+      if (ageMillis < getMaxAgeMillis()) {
+        staleCounter.increment();
+        return entry.storeValue();
+      }
+
+      if (entries.remove(key, entry)) {
+        evictionCounter.increment();
+      }
+      missCounter.increment();
+      return null;
+    }
+
+    // one load per key at a time, concurrent misses of the key wait for the same load
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object key, final Callable<T> valueLoader) {
+      final Object storeValue = lookup(key);
+      if (storeValue != null) {
+        return (T) fromStoreValue(storeValue);
+      }
+
+      final FutureTask<Object> load =
+          new FutureTask<>(
+              () -> {
+                final Object loadedValue = toStoreValue(load(valueLoader));
+                putEntry(key, loadedValue);
+                return loadedValue;
+              });
+      final FutureTask<Object> runningLoad = loads.putIfAbsent(key, load);
+      if (runningLoad == null) {
+        try {
+          load.run();
+        } finally {
+          loads.remove(key, load);
+        }
+      }
+
+      try {
+        return (T) fromStoreValue((runningLoad == null ? load : runningLoad).get());
+      } catch (ExecutionException ex) {
+        throw new ValueRetrievalException(key, valueLoader, ex.getCause());
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new ValueRetrievalException(key, valueLoader, ex);
+      }
+    }
+
+    @Override
+    public void put(final Object key, final Object value) {
+      putEntry(key, toStoreValue(value));
+    }
+
+    @Override
+    public void evict(final Object key) {
+      entries.remove(key);
+    }
+
+    @Override
+    public void clear() {
+      entries.clear();
+    }
+
+    void refreshDue() {
+      final long nowMillis = clock.millis();
+      entries.forEach(
+          (key, entry) -> {
+            final long ageMillis = nowMillis - entry.loadedAtMillis();
+            if (ageMillis >= getMaxAgeMillis()) {
+              if (entries.remove(key, entry)) {
+                evictionCounter.increment();
+              }
+            } else if (ageMillis >= getRefreshAfterMillis()) {
+              refresh(key);
+            }
+          });
+    }
+
+    private void refresh(final Object key) {
+      if (cacheSpec.loader() == null || !refreshes.add(key)) {
+        return;
+      }
+      try {
+        refreshExecutor.execute(
+            () -> {
+              try {
+                putEntry(key, toStoreValue(load(() -> cacheSpec.loader().apply(key))));
+              } catch (Exception ex) {
+                // the current value stays until it is too stale, next read or sweep tries again
+                log.warn("Cache Refresh Error: Cache=[{}], Key=[{}]", name, key, ex);
+              } finally {
+                refreshes.remove(key);
+              }
+            });
+      } catch (RejectedExecutionException ex) {
+        refreshes.remove(key);
+      }
+    }
+
+    private <T> T load(final Callable<T> valueLoader) throws Exception {
+      final long startNanos = System.nanoTime();
+      try {
+        final T value = valueLoader.call();
+        loadSuccessTimer.record(Duration.ofNanos(System.nanoTime() - startNanos));
+        return value;
+      } catch (Exception ex) {
+        loadFailureTimer.record(Duration.ofNanos(System.nanoTime() - startNanos));
+        throw ex;
+      }
+    }
+
+    // over max size, the entries loaded first go first
+    private void putEntry(final Object key, final Object storeValue) {
+      entries.put(key, new Entry(storeValue, clock.millis()));
+      while (entries.size() > cacheSpec.maxSize()) {
+        entries.entrySet().stream()
+            .min(Map.Entry.comparingByValue(Comparator.comparingLong(Entry::loadedAtMillis)))
+            .ifPresent(
+                oldest -> {
+                  if (entries.remove(oldest.getKey(), oldest.getValue())) {
+                    evictionCounter.increment();
+                  }
+                });
+      }
+    }
+
+    private long getRefreshAfterMillis() {
+      return cacheSpec.ttl().minus(cacheSpec.refreshAhead()).toMillis();
+    }
+
+    // without a loader nothing reloads a stale entry, so it is not served
+    private long getMaxAgeMillis() {
+      return cacheSpec.loader() == null
+          ? cacheSpec.ttl().toMillis()
+          : cacheSpec.ttl().plus(cacheSpec.maxStale()).toMillis();
+    }
+
+    private double getHitRatio() {
+      final double hits = hitCounter.count() + staleCounter.count();
+      final double gets = hits + missCounter.count();
+      return gets == 0 ? 0 : hits / gets;
+    }
+
+    private Counter cacheCounter(final MeterRegistry meterRegistry, final String result) {
+      return Counter.builder("authsvc.cache.gets")
+          .tag("cache", name)
+          .tag("result", result)
+          .register(meterRegistry);
+    }
+
+    private Timer loadTimer(final MeterRegistry meterRegistry, final String result) {
+      return Timer.builder("authsvc.cache.load")
+          .tag("cache", name)
+          .tag("result", result)
+          .register(meterRegistry);
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package auth.service.app.util;
+
+import auth.service.app.model.entity.BaseEntity;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+// entities read by CircularDependencyService in the current request, kept in the request
+// attributes so the same lookup is done once per request, the reads served from here are counted
+// for the request log. only the lookup is kept, the deleted check is done by the caller on every
+// read. an entity written in the request is evicted (see EntityCacheService)
+// outside of a request (scheduled, async) nothing is kept
+public final class RequestIdentityMap {
+
+  private static final String REQUEST_ATTRIBUTE_IDENTITY_MAP = "requestIdentityMap";
+
+  private final Map<Key, BaseEntity> entities = new HashMap<>();
+  private int readsAvoided;
+
+  private RequestIdentityMap() {}
+
+  // key is the id or any other unique lookup value (eg: role name) of the entity
+  public static <T extends BaseEntity> T read(
+      final Class<T> entityType, final Object key, final Supplier<T> reader) {
+    final RequestIdentityMap requestIdentityMap = current(Boolean.TRUE);
+    if (requestIdentityMap == null) {
+      return reader.get();
+    }
+
+    final Key entityKey = new Key(entityType, key);
+    final BaseEntity entity = requestIdentityMap.entities.get(entityKey);
+    if (entity != null) {
+      requestIdentityMap.readsAvoided++;
+      return entityType.cast(entity);
+    }
+
+    // not found is thrown, and not kept
+    final T readEntity = reader.get();
+    requestIdentityMap.entities.put(entityKey, readEntity);
+    return readEntity;
+  }
+
+  // for an entity read by another key, so a read by id is also served from here
+  public static void put(final BaseEntity entity) {
+    final RequestIdentityMap requestIdentityMap = current(Boolean.TRUE);
+    if (requestIdentityMap != null) {
+      requestIdentityMap.entities.put(new Key(entity.getClass(), entity.getId()), entity);
+    }
+  }
+
+  // every entry of the entity, whatever key it was read by
+  public static void evict(final Class<?> entityType, final Long id) {
+    final RequestIdentityMap requestIdentityMap = current(Boolean.FALSE);
+    if (requestIdentityMap != null) {
+      requestIdentityMap
+          .entities
+          .entrySet()
+          .removeIf(
+              entry ->
+                  entry.getKey().entityType() == entityType
+                      && Objects.equals(entry.getValue().getId(), id));
+    }
+  }
+
+  public static int getReadsAvoided(final HttpServletRequest request) {
+    return request.getAttribute(REQUEST_ATTRIBUTE_IDENTITY_MAP)
+            instanceof RequestIdentityMap requestIdentityMap
+        ? requestIdentityMap.readsAvoided
+        : 0;
+  }
+
+  private static RequestIdentityMap current(final boolean isCreate) {
+    final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+    if (requestAttributes == null) {
+      return null;
+    }
+
+    if (requestAttributes.getAttribute(
+            REQUEST_ATTRIBUTE_IDENTITY_MAP, RequestAttributes.SCOPE_REQUEST)
+        instanceof RequestIdentityMap requestIdentityMap) {
+      return requestIdentityMap;
+    }
+    if (!isCreate) {
+      return null;
+    }
+
+    final RequestIdentityMap requestIdentityMap = new RequestIdentityMap();
+    requestAttributes.setAttribute(
+        REQUEST_ATTRIBUTE_IDENTITY_MAP, requestIdentityMap, RequestAttributes.SCOPE_REQUEST);
+    return requestIdentityMap;
+  }
+
+  private record Key(Class<?> entityType, Object key) {}
+}
@@ -0,0 +1,118 @@
+package auth.service.app.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// read through cache of immutable values, invalidated by whoever changes the source, max stale is
+// only a backstop. every invalidation increments the version, a load that overlaps one is returned
+// but not cached, so it can not put back a value read before the change. not found is not cached
+public class VersionedNearCache<K, V> {
+
+  private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+  private final AtomicLong version = new AtomicLong();
+  private final long maxStaleMillis;
+  private final int maxSize;
+  private final Clock clock;
+  private final Counter hitCounter;
+  private final Counter missCounter;
+  private final Counter evictionCounter;
+
+  public VersionedNearCache(
+      final String name,
+      final long maxStaleMillis,
+      final int maxSize,
+      final Clock clock,
+      final MeterRegistry meterRegistry) {
+    this.maxStaleMillis = maxStaleMillis;
+    this.maxSize = maxSize;
+    this.clock = clock;
+    this.hitCounter = cacheCounter(meterRegistry, name, "hit");
+    this.missCounter = cacheCounter(meterRegistry, name, "miss");
+    this.evictionCounter = cacheCounter(meterRegistry, name, "eviction");
+    Gauge.builder("authsvc.entity.cache.size", entries, Map::size)
+        .tag("cache", name)
+        .register(meterRegistry);
+  }
+
+  public Optional<V> get(final K key, final Function<K, Optional<V>> loader) {
+    final Entry<V> cachedEntry = entries.get(key);
+    if (cachedEntry != null && clock.millis() - cachedEntry.loadedAtMillis() < maxStaleMillis) {
+      hitCounter.increment();
+      return Optional.of(cachedEntry.value());
+    }
+
+    missCounter.increment();
+    final long loadVersion = version.get();
+    final Optional<V> loadedValue = loader.apply(key);
+    if (loadedValue.isEmpty()) {
+      entries.remove(key);
+      return loadedValue;
+    }
+
+    final Entry<V> loadedEntry = new Entry<>(loadedValue.get(), clock.millis());
+    if (entries.size() >= maxSize) {
+      evict();
+    }
+    entries.put(key, loadedEntry);
+    if (version.get() != loadVersion) {
+      entries.remove(key, loadedEntry);
+    }
+    return loadedValue;
+  }
+
+  public void invalidate(final K key) {
+    version.incrementAndGet();
+    if (entries.remove(key) != null) {
+      evictionCounter.increment();
+    }
+  }
+
+  public void invalidateIf(final Predicate<V> predicate) {
+    version.incrementAndGet();
+    entries
+        .values()
+        .removeIf(
+            entry -> {
+              final boolean isEvicted = predicate.test(entry.value());
+              if (isEvicted) {
+                evictionCounter.increment();
+              }
+              return isEvicted;
+            });
+  }
+
+  public void invalidateAll() {
+    invalidateIf(value -> true);
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  // the tables cached are small, so this is rare, drops expired entries first and then everything
+  private void evict() {
+    final long nowMillis = clock.millis();
+    entries.values().removeIf(entry -> nowMillis - entry.loadedAtMillis() >= maxStaleMillis);
+    if (entries.size() >= maxSize) {
+      entries.clear();
+    }
+  }
+
+  private static Counter cacheCounter(
+      final MeterRegistry meterRegistry, final String name, final String result) {
+    return Counter.builder("authsvc.entity.cache")
+        .tag("cache", name)
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  private record Entry<V>(V value, long loadedAtMillis) {}
+}
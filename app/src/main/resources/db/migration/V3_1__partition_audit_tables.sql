@@ -0,0 +1,85 @@
+-- audit tables range partitioned by month on created_at, so retention drops whole partitions
+-- instead of deleting rows. partitions are named <table>_pYYYYMM and kept by AuditPartitionService,
+-- which creates them ahead of time and drops the ones older than retention
+-- primary key must include the partition key, id stays unique as it comes from the identity
+-- the default partition only catches rows if a month was not created in time
+DO
+$$
+    DECLARE
+        audit_table     RECORD;
+        partition_month DATE;
+        last_month      DATE := date_trunc('month', CURRENT_DATE) + INTERVAL '3 months';
+    BEGIN
+        FOR audit_table IN
+            SELECT *
+            FROM (VALUES ('audit_platform', 'platform_id', 'platform'),
+                         ('audit_profile', 'profile_id', 'profile'),
+                         ('audit_role', 'role_id', 'role'),
+                         ('audit_permission', 'permission_id', 'permission')) AS t (table_name, entity_column, entity_table)
+            LOOP
+                EXECUTE format('ALTER TABLE %I RENAME TO %I',
+                               audit_table.table_name, audit_table.table_name || '_unpartitioned');
+                EXECUTE format('ALTER SEQUENCE %s RENAME TO %I',
+                               pg_get_serial_sequence(audit_table.table_name || '_unpartitioned', 'id'),
+                               audit_table.table_name || '_unpartitioned_id_seq');
+
+                EXECUTE format($ddl$
+                    CREATE TABLE %1$I
+                    (
+                        id         BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+                        %2$I       BIGINT,
+                        event_type VARCHAR(50)                             NOT NULL,
+                        event_desc TEXT,
+                        event_data JSONB,
+                        created_at TIMESTAMP                               NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                        created_by BIGINT,
+                        ip_address VARCHAR(250)                            NOT NULL,
+                        user_agent VARCHAR(1000)                           NOT NULL,
+                        PRIMARY KEY (id, created_at),
+                        FOREIGN KEY (%2$I) REFERENCES %3$I (id) ON DELETE SET NULL,
+                        FOREIGN KEY (created_by) REFERENCES profile (id) ON DELETE SET NULL
+                    ) PARTITION BY RANGE (created_at)
+                    $ddl$, audit_table.table_name, audit_table.entity_column, audit_table.entity_table);
+                EXECUTE format('CREATE TABLE %I PARTITION OF %I DEFAULT',
+                               audit_table.table_name || '_default', audit_table.table_name);
+
+                EXECUTE format('SELECT date_trunc(''month'', COALESCE(MIN(created_at), CURRENT_DATE)) FROM %I',
+                               audit_table.table_name || '_unpartitioned')
+                    INTO partition_month;
+                WHILE partition_month <= last_month
+                    LOOP
+                        EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                                       audit_table.table_name || '_p' || to_char(partition_month, 'YYYYMM'),
+                                       audit_table.table_name,
+                                       partition_month,
+                                       partition_month + INTERVAL '1 month');
+                        partition_month := partition_month + INTERVAL '1 month';
+                    END LOOP;
+
+                EXECUTE format($dml$
+                    INSERT INTO %1$I
+                    (id, %2$I, event_type, event_desc, event_data, created_at, created_by, ip_address, user_agent)
+                    SELECT id, %2$I, event_type, event_desc, event_data, created_at, created_by, ip_address, user_agent
+                    FROM %3$I
+                    $dml$, audit_table.table_name, audit_table.entity_column,
+                               audit_table.table_name || '_unpartitioned');
+                EXECUTE format('SELECT setval(%L, COALESCE(MAX(id), 0) + 1, false) FROM %I',
+                               pg_get_serial_sequence(audit_table.table_name, 'id'), audit_table.table_name);
+                EXECUTE format('DROP TABLE %I', audit_table.table_name || '_unpartitioned');
+            END LOOP;
+    END
+$$;
+
+-- indexes created on the partitioned tables apply to every partition
+CREATE INDEX idx_audit_platform_created_at ON audit_platform (created_at);
+CREATE INDEX idx_audit_profile_created_at ON audit_profile (created_at);
+CREATE INDEX idx_audit_role_created_at ON audit_role (created_at);
+CREATE INDEX idx_audit_permission_created_at ON audit_permission (created_at);
+CREATE INDEX idx_audit_platform_created_by ON audit_platform (created_by);
+CREATE INDEX idx_audit_profile_created_by ON audit_profile (created_by);
+CREATE INDEX idx_audit_role_created_by ON audit_role (created_by);
+CREATE INDEX idx_audit_permission_created_by ON audit_permission (created_by);
+CREATE INDEX idx_audit_platform_platform_id ON audit_platform (platform_id);
+CREATE INDEX idx_audit_profile_profile_id ON audit_profile (profile_id);
+CREATE INDEX idx_audit_role_role_id ON audit_role (role_id);
+CREATE INDEX idx_audit_permission_permission_id ON audit_permission (permission_id);
@@ -0,0 +1,2 @@
+INSERT INTO permission (permission_name, permission_desc)
+VALUES ('AUTHSVC_AUDIT_EXPORT', 'Can Export Audits');
@@ -0,0 +1,148 @@
+package integration.auth.service.app.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import auth.service.app.service.AuditExportService;
+import auth.service.app.util.ConstantUtils;
+import helper.TestData;
+import integration.BaseTest;
+import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+
+@Tag("integration")
+@DisplayName("AuditController Tests")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class AuditControllerTest extends BaseTest {
+
+  @Autowired private AuditExportService auditExportService;
+
+  @Test
+  @DisplayName("Export Audits Success")
+  void test_Success() {
+    AuthToken authToken =
+        TestData.getAuthTokenWithPermissions(List.of("AUTHSVC_AUDIT_EXPORT"), Boolean.FALSE);
+    String bearerAuth = TestData.getBearerAuthCredentialsForTest(authToken);
+
+    byte[] response =
+        webTestClient
+            .get()
+            .uri("/api/v1/audits/export?componentName=ROLE")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + bearerAuth)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .expectBody()
+            .returnResult()
+            .getResponseBody();
+
+    assertNotNull(response);
+    List<String> lines = new String(response, StandardCharsets.UTF_8).lines().toList();
+    assertEquals(4, lines.size());
+    assertTrue(lines.getFirst().startsWith("{\"id\":"));
+    assertTrue(lines.getFirst().contains("\"eventType\":\"Role Audit 1 One\""));
+    assertTrue(lines.getLast().contains("\"eventType\":\"Role Audit 9 One\""));
+  }
+
+  @Test
+  @DisplayName("Export Audits Success Filtered And Gzip")
+  void test_Success_Gzip() throws IOException {
+    AuthToken authToken =
+        TestData.getAuthTokenWithPermissions(List.of("AUTHSVC_AUDIT_EXPORT"), Boolean.FALSE);
+    String bearerAuth = TestData.getBearerAuthCredentialsForTest(authToken);
+
+    byte[] response =
+        webTestClient
+            .get()
+            .uri(
+                "/api/v1/audits/export?componentName=PROFILE"
+                    + "&eventType=Profile Audit 1 Two&eventType=Profile Audit 9 One&isGzip=true")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + bearerAuth)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueMatches(HttpHeaders.CONTENT_DISPOSITION, ".*audit_profile\\.ndjson\\.gz.*")
+            .expectBody()
+            .returnResult()
+            .getResponseBody();
+
+    assertNotNull(response);
+    try (GZIPInputStream gzipInputStream =
+        new GZIPInputStream(new ByteArrayInputStream(response))) {
+      List<String> lines =
+          new String(gzipInputStream.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+      assertEquals(2, lines.size());
+      assertTrue(lines.getFirst().contains("\"eventType\":\"Profile Audit 1 Two\""));
+      assertTrue(lines.getLast().contains("\"eventType\":\"Profile Audit 9 One\""));
+    }
+  }
+
+  @Test
+  @DisplayName("Export Audits Failure Too Many Exports")
+  void test_Failure_TooManyExports() {
+    AuthToken authToken =
+        TestData.getAuthTokenWithPermissions(List.of("AUTHSVC_AUDIT_EXPORT"), Boolean.FALSE);
+    String bearerAuth = TestData.getBearerAuthCredentialsForTest(authToken);
+
+    // exports still streaming
+    for (int i = 0; i < ConstantUtils.AUDIT_EXPORT_MAX_CONCURRENT; i++) {
+      assertTrue(auditExportService.tryAcquireExport());
+    }
+    try {
+      webTestClient
+          .get()
+          .uri("/api/v1/audits/export?componentName=ROLE")
+          .header(HttpHeaders.AUTHORIZATION, "Bearer " + bearerAuth)
+          .exchange()
+          .expectStatus()
+          .isEqualTo(429)
+          .expectHeader()
+          .valueEquals(
+              HttpHeaders.RETRY_AFTER,
+              String.valueOf(ConstantUtils.AUDIT_EXPORT_RETRY_AFTER_SECONDS));
+    } finally {
+      for (int i = 0; i < ConstantUtils.AUDIT_EXPORT_MAX_CONCURRENT; i++) {
+        auditExportService.releaseExport();
+      }
+    }
+
+    webTestClient
+        .get()
+        .uri("/api/v1/audits/export?componentName=ROLE")
+        .header(HttpHeaders.AUTHORIZATION, "Bearer " + bearerAuth)
+        .exchange()
+        .expectStatus()
+        .isOk();
+  }
+
+  @Test
+  @DisplayName("Export Audits Failure No Permission")
+  void test_Failure_NoPermission() {
+    AuthToken authToken =
+        TestData.getAuthTokenWithPermissions(List.of("AUTHSVC_ROLE_READ"), Boolean.FALSE);
+    String bearerAuth = TestData.getBearerAuthCredentialsForTest(authToken);
+
+    webTestClient
+        .get()
+        .uri("/api/v1/audits/export?componentName=ROLE")
+        .header(HttpHeaders.AUTHORIZATION, "Bearer " + bearerAuth)
+        .exchange()
+        .expectStatus()
+        .isForbidden();
+  }
+}
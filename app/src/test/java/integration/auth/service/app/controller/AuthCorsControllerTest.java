@@ -24,6 +24,7 @@ import auth.service.app.model.entity.ProfileEntity;
 import auth.service.app.model.entity.RoleEntity;
 import auth.service.app.model.entity.TokenEntity;
 import auth.service.app.model.enums.AuditEnums;
+import auth.service.app.model.events.AuditContext;
 import auth.service.app.repository.PlatformProfileRoleRepository;
 import auth.service.app.repository.PlatformRepository;
 import auth.service.app.repository.ProfileAddressRepository;
@@ -32,16 +33,21 @@ import auth.service.app.repository.RoleRepository;
 import auth.service.app.repository.TokenRepository;
 import auth.service.app.service.AuditService;
 import auth.service.app.service.EmailService;
+import auth.service.app.service.ProfileService;
 import auth.service.app.util.ConstantUtils;
+import auth.service.app.util.LoginRateLimiter;
 import auth.service.app.util.PasswordUtils;
 import helper.TestData;
 import integration.BaseTest;
 import io.github.bibekaryal86.shdsvc.helpers.CommonUtilities;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.concurrent.ThreadLocalRandom;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -50,6 +56,9 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -67,6 +76,10 @@ public class AuthCorsControllerTest extends BaseTest {
   @Autowired private ProfileAddressRepository profileAddressRepository;
   @Autowired private TokenRepository tokenRepository;
   @Autowired private PasswordUtils passwordUtils;
+  @Autowired private ProfileService profileService;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private LoginRateLimiter loginRateLimiter;
+  @Autowired private JdbcTemplate jdbcTemplate;
 
   @MockitoBean private AuditService auditService;
   @MockitoBean private EmailService emailService;
@@ -108,6 +121,7 @@ public class AuthCorsControllerTest extends BaseTest {
   @AfterEach
   void tearDown() {
     reset(auditService, emailService, envServiceConnector, publisher);
+    loginRateLimiter.clear();
     pprRepository.deleteById(pprEntity.getId());
 
     profileEntity.setPassword("password7");
@@ -173,12 +187,64 @@ public class AuthCorsControllerTest extends BaseTest {
       // verify audit service called for token login success
       verify(auditService, after(100).times(1))
           .auditProfile(
-              any(HttpServletRequest.class),
+              any(AuditContext.class),
               any(ProfileEntity.class),
               argThat(eventType -> eventType.equals(AuditEnums.AuditProfile.PROFILE_LOGIN)),
               any(String.class));
     }
 
+    @Test
+    @DisplayName("Login Success Rehash Legacy Password")
+    void test_Success_RehashLegacyPassword() {
+      profileEntity.setPassword(new BCryptPasswordEncoder(4).encode(PASSWORD));
+      profileRepository.save(profileEntity);
+
+      ProfilePasswordRequest request =
+          new ProfilePasswordRequest(profileEntity.getEmail(), PASSWORD);
+
+      webTestClient
+          .post()
+          .uri(String.format("/api/v1/cors/platform/%s/login", platformEntity.getId()))
+          .bodyValue(request)
+          .exchange()
+          .expectStatus()
+          .isOk();
+
+      profileEntity = profileRepository.findById(profileEntity.getId()).orElseThrow();
+      assertTrue(profileEntity.getPassword().startsWith("{bcrypt}$2a$"));
+      // never rehashed below the strength of the legacy hashes
+      assertTrue(Integer.parseInt(profileEntity.getPassword().substring(12, 14)) >= 12);
+      assertTrue(passwordUtils.verifyPassword(PASSWORD, profileEntity.getPassword()));
+      assertEquals(0, profileEntity.getLoginAttempts());
+    }
+
+    @Test
+    @DisplayName("Login Success Query Count")
+    void test_Success_QueryCount() {
+      ProfilePasswordRequest request =
+          new ProfilePasswordRequest(profileEntity.getEmail(), PASSWORD);
+      Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+      statistics.setStatisticsEnabled(true);
+      statistics.clear();
+
+      ProfilePasswordTokenResponse response =
+          profileService.loginProfile(platformEntity.getId(), request, "127.0.0.1");
+
+      long prepareStatementCount = statistics.getPrepareStatementCount();
+      long entityLoadCount = statistics.getEntityLoadCount();
+      statistics.setStatisticsEnabled(false);
+
+      assertNotNull(response.getAccessToken());
+      // login lookup, then token insert and login state update in one transaction
+      assertEquals(3, prepareStatementCount);
+      assertEquals(0, entityLoadCount);
+
+      profileEntity = profileRepository.findById(profileEntity.getId()).orElseThrow();
+      assertNotNull(profileEntity.getLastLogin());
+      assertEquals(0, profileEntity.getLoginAttempts());
+      assertNotNull(tokenRepository.findByRefreshToken(response.getRefreshToken()).orElse(null));
+    }
+
     @Test
     @DisplayName("Login Success Null Login Attempts")
     void test_Success_NullLoginAttempts() {
@@ -234,7 +300,7 @@ public class AuthCorsControllerTest extends BaseTest {
       // verify audit service called for token login success
       verify(auditService, after(100).times(1))
           .auditProfile(
-              any(HttpServletRequest.class),
+              any(AuditContext.class),
               any(ProfileEntity.class),
               argThat(eventType -> eventType.equals(AuditEnums.AuditProfile.PROFILE_LOGIN)),
               any(String.class));
@@ -284,7 +350,7 @@ public class AuthCorsControllerTest extends BaseTest {
       // verify audit service called for token login success
       verify(auditService, after(100).times(1))
           .auditProfile(
-              any(HttpServletRequest.class),
+              any(AuditContext.class),
               isNull(),
               argThat(eventType -> eventType.equals(AuditEnums.AuditProfile.PROFILE_LOGIN_ERROR)),
               any(String.class));
@@ -340,7 +406,7 @@ public class AuthCorsControllerTest extends BaseTest {
       // verify audit service called for token login success
       verify(auditService, after(100).times(1))
           .auditProfile(
-              any(HttpServletRequest.class),
+              any(AuditContext.class),
               any(ProfileEntity.class),
               argThat(eventType -> eventType.equals(AuditEnums.AuditProfile.PROFILE_LOGIN_ERROR)),
               any(String.class));
@@ -399,7 +465,7 @@ public class AuthCorsControllerTest extends BaseTest {
       // verify audit service called for token login success
       verify(auditService, after(100).times(1))
           .auditProfile(
-              any(HttpServletRequest.class),
+              any(AuditContext.class),
               any(ProfileEntity.class),
               argThat(eventType -> eventType.equals(AuditEnums.AuditProfile.PROFILE_LOGIN_ERROR)),
               any(String.class));
@@ -462,7 +528,7 @@ public class AuthCorsControllerTest extends BaseTest {
       // verify audit service called for token login success
       verify(auditService, after(100).times(1))
           .auditProfile(
-              any(HttpServletRequest.class),
+              any(AuditContext.class),
               any(ProfileEntity.class),
               argThat(eventType -> eventType.equals(AuditEnums.AuditProfile.PROFILE_LOGIN_ERROR)),
               any(String.class));
@@ -525,7 +591,7 @@ public class AuthCorsControllerTest extends BaseTest {
       // verify audit service called for token login success
       verify(auditService, after(100).times(1))
           .auditProfile(
-              any(HttpServletRequest.class),
+              any(AuditContext.class),
               any(ProfileEntity.class),
               argThat(eventType -> eventType.equals(AuditEnums.AuditProfile.PROFILE_LOGIN_ERROR)),
               any(String.class));
@@ -588,7 +654,7 @@ public class AuthCorsControllerTest extends BaseTest {
       // verify audit service called for token login success
       verify(auditService, after(100).times(1))
           .auditProfile(
-              any(HttpServletRequest.class),
+              any(AuditContext.class),
               any(ProfileEntity.class),
               argThat(eventType -> eventType.equals(AuditEnums.AuditProfile.PROFILE_LOGIN_ERROR)),
               any(String.class));
@@ -647,7 +713,7 @@ public class AuthCorsControllerTest extends BaseTest {
       // verify audit service called for token login success
       verify(auditService, after(100).times(1))
           .auditProfile(
-              any(HttpServletRequest.class),
+              any(AuditContext.class),
               any(ProfileEntity.class),
               argThat(eventType -> eventType.equals(AuditEnums.AuditProfile.PROFILE_LOGIN_ERROR)),
               any(String.class));
@@ -706,7 +772,120 @@ public class AuthCorsControllerTest extends BaseTest {
       // verify audit service called for token login success
       verify(auditService, after(100).times(1))
           .auditProfile(
-              any(HttpServletRequest.class),
+              any(AuditContext.class),
+              any(ProfileEntity.class),
+              argThat(eventType -> eventType.equals(AuditEnums.AuditProfile.PROFILE_LOGIN_ERROR)),
+              any(String.class));
+    }
+
+    @Test
+    @DisplayName("Login Success Profile Lock Expired")
+    void test_Success_ProfileLockExpired() {
+      jdbcTemplate.update(
+          "UPDATE profile SET login_attempts = 5, updated_date = ? WHERE id = ?",
+          LocalDateTime.now().minusMinutes(ConstantUtils.PROFILE_LOCK_MINUTES + 1),
+          profileEntity.getId());
+
+      ProfilePasswordRequest request =
+          new ProfilePasswordRequest(profileEntity.getEmail(), PASSWORD);
+
+      webTestClient
+          .post()
+          .uri(String.format("/api/v1/cors/platform/%s/login", platformEntity.getId()))
+          .bodyValue(request)
+          .exchange()
+          .expectStatus()
+          .isOk();
+
+      profileEntity = profileRepository.findById(profileEntity.getId()).orElseThrow();
+      assertEquals(0, profileEntity.getLoginAttempts());
+    }
+
+    @Test
+    @DisplayName("Login Failure Throttled Spoofed X-Forwarded-For")
+    void test_Failure_Throttled_SpoofedXForwardedFor() {
+      // the proxy appends the address it saw, the client changes what it sends before it
+      System.setProperty(ConstantUtils.ENV_TRUSTED_PROXY_HOPS, "1");
+      try {
+        for (int i = 0; i < ConstantUtils.LOGIN_LIMIT_IP_ATTEMPTS; i++) {
+          webTestClient
+              .post()
+              .uri(String.format("/api/v1/cors/platform/%s/login", platformEntity.getId()))
+              .header("X-Forwarded-For", String.format("203.0.113.%d, 198.51.100.7", i))
+              .bodyValue(new ProfilePasswordRequest("spoofed" + i + "@one.com", PASSWORD))
+              .exchange()
+              .expectStatus()
+              .value(status -> assertNotEquals(429, status));
+        }
+
+        webTestClient
+            .post()
+            .uri(String.format("/api/v1/cors/platform/%s/login", platformEntity.getId()))
+            .header("X-Forwarded-For", "203.0.113.255, 198.51.100.7")
+            .bodyValue(new ProfilePasswordRequest(profileEntity.getEmail(), PASSWORD))
+            .exchange()
+            .expectStatus()
+            .isEqualTo(429);
+      } finally {
+        System.clearProperty(ConstantUtils.ENV_TRUSTED_PROXY_HOPS);
+      }
+    }
+
+    @Test
+    @DisplayName("Login Failure Throttled")
+    void test_Failure_Throttled() {
+      // stay below profile lock, so each failure is an incorrect password
+      profileEntity.setLoginAttempts(0);
+      profileRepository.save(profileEntity);
+
+      ProfilePasswordRequest request =
+          new ProfilePasswordRequest(profileEntity.getEmail(), PASSWORD + "IS_WRONG");
+
+      for (int i = 0; i < ConstantUtils.LOGIN_LIMIT_EMAIL_FAILURES; i++) {
+        webTestClient
+            .post()
+            .uri(String.format("/api/v1/cors/platform/%s/login", platformEntity.getId()))
+            .bodyValue(request)
+            .exchange()
+            .expectStatus()
+            .isUnauthorized();
+      }
+      int loginAttempts =
+          profileRepository.findById(profileEntity.getId()).orElseThrow().getLoginAttempts();
+
+      // correct password is not checked either
+      request = new ProfilePasswordRequest(profileEntity.getEmail(), PASSWORD);
+      WebTestClient.ResponseSpec responseSpec =
+          webTestClient
+              .post()
+              .uri(String.format("/api/v1/cors/platform/%s/login", platformEntity.getId()))
+              .bodyValue(request)
+              .exchange();
+
+      // assert status
+      responseSpec.expectStatus().isEqualTo(429);
+      responseSpec.expectHeader().exists(HttpHeaders.RETRY_AFTER);
+
+      // assert body
+      ProfilePasswordTokenResponse response =
+          responseSpec
+              .expectBody(ProfilePasswordTokenResponse.class)
+              .returnResult()
+              .getResponseBody();
+      assertNotNull(response);
+      assertEquals(
+          "Too many login attempts, please try again later...",
+          response.getResponseMetadata().responseStatusInfo().errMsg());
+      assertNull(response.getAccessToken());
+
+      // throttled attempt is not counted
+      profileEntity = profileRepository.findById(profileEntity.getId()).orElseThrow();
+      assertEquals(loginAttempts, profileEntity.getLoginAttempts());
+
+      // verify audit service not called for throttled attempt
+      verify(auditService, after(100).times(ConstantUtils.LOGIN_LIMIT_EMAIL_FAILURES))
+          .auditProfile(
+              any(AuditContext.class),
               any(ProfileEntity.class),
               argThat(eventType -> eventType.equals(AuditEnums.AuditProfile.PROFILE_LOGIN_ERROR)),
               any(String.class));
@@ -762,7 +941,7 @@ public class AuthCorsControllerTest extends BaseTest {
       // verify audit service called for token login success
       verify(auditService, after(100).times(1))
           .auditProfile(
-              any(HttpServletRequest.class),
+              any(AuditContext.class),
               any(ProfileEntity.class),
               argThat(eventType -> eventType.equals(AuditEnums.AuditProfile.PROFILE_LOGIN_ERROR)),
               any(String.class));
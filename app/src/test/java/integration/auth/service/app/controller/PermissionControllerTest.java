@@ -1074,7 +1074,7 @@ public class PermissionControllerTest extends BaseTest {
           response.getResponseMetadata().responseCrudInfo());
 
       verify(auditService, after(100).times(1))
-          .auditPermission(
+          .auditPermissionBeforeHardDelete(
               any(HttpServletRequest.class),
               argThat(
                   permissionEntityParam ->
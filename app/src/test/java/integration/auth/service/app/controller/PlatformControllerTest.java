@@ -942,7 +942,7 @@ public class PlatformControllerTest extends BaseTest {
           response.getResponseMetadata().responseCrudInfo());
 
       verify(auditService, after(100).times(1))
-          .auditPlatform(
+          .auditPlatformBeforeHardDelete(
               any(HttpServletRequest.class),
               argThat(
                   platformEntityParam ->
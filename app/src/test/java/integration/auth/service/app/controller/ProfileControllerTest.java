@@ -1609,7 +1609,7 @@ public class ProfileControllerTest extends BaseTest {
           response.getResponseMetadata().responseCrudInfo());
 
       verify(auditService, after(100).times(1))
-          .auditProfile(
+          .auditProfileBeforeHardDelete(
               any(HttpServletRequest.class),
               any(ProfileEntity.class),
               argThat(eventType -> eventType.equals(AuditEnums.AuditProfile.PROFILE_DELETE_HARD)),
@@ -930,7 +930,7 @@ public class RoleControllerTest extends BaseTest {
           response.getResponseMetadata().responseCrudInfo());
 
       verify(auditService, after(100).times(1))
-          .auditRole(
+          .auditRoleBeforeHardDelete(
               any(HttpServletRequest.class),
               argThat(
                   roleEntityParam ->
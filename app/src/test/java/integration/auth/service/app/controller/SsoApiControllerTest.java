@@ -8,6 +8,7 @@ import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.when;
 
 import auth.service.app.model.dto.ProfileResponse;
+import auth.service.app.model.token.PermissionCatalog;
 import helper.TestData;
 import integration.BaseTest;
 import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
@@ -207,4 +208,86 @@ public class SsoApiControllerTest extends BaseTest {
           .isUnauthorized();
     }
   }
+
+  @Nested
+  @DisplayName("PermissionCatalog tests")
+  class ReadPermissionCatalog {
+
+    @Test
+    @DisplayName("PermissionCatalog success")
+    void testReadPermissionCatalog_Success() {
+      PermissionCatalog permissionCatalog =
+          webTestClient
+              .get()
+              .uri(String.format("/api/v1/sso/%s/permissions/catalog", ID))
+              .header(HttpHeaders.AUTHORIZATION, "Bearer " + bearerAuthCredentials)
+              .exchange()
+              .expectStatus()
+              .isOk()
+              .expectBody(PermissionCatalog.class)
+              .returnResult()
+              .getResponseBody();
+      assertNotNull(permissionCatalog);
+      assertEquals(ID, permissionCatalog.platformId());
+      assertNotNull(permissionCatalog.version());
+      assertNotNull(permissionCatalog.permissions());
+    }
+
+    @Test
+    @DisplayName("PermissionCatalog success by version")
+    void testReadPermissionCatalog_Success_Version() {
+      PermissionCatalog permissionCatalog =
+          webTestClient
+              .get()
+              .uri(String.format("/api/v1/sso/%s/permissions/catalog", ID))
+              .header(HttpHeaders.AUTHORIZATION, "Bearer " + bearerAuthCredentials)
+              .exchange()
+              .expectBody(PermissionCatalog.class)
+              .returnResult()
+              .getResponseBody();
+      assertNotNull(permissionCatalog);
+
+      PermissionCatalog versionCatalog =
+          webTestClient
+              .get()
+              .uri(
+                  String.format(
+                      "/api/v1/sso/%s/permissions/catalog?version=%s",
+                      ID, permissionCatalog.version()))
+              .header(HttpHeaders.AUTHORIZATION, "Bearer " + bearerAuthCredentials)
+              .exchange()
+              .expectStatus()
+              .isOk()
+              .expectBody(PermissionCatalog.class)
+              .returnResult()
+              .getResponseBody();
+      assertNotNull(versionCatalog);
+      assertEquals(permissionCatalog.version(), versionCatalog.version());
+      assertEquals(permissionCatalog.permissions().size(), versionCatalog.permissions().size());
+    }
+
+    @Test
+    @DisplayName("PermissionCatalog failure unknown version")
+    void testReadPermissionCatalog_Failure_UnknownVersion() {
+      webTestClient
+          .get()
+          .uri(String.format("/api/v1/sso/%s/permissions/catalog?version=%s.unknown", ID, ID))
+          .header(HttpHeaders.AUTHORIZATION, "Bearer " + bearerAuthCredentials)
+          .exchange()
+          .expectStatus()
+          .isNotFound();
+    }
+
+    @Test
+    @DisplayName("PermissionCatalog failure different platform")
+    void testReadPermissionCatalog_Failure_DifferentPlatform() {
+      webTestClient
+          .get()
+          .uri("/api/v1/sso/9999/permissions/catalog")
+          .header(HttpHeaders.AUTHORIZATION, "Bearer " + bearerAuthCredentials)
+          .exchange()
+          .expectStatus()
+          .isForbidden();
+    }
+  }
 }
@@ -0,0 +1,29 @@
+package integration.auth.service.app.controller;
+
+import integration.BaseTest;
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+
+@Tag("integration")
+@DisplayName("WellKnownController Tests")
+public class WellKnownControllerTest extends BaseTest {
+
+  @Test
+  @DisplayName("JWKS is public and empty when tokens are HMAC signed")
+  void test_Success() {
+    webTestClient
+        .get()
+        .uri("/.well-known/jwks.json")
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .expectHeader()
+        .cacheControl(CacheControl.maxAge(Duration.ofHours(1)).cachePublic())
+        .expectBody()
+        .jsonPath("$.keys")
+        .isEmpty();
+  }
+}
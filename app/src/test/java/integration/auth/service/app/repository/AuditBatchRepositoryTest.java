@@ -0,0 +1,71 @@
+package integration.auth.service.app.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import auth.service.app.model.entity.AuditProfileEntity;
+import auth.service.app.model.enums.TypeEnums;
+import auth.service.app.model.events.AuditEvent;
+import auth.service.app.repository.AuditBatchRepository;
+import auth.service.app.repository.AuditProfileRepository;
+import integration.BaseTest;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+
+@Tag("integration")
+@DisplayName("AuditBatchRepository Integration Tests")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class AuditBatchRepositoryTest extends BaseTest {
+
+  @Autowired private AuditBatchRepository auditBatchRepository;
+  @Autowired private AuditProfileRepository auditProfileRepository;
+
+  private AuditEvent auditEvent(final String eventDesc, final String eventData) {
+    return new AuditEvent(
+        TypeEnums.ComponentName.PROFILE,
+        ID,
+        "PROFILE_UPDATE",
+        eventDesc,
+        eventData,
+        LocalDateTime.now(),
+        ID,
+        "127.0.0.1",
+        "batch-test",
+        "request-1",
+        System.currentTimeMillis());
+  }
+
+  @Test
+  @DisplayName("Should insert audits in one batch and read them back")
+  void shouldInsertAuditsAndReadBack() {
+    final int count =
+        auditBatchRepository.insertAudits(
+            TypeEnums.ComponentName.PROFILE,
+            List.of(
+                auditEvent("Batch One", "{\"id\": 1, \"email\": \"" + EMAIL + "\"}"),
+                auditEvent("Batch Two", null)));
+
+    assertEquals(2, count);
+
+    final List<AuditProfileEntity> auditProfileEntities =
+        auditProfileRepository.findByProfileId(ID).stream()
+            .filter(auditProfileEntity -> "batch-test".equals(auditProfileEntity.getUserAgent()))
+            .toList();
+    assertEquals(2, auditProfileEntities.size());
+
+    final AuditProfileEntity batchOne =
+        auditProfileEntities.stream()
+            .filter(auditProfileEntity -> "Batch One".equals(auditProfileEntity.getEventDesc()))
+            .findFirst()
+            .orElseThrow();
+    assertEquals(EMAIL, batchOne.getEventData().getEmail());
+    assertEquals(ID, batchOne.getCreatedBy().getId());
+    assertEquals("127.0.0.1", batchOne.getIpAddress());
+
+    auditProfileRepository.deleteAll(auditProfileEntities);
+  }
+}
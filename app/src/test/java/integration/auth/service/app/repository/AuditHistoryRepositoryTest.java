@@ -0,0 +1,133 @@
+package integration.auth.service.app.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import auth.service.app.model.dto.AuditHistoryDto;
+import auth.service.app.model.enums.TypeEnums;
+import auth.service.app.model.events.AuditEvent;
+import auth.service.app.repository.AuditBatchRepository;
+import auth.service.app.repository.AuditHistoryRepository;
+import auth.service.app.repository.AuditProfileRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import helper.ObjectMapperProvider;
+import integration.BaseTest;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+
+@Tag("integration")
+@DisplayName("AuditHistoryRepository Integration Tests")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class AuditHistoryRepositoryTest extends BaseTest {
+
+  // test data role audits are all created at the same time, so pages are ordered by id
+  private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+  @Autowired private AuditHistoryRepository auditHistoryRepository;
+  @Autowired private AuditBatchRepository auditBatchRepository;
+  @Autowired private AuditProfileRepository auditProfileRepository;
+
+  @Test
+  @DisplayName("Should read history newest first one page after another")
+  void shouldReadPagesByKeyset() {
+    final List<AuditHistoryDto> firstPage =
+        auditHistoryRepository.findAuditHistory(
+            TypeEnums.ComponentName.ROLE, ID, null, null, null, null, null, 2);
+    assertEquals(2, firstPage.size());
+    assertTrue(firstPage.get(0).getId() > firstPage.get(1).getId());
+    assertEquals(ID, firstPage.getFirst().getEntityId());
+    assertEquals(CREATED_AT, firstPage.getFirst().getCreatedAt());
+
+    final AuditHistoryDto last = firstPage.getLast();
+    final List<AuditHistoryDto> secondPage =
+        auditHistoryRepository.findAuditHistory(
+            TypeEnums.ComponentName.ROLE,
+            ID,
+            null,
+            null,
+            null,
+            last.getCreatedAt(),
+            last.getId(),
+            2);
+    assertEquals(1, secondPage.size());
+    assertTrue(secondPage.getFirst().getId() < last.getId());
+    assertEquals("Role Audit 1 One", secondPage.getFirst().getEventType());
+  }
+
+  @Test
+  @DisplayName("Should filter history by event type and date range")
+  void shouldFilterHistory() {
+    final List<AuditHistoryDto> byEventType =
+        auditHistoryRepository.findAuditHistory(
+            TypeEnums.ComponentName.ROLE,
+            ID,
+            List.of("Role Audit 1 Two", "Role Audit 1 Three"),
+            null,
+            null,
+            null,
+            null,
+            10);
+    assertEquals(2, byEventType.size());
+    assertEquals(
+        2,
+        auditHistoryRepository.countAuditHistory(
+            TypeEnums.ComponentName.ROLE,
+            ID,
+            List.of("Role Audit 1 Two", "Role Audit 1 Three"),
+            null,
+            null));
+
+    assertEquals(
+        3,
+        auditHistoryRepository.countAuditHistory(
+            TypeEnums.ComponentName.ROLE, ID, null, CREATED_AT, CREATED_AT.plusDays(1)));
+    assertEquals(
+        0,
+        auditHistoryRepository.countAuditHistory(
+            TypeEnums.ComponentName.ROLE, ID, null, CREATED_AT.plusSeconds(1), null));
+  }
+
+  @Test
+  @DisplayName("Should return event data as stored and write it into json as is")
+  void shouldPassEventDataThrough() {
+    auditBatchRepository.insertAudits(
+        TypeEnums.ComponentName.PROFILE,
+        List.of(
+            new AuditEvent(
+                TypeEnums.ComponentName.PROFILE,
+                ID,
+                "HISTORY_RAW",
+                "History Raw",
+                "{\"id\": 1, \"email\": \"" + EMAIL + "\"}",
+                CREATED_AT,
+                ID,
+                "127.0.0.1",
+                "history-test",
+                null,
+                System.currentTimeMillis())));
+
+    final List<AuditHistoryDto> history =
+        auditHistoryRepository.findAuditHistory(
+            TypeEnums.ComponentName.PROFILE,
+            ID,
+            List.of("HISTORY_RAW"),
+            null,
+            null,
+            null,
+            null,
+            10);
+    assertEquals(1, history.size());
+    assertTrue(history.getFirst().getEventData().contains(EMAIL));
+
+    final JsonNode json =
+        ObjectMapperProvider.objectMapper().valueToTree(history.getFirst()).get("eventData");
+    assertTrue(json.isObject());
+    assertEquals(EMAIL, json.get("email").asText());
+
+    auditProfileRepository.deleteById(history.getFirst().getId());
+  }
+}
@@ -3,8 +3,10 @@ package integration.auth.service.app.repository;
 import static org.junit.jupiter.api.Assertions.*;
 
 import auth.service.app.model.token.AuthTokenRolePermissionLookup;
+import auth.service.app.model.token.ProfileLoginLookup;
 import auth.service.app.repository.RawSqlRepository;
 import integration.BaseTest;
+import java.util.HashSet;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -546,4 +548,65 @@ public class RawSqlRepositoryTest extends BaseTest {
           "Profile 9 on Platform 9 has unassigned_date NOT NULL, should return empty");
     }
   }
+
+  @Nested
+  @DisplayName("findProfileForLogin() - Login lookup")
+  class ProfileForLoginTests {
+
+    @Test
+    @DisplayName("Should return profile, platform and role permissions for active assignment")
+    void shouldReturnProfileForLogin() {
+      ProfileLoginLookup result = rawSqlRepository.findProfileForLogin(ID, EMAIL);
+
+      assertNotNull(result);
+      assertEquals(ID, result.platformId());
+      assertNotNull(result.platformName());
+      assertEquals(ID, result.profileId());
+      assertEquals(EMAIL, result.email());
+      assertNotNull(result.password());
+      assertNotNull(result.isValidated());
+      assertTrue(result.isActive());
+    }
+
+    @Test
+    @DisplayName("Should return same role permissions as auth token lookup")
+    void shouldReturnSameRolePermissionsAsAuthTokenLookup() {
+      ProfileLoginLookup result = rawSqlRepository.findProfileForLogin(ID, EMAIL);
+      List<AuthTokenRolePermissionLookup> expected =
+          rawSqlRepository.findRolePermissionsForAuthToken(ID, ID);
+
+      assertNotNull(result);
+      assertEquals(new HashSet<>(expected), new HashSet<>(result.rolesPermissions()));
+    }
+
+    @Test
+    @DisplayName("Should return null for non-existent email")
+    void shouldReturnNullForNonExistentEmail() {
+      assertNull(rawSqlRepository.findProfileForLogin(ID, EMAIL_NOT_FOUND));
+    }
+
+    @Test
+    @DisplayName("Should return null when profile is not assigned to the platform")
+    void shouldReturnNullForInvalidCombination() {
+      assertNull(rawSqlRepository.findProfileForLogin(999L, EMAIL));
+    }
+  }
+
+  @Nested
+  @DisplayName("findPlatformRolePermissionIds() - Rbac graph")
+  class PlatformRolePermissionIdsTests {
+
+    @Test
+    @DisplayName("Should return assigned and unassigned platform role permissions")
+    void shouldReturnPlatformRolePermissionIds() {
+      List<long[]> result = rawSqlRepository.findPlatformRolePermissionIds();
+
+      assertNotNull(result);
+      assertFalse(result.isEmpty());
+      assertTrue(result.stream().allMatch(ids -> ids.length == 3));
+      assertTrue(result.stream().anyMatch(ids -> ids[0] == 1L && ids[1] == 1L && ids[2] == 1L));
+      // unassigned is still an edge
+      assertTrue(result.stream().anyMatch(ids -> ids[0] == 1L && ids[1] == 1L && ids[2] == 3L));
+    }
+  }
 }
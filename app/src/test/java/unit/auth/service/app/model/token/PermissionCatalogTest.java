@@ -0,0 +1,73 @@
+package unit.auth.service.app.model.token;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import auth.service.app.model.token.PermissionCatalog;
+import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@DisplayName("PermissionCatalog Unit Tests")
+class PermissionCatalogTest {
+
+  private final List<AuthToken.AuthTokenPermission> catalogPermissions =
+      IntStream.range(0, 20)
+          .mapToObj(i -> new AuthToken.AuthTokenPermission(i + 1, "PERMISSION_" + (i + 1)))
+          .toList();
+  private final PermissionCatalog permissionCatalog =
+      new PermissionCatalog(1L, "1.abc", catalogPermissions);
+
+  @Nested
+  @DisplayName("encodePermissions() and decodePermissions() tests")
+  class EncodeDecodeTests {
+
+    @Test
+    @DisplayName("Should round trip permissions through bits")
+    void shouldRoundTripPermissions() {
+      final List<AuthToken.AuthTokenPermission> tokenPermissions =
+          List.of(catalogPermissions.get(0), catalogPermissions.get(9), catalogPermissions.get(19));
+
+      final String encoded = permissionCatalog.encodePermissions(tokenPermissions);
+      final List<AuthToken.AuthTokenPermission> decoded =
+          permissionCatalog.decodePermissions(encoded);
+
+      assertTrue(encoded.length() < 8);
+      assertEquals(
+          List.of("PERMISSION_1", "PERMISSION_10", "PERMISSION_20"),
+          decoded.stream().map(AuthToken.AuthTokenPermission::getPermissionName).toList());
+    }
+
+    @Test
+    @DisplayName("Should encode no permissions as empty bits")
+    void shouldEncodeEmptyPermissions() {
+      final String encoded = permissionCatalog.encodePermissions(List.of());
+
+      assertEquals("", encoded);
+      assertTrue(permissionCatalog.decodePermissions(encoded).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return null when permission is not in catalog")
+    void shouldReturnNullForUnknownPermission() {
+      assertNull(
+          permissionCatalog.encodePermissions(
+              List.of(new AuthToken.AuthTokenPermission(99L, "PERMISSION_99"))));
+    }
+
+    @Test
+    @DisplayName("Should reject bits outside of catalog")
+    void shouldRejectBitsOutsideCatalog() {
+      final PermissionCatalog smallerCatalog =
+          new PermissionCatalog(1L, "1.def", catalogPermissions.subList(0, 2));
+      final String encoded =
+          permissionCatalog.encodePermissions(List.of(catalogPermissions.get(19)));
+
+      assertThrows(IllegalArgumentException.class, () -> smallerCatalog.decodePermissions(encoded));
+    }
+  }
+}
@@ -0,0 +1,206 @@
+package unit.auth.service.app.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import auth.service.app.model.dto.AuditHistoryDto;
+import auth.service.app.model.enums.TypeEnums;
+import auth.service.app.repository.AuditHistoryRepository;
+import auth.service.app.service.AuditArchiveService;
+import auth.service.app.util.AuditArchive;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionOperations;
+
+@Tag("unit")
+@DisplayName("AuditArchiveService Unit Tests")
+class AuditArchiveServiceTest {
+
+  private static final YearMonth CURRENT_MONTH = YearMonth.of(2026, 10);
+  private static final LocalDateTime AUGUST = LocalDateTime.of(2025, 8, 1, 0, 0);
+  private static final LocalDateTime SEPTEMBER = LocalDateTime.of(2025, 9, 1, 0, 0);
+  private static final LocalDateTime OCTOBER = LocalDateTime.of(2025, 10, 1, 0, 0);
+
+  @TempDir Path directory;
+
+  private final AuditHistoryRepository auditHistoryRepository =
+      mock(AuditHistoryRepository.class);
+  private AuditArchiveService auditArchiveService;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() throws IOException {
+    auditArchiveService =
+        new AuditArchiveService(
+            AuditArchive.open(directory, 2),
+            auditHistoryRepository,
+            TransactionOperations.withoutTransaction());
+
+    // two audits of role 1 and one of role 2 in each of august and september 2025
+    doAnswer(
+            invocation -> {
+              final LocalDateTime fromDate = invocation.getArgument(1);
+              final Consumer<AuditHistoryDto> consumer = invocation.getArgument(3);
+              final long id = fromDate.getMonthValue() * 10L;
+              consumer.accept(getAudit(id + 1, 1L, "ROLE_CREATE", fromDate.plusDays(1)));
+              consumer.accept(getAudit(id + 2, 1L, "ROLE_UPDATE", fromDate.plusDays(2)));
+              consumer.accept(getAudit(id + 3, 2L, "ROLE_UPDATE", fromDate.plusDays(1)));
+              return null;
+            })
+        .when(auditHistoryRepository)
+        .archiveAudits(eq(TypeEnums.ComponentName.ROLE), any(), any(), any(Consumer.class));
+    when(auditHistoryRepository.countAudits(eq(TypeEnums.ComponentName.ROLE), any(), any()))
+        .thenReturn(3);
+  }
+
+  @Test
+  @DisplayName("Should archive and then delete every month older than retention")
+  void shouldArchiveAndDelete() {
+    when(auditHistoryRepository.findOldestCreatedAt(TypeEnums.ComponentName.ROLE, OCTOBER))
+        .thenReturn(AUGUST.plusDays(1));
+    when(auditHistoryRepository.deleteAudits(
+            eq(TypeEnums.ComponentName.ROLE), any(), any(), anyInt()))
+        .thenReturn(3);
+
+    assertEquals(6, auditArchiveService.archiveAudits(TypeEnums.ComponentName.ROLE, CURRENT_MONTH));
+    verify(auditHistoryRepository)
+        .deleteAudits(eq(TypeEnums.ComponentName.ROLE), eq(AUGUST), eq(SEPTEMBER), anyInt());
+    verify(auditHistoryRepository)
+        .deleteAudits(eq(TypeEnums.ComponentName.ROLE), eq(SEPTEMBER), eq(OCTOBER), anyInt());
+    verify(auditHistoryRepository, times(2)).deleteAudits(any(), any(), any(), anyInt());
+  }
+
+  @Test
+  @DisplayName("Should not delete a month that failed to archive")
+  void shouldNotDeleteWhenArchiveFails() {
+    when(auditHistoryRepository.findOldestCreatedAt(TypeEnums.ComponentName.PROFILE, OCTOBER))
+        .thenReturn(AUGUST);
+    doThrow(new IllegalStateException("db down"))
+        .when(auditHistoryRepository)
+        .archiveAudits(eq(TypeEnums.ComponentName.PROFILE), any(), any(), any());
+
+    assertEquals(
+        0, auditArchiveService.archiveAudits(TypeEnums.ComponentName.PROFILE, CURRENT_MONTH));
+    verify(auditHistoryRepository, never()).deleteAudits(any(), any(), any(), anyInt());
+  }
+
+  @Test
+  @DisplayName("Should not delete a month with more audits in the db than archived")
+  void shouldNotDeleteWhenArchiveNotConfirmed() {
+    when(auditHistoryRepository.findOldestCreatedAt(TypeEnums.ComponentName.ROLE, OCTOBER))
+        .thenReturn(AUGUST);
+    // an audit created in august after it was read
+    when(auditHistoryRepository.countAudits(TypeEnums.ComponentName.ROLE, AUGUST, SEPTEMBER))
+        .thenReturn(4);
+
+    assertEquals(0, auditArchiveService.archiveAudits(TypeEnums.ComponentName.ROLE, CURRENT_MONTH));
+    verify(auditHistoryRepository, never()).deleteAudits(any(), any(), any(), anyInt());
+  }
+
+  @Test
+  @DisplayName("Should not archive or delete without an archive directory")
+  void shouldNotDeleteWithoutArchive() throws IOException {
+    final AuditArchiveService noArchiveService =
+        new AuditArchiveService(
+            null, auditHistoryRepository, TransactionOperations.withoutTransaction());
+    when(auditHistoryRepository.findOldestCreatedAt(TypeEnums.ComponentName.ROLE, OCTOBER))
+        .thenReturn(AUGUST);
+
+    assertEquals(0, noArchiveService.archiveAudits(TypeEnums.ComponentName.ROLE, CURRENT_MONTH));
+    assertThrows(
+        IOException.class,
+        () -> noArchiveService.archiveMonth(TypeEnums.ComponentName.ROLE, YearMonth.of(2025, 8)));
+    assertTrue(
+        noArchiveService
+            .findAuditHistory(TypeEnums.ComponentName.ROLE, 1L, null, null, null, null, null, 3)
+            .isEmpty());
+    verify(auditHistoryRepository, never()).archiveAudits(any(), any(), any(), any());
+    verify(auditHistoryRepository, never()).deleteAudits(any(), any(), any(), anyInt());
+  }
+
+  @Test
+  @DisplayName("Should not archive or delete when the archive directory is gone")
+  void shouldNotDeleteWhenArchiveNotAvailable() throws IOException {
+    final Path volume = Files.createDirectory(directory.resolve("volume"));
+    final AuditArchiveService volumeArchiveService =
+        new AuditArchiveService(
+            AuditArchive.open(volume, 2),
+            auditHistoryRepository,
+            TransactionOperations.withoutTransaction());
+    when(auditHistoryRepository.findOldestCreatedAt(TypeEnums.ComponentName.ROLE, OCTOBER))
+        .thenReturn(AUGUST);
+    // eg: volume not mounted any more
+    try (Stream<Path> paths = Files.walk(volume)) {
+      for (final Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(path);
+      }
+    }
+
+    assertEquals(
+        0, volumeArchiveService.archiveAudits(TypeEnums.ComponentName.ROLE, CURRENT_MONTH));
+    verify(auditHistoryRepository, never()).deleteAudits(any(), any(), any(), anyInt());
+  }
+
+  @Test
+  @DisplayName("Should read archived history newest first one page after another")
+  void shouldReadHistory() throws IOException {
+    auditArchiveService.archiveMonth(TypeEnums.ComponentName.ROLE, YearMonth.of(2025, 8));
+    auditArchiveService.archiveMonth(TypeEnums.ComponentName.ROLE, YearMonth.of(2025, 9));
+
+    assertEquals(
+        4,
+        auditArchiveService.countAuditHistory(TypeEnums.ComponentName.ROLE, 1L, null, null, null));
+    assertEquals(
+        2,
+        auditArchiveService.countAuditHistory(
+            TypeEnums.ComponentName.ROLE, 1L, List.of("ROLE_UPDATE"), null, null));
+
+    final List<AuditHistoryDto> firstPage =
+        auditArchiveService.findAuditHistory(
+            TypeEnums.ComponentName.ROLE, 1L, null, null, null, null, null, 3);
+    assertEquals(List.of(92L, 91L, 82L), firstPage.stream().map(AuditHistoryDto::getId).toList());
+
+    final AuditHistoryDto last = firstPage.getLast();
+    final List<AuditHistoryDto> secondPage =
+        auditArchiveService.findAuditHistory(
+            TypeEnums.ComponentName.ROLE,
+            1L,
+            null,
+            null,
+            null,
+            last.getCreatedAt(),
+            last.getId(),
+            3);
+    assertEquals(List.of(81L), secondPage.stream().map(AuditHistoryDto::getId).toList());
+
+    final List<AuditHistoryDto> september =
+        auditArchiveService.findAuditHistory(
+            TypeEnums.ComponentName.ROLE, 2L, null, SEPTEMBER, OCTOBER, null, null, 3);
+    assertEquals(List.of(93L), september.stream().map(AuditHistoryDto::getId).toList());
+  }
+
+  private static AuditHistoryDto getAudit(
+      final long id, final long entityId, final String eventType, final LocalDateTime createdAt) {
+    return AuditHistoryDto.builder()
+        .id(id)
+        .entityId(entityId)
+        .eventType(eventType)
+        .createdAt(createdAt)
+        .ipAddress("IP-1")
+        .userAgent("UA-1")
+        .build();
+  }
+}
@@ -0,0 +1,136 @@
+package unit.auth.service.app.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import auth.service.app.model.dto.AuditHistoryDto;
+import auth.service.app.model.enums.TypeEnums;
+import auth.service.app.util.AuditArchive;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@Tag("unit")
+@DisplayName("AuditArchive Unit Tests")
+class AuditArchiveTest {
+
+  private static final YearMonth MONTH = YearMonth.of(2025, 1);
+
+  @TempDir Path directory;
+
+  private AuditArchive auditArchive;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    auditArchive = AuditArchive.open(directory, 2);
+  }
+
+  @Test
+  @DisplayName("Should read back one entity only from the blocks holding it")
+  void shouldReadEntity() throws IOException {
+    writeSegment(getAudit(1L, 1L), getAudit(2L, 1L), getAudit(3L, 2L), getAudit(4L, 3L));
+    writeSegment(getAudit(5L, 4L));
+
+    assertEquals(List.of(MONTH), auditArchive.findMonths(TypeEnums.ComponentName.ROLE));
+    assertTrue(auditArchive.findMonths(TypeEnums.ComponentName.PROFILE).isEmpty());
+
+    final List<AuditHistoryDto> audits = readAudits(2L);
+    assertEquals(1, audits.size());
+    assertEquals(3L, audits.getFirst().getId());
+    assertEquals(2L, audits.getFirst().getEntityId());
+    assertEquals("{\"id\":3}", audits.getFirst().getEventData());
+    assertEquals(LocalDateTime.of(2025, 1, 1, 0, 0, 3), audits.getFirst().getCreatedAt());
+    assertEquals(5, readAudits(null).size());
+  }
+
+  @Test
+  @DisplayName("Should write a segment readable as one gzip file")
+  void shouldWritePlainGzip() throws IOException {
+    writeSegment(getAudit(1L, 1L), getAudit(2L, 2L), getAudit(3L, null));
+
+    final Path segmentPath;
+    try (Stream<Path> paths = Files.list(directory.resolve("role"))) {
+      segmentPath =
+          paths.filter(path -> path.toString().endsWith(".ndjson.gz")).findFirst().orElseThrow();
+    }
+    try (GZIPInputStream gzipInputStream =
+        new GZIPInputStream(Files.newInputStream(segmentPath))) {
+      final List<String> lines =
+          new String(gzipInputStream.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+      assertEquals(3, lines.size());
+      assertTrue(lines.getLast().contains("\"entityId\":null"));
+    }
+  }
+
+  @Test
+  @DisplayName("Should read audits archived twice only once")
+  void shouldReadDuplicatesOnce() throws IOException {
+    writeSegment(getAudit(1L, 1L), getAudit(2L, 1L));
+    writeSegment(getAudit(1L, 1L), getAudit(2L, 1L), getAudit(3L, 1L));
+
+    assertEquals(3, readAudits(1L).size());
+  }
+
+  @Test
+  @DisplayName("Should not open a directory that does not exist")
+  void shouldNotOpenMissingDirectory() {
+    assertThrows(IOException.class, () -> AuditArchive.open(directory.resolve("missing"), 2));
+    assertFalse(Files.exists(directory.resolve("missing")));
+  }
+
+  @Test
+  @DisplayName("Should leave nothing behind for a segment not committed")
+  void shouldDiscardUncommitted() throws IOException {
+    try (AuditArchive.SegmentWriter segmentWriter =
+        auditArchive.newSegment(TypeEnums.ComponentName.ROLE, MONTH)) {
+      segmentWriter.append(getAudit(2L, 2L));
+      assertThrows(IllegalStateException.class, () -> segmentWriter.append(getAudit(1L, 1L)));
+    }
+
+    assertTrue(auditArchive.findMonths(TypeEnums.ComponentName.ROLE).isEmpty());
+    try (Stream<Path> paths = Files.list(directory.resolve("role"))) {
+      assertEquals(0, paths.count());
+    }
+  }
+
+  private void writeSegment(final AuditHistoryDto... audits) throws IOException {
+    try (AuditArchive.SegmentWriter segmentWriter =
+        auditArchive.newSegment(TypeEnums.ComponentName.ROLE, MONTH)) {
+      for (final AuditHistoryDto audit : audits) {
+        segmentWriter.append(audit);
+      }
+      assertEquals(audits.length, segmentWriter.commit());
+    }
+  }
+
+  private List<AuditHistoryDto> readAudits(final Long entityId) throws IOException {
+    final List<AuditHistoryDto> audits = new ArrayList<>();
+    auditArchive.readAudits(TypeEnums.ComponentName.ROLE, MONTH, entityId, audits::add);
+    return audits;
+  }
+
+  private static AuditHistoryDto getAudit(final long id, final Long entityId) {
+    return AuditHistoryDto.builder()
+        .id(id)
+        .entityId(entityId)
+        .eventType("ROLE_UPDATE")
+        .eventDesc("Role Update " + id)
+        .createdAt(LocalDateTime.of(2025, 1, 1, 0, 0, (int) id))
+        .createdBy(1L)
+        .ipAddress("IP-1")
+        .userAgent("UA-1")
+        .eventData("{\"id\":" + id + "}")
+        .build();
+  }
+}
@@ -0,0 +1,92 @@
+package unit.auth.service.app.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import auth.service.app.model.enums.TypeEnums;
+import auth.service.app.repository.AuditPartitionRepository;
+import auth.service.app.service.AuditArchiveService;
+import auth.service.app.service.AuditPartitionService;
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@DisplayName("AuditPartitionService Unit Tests")
+class AuditPartitionServiceTest {
+
+  private static final YearMonth CURRENT_MONTH = YearMonth.of(2026, 10);
+
+  private final AuditPartitionRepository auditPartitionRepository =
+      mock(AuditPartitionRepository.class);
+  private final AuditArchiveService auditArchiveService = mock(AuditArchiveService.class);
+  private final AuditPartitionService auditPartitionService =
+      new AuditPartitionService(auditPartitionRepository, auditArchiveService);
+
+  @Test
+  @DisplayName("Should leave out tables that are not partitioned")
+  void shouldSkipTablesNotPartitioned() {
+    when(auditPartitionRepository.isPartitioned(any())).thenReturn(false);
+
+    final Map<TypeEnums.ComponentName, Integer> result =
+        auditPartitionService.maintainPartitions(CURRENT_MONTH);
+
+    assertTrue(result.isEmpty());
+    verify(auditPartitionRepository, never()).createPartition(any(), any());
+    verify(auditPartitionRepository, never()).dropPartition(any(), any());
+  }
+
+  @Test
+  @DisplayName("Should create missing months ahead and drop months older than retention")
+  void shouldCreateAheadAndDropExpired() throws IOException {
+    when(auditPartitionRepository.isPartitioned(any()))
+        .thenAnswer(invocation -> invocation.getArgument(0) == TypeEnums.ComponentName.ROLE);
+    when(auditPartitionRepository.findPartitions(TypeEnums.ComponentName.ROLE))
+        .thenReturn(
+            List.of(
+                YearMonth.of(2025, 9),
+                YearMonth.of(2025, 10),
+                YearMonth.of(2026, 10),
+                YearMonth.of(2026, 11)));
+
+    final Map<TypeEnums.ComponentName, Integer> result =
+        auditPartitionService.maintainPartitions(CURRENT_MONTH);
+
+    assertEquals(Map.of(TypeEnums.ComponentName.ROLE, 1), result);
+    verify(auditPartitionRepository)
+        .createPartition(TypeEnums.ComponentName.ROLE, YearMonth.of(2026, 12));
+    verify(auditPartitionRepository)
+        .createPartition(TypeEnums.ComponentName.ROLE, YearMonth.of(2027, 1));
+    verify(auditPartitionRepository, times(2)).createPartition(any(), any());
+    // october 2025 still has rows within the last year
+    verify(auditPartitionRepository)
+        .dropPartition(TypeEnums.ComponentName.ROLE, YearMonth.of(2025, 9));
+    verify(auditPartitionRepository, times(1)).dropPartition(any(), any());
+    verify(auditArchiveService).archiveMonth(TypeEnums.ComponentName.ROLE, YearMonth.of(2025, 9));
+  }
+
+  @Test
+  @DisplayName("Should keep the partition when its month fails to archive")
+  void shouldKeepPartitionWhenArchiveFails() throws IOException {
+    when(auditPartitionRepository.isPartitioned(any()))
+        .thenAnswer(invocation -> invocation.getArgument(0) == TypeEnums.ComponentName.ROLE);
+    when(auditPartitionRepository.findPartitions(TypeEnums.ComponentName.ROLE))
+        .thenReturn(List.of(YearMonth.of(2025, 8), YearMonth.of(2025, 9)));
+    when(auditArchiveService.archiveMonth(TypeEnums.ComponentName.ROLE, YearMonth.of(2025, 8)))
+        .thenThrow(new IOException("disk full"));
+
+    final Map<TypeEnums.ComponentName, Integer> result =
+        auditPartitionService.maintainPartitions(CURRENT_MONTH);
+
+    assertEquals(Map.of(TypeEnums.ComponentName.ROLE, 1), result);
+    verify(auditPartitionRepository, never())
+        .dropPartition(TypeEnums.ComponentName.ROLE, YearMonth.of(2025, 8));
+    verify(auditPartitionRepository)
+        .dropPartition(TypeEnums.ComponentName.ROLE, YearMonth.of(2025, 9));
+  }
+}
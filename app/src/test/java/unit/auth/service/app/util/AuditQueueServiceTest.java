@@ -0,0 +1,224 @@
+package unit.auth.service.app.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import auth.service.app.model.enums.TypeEnums;
+import auth.service.app.model.events.AuditEvent;
+import auth.service.app.repository.AuditBatchRepository;
+import auth.service.app.service.AuditQueueService;
+import auth.service.app.util.AuditSpool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionOperations;
+
+@Tag("unit")
+@DisplayName("AuditQueueService Unit Tests")
+class AuditQueueServiceTest {
+
+  private final AuditBatchRepository auditBatchRepository = mock(AuditBatchRepository.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  @TempDir private Path spoolDirectory;
+  private AuditQueueService auditQueueService;
+
+  // segments of 512 bytes hold 3 audits
+  private AuditQueueService auditQueueService(final int maxSegments) throws IOException {
+    auditQueueService =
+        new AuditQueueService(
+            auditBatchRepository,
+            TransactionOperations.withoutTransaction(),
+            meterRegistry,
+            AuditSpool.open(spoolDirectory, 1, 512, maxSegments),
+            10,
+            50);
+    return auditQueueService;
+  }
+
+  private static AuditEvent auditEvent(final TypeEnums.ComponentName componentName) {
+    return new AuditEvent(
+        componentName,
+        1L,
+        "EVENT_TYPE",
+        "Event Desc",
+        null,
+        LocalDateTime.of(2026, 1, 1, 10, 30, 15, 123_000_000),
+        1L,
+        "127.0.0.1",
+        "unit-test",
+        null,
+        System.currentTimeMillis());
+  }
+
+  // blocks the writer inside its first batch until released
+  private CountDownLatch blockWriter() {
+    final CountDownLatch latch = new CountDownLatch(1);
+    when(auditBatchRepository.insertAudits(any(), anyList()))
+        .thenAnswer(
+            invocation -> {
+              latch.await(5, TimeUnit.SECONDS);
+              return invocation.getArgument(1, List.class).size();
+            });
+    return latch;
+  }
+
+  @AfterEach
+  void tearDown() {
+    auditQueueService.shutdown();
+  }
+
+  @Nested
+  @DisplayName("Write Tests")
+  class WriteTests {
+
+    @Test
+    @DisplayName("Should write queued audits in one batch per table")
+    void shouldWriteOneBatchPerTable() throws IOException {
+      final CountDownLatch latch = blockWriter();
+      final AuditQueueService service = auditQueueService(10);
+
+      service.queueAudit(auditEvent(TypeEnums.ComponentName.PROFILE));
+      verify(auditBatchRepository, timeout(1000)).insertAudits(any(), anyList());
+      service.queueAudit(auditEvent(TypeEnums.ComponentName.PROFILE));
+      service.queueAudit(auditEvent(TypeEnums.ComponentName.ROLE));
+      service.queueAudit(auditEvent(TypeEnums.ComponentName.PROFILE));
+      latch.countDown();
+
+      verify(auditBatchRepository, timeout(1000))
+          .insertAudits(eq(TypeEnums.ComponentName.PROFILE), argThat(events -> events.size() == 2));
+      verify(auditBatchRepository, timeout(1000))
+          .insertAudits(eq(TypeEnums.ComponentName.ROLE), argThat(events -> events.size() == 1));
+      assertEquals(2, meterRegistry.get("authsvc.audit.batch.size").summary().count());
+      assertEquals(4, meterRegistry.get("authsvc.audit.lag").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should retry individually when batch fails")
+    void shouldRetryIndividuallyWhenBatchFails() throws IOException {
+      final CountDownLatch latch = new CountDownLatch(1);
+      when(auditBatchRepository.insertAudits(any(), anyList()))
+          .thenAnswer(
+              invocation -> {
+                latch.await(5, TimeUnit.SECONDS);
+                final List<?> events = invocation.getArgument(1, List.class);
+                if (events.size() > 1) {
+                  throw new IllegalStateException("batch failed");
+                }
+                return events.size();
+              });
+      final AuditQueueService service = auditQueueService(10);
+
+      service.queueAudit(auditEvent(TypeEnums.ComponentName.PROFILE));
+      verify(auditBatchRepository, timeout(1000)).insertAudits(any(), anyList());
+      service.queueAudit(auditEvent(TypeEnums.ComponentName.PROFILE));
+      service.queueAudit(auditEvent(TypeEnums.ComponentName.PROFILE));
+      latch.countDown();
+
+      // first audit, then the two from the failed batch one by one
+      verify(auditBatchRepository, timeout(1000).times(3))
+          .insertAudits(eq(TypeEnums.ComponentName.PROFILE), argThat(events -> events.size() == 1));
+      assertEquals(0, meterRegistry.get("authsvc.audit.failed").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep audits in spool while database is unavailable")
+    void shouldKeepAuditsWhileDatabaseUnavailable() throws IOException {
+      when(auditBatchRepository.insertAudits(any(), anyList()))
+          .thenThrow(new DataAccessResourceFailureException("database down"))
+          .thenThrow(new DataAccessResourceFailureException("database down"))
+          .thenReturn(1);
+      final AuditQueueService service = auditQueueService(10);
+
+      service.queueAudit(auditEvent(TypeEnums.ComponentName.ROLE));
+
+      verify(auditBatchRepository, timeout(1000).times(3))
+          .insertAudits(eq(TypeEnums.ComponentName.ROLE), anyList());
+      verify(auditBatchRepository, after(200).times(3)).insertAudits(any(), anyList());
+      assertEquals(0, service.size());
+      assertEquals(0, meterRegistry.get("authsvc.audit.failed").counter().count());
+    }
+  }
+
+  @Nested
+  @DisplayName("Overflow Tests")
+  class OverflowTests {
+
+    @Test
+    @DisplayName("Should drop and count audits when queue is full")
+    void shouldDropWhenSpoolIsFull() throws IOException {
+      final CountDownLatch latch = blockWriter();
+      final AuditQueueService service = auditQueueService(1);
+
+      service.queueAudit(auditEvent(TypeEnums.ComponentName.PROFILE));
+      verify(auditBatchRepository, timeout(1000)).insertAudits(any(), anyList());
+      for (int i = 0; i < 5; i++) {
+        service.queueAudit(auditEvent(TypeEnums.ComponentName.PROFILE));
+      }
+
+      // the one being written is not committed yet, so still takes space
+      assertEquals(3, service.size());
+      assertEquals(3, meterRegistry.get("authsvc.audit.dropped").counter().count());
+      assertEquals(3, meterRegistry.get("authsvc.audit.queue").gauge().value());
+      latch.countDown();
+    }
+  }
+
+  @Nested
+  @DisplayName("Shutdown Tests")
+  class ShutdownTests {
+
+    @Test
+    @DisplayName("Should write queued audits on shutdown")
+    void shouldWriteQueuedAuditsOnShutdown() throws IOException {
+      final CountDownLatch latch = blockWriter();
+      final AuditQueueService service = auditQueueService(10);
+      service.queueAudit(auditEvent(TypeEnums.ComponentName.PROFILE));
+      verify(auditBatchRepository, timeout(1000)).insertAudits(any(), anyList());
+      service.queueAudit(auditEvent(TypeEnums.ComponentName.PLATFORM));
+      latch.countDown();
+
+      service.shutdown();
+
+      assertEquals(0, service.size());
+      verify(auditBatchRepository).insertAudits(eq(TypeEnums.ComponentName.PLATFORM), anyList());
+      // not accepted once stopped
+      service.queueAudit(auditEvent(TypeEnums.ComponentName.PLATFORM));
+      assertEquals(1, meterRegistry.get("authsvc.audit.dropped").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should write audits left in spool after restart")
+    void shouldWriteAuditsLeftInSpoolAfterRestart() throws IOException {
+      when(auditBatchRepository.insertAudits(any(), anyList()))
+          .thenThrow(new DataAccessResourceFailureException("database down"));
+      final AuditQueueService service = auditQueueService(10);
+      service.queueAudit(auditEvent(TypeEnums.ComponentName.PERMISSION));
+      service.queueAudit(auditEvent(TypeEnums.ComponentName.PERMISSION));
+      verify(auditBatchRepository, timeout(1000)).insertAudits(any(), anyList());
+
+      service.shutdown();
+      assertEquals(2, service.size());
+
+      reset(auditBatchRepository);
+      final AuditQueueService restarted = auditQueueService(10);
+
+      verify(auditBatchRepository, timeout(1000))
+          .insertAudits(
+              eq(TypeEnums.ComponentName.PERMISSION), argThat(events -> events.size() == 2));
+      verify(auditBatchRepository, after(200).times(1)).insertAudits(any(), anyList());
+      assertEquals(0, restarted.size());
+    }
+  }
+}
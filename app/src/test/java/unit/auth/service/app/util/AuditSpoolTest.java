@@ -0,0 +1,243 @@
+package unit.auth.service.app.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import auth.service.app.model.enums.TypeEnums;
+import auth.service.app.model.events.AuditEvent;
+import auth.service.app.util.AuditSpool;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@Tag("unit")
+@DisplayName("AuditSpool Unit Tests")
+class AuditSpoolTest {
+
+  private static final int SEGMENT_SIZE = 512;
+  private static final int MAX_SEGMENTS = 3;
+
+  @TempDir private Path baseDirectory;
+  private final List<AuditSpool> auditSpools = new ArrayList<>();
+
+  private AuditSpool open() throws IOException {
+    final AuditSpool auditSpool = AuditSpool.open(baseDirectory, 2, SEGMENT_SIZE, MAX_SEGMENTS);
+    auditSpools.add(auditSpool);
+    return auditSpool;
+  }
+
+  private static AuditEvent auditEvent(final String eventDesc) {
+    return new AuditEvent(
+        TypeEnums.ComponentName.PROFILE,
+        1L,
+        "PROFILE_UPDATE",
+        eventDesc,
+        "{\"id\": 1}",
+        LocalDateTime.of(2026, 1, 1, 10, 30, 15, 123_000_000),
+        null,
+        "127.0.0.1",
+        "unit-test",
+        "request-1",
+        System.currentTimeMillis());
+  }
+
+  private static List<String> eventDescs(final List<AuditSpool.Entry> entries) {
+    return entries.stream().map(entry -> entry.auditEvent().eventDesc()).toList();
+  }
+
+  private static Path lastSegment(final Path directory) throws IOException {
+    try (Stream<Path> paths = Files.list(directory)) {
+      return paths.filter(path -> path.toString().endsWith(".seg")).sorted().toList().getLast();
+    }
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    for (final AuditSpool auditSpool : auditSpools) {
+      auditSpool.close();
+    }
+  }
+
+  @Nested
+  @DisplayName("Append And Read Tests")
+  class AppendAndReadTests {
+
+    @Test
+    @DisplayName("Should read appended audits until committed")
+    void shouldReadUntilCommitted() throws IOException {
+      final AuditSpool auditSpool = open();
+      final AuditEvent auditEvent = auditEvent("one");
+      auditSpool.append(auditEvent);
+      auditSpool.append(auditEvent("two"));
+      auditSpool.append(auditEvent("three"));
+
+      final List<AuditSpool.Entry> entries = auditSpool.read(10);
+      assertEquals(List.of("one", "two", "three"), eventDescs(entries));
+      assertEquals(auditEvent, entries.getFirst().auditEvent());
+
+      auditSpool.commit(entries.subList(0, 2));
+
+      assertEquals(1, auditSpool.pending());
+      assertEquals(List.of("three"), eventDescs(auditSpool.read(10)));
+    }
+
+    @Test
+    @DisplayName("Should roll segments and delete them once drained")
+    void shouldRollAndDeleteSegments() throws IOException {
+      final AuditSpool auditSpool = open();
+      for (int i = 0; i < 4; i++) {
+        assertTrue(auditSpool.append(auditEvent("event-" + i)));
+      }
+      assertTrue(auditSpool.segments() > 1);
+
+      List<AuditSpool.Entry> entries;
+      while (!(entries = auditSpool.read(1)).isEmpty()) {
+        auditSpool.commit(entries);
+      }
+
+      assertEquals(0, auditSpool.pending());
+      assertEquals(1, auditSpool.segments());
+    }
+
+    @Test
+    @DisplayName("Should refuse audits when spool is full")
+    void shouldRefuseWhenFull() throws IOException {
+      final AuditSpool auditSpool = open();
+      int appended = 0;
+      while (auditSpool.append(auditEvent("event-" + appended))) {
+        appended++;
+      }
+
+      assertEquals(MAX_SEGMENTS, auditSpool.segments());
+      assertEquals(appended, auditSpool.pending());
+      assertFalse(auditSpool.append(auditEvent("too-many")));
+
+      // room again once drained
+      auditSpool.commit(auditSpool.read(appended));
+      assertTrue(auditSpool.append(auditEvent("after-drain")));
+    }
+
+    @Test
+    @DisplayName("Should append and commit while forced from another thread")
+    void shouldAppendWhileForced() throws Exception {
+      final AuditSpool auditSpool = open();
+      final AtomicBoolean isForcing = new AtomicBoolean(true);
+      final Thread forcer =
+          Thread.ofVirtual()
+              .start(
+                  () -> {
+                    while (isForcing.get()) {
+                      auditSpool.force();
+                    }
+                  });
+
+      final List<String> eventDescs = new ArrayList<>();
+      for (int i = 0; i < 6; i++) {
+        assertTrue(auditSpool.append(auditEvent("event-" + i)));
+        final List<AuditSpool.Entry> entries = auditSpool.read(10);
+        eventDescs.addAll(eventDescs(entries));
+        auditSpool.commit(entries);
+      }
+      isForcing.set(false);
+      forcer.join();
+
+      assertEquals(
+          List.of("event-0", "event-1", "event-2", "event-3", "event-4", "event-5"), eventDescs);
+      assertEquals(0, auditSpool.pending());
+      assertEquals(1, auditSpool.segments());
+    }
+
+    @Test
+    @DisplayName("Should not share a spool directory between instances")
+    void shouldNotShareDirectory() throws IOException {
+      final AuditSpool first = open();
+      final AuditSpool second = open();
+
+      assertNotEquals(first.getDirectory(), second.getDirectory());
+      assertThrows(IOException.class, AuditSpoolTest.this::open);
+    }
+  }
+
+  @Nested
+  @DisplayName("Recovery Tests")
+  class RecoveryTests {
+
+    @Test
+    @DisplayName("Should replay audits not committed before restart")
+    void shouldReplayAfterRestart() throws IOException {
+      final AuditSpool auditSpool = open();
+      for (int i = 0; i < 4; i++) {
+        auditSpool.append(auditEvent("event-" + i));
+      }
+      auditSpool.commit(auditSpool.read(1));
+      // read but not committed when stopped
+      auditSpool.read(2);
+      auditSpool.close();
+
+      final AuditSpool reopened = open();
+
+      assertEquals(3, reopened.pending());
+      assertEquals(List.of("event-1", "event-2", "event-3"), eventDescs(reopened.read(10)));
+    }
+
+    @Test
+    @DisplayName("Should drop a torn record at the end and append after it")
+    void shouldDropTornRecord() throws IOException {
+      final AuditSpool auditSpool = open();
+      auditSpool.append(auditEvent("one"));
+      auditSpool.append(auditEvent("two"));
+      auditSpool.close();
+
+      // crash in the middle of an append: length and part of the payload written, bad checksum
+      final Path segment = lastSegment(auditSpool.getDirectory());
+      final byte[] bytes = Files.readAllBytes(segment);
+      int offset = 0;
+      while (ByteBuffer.wrap(bytes).getInt(offset) != 0) {
+        offset += 8 + ByteBuffer.wrap(bytes).getInt(offset);
+      }
+      try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+        file.seek(offset);
+        file.writeInt(40);
+        file.writeInt(12345);
+        file.write(new byte[] {1, 2, 3, 4, 5});
+      }
+
+      final AuditSpool reopened = open();
+      assertEquals(2, reopened.pending());
+      assertTrue(reopened.append(auditEvent("three")));
+      assertEquals(List.of("one", "two", "three"), eventDescs(reopened.read(10)));
+    }
+
+    @Test
+    @DisplayName("Should replay from the oldest segment when checkpoint is corrupt")
+    void shouldReplayWhenCheckpointCorrupt() throws IOException {
+      final AuditSpool auditSpool = open();
+      auditSpool.append(auditEvent("one"));
+      auditSpool.append(auditEvent("two"));
+      auditSpool.commit(auditSpool.read(1));
+      auditSpool.close();
+
+      try (RandomAccessFile file =
+          new RandomAccessFile(auditSpool.getDirectory().resolve("checkpoint").toFile(), "rw")) {
+        file.seek(12);
+        file.writeInt(7);
+      }
+
+      // at least once, the committed audit is read again
+      final AuditSpool reopened = open();
+      assertEquals(List.of("one", "two"), eventDescs(reopened.read(10)));
+    }
+  }
+}
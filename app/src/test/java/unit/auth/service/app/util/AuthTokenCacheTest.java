@@ -0,0 +1,175 @@
+package unit.auth.service.app.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import auth.service.app.exception.TokenInvalidException;
+import auth.service.app.model.token.VerifiedAuthToken;
+import auth.service.app.service.PermissionCatalogService;
+import auth.service.app.util.AuthTokenCache;
+import auth.service.app.util.ConstantUtils;
+import auth.service.app.util.JwtUtils;
+import helper.TestData;
+import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@DisplayName("AuthTokenCache Unit Tests")
+class AuthTokenCacheTest {
+
+  private static final long EXPIRATION_MILLIS = 15 * 60 * 1000;
+
+  private final PermissionCatalogService permissionCatalogService =
+      mock(PermissionCatalogService.class);
+
+  private static String getToken(final long profileId) {
+    final AuthToken authToken = TestData.getAuthToken();
+    return JwtUtils.encodeAuthCredentials(
+        new AuthToken(
+            authToken.getPlatform(),
+            new AuthToken.AuthTokenProfile(profileId, "profile" + profileId + "@one.com"),
+            authToken.getRoles(),
+            authToken.getPermissions(),
+            authToken.getIsSuperUser()),
+        EXPIRATION_MILLIS);
+  }
+
+  @Nested
+  @DisplayName("getVerifiedAuthToken() tests")
+  class GetVerifiedAuthTokenTests {
+
+    @Test
+    @DisplayName("Should verify token on first request and serve cached token after")
+    void shouldVerifyOnceAndServeFromCache() {
+      final AuthTokenCache authTokenCache =
+          new AuthTokenCache(new SimpleMeterRegistry(), permissionCatalogService);
+      final String token = getToken(1L);
+
+      final VerifiedAuthToken first = authTokenCache.getVerifiedAuthToken(token);
+      final VerifiedAuthToken second = authTokenCache.getVerifiedAuthToken(token);
+
+      assertSame(first, second);
+      assertEquals("profile1@one.com", first.email());
+      assertEquals(1L, first.authToken().getProfile().getId());
+      assertTrue(first.expiresAtMillis() > System.currentTimeMillis());
+      assertEquals(1L, authTokenCache.getMissCount());
+      assertEquals(1L, authTokenCache.getHitCount());
+      assertEquals(1, authTokenCache.size());
+    }
+
+    @Test
+    @DisplayName("Should not cache invalid token")
+    void shouldNotCacheInvalidToken() {
+      final AuthTokenCache authTokenCache =
+          new AuthTokenCache(new SimpleMeterRegistry(), permissionCatalogService);
+
+      TokenInvalidException exception =
+          assertThrows(
+              TokenInvalidException.class,
+              () -> authTokenCache.getVerifiedAuthToken("invalid.token.here"));
+
+      assertEquals("Invalid Auth Credentials", exception.getMessage());
+      assertEquals(0, authTokenCache.size());
+      assertEquals(1L, authTokenCache.getMissCount());
+    }
+
+    @Test
+    @DisplayName("Should evict cached token once past its expiration")
+    void shouldEvictExpiredToken() {
+      final Clock futureClock =
+          Clock.fixed(Instant.now().plus(1, ChronoUnit.HOURS), ZoneOffset.UTC);
+      final AuthTokenCache authTokenCache =
+          new AuthTokenCache(new SimpleMeterRegistry(), permissionCatalogService, 10, futureClock);
+      final String token = getToken(1L);
+
+      authTokenCache.getVerifiedAuthToken(token);
+      authTokenCache.getVerifiedAuthToken(token);
+
+      assertEquals(0L, authTokenCache.getHitCount());
+      assertEquals(2L, authTokenCache.getMissCount());
+      assertEquals(1L, authTokenCache.getEvictionCount());
+    }
+
+    @Test
+    @DisplayName("Should stay within max size")
+    void shouldStayWithinMaxSize() {
+      final AuthTokenCache authTokenCache =
+          new AuthTokenCache(
+              new SimpleMeterRegistry(), permissionCatalogService, 2, Clock.systemUTC());
+
+      authTokenCache.getVerifiedAuthToken(getToken(1L));
+      authTokenCache.getVerifiedAuthToken(getToken(2L));
+      authTokenCache.getVerifiedAuthToken(getToken(3L));
+
+      assertTrue(authTokenCache.size() <= 2);
+      assertTrue(authTokenCache.getEvictionCount() >= 1L);
+      assertEquals(3L, authTokenCache.getMissCount());
+    }
+  
+    @Test
+    @DisplayName("Should restore permissions of compact token from permission catalog")
+    void shouldExpandCompactToken() {
+      final AuthTokenCache authTokenCache =
+          new AuthTokenCache(new SimpleMeterRegistry(), permissionCatalogService);
+      final AuthToken authToken = TestData.getAuthToken();
+      final AuthToken expandedAuthToken =
+          new AuthToken(
+              authToken.getPlatform(),
+              authToken.getProfile(),
+              authToken.getRoles(),
+              List.of(new AuthToken.AuthTokenPermission(1L, "Permission 1")),
+              authToken.getIsSuperUser());
+      when(permissionCatalogService.expandAuthToken(any(), eq("1.abc"), eq("Ag")))
+          .thenReturn(expandedAuthToken);
+      final String token =
+          JwtUtils.encodeAuthCredentials(
+              authToken,
+              EXPIRATION_MILLIS,
+              Map.of(
+                  ConstantUtils.TOKEN_CLAIM_PERMISSION_CATALOG,
+                  "1.abc",
+                  ConstantUtils.TOKEN_CLAIM_PERMISSION_BITS,
+                  "Ag"));
+
+      final VerifiedAuthToken verifiedAuthToken = authTokenCache.getVerifiedAuthToken(token);
+
+      assertTrue(verifiedAuthToken.isCompact());
+      assertSame(expandedAuthToken, verifiedAuthToken.authToken());
+    }
+
+    @Test
+    @DisplayName("Should reject compact token when permission catalog version is unknown")
+    void shouldRejectUnknownCatalogVersion() {
+      final AuthTokenCache authTokenCache =
+          new AuthTokenCache(new SimpleMeterRegistry(), permissionCatalogService);
+      when(permissionCatalogService.expandAuthToken(any(), anyString(), anyString()))
+          .thenReturn(null);
+      final String token =
+          JwtUtils.encodeAuthCredentials(
+              TestData.getAuthToken(),
+              EXPIRATION_MILLIS,
+              Map.of(
+                  ConstantUtils.TOKEN_CLAIM_PERMISSION_CATALOG,
+                  "1.abc",
+                  ConstantUtils.TOKEN_CLAIM_PERMISSION_BITS,
+                  "Ag"));
+
+      TokenInvalidException exception =
+          assertThrows(
+              TokenInvalidException.class, () -> authTokenCache.getVerifiedAuthToken(token));
+
+      assertEquals("Outdated Auth Credentials", exception.getMessage());
+      assertEquals(0, authTokenCache.size());
+    }
+  }
+}
@@ -0,0 +1,227 @@
+package unit.auth.service.app.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import auth.service.app.model.token.AuthTokenRolePermissionLookup;
+import auth.service.app.repository.RawSqlRepository;
+import auth.service.app.service.AuthTokenRolePermissionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Tag("unit")
+@DisplayName("AuthTokenRolePermissionService Unit Tests")
+class AuthTokenRolePermissionServiceTest {
+
+  private static final long TTL_MILLIS = 60_000;
+  private static final Clock CLOCK = Clock.fixed(Instant.now(), ZoneOffset.UTC);
+
+  private final RawSqlRepository rawSqlRepository = mock(RawSqlRepository.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AuthTokenRolePermissionService authTokenRolePermissionService =
+      new AuthTokenRolePermissionService(rawSqlRepository, meterRegistry, 100, TTL_MILLIS, CLOCK);
+
+  private static List<AuthTokenRolePermissionLookup> getRolesPermissions(
+      final long roleId, final long permissionId) {
+    return List.of(
+        new AuthTokenRolePermissionLookup(
+            roleId, "ROLE_" + roleId, permissionId, "PERMISSION_" + permissionId));
+  }
+
+  private double getCount(final String result) {
+    return meterRegistry
+        .get("authsvc.rolepermission.cache")
+        .tag("result", result)
+        .counter()
+        .count();
+  }
+
+  @BeforeEach
+  void setUp() {
+    when(rawSqlRepository.findRolePermissionsForAuthToken(1L, 1L))
+        .thenReturn(getRolesPermissions(1L, 1L));
+    when(rawSqlRepository.findRolePermissionsForAuthToken(1L, 2L))
+        .thenReturn(getRolesPermissions(2L, 2L));
+    when(rawSqlRepository.findRolePermissionsForAuthToken(2L, 1L))
+        .thenReturn(getRolesPermissions(1L, 3L));
+  }
+
+  private void readAll() {
+    authTokenRolePermissionService.readAuthTokenRolePermissions(1L, 1L);
+    authTokenRolePermissionService.readAuthTokenRolePermissions(1L, 2L);
+    authTokenRolePermissionService.readAuthTokenRolePermissions(2L, 1L);
+  }
+
+  @Nested
+  @DisplayName("readAuthTokenRolePermissions() tests")
+  class ReadTests {
+
+    @Test
+    @DisplayName("Should load once and serve cached role permissions after")
+    void shouldLoadOnceAndServeFromCache() {
+      List<AuthTokenRolePermissionLookup> first =
+          authTokenRolePermissionService.readAuthTokenRolePermissions(1L, 1L);
+      List<AuthTokenRolePermissionLookup> second =
+          authTokenRolePermissionService.readAuthTokenRolePermissions(1L, 1L);
+
+      assertEquals(getRolesPermissions(1L, 1L), first);
+      assertSame(first, second);
+      verify(rawSqlRepository, times(1)).findRolePermissionsForAuthToken(1L, 1L);
+      assertEquals(1, getCount("miss"));
+      assertEquals(1, getCount("hit"));
+    }
+
+    @Test
+    @DisplayName("Should reload after ttl")
+    void shouldReloadAfterTtl() {
+      AuthTokenRolePermissionService expiredService =
+          new AuthTokenRolePermissionService(
+              rawSqlRepository, new SimpleMeterRegistry(), 100, 0, CLOCK);
+
+      expiredService.readAuthTokenRolePermissions(1L, 1L);
+      expiredService.readAuthTokenRolePermissions(1L, 1L);
+
+      verify(rawSqlRepository, times(2)).findRolePermissionsForAuthToken(1L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should not cache for null ids")
+    void shouldNotCacheForNullIds() {
+      authTokenRolePermissionService.readAuthTokenRolePermissions(null, 1L);
+
+      assertEquals(0, authTokenRolePermissionService.size());
+    }
+
+    @Test
+    @DisplayName("Should stay within max size")
+    void shouldStayWithinMaxSize() {
+      for (long profileId = 1; profileId <= 150; profileId++) {
+        authTokenRolePermissionService.readAuthTokenRolePermissions(9L, profileId);
+      }
+
+      assertTrue(authTokenRolePermissionService.size() <= 100);
+    }
+
+    @Test
+    @DisplayName("Should not cache load that overlaps an eviction")
+    void shouldNotCacheLoadOverlappingEviction() {
+      when(rawSqlRepository.findRolePermissionsForAuthToken(1L, 1L))
+          .thenAnswer(
+              invocation -> {
+                authTokenRolePermissionService.evictAuthTokenRolePermissions(1L, 1L);
+                return getRolesPermissions(1L, 1L);
+              });
+
+      List<AuthTokenRolePermissionLookup> result =
+          authTokenRolePermissionService.readAuthTokenRolePermissions(1L, 1L);
+
+      assertEquals(getRolesPermissions(1L, 1L), result);
+      assertEquals(0, authTokenRolePermissionService.size());
+    }
+  }
+
+  @Nested
+  @DisplayName("evictAuthTokenRolePermissions() tests")
+  class EvictTests {
+
+    @BeforeEach
+    void setUp() {
+      readAll();
+      assertEquals(3, authTokenRolePermissionService.size());
+    }
+
+    @Test
+    @DisplayName("Should evict platform and profile")
+    void shouldEvictPlatformProfile() {
+      authTokenRolePermissionService.evictAuthTokenRolePermissions(1L, 1L);
+
+      assertEquals(2, authTokenRolePermissionService.size());
+      readAll();
+      verify(rawSqlRepository, times(2)).findRolePermissionsForAuthToken(1L, 1L);
+      verify(rawSqlRepository, times(1)).findRolePermissionsForAuthToken(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should evict only entries with role on platform")
+    void shouldEvictPlatformRole() {
+      authTokenRolePermissionService.evictAuthTokenRolePermissionsByPlatformRole(1L, 1L);
+
+      assertEquals(2, authTokenRolePermissionService.size());
+      readAll();
+      verify(rawSqlRepository, times(2)).findRolePermissionsForAuthToken(1L, 1L);
+      verify(rawSqlRepository, times(1)).findRolePermissionsForAuthToken(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("Should evict platforms")
+    void shouldEvictPlatforms() {
+      authTokenRolePermissionService.evictAuthTokenRolePermissionsByPlatformIds(List.of(1L));
+
+      assertEquals(1, authTokenRolePermissionService.size());
+    }
+
+    @Test
+    @DisplayName("Should evict profiles")
+    void shouldEvictProfiles() {
+      authTokenRolePermissionService.evictAuthTokenRolePermissionsByProfileIds(List.of(1L));
+
+      assertEquals(1, authTokenRolePermissionService.size());
+    }
+
+    @Test
+    @DisplayName("Should evict entries with roles")
+    void shouldEvictRoles() {
+      authTokenRolePermissionService.evictAuthTokenRolePermissionsByRoleIds(List.of(2L));
+
+      assertEquals(2, authTokenRolePermissionService.size());
+      assertEquals(1, getCount("eviction"));
+    }
+
+    @Test
+    @DisplayName("Should evict entries with permissions")
+    void shouldEvictPermissions() {
+      authTokenRolePermissionService.evictAuthTokenRolePermissionsByPermissionIds(
+          List.of(1L, 3L));
+
+      assertEquals(1, authTokenRolePermissionService.size());
+    }
+
+    @Test
+    @DisplayName("Should evict all")
+    void shouldEvictAll() {
+      authTokenRolePermissionService.evictAuthTokenRolePermissions();
+
+      assertEquals(0, authTokenRolePermissionService.size());
+    }
+
+    @Test
+    @DisplayName("Should evict again after commit inside a transaction")
+    void shouldEvictAgainAfterCommit() {
+      TransactionSynchronizationManager.initSynchronization();
+      try {
+        authTokenRolePermissionService.evictAuthTokenRolePermissionsByRoleIds(List.of(1L));
+        assertEquals(1, authTokenRolePermissionService.size());
+
+        // read before the commit, so the permissions before the change
+        readAll();
+        assertEquals(3, authTokenRolePermissionService.size());
+
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, authTokenRolePermissionService.size());
+      } finally {
+        TransactionSynchronizationManager.clearSynchronization();
+      }
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package unit.auth.service.app.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import auth.service.app.util.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@DisplayName("CircuitBreaker Unit Tests")
+class CircuitBreakerTest {
+
+  private static final int FAILURE_THRESHOLD = 3;
+  private static final Duration OPEN_DURATION = Duration.ofSeconds(60);
+
+  private final MutableClock clock = new MutableClock();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final CircuitBreaker circuitBreaker =
+      new CircuitBreaker(
+          "test", FAILURE_THRESHOLD, 200, OPEN_DURATION.toMillis(), meterRegistry, clock);
+  private final AtomicInteger calls = new AtomicInteger();
+
+  private Callable<String> failing() {
+    return () -> {
+      calls.incrementAndGet();
+      throw new IllegalStateException("failed");
+    };
+  }
+
+  private Callable<String> succeeding() {
+    return () -> "call-" + calls.incrementAndGet();
+  }
+
+  private double count(final String result) {
+    return meterRegistry
+        .get("authsvc.circuit.breaker.calls")
+        .tag("name", "test")
+        .tag("result", result)
+        .counter()
+        .count();
+  }
+
+  @Test
+  @DisplayName("Should open after failures in a row and reject calls without running them")
+  void shouldOpenAfterFailures() {
+    for (int i = 0; i < FAILURE_THRESHOLD - 1; i++) {
+      assertTrue(circuitBreaker.call(failing()).isEmpty());
+    }
+    assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+    assertTrue(circuitBreaker.call(failing()).isEmpty());
+    assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+    assertTrue(circuitBreaker.call(succeeding()).isEmpty());
+    assertEquals(FAILURE_THRESHOLD, calls.get());
+    assertEquals(FAILURE_THRESHOLD, count("failure"));
+    assertEquals(1, count("rejected"));
+  }
+
+  @Test
+  @DisplayName("Should reset failures on a success")
+  void shouldResetFailuresOnSuccess() {
+    circuitBreaker.call(failing());
+    circuitBreaker.call(failing());
+    assertEquals(Optional.of("call-3"), circuitBreaker.call(succeeding()));
+    circuitBreaker.call(failing());
+    circuitBreaker.call(failing());
+
+    assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+  }
+
+  @Test
+  @DisplayName("Should let one call through when half open and close or open on its result")
+  void shouldCloseOrOpenWhenHalfOpen() {
+    for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+      circuitBreaker.call(failing());
+    }
+
+    clock.advance(OPEN_DURATION);
+    assertTrue(circuitBreaker.call(failing()).isEmpty());
+    assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    assertTrue(circuitBreaker.call(succeeding()).isEmpty());
+    assertEquals(FAILURE_THRESHOLD + 1, calls.get());
+
+    clock.advance(OPEN_DURATION);
+    assertEquals(Optional.of("call-5"), circuitBreaker.call(succeeding()));
+    assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+  }
+
+  @Test
+  @DisplayName("Should not wait on a call past the timeout and count it as a failure")
+  void shouldTimeOutSlowCall() {
+    final Callable<String> slow =
+        () -> {
+          Thread.sleep(5_000);
+          return "slow";
+        };
+
+    final long startMillis = System.currentTimeMillis();
+    assertTrue(circuitBreaker.call(slow).isEmpty());
+    assertTrue(System.currentTimeMillis() - startMillis < 2_000);
+    assertEquals(1, count("timeout"));
+
+    circuitBreaker.call(slow);
+    circuitBreaker.call(slow);
+    assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+  }
+
+  private static final class MutableClock extends Clock {
+    private long millis = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+
+    void advance(final Duration duration) {
+      millis += duration.toMillis();
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(final ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public long millis() {
+      return millis;
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.ofEpochMilli(millis);
+    }
+  }
+}
@@ -3,6 +3,7 @@ package unit.auth.service.app.util;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import auth.service.app.model.events.AuditContext;
 import auth.service.app.util.CommonUtils;
 import auth.service.app.util.ConstantUtils;
 import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
@@ -239,6 +240,67 @@ class CommonUtilsTest {
     }
   }
 
+  @Nested
+  @DisplayName("getClientIpAddress() tests")
+  class GetClientIpAddressTests {
+
+    @AfterEach
+    void tearDown() {
+      System.clearProperty(ConstantUtils.ENV_TRUSTED_PROXY_HOPS);
+    }
+
+    @Test
+    @DisplayName("Should return the hop as many hops from the right as trusted proxies")
+    void shouldReturnHopOfTrustedProxies() {
+      System.setProperty(ConstantUtils.ENV_TRUSTED_PROXY_HOPS, "2");
+      when(mockRequest.getHeader("X-Forwarded-For"))
+          .thenReturn("203.0.113.1, 198.51.100.7, 35.191.0.1");
+
+      assertEquals("198.51.100.7", CommonUtils.getClientIpAddress(mockRequest));
+    }
+
+    @Test
+    @DisplayName("Should return the same address whatever the client sends before it")
+    void shouldIgnoreHopsSentByClient() {
+      System.setProperty(ConstantUtils.ENV_TRUSTED_PROXY_HOPS, "1");
+      when(mockRequest.getHeader("X-Forwarded-For"))
+          .thenReturn("198.51.100.7")
+          .thenReturn("unknown, 10.0.0.1, 203.0.113.2, 198.51.100.7");
+
+      assertEquals("198.51.100.7", CommonUtils.getClientIpAddress(mockRequest));
+      assertEquals("198.51.100.7", CommonUtils.getClientIpAddress(mockRequest));
+    }
+
+    @Test
+    @DisplayName("Should return remote address without trusted proxies")
+    void shouldReturnRemoteAddrWithoutTrustedProxies() {
+      when(mockRequest.getHeader("X-Forwarded-For")).thenReturn("203.0.113.1");
+      when(mockRequest.getRemoteAddr()).thenReturn("198.51.100.7");
+
+      assertEquals("198.51.100.7", CommonUtils.getClientIpAddress(mockRequest));
+    }
+
+    @Test
+    @DisplayName("Should return remote address when X-Forwarded-For has fewer hops than trusted")
+    void shouldReturnRemoteAddrWhenFewerHops() {
+      System.setProperty(ConstantUtils.ENV_TRUSTED_PROXY_HOPS, "2");
+      when(mockRequest.getHeader("X-Forwarded-For")).thenReturn("203.0.113.1");
+      when(mockRequest.getRemoteAddr()).thenReturn("127.0.0.1");
+
+      assertEquals("127.0.0.1", CommonUtils.getClientIpAddress(mockRequest));
+    }
+
+    @Test
+    @DisplayName("Should return remote address when X-Forwarded-For is null")
+    void shouldReturnRemoteAddrWhenXForwardedForIsNull() {
+      System.setProperty(ConstantUtils.ENV_TRUSTED_PROXY_HOPS, "1");
+      when(mockRequest.getHeader("X-Forwarded-For")).thenReturn(null);
+      when(mockRequest.getRemoteAddr()).thenReturn("10.0.0.1");
+
+      assertEquals("10.0.0.1", CommonUtils.getClientIpAddress(mockRequest));
+    }
+  }
+
   @Nested
   @DisplayName("getUserAgent() tests")
   class GetUserAgentTests {
@@ -275,6 +337,59 @@ class CommonUtilsTest {
     }
   }
 
+  @Nested
+  @DisplayName("getAuditContext() tests")
+  class GetAuditContextTests {
+
+    @BeforeEach
+    void setUp() {
+      securityContextHolderMock = mockStatic(SecurityContextHolder.class);
+      securityContextHolderMock
+          .when(SecurityContextHolder::getContext)
+          .thenReturn(mockSecurityContext);
+    }
+
+    @Test
+    @DisplayName("Should capture request details and request id header")
+    void shouldCaptureRequestDetailsAndRequestIdHeader() {
+      when(mockRequest.getHeader("X-Forwarded-For")).thenReturn("192.168.1.1");
+      when(mockRequest.getHeader("User-Agent")).thenReturn("unit-test");
+      when(mockRequest.getHeader(ConstantUtils.HEADER_REQUEST_ID)).thenReturn("request-1");
+      when(mockSecurityContext.getAuthentication()).thenReturn(null);
+
+      AuditContext result = CommonUtils.getAuditContext(mockRequest);
+
+      assertEquals(new AuditContext("192.168.1.1", "unit-test", null, "request-1"), result);
+      verify(mockRequest).setAttribute(ConstantUtils.HEADER_REQUEST_ID, "request-1");
+    }
+
+    @Test
+    @DisplayName("Should generate request id when header is not present")
+    void shouldGenerateRequestIdWhenHeaderNotPresent() {
+      when(mockRequest.getHeader(ConstantUtils.HEADER_REQUEST_ID)).thenReturn(null);
+      when(mockSecurityContext.getAuthentication()).thenReturn(mockAuthentication);
+      when(mockAuthentication.getCredentials()).thenReturn("not-an-auth-token");
+
+      AuditContext result = CommonUtils.getAuditContext(mockRequest);
+
+      assertNotNull(result.requestId());
+      assertNull(result.actorProfileId());
+      verify(mockRequest).setAttribute(ConstantUtils.HEADER_REQUEST_ID, result.requestId());
+    }
+
+    @Test
+    @DisplayName("Should reuse request id already set on the request")
+    void shouldReuseRequestIdFromAttribute() {
+      when(mockRequest.getAttribute(ConstantUtils.HEADER_REQUEST_ID)).thenReturn("request-2");
+      when(mockSecurityContext.getAuthentication()).thenReturn(null);
+
+      AuditContext result = CommonUtils.getAuditContext(mockRequest);
+
+      assertEquals("request-2", result.requestId());
+      verify(mockRequest, never()).setAttribute(anyString(), any());
+    }
+  }
+
   @Nested
   @DisplayName("defaultResponseCrudInfo() tests")
   class DefaultResponseCrudInfoTests {
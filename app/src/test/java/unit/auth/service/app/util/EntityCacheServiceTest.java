@@ -0,0 +1,173 @@
+package unit.auth.service.app.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import auth.service.app.model.entity.PlatformEntity;
+import auth.service.app.model.entity.ProfileEntity;
+import auth.service.app.model.entity.RoleEntity;
+import auth.service.app.service.EntityCacheService;
+import auth.service.app.util.ProfileEmailFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Tag("unit")
+@DisplayName("EntityCacheService Unit Tests")
+class EntityCacheServiceTest {
+
+  private static final long MAX_STALE_MILLIS = 60_000;
+  private static final Clock CLOCK = Clock.fixed(Instant.now(), ZoneOffset.UTC);
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ProfileEmailFilter profileEmailFilter = new ProfileEmailFilter(meterRegistry);
+  private final EntityCacheService entityCacheService =
+      new EntityCacheService(meterRegistry, profileEmailFilter, MAX_STALE_MILLIS, CLOCK);
+  private final AtomicInteger loads = new AtomicInteger();
+
+  private static PlatformEntity getPlatformEntity(final Long id) {
+    final PlatformEntity platformEntity = new PlatformEntity();
+    platformEntity.setId(id);
+    platformEntity.setPlatformName("PLATFORM_" + id);
+    platformEntity.setPlatformDesc("Platform " + id);
+    return platformEntity;
+  }
+
+  private static RoleEntity getRoleEntity(final Long id, final String roleName) {
+    final RoleEntity roleEntity = new RoleEntity();
+    roleEntity.setId(id);
+    roleEntity.setRoleName(roleName);
+    roleEntity.setRoleDesc("Role " + id);
+    return roleEntity;
+  }
+
+  private <K, V> Function<K, Optional<V>> counting(final Function<K, Optional<V>> loader) {
+    return key -> {
+      loads.incrementAndGet();
+      return loader.apply(key);
+    };
+  }
+
+  @Test
+  @DisplayName("Should load once and return a new detached copy on every read")
+  void shouldReturnCopies() {
+    final Function<Long, Optional<PlatformEntity>> loader =
+        counting(id -> Optional.of(getPlatformEntity(id)));
+
+    final PlatformEntity first = entityCacheService.readPlatform(1L, loader).orElseThrow();
+    first.setPlatformName("CHANGED");
+    final PlatformEntity second = entityCacheService.readPlatform(1L, loader).orElseThrow();
+
+    assertEquals(1, loads.get());
+    assertNotSame(first, second);
+    assertEquals("PLATFORM_1", second.getPlatformName());
+    assertEquals(
+        1,
+        meterRegistry
+            .get("authsvc.entity.cache")
+            .tag("cache", "platform")
+            .tag("result", "hit")
+            .counter()
+            .count());
+  }
+
+  @Test
+  @DisplayName("Should not cache an entity not found")
+  void shouldNotCacheNotFound() {
+    final Function<Long, Optional<PlatformEntity>> loader = counting(id -> Optional.empty());
+
+    assertTrue(entityCacheService.readPlatform(1L, loader).isEmpty());
+    assertTrue(entityCacheService.readPlatform(1L, loader).isEmpty());
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  @DisplayName("Should evict a changed role by id and by its old name")
+  void shouldEvictRole() {
+    final Function<Long, Optional<RoleEntity>> loader =
+        counting(id -> Optional.of(getRoleEntity(id, "GUEST")));
+    final Function<String, Optional<RoleEntity>> nameLoader =
+        counting(roleName -> Optional.of(getRoleEntity(1L, roleName)));
+    entityCacheService.readRole(1L, loader);
+    entityCacheService.readRoleByName("GUEST", nameLoader);
+    entityCacheService.readRoleByName("STANDARD", counting(roleName -> Optional.empty()));
+    assertEquals(3, loads.get());
+
+    entityCacheService.evictEntity(getRoleEntity(1L, "RENAMED"));
+    entityCacheService.readRole(1L, loader);
+    entityCacheService.readRoleByName("GUEST", nameLoader);
+    assertEquals(5, loads.get());
+
+    entityCacheService.evictEntity(getPlatformEntity(1L));
+    entityCacheService.readRole(1L, loader);
+    assertEquals(5, loads.get());
+  }
+
+  @Test
+  @DisplayName("Should not cache a load that overlaps an eviction")
+  void shouldNotCacheOverlappingLoad() {
+    final Function<Long, Optional<PlatformEntity>> loader =
+        counting(
+            id -> {
+              final PlatformEntity platformEntity = getPlatformEntity(id);
+              if (loads.get() == 1) {
+                // changed and evicted after it was read
+                entityCacheService.evictEntity(getPlatformEntity(id));
+              }
+              return Optional.of(platformEntity);
+            });
+
+    entityCacheService.readPlatform(1L, loader);
+    entityCacheService.readPlatform(1L, loader);
+    entityCacheService.readPlatform(1L, loader);
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  @DisplayName("Should reload an entity past max stale")
+  void shouldReloadPastMaxStale() {
+    final EntityCacheService noStaleEntityCacheService =
+        new EntityCacheService(meterRegistry, new ProfileEmailFilter(meterRegistry), 0, CLOCK);
+    final Function<Long, Optional<PlatformEntity>> loader =
+        counting(id -> Optional.of(getPlatformEntity(id)));
+
+    noStaleEntityCacheService.readPlatform(1L, loader);
+    noStaleEntityCacheService.readPlatform(1L, loader);
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  @DisplayName("Should add a persisted profile email again after commit")
+  void shouldAddProfileEmailAfterCommit() {
+    final String email = "firstlast@email.com";
+    final ProfileEntity profileEntity = new ProfileEntity();
+    profileEntity.setId(1L);
+    profileEntity.setEmail(email);
+    profileEmailFilter.rebuild(List::of);
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      entityCacheService.evictEntity(profileEntity);
+      assertTrue(profileEmailFilter.mightExist(email));
+
+      // read before the profile was committed
+      profileEmailFilter.addAbsent(email, profileEmailFilter.getAddVersion());
+      assertFalse(profileEmailFilter.mightExist(email));
+
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(TransactionSynchronization::afterCommit);
+      assertTrue(profileEmailFilter.mightExist(email));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+}
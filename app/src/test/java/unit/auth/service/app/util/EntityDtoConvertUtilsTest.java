@@ -6,6 +6,8 @@ import static org.mockito.Mockito.*;
 import auth.service.app.exception.ElementMissingException;
 import auth.service.app.exception.ElementNotActiveException;
 import auth.service.app.exception.ElementNotFoundException;
+import auth.service.app.exception.LoginThrottledException;
+import auth.service.app.exception.PasswordEncoderBusyException;
 import auth.service.app.exception.ProfileForbiddenException;
 import auth.service.app.exception.ProfileLockedException;
 import auth.service.app.exception.ProfileNotActiveException;
@@ -33,7 +35,7 @@ import auth.service.app.model.entity.ProfileEntity;
 import auth.service.app.model.entity.RoleEntity;
 import auth.service.app.model.enums.TypeEnums;
 import auth.service.app.model.token.AuthTokenRolePermissionLookup;
-import auth.service.app.repository.RawSqlRepository;
+import auth.service.app.service.AuthTokenRolePermissionService;
 import auth.service.app.service.PlatformProfileRoleService;
 import auth.service.app.service.PlatformRolePermissionService;
 import auth.service.app.util.ConstantUtils;
@@ -75,7 +77,7 @@ class EntityDtoConvertUtilsTest {
   @Mock private PlatformProfileRoleService pprService;
   @Mock private PlatformRolePermissionService prpService;
   @Mock private CookieService cookieService;
-  @Mock private RawSqlRepository rawSqlRepository;
+  @Mock private AuthTokenRolePermissionService authTokenRolePermissionService;
 
   @InjectMocks private EntityDtoConvertUtils convertUtils;
 
@@ -175,6 +177,32 @@ class EntityDtoConvertUtilsTest {
       assertEquals(HttpStatus.BAD_REQUEST, status);
     }
 
+    @Test
+    @DisplayName("Should return SERVICE_UNAVAILABLE with Retry-After for password encoder busy")
+    void shouldReturnServiceUnavailableForPasswordEncoderBusyException() {
+      Exception exception = new PasswordEncoderBusyException();
+      HttpStatus status = convertUtils.getHttpStatusForErrorResponse(exception);
+      assertEquals(HttpStatus.SERVICE_UNAVAILABLE, status);
+      assertEquals(
+          String.valueOf(ConstantUtils.PASSWORD_ENCODER_RETRY_AFTER_SECONDS),
+          convertUtils.getHttpHeadersForErrorResponse(exception).getFirst(HttpHeaders.RETRY_AFTER));
+      assertNull(
+          convertUtils
+              .getHttpHeadersForErrorResponse(new RuntimeException())
+              .getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    @DisplayName("Should return TOO_MANY_REQUESTS with Retry-After for login throttled")
+    void shouldReturnTooManyRequestsForLoginThrottledException() {
+      Exception exception = new LoginThrottledException(42);
+      HttpStatus status = convertUtils.getHttpStatusForErrorResponse(exception);
+      assertEquals(HttpStatus.TOO_MANY_REQUESTS, status);
+      assertEquals(
+          "42",
+          convertUtils.getHttpHeadersForErrorResponse(exception).getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
     @Test
     @DisplayName("Should return INTERNAL_SERVER_ERROR for unknown exceptions")
     void shouldReturnInternalServerErrorForUnknownExceptions() {
@@ -917,7 +945,8 @@ class EntityDtoConvertUtilsTest {
     @DisplayName("Should create auth token with platform and profile")
     void shouldCreateAuthTokenWithPlatformAndProfile() {
       List<AuthTokenRolePermissionLookup> lookups = new ArrayList<>();
-      when(rawSqlRepository.findRolePermissionsForAuthToken(TEST_ID, TEST_ID)).thenReturn(lookups);
+      when(authTokenRolePermissionService.readAuthTokenRolePermissions(TEST_ID, TEST_ID))
+          .thenReturn(lookups);
 
       AuthToken authToken = convertUtils.getAuthTokenFromProfile(platformEntity, profileEntity);
 
@@ -938,7 +967,7 @@ class EntityDtoConvertUtilsTest {
       AuthTokenRolePermissionLookup lookup2 =
           new AuthTokenRolePermissionLookup(1L, "ADMIN", 11L, "WRITE");
 
-      when(rawSqlRepository.findRolePermissionsForAuthToken(TEST_ID, TEST_ID))
+      when(authTokenRolePermissionService.readAuthTokenRolePermissions(TEST_ID, TEST_ID))
           .thenReturn(List.of(lookup1, lookup2));
 
       AuthToken authToken = convertUtils.getAuthTokenFromProfile(platformEntity, profileEntity);
@@ -946,7 +975,7 @@ class EntityDtoConvertUtilsTest {
       assertNotNull(authToken);
       assertFalse(authToken.getRoles().isEmpty());
       assertFalse(authToken.getPermissions().isEmpty());
-      assertEquals(2, authToken.getRoles().size());
+      assertEquals(1, authToken.getRoles().size());
       assertEquals(2, authToken.getPermissions().size());
     }
 
@@ -956,7 +985,7 @@ class EntityDtoConvertUtilsTest {
       AuthTokenRolePermissionLookup lookup =
           new AuthTokenRolePermissionLookup(1L, ConstantUtils.ROLE_NAME_SUPERUSER, 10L, "ALL");
 
-      when(rawSqlRepository.findRolePermissionsForAuthToken(TEST_ID, TEST_ID))
+      when(authTokenRolePermissionService.readAuthTokenRolePermissions(TEST_ID, TEST_ID))
           .thenReturn(List.of(lookup));
 
       AuthToken authToken = convertUtils.getAuthTokenFromProfile(platformEntity, profileEntity);
@@ -971,7 +1000,7 @@ class EntityDtoConvertUtilsTest {
       AuthTokenRolePermissionLookup lookup =
           new AuthTokenRolePermissionLookup(1L, "USER", 10L, "READ");
 
-      when(rawSqlRepository.findRolePermissionsForAuthToken(TEST_ID, TEST_ID))
+      when(authTokenRolePermissionService.readAuthTokenRolePermissions(TEST_ID, TEST_ID))
           .thenReturn(List.of(lookup));
 
       AuthToken authToken = convertUtils.getAuthTokenFromProfile(platformEntity, profileEntity);
@@ -983,7 +1012,7 @@ class EntityDtoConvertUtilsTest {
     @Test
     @DisplayName("Should handle empty roles and permissions")
     void shouldHandleEmptyRolesAndPermissions() {
-      when(rawSqlRepository.findRolePermissionsForAuthToken(TEST_ID, TEST_ID))
+      when(authTokenRolePermissionService.readAuthTokenRolePermissions(TEST_ID, TEST_ID))
           .thenReturn(Collections.emptyList());
 
       AuthToken authToken = convertUtils.getAuthTokenFromProfile(platformEntity, profileEntity);
@@ -1004,16 +1033,16 @@ class EntityDtoConvertUtilsTest {
       AuthTokenRolePermissionLookup lookup3 =
           new AuthTokenRolePermissionLookup(2L, "USER", 12L, "READ");
 
-      when(rawSqlRepository.findRolePermissionsForAuthToken(TEST_ID, TEST_ID))
+      when(authTokenRolePermissionService.readAuthTokenRolePermissions(TEST_ID, TEST_ID))
           .thenReturn(List.of(lookup1, lookup2, lookup3));
 
       AuthToken authToken = convertUtils.getAuthTokenFromProfile(platformEntity, profileEntity);
 
       assertNotNull(authToken);
-      // Should have 3 role entries (duplicates not removed in current implementation)
-      // This tests current behavior
-      assertEquals(3, authToken.getRoles().size());
+      assertEquals(2, authToken.getRoles().size());
       assertEquals(3, authToken.getPermissions().size());
+      assertEquals("ADMIN", authToken.getRoles().get(0).getRoleName());
+      assertEquals("USER", authToken.getRoles().get(1).getRoleName());
     }
   }
 
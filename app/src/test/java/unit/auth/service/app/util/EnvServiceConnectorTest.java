@@ -4,12 +4,33 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import auth.service.app.connector.EnvServiceConnector;
+import auth.service.app.util.CircuitBreaker;
+import auth.service.app.util.ConstantUtils;
+import auth.service.app.util.RefreshAheadCacheManager;
+import com.sun.net.httpserver.HttpServer;
 import io.github.bibekaryal86.shdsvc.dtos.EnvDetailsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -18,6 +39,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.SimpleKey;
 import org.springframework.core.env.Environment;
 
 @Tag("unit")
@@ -25,15 +48,29 @@ import org.springframework.core.env.Environment;
 @DisplayName("EnvServiceConnector Unit Tests")
 class EnvServiceConnectorTest {
 
+  private static final int FAILURE_THRESHOLD = 2;
+  private static final long TIMEOUT_MILLIS = 500;
+  private static final Duration OPEN_DURATION = Duration.ofSeconds(60);
+
   @Mock private Environment environment;
 
+  private final MutableClock clock = new MutableClock();
+  private CircuitBreaker circuitBreaker;
   private EnvServiceConnector envServiceConnector;
   private List<EnvDetailsResponse.EnvDetails> mockEnvDetails;
 
   @BeforeEach
   void setUp() {
     mockEnvDetails = new ArrayList<>();
-    envServiceConnector = spy(new EnvServiceConnector(environment));
+    circuitBreaker =
+        new CircuitBreaker(
+            "envsvc",
+            FAILURE_THRESHOLD,
+            TIMEOUT_MILLIS,
+            OPEN_DURATION.toMillis(),
+            new SimpleMeterRegistry(),
+            clock);
+    envServiceConnector = spy(new EnvServiceConnector(environment, circuitBreaker));
   }
 
   @Nested
@@ -104,15 +141,11 @@ class EnvServiceConnectorTest {
     }
 
     @Test
-    @DisplayName("Should return empty map when env properties list is empty")
-    void shouldReturnEmptyMapWhenEnvPropertiesEmpty() {
-      when(environment.matchesProfiles("sandbox")).thenReturn(true);
+    @DisplayName("Should throw when env properties list is empty and none were loaded")
+    void shouldThrowWhenEnvPropertiesEmpty() {
       doReturn(Collections.emptyList()).when(envServiceConnector).getAuthServiceEnvProperties();
 
-      Map<String, String> result = envServiceConnector.getRedirectUrls();
-
-      assertNotNull(result);
-      assertTrue(result.isEmpty());
+      assertThrows(IllegalStateException.class, () -> envServiceConnector.getRedirectUrls());
     }
   }
 
@@ -181,14 +214,25 @@ class EnvServiceConnectorTest {
     }
 
     @Test
-    @DisplayName("Should return null when env properties list is empty")
-    void shouldReturnNullWhenEnvPropertiesEmpty() {
+    @DisplayName("Should use the env properties last loaded when env properties list is empty")
+    void shouldUseLastLoadedWhenEnvPropertiesEmpty() {
       when(environment.matchesProfiles("sandbox")).thenReturn(true);
-      doReturn(Collections.emptyList()).when(envServiceConnector).getAuthServiceEnvProperties();
 
-      String result = envServiceConnector.getBaseUrlForLinkInEmail();
+      Map<String, String> urlMap = new HashMap<>();
+      urlMap.put("sandbox", "http://localhost:8080");
 
-      assertNull(result);
+      EnvDetailsResponse.EnvDetails envDetail = new EnvDetailsResponse.EnvDetails();
+      envDetail.setName("baseUrlForLinkInEmail");
+      envDetail.setMapValue(urlMap);
+      mockEnvDetails.add(envDetail);
+
+      doReturn(mockEnvDetails)
+          .doReturn(Collections.emptyList())
+          .when(envServiceConnector)
+          .getAuthServiceEnvProperties();
+
+      assertEquals("http://localhost:8080", envServiceConnector.getBaseUrlForLinkInEmail());
+      assertEquals("http://localhost:8080", envServiceConnector.getBaseUrlForLinkInEmail());
     }
   }
 
@@ -204,8 +248,171 @@ class EnvServiceConnectorTest {
 
     @Test
     @DisplayName("Should evict base URL cache without throwing exception")
-    void shouldEvictBaseUrlForLinkInEmailCache() {
+    void shouldEvictBaseUrlCache() {
       assertDoesNotThrow(() -> envServiceConnector.evictBaseUrlForLinkInEmailCache());
     }
   }
+
+  @Nested
+  @DisplayName("Env service stub tests")
+  class EnvServiceStubTests {
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final AtomicInteger stubCalls = new AtomicInteger();
+    private volatile int stubStatus = 200;
+    private volatile long stubDelayMillis = 0;
+    private HttpServer envServiceStub;
+
+    @BeforeEach
+    void setUp() throws IOException {
+      envServiceStub =
+          HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+      envServiceStub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+      envServiceStub.createContext(
+          "/api/v1/authservice",
+          exchange -> {
+            stubCalls.incrementAndGet();
+            try {
+              Thread.sleep(stubDelayMillis);
+            } catch (InterruptedException ex) {
+              Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(stubStatus, -1);
+            exchange.close();
+          });
+      envServiceStub.start();
+
+      Map<String, String> redirectUrls = new HashMap<>();
+      redirectUrls.put("app1", "http://localhost:3000");
+      EnvDetailsResponse.EnvDetails envDetail = new EnvDetailsResponse.EnvDetails();
+      envDetail.setName("redirectUrls_sandbox");
+      envDetail.setMapValue(redirectUrls);
+      mockEnvDetails.add(envDetail);
+
+      lenient().when(environment.matchesProfiles("sandbox")).thenReturn(true);
+      // the shdsvc client reads the env service url from the environment, so the stub is called
+      // in its place and answers with the env details when it responds ok
+      doAnswer(invocation -> getFromEnvServiceStub())
+          .when(envServiceConnector)
+          .getAuthServiceEnvProperties();
+    }
+
+    @AfterEach
+    void tearDown() {
+      envServiceStub.stop(0);
+    }
+
+    private List<EnvDetailsResponse.EnvDetails> getFromEnvServiceStub() throws Exception {
+      final HttpRequest httpRequest =
+          HttpRequest.newBuilder(
+                  URI.create(
+                      String.format(
+                          "http://localhost:%d/api/v1/authservice",
+                          envServiceStub.getAddress().getPort())))
+              .build();
+      final HttpResponse<Void> httpResponse =
+          httpClient.send(httpRequest, HttpResponse.BodyHandlers.discarding());
+      if (httpResponse.statusCode() != 200) {
+        throw new IllegalStateException("Env Service Status: " + httpResponse.statusCode());
+      }
+      return mockEnvDetails;
+    }
+
+    @Test
+    @DisplayName("Should serve reads from the cache and keep its value while the env service fails")
+    void shouldServeReadsFromCache() {
+      final RefreshAheadCacheManager cacheManager =
+          new RefreshAheadCacheManager(
+              Map.of(
+                  "redirectUrls",
+                  new RefreshAheadCacheManager.CacheSpec(
+                      Duration.ofSeconds(ConstantUtils.APP_CACHE_TTL_SECONDS),
+                      Duration.ofSeconds(ConstantUtils.APP_CACHE_REFRESH_AHEAD_SECONDS),
+                      Duration.ofSeconds(ConstantUtils.APP_CACHE_MAX_STALE_SECONDS),
+                      ConstantUtils.APP_CACHE_MAX_SIZE,
+                      key -> envServiceConnector.loadRedirectUrls())),
+              new SimpleMeterRegistry(),
+              clock,
+              Runnable::run);
+      final Cache cache = cacheManager.getCache("redirectUrls");
+      // what the cached getRedirectUrls does through the cache proxy
+      final Callable<Map<String, String>> getRedirectUrls = envServiceConnector::loadRedirectUrls;
+
+      cache.get(SimpleKey.EMPTY, getRedirectUrls);
+      assertEquals(
+          "http://localhost:3000", cache.get(SimpleKey.EMPTY, getRedirectUrls).get("app1"));
+      assertEquals(1, stubCalls.get());
+
+      stubStatus = 500;
+      clock.advance(Duration.ofSeconds(ConstantUtils.APP_CACHE_TTL_SECONDS));
+      assertEquals(
+          "http://localhost:3000", cache.get(SimpleKey.EMPTY, getRedirectUrls).get("app1"));
+      assertEquals(2, stubCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should use the env properties last loaded when the env service fails")
+    void shouldUseLastEnvPropertiesLoaded() {
+      assertEquals("http://localhost:3000", envServiceConnector.loadRedirectUrls().get("app1"));
+
+      stubStatus = 500;
+      assertEquals("http://localhost:3000", envServiceConnector.loadRedirectUrls().get("app1"));
+      assertEquals(2, stubCalls.get());
+    }
+
+    @Test
+    @DisplayName("Should not wait on a slow env service past the timeout")
+    void shouldTimeOutSlowEnvService() {
+      stubDelayMillis = 5_000;
+
+      final long startMillis = System.currentTimeMillis();
+      assertThrows(IllegalStateException.class, () -> envServiceConnector.loadRedirectUrls());
+      assertTrue(System.currentTimeMillis() - startMillis < 2_000);
+    }
+
+    @Test
+    @DisplayName("Should not call the env service while its circuit is open")
+    void shouldNotCallEnvServiceWhileOpen() {
+      stubStatus = 500;
+      for (int i = 0; i < 4; i++) {
+        assertThrows(IllegalStateException.class, () -> envServiceConnector.loadRedirectUrls());
+      }
+      assertEquals(FAILURE_THRESHOLD, stubCalls.get());
+      assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+      clock.advance(OPEN_DURATION);
+      stubStatus = 200;
+      assertEquals("http://localhost:3000", envServiceConnector.loadRedirectUrls().get("app1"));
+      assertEquals(FAILURE_THRESHOLD + 1, stubCalls.get());
+      assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+  }
+
+  private static final class MutableClock extends Clock {
+    private long millis = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+
+    void advance(final Duration duration) {
+      millis += duration.toMillis();
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(final ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public long millis() {
+      return millis;
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.ofEpochMilli(millis);
+    }
+  }
 }
@@ -0,0 +1,213 @@
+package unit.auth.service.app.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import auth.service.app.exception.TokenInvalidException;
+import auth.service.app.model.token.VerifiedAuthToken;
+import auth.service.app.util.JwtCodec;
+import helper.TestData;
+import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@DisplayName("JwtCodec Unit Tests")
+class JwtCodecTest {
+
+  private static final String TEST_SECRET_KEY = "test_secret_key_for_jwt_codec_testing_purposes";
+  private static final String OTHER_SECRET_KEY = "other_secret_key_for_jwt_codec_testing_purposes";
+
+  private final JwtCodec jwtCodec = new JwtCodec(TEST_SECRET_KEY);
+
+  private static KeyPair generateKeyPair(final String algorithm) throws NoSuchAlgorithmException {
+    final KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(algorithm);
+    if ("EC".equals(algorithm)) {
+      keyPairGenerator.initialize(256);
+    }
+    return keyPairGenerator.generateKeyPair();
+  }
+
+  private static String getHeader(final String token) {
+    return new String(
+        Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))),
+        StandardCharsets.UTF_8);
+  }
+
+  @Nested
+  @DisplayName("verifyAuthCredentials() tests")
+  class VerifyAuthCredentialsTests {
+
+    @Test
+    @DisplayName("Should map auth token claim directly to AuthToken")
+    void shouldMapAuthTokenClaimDirectly() {
+      final AuthToken authToken = TestData.getAuthToken();
+      final String token = jwtCodec.encodeAuthCredentials(authToken, 60000L);
+
+      final VerifiedAuthToken verifiedAuthToken = jwtCodec.verifyAuthCredentials(token);
+
+      assertEquals(authToken.getProfile().getEmail(), verifiedAuthToken.email());
+      assertInstanceOf(AuthToken.class, verifiedAuthToken.authToken());
+      assertEquals(
+          authToken.getPlatform().getId(), verifiedAuthToken.authToken().getPlatform().getId());
+      assertEquals(
+          authToken.getPermissions().getFirst().getPermissionName(),
+          verifiedAuthToken.authToken().getPermissions().getFirst().getPermissionName());
+      assertTrue(verifiedAuthToken.expiresAtMillis() > System.currentTimeMillis());
+    }
+
+    @Test
+    @DisplayName("Should reject token signed with a different key")
+    void shouldRejectTokenWithDifferentKey() {
+      final String token =
+          new JwtCodec(OTHER_SECRET_KEY).encodeAuthCredentials(TestData.getAuthToken(), 60000L);
+
+      TokenInvalidException exception =
+          assertThrows(TokenInvalidException.class, () -> jwtCodec.verifyAuthCredentials(token));
+      assertEquals("Invalid Auth Credentials", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject expired token")
+    void shouldRejectExpiredToken() {
+      final String token = jwtCodec.encodeAuthCredentials(TestData.getAuthToken(), -60000L);
+
+      TokenInvalidException exception =
+          assertThrows(TokenInvalidException.class, () -> jwtCodec.verifyAuthCredentials(token));
+      assertEquals("Expired Auth Credentials", exception.getMessage());
+    }
+  }
+
+  @Nested
+  @DisplayName("decodeEmailAddress() tests")
+  class DecodeEmailAddressTests {
+
+    @Test
+    @DisplayName("Should decode encoded email address")
+    void shouldDecodeEncodedEmailAddress() {
+      final String token = jwtCodec.encodeEmailAddress("profile@one.com");
+      assertEquals("profile@one.com", jwtCodec.decodeEmailAddress(token));
+    }
+
+    @Test
+    @DisplayName("Should not decode auth token as email address")
+    void shouldNotDecodeAuthTokenAsEmailAddress() {
+      final String token = jwtCodec.encodeAuthCredentials(TestData.getAuthToken(), 60000L);
+      assertThrows(IllegalArgumentException.class, () -> jwtCodec.decodeEmailAddress(token));
+    }
+  }
+
+  @Nested
+  @DisplayName("asymmetric signing tests")
+  class AsymmetricSigningTests {
+
+    @Test
+    @DisplayName("Should sign with EC key and key id")
+    void shouldSignWithEcKeyAndKeyId() throws Exception {
+      final JwtCodec ecJwtCodec = new JwtCodec(TEST_SECRET_KEY, generateKeyPair("EC"));
+      final String token = ecJwtCodec.encodeAuthCredentials(TestData.getAuthToken(), 60000L);
+
+      final String header = getHeader(token);
+      assertTrue(header.contains("\"alg\":\"ES256\""));
+      assertTrue(header.contains("\"kid\":\"" + ecJwtCodec.getAuthKeyId() + "\""));
+      assertEquals("profile@one.com", ecJwtCodec.verifyAuthCredentials(token).email());
+    }
+
+    @Test
+    @DisplayName("Should sign with Ed25519 key")
+    void shouldSignWithEd25519Key() throws Exception {
+      final JwtCodec edJwtCodec = new JwtCodec(TEST_SECRET_KEY, generateKeyPair("Ed25519"));
+      final String token = edJwtCodec.encodeAuthCredentials(TestData.getAuthToken(), 60000L);
+
+      assertTrue(getHeader(token).contains("\"alg\":\"EdDSA\""));
+      assertNotNull(edJwtCodec.verifyAuthCredentials(token).authToken());
+    }
+
+    @Test
+    @DisplayName("Should still accept HS256 tokens issued before switching to asymmetric keys")
+    void shouldAcceptHmacTokens() throws Exception {
+      final JwtCodec ecJwtCodec = new JwtCodec(TEST_SECRET_KEY, generateKeyPair("EC"));
+      final String token = jwtCodec.encodeAuthCredentials(TestData.getAuthToken(), 60000L);
+
+      assertNotNull(ecJwtCodec.verifyAuthCredentials(token).authToken());
+    }
+
+    @Test
+    @DisplayName("Should reject HS256 tokens once they are no longer accepted")
+    void shouldRejectHmacTokensWhenNotAccepted() throws Exception {
+      final JwtCodec ecJwtCodec = new JwtCodec(TEST_SECRET_KEY, generateKeyPair("EC"), false);
+      final String token = jwtCodec.encodeAuthCredentials(TestData.getAuthToken(), 60000L);
+
+      assertThrows(TokenInvalidException.class, () -> ecJwtCodec.verifyAuthCredentials(token));
+    }
+
+    @Test
+    @DisplayName("Should reject HS256 token with an unknown key id")
+    void shouldRejectHmacTokenWithUnknownKeyId() throws Exception {
+      final JwtCodec ecJwtCodec = new JwtCodec(TEST_SECRET_KEY, generateKeyPair("EC"));
+      final String token =
+          Jwts.builder()
+              .header()
+              .keyId("unknown-key-id")
+              .and()
+              .subject("profile@one.com")
+              .signWith(Keys.hmacShaKeyFor(TEST_SECRET_KEY.getBytes(StandardCharsets.UTF_8)))
+              .compact();
+
+      assertThrows(TokenInvalidException.class, () -> ecJwtCodec.verifyAuthCredentials(token));
+    }
+
+    @Test
+    @DisplayName("Should reject token signed by a different key pair")
+    void shouldRejectDifferentKeyPair() throws Exception {
+      final KeyPair keyPair = generateKeyPair("EC");
+      final String token =
+          new JwtCodec(TEST_SECRET_KEY, generateKeyPair("EC"))
+              .encodeAuthCredentials(TestData.getAuthToken(), 60000L);
+
+      assertThrows(
+          TokenInvalidException.class,
+          () -> new JwtCodec(TEST_SECRET_KEY, keyPair).verifyAuthCredentials(token));
+    }
+
+    @Test
+    @DisplayName("Should read base64 encoded key pair")
+    void shouldReadKeyPair() throws Exception {
+      final KeyPair keyPair = generateKeyPair("EC");
+
+      final KeyPair readKeyPair =
+          JwtCodec.readKeyPair(
+              Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()),
+              Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+
+      assertEquals(keyPair.getPublic(), readKeyPair.getPublic());
+      assertEquals(keyPair.getPrivate(), readKeyPair.getPrivate());
+    }
+
+    @Test
+    @DisplayName("Should publish public key in key set")
+    void shouldPublishPublicKey() throws Exception {
+      final JwtCodec ecJwtCodec = new JwtCodec(TEST_SECRET_KEY, generateKeyPair("EC"));
+
+      final List<Map<String, ?>> keys = ecJwtCodec.getJsonWebKeySet().get("keys");
+
+      assertEquals(1, keys.size());
+      assertEquals(ecJwtCodec.getAuthKeyId(), keys.getFirst().get("kid"));
+      assertEquals("EC", keys.getFirst().get("kty"));
+      assertEquals("ES256", keys.getFirst().get("alg"));
+      assertEquals("sig", keys.getFirst().get("use"));
+      assertFalse(keys.getFirst().containsKey("d"));
+      assertTrue(jwtCodec.getJsonWebKeySet().get("keys").isEmpty());
+    }
+  }
+}
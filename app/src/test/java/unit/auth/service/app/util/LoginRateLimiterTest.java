@@ -0,0 +1,153 @@
+package unit.auth.service.app.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import auth.service.app.exception.LoginThrottledException;
+import auth.service.app.util.LoginRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@DisplayName("LoginRateLimiter Unit Tests")
+class LoginRateLimiterTest {
+
+  private static final String IP_ADDRESS = "127.0.0.1";
+  private static final String EMAIL = "profile@one.com";
+
+  private final AtomicLong nanoClock = new AtomicLong();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final LoginRateLimiter loginRateLimiter =
+      new LoginRateLimiter(meterRegistry, nanoClock::get, 3, 60, 2, 600, 64);
+
+  private void advanceSeconds(final long seconds) {
+    nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+  }
+
+  private double getCount(final String name, final String limit) {
+    return meterRegistry.get(name).tag("limit", limit).counter().count();
+  }
+
+  @Nested
+  @DisplayName("IP Address Limit Tests")
+  class IpAddressLimitTests {
+
+    @Test
+    @DisplayName("Should allow attempts up to limit and throttle after")
+    void shouldThrottleAfterLimit() {
+      for (int i = 0; i < 3; i++) {
+        assertDoesNotThrow(() -> loginRateLimiter.checkLogin(IP_ADDRESS, EMAIL));
+      }
+
+      LoginThrottledException exception =
+          assertThrows(
+              LoginThrottledException.class, () -> loginRateLimiter.checkLogin(IP_ADDRESS, EMAIL));
+      // all 3 attempts are in the current window, so wait is the rest of it
+      assertEquals(60, exception.getRetryAfterSeconds());
+      assertEquals(1, getCount("authsvc.login.throttled", "ip"));
+      // other ip address is not affected
+      assertDoesNotThrow(() -> loginRateLimiter.checkLogin("127.0.0.2", EMAIL));
+    }
+
+    @Test
+    @DisplayName("Should decay previous window instead of resetting")
+    void shouldDecayPreviousWindow() {
+      for (int i = 0; i < 3; i++) {
+        loginRateLimiter.checkLogin(IP_ADDRESS, EMAIL);
+      }
+
+      // 10 seconds into next window, previous window still weighs 3 * 50/60 = 2.5
+      advanceSeconds(70);
+      assertDoesNotThrow(() -> loginRateLimiter.checkLogin(IP_ADDRESS, EMAIL));
+      assertThrows(
+          LoginThrottledException.class, () -> loginRateLimiter.checkLogin(IP_ADDRESS, EMAIL));
+
+      // two windows later nothing is counted
+      advanceSeconds(120);
+      assertDoesNotThrow(() -> loginRateLimiter.checkLogin(IP_ADDRESS, EMAIL));
+    }
+  }
+
+  @Nested
+  @DisplayName("Email Limit Tests")
+  class EmailLimitTests {
+
+    @Test
+    @DisplayName("Should lock email after failures and not count attempts")
+    void shouldLockEmailAfterFailures() {
+      loginRateLimiter.checkLogin(IP_ADDRESS, EMAIL);
+      loginRateLimiter.checkLogin(IP_ADDRESS, EMAIL);
+      loginRateLimiter.loginFailed(EMAIL);
+      loginRateLimiter.loginFailed("PROFILE@one.com");
+
+      LoginThrottledException exception =
+          assertThrows(
+              LoginThrottledException.class,
+              () -> loginRateLimiter.checkLogin("127.0.0.2", EMAIL));
+      assertEquals(600, exception.getRetryAfterSeconds());
+      assertEquals(1, getCount("authsvc.login.throttled", "email"));
+    }
+
+    @Test
+    @DisplayName("Should unlock email as failures decay")
+    void shouldUnlockEmailAsFailuresDecay() {
+      loginRateLimiter.loginFailed(EMAIL);
+      loginRateLimiter.loginFailed(EMAIL);
+
+      // 2 * (1 - 150/600) = 1.5 failures still counted
+      advanceSeconds(750);
+      assertDoesNotThrow(() -> loginRateLimiter.checkLogin(IP_ADDRESS, EMAIL));
+      loginRateLimiter.loginFailed(EMAIL);
+
+      LoginThrottledException exception =
+          assertThrows(
+              LoginThrottledException.class, () -> loginRateLimiter.checkLogin(IP_ADDRESS, EMAIL));
+      // unlocks once previous window weighs less than 1, at 300 seconds into the window
+      assertEquals(150, exception.getRetryAfterSeconds());
+    }
+
+    @Test
+    @DisplayName("Should reset email on login success")
+    void shouldResetEmailOnLoginSuccess() {
+      loginRateLimiter.loginFailed(EMAIL);
+      loginRateLimiter.loginFailed(EMAIL);
+      loginRateLimiter.loginSucceeded(EMAIL);
+
+      assertDoesNotThrow(() -> loginRateLimiter.checkLogin(IP_ADDRESS, EMAIL));
+    }
+  }
+
+  @Nested
+  @DisplayName("Bounded Memory Tests")
+  class BoundedMemoryTests {
+
+    @Test
+    @DisplayName("Should evict keys when full")
+    void shouldEvictKeysWhenFull() {
+      for (int i = 0; i < 1000; i++) {
+        loginRateLimiter.checkLogin("10.0.0." + i, EMAIL);
+      }
+
+      // one key per stripe for a max of 64 keys
+      assertTrue(
+          meterRegistry.get("authsvc.login.limiter.keys").tag("limit", "ip").gauge().value() <= 64);
+      assertTrue(getCount("authsvc.login.limiter.evicted", "ip") > 0);
+    }
+
+    @Test
+    @DisplayName("Should clear all keys")
+    void shouldClearAllKeys() {
+      loginRateLimiter.loginFailed(EMAIL);
+      loginRateLimiter.loginFailed(EMAIL);
+      loginRateLimiter.clear();
+
+      assertDoesNotThrow(() -> loginRateLimiter.checkLogin(IP_ADDRESS, EMAIL));
+      assertEquals(
+          0, meterRegistry.get("authsvc.login.limiter.keys").tag("limit", "email").gauge().value());
+    }
+  }
+}
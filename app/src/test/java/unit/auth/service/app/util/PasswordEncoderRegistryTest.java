@@ -0,0 +1,101 @@
+package unit.auth.service.app.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import auth.service.app.util.PasswordEncoderRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@Tag("unit")
+@DisplayName("PasswordEncoderRegistry Unit Tests")
+class PasswordEncoderRegistryTest {
+
+  private static final String PASSWORD = "password";
+
+  @Nested
+  @DisplayName("BCrypt Tests")
+  class BCryptTests {
+
+    private final PasswordEncoderRegistry passwordEncoderRegistry =
+        new PasswordEncoderRegistry(PasswordEncoderRegistry.ENCODER_ID_BCRYPT, 1);
+    private final PasswordEncoder passwordEncoder = passwordEncoderRegistry.getPasswordEncoder();
+
+    @Test
+    @DisplayName("Should calibrate to minimum strength for low target")
+    void shouldCalibrateToMinimumStrength() {
+      assertEquals(
+          PasswordEncoderRegistry.ENCODER_ID_BCRYPT, passwordEncoderRegistry.getEncoderId());
+      assertEquals(12, passwordEncoderRegistry.getCost());
+    }
+
+    @Test
+    @DisplayName("Should encode with prefix and match")
+    void shouldEncodeWithPrefixAndMatch() {
+      final String hashed = passwordEncoder.encode(PASSWORD);
+
+      assertTrue(hashed.startsWith("{bcrypt}$2a$12$"));
+      assertTrue(passwordEncoder.matches(PASSWORD, hashed));
+      assertFalse(passwordEncoder.matches("wrong", hashed));
+      assertFalse(passwordEncoder.upgradeEncoding(hashed));
+    }
+
+    @Test
+    @DisplayName("Should match hash without prefix and require upgrade")
+    void shouldMatchLegacyHashAndRequireUpgrade() {
+      final String legacyHashed = new BCryptPasswordEncoder(4).encode(PASSWORD);
+
+      assertTrue(passwordEncoder.matches(PASSWORD, legacyHashed));
+      assertTrue(passwordEncoder.upgradeEncoding(legacyHashed));
+    }
+
+    @Test
+    @DisplayName("Should require upgrade for lower strength")
+    void shouldRequireUpgradeForLowerStrength() {
+      final String hashed = "{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD);
+
+      assertTrue(passwordEncoder.matches(PASSWORD, hashed));
+      assertTrue(passwordEncoder.upgradeEncoding(hashed));
+    }
+
+    @Test
+    @DisplayName("Should fall back to bcrypt for unknown encoder")
+    void shouldFallBackToBCryptForUnknownEncoder() {
+      assertEquals(
+          PasswordEncoderRegistry.ENCODER_ID_BCRYPT,
+          new PasswordEncoderRegistry("unknown", 1).getEncoderId());
+    }
+  }
+
+  @Nested
+  @DisplayName("Argon2id Tests")
+  class Argon2idTests {
+
+    private final PasswordEncoderRegistry passwordEncoderRegistry =
+        new PasswordEncoderRegistry(PasswordEncoderRegistry.ENCODER_ID_ARGON2ID, 1);
+    private final PasswordEncoder passwordEncoder = passwordEncoderRegistry.getPasswordEncoder();
+
+    @Test
+    @DisplayName("Should encode with prefix and match")
+    void shouldEncodeWithPrefixAndMatch() {
+      final String hashed = passwordEncoder.encode(PASSWORD);
+
+      assertEquals(2, passwordEncoderRegistry.getCost());
+      assertTrue(hashed.startsWith("{argon2id}$argon2id$"));
+      assertTrue(passwordEncoder.matches(PASSWORD, hashed));
+      assertFalse(passwordEncoder.upgradeEncoding(hashed));
+    }
+
+    @Test
+    @DisplayName("Should match bcrypt hash and require upgrade")
+    void shouldMatchBCryptHashAndRequireUpgrade() {
+      final String bcryptHashed = "{bcrypt}" + new BCryptPasswordEncoder(4).encode(PASSWORD);
+
+      assertTrue(passwordEncoder.matches(PASSWORD, bcryptHashed));
+      assertTrue(passwordEncoder.upgradeEncoding(bcryptHashed));
+    }
+  }
+}
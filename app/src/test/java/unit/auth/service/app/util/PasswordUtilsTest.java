@@ -3,7 +3,13 @@ package unit.auth.service.app.util;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import auth.service.app.exception.PasswordEncoderBusyException;
+import auth.service.app.util.PasswordEncoderRegistry;
 import auth.service.app.util.PasswordUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Tag;
@@ -16,7 +22,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 class PasswordUtilsTest {
 
   private final BCryptPasswordEncoder encoder = Mockito.mock(BCryptPasswordEncoder.class);
-  private final PasswordUtils passwordUtils = new PasswordUtils(encoder);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final PasswordUtils passwordUtils = new PasswordUtils(encoder, meterRegistry);
 
   @Nested
   @DisplayName("hashPassword() Tests")
@@ -110,4 +117,109 @@ class PasswordUtilsTest {
       assertThrows(RuntimeException.class, () -> passwordUtils.verifyPassword(plain, hashed));
     }
   }
+
+  @Nested
+  @DisplayName("getUpgradedPassword() Tests")
+  class GetUpgradedPasswordTests {
+
+    private final PasswordUtils bcryptPasswordUtils =
+        new PasswordUtils(
+            PasswordEncoderRegistry.getPasswordEncoder(
+                PasswordEncoderRegistry.ENCODER_ID_BCRYPT, 12),
+            new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("Should only prefix a legacy hash at or above the current cost")
+    void shouldOnlyPrefixLegacyHashAtOrAboveCost() {
+      for (final int strength : new int[] {12, 13}) {
+        final String legacyHashed = new BCryptPasswordEncoder(strength).encode("password");
+
+        final String upgraded = bcryptPasswordUtils.getUpgradedPassword("password", legacyHashed);
+
+        assertEquals("{bcrypt}" + legacyHashed, upgraded);
+        assertTrue(bcryptPasswordUtils.verifyPassword("password", upgraded));
+        assertNull(bcryptPasswordUtils.getUpgradedPassword("password", upgraded));
+      }
+    }
+
+    @Test
+    @DisplayName("Should rehash a legacy hash below the current cost")
+    void shouldRehashLegacyHashBelowCost() {
+      final String legacyHashed = new BCryptPasswordEncoder(4).encode("password");
+
+      final String upgraded = bcryptPasswordUtils.getUpgradedPassword("password", legacyHashed);
+
+      assertTrue(upgraded.startsWith("{bcrypt}$2a$12$"));
+      assertTrue(bcryptPasswordUtils.verifyPassword("password", upgraded));
+    }
+
+    @Test
+    @DisplayName("Should not upgrade a current hash")
+    void shouldNotUpgradeCurrentHash() {
+      final String hashed = bcryptPasswordUtils.hashPassword("password");
+
+      assertNull(bcryptPasswordUtils.getUpgradedPassword("password", hashed));
+      assertNull(bcryptPasswordUtils.getUpgradedPassword("password", null));
+    }
+  }
+
+  @Nested
+  @DisplayName("Password Encoder Executor Tests")
+  class PasswordEncoderExecutorTests {
+
+    @Test
+    @DisplayName("Should record hash and wait times")
+    void shouldRecordHashAndWaitTimes() {
+      when(encoder.encode("password")).thenReturn("hashed");
+      when(encoder.matches("password", "hashed")).thenReturn(true);
+
+      passwordUtils.hashPassword("password");
+      passwordUtils.verifyPassword("password", "hashed");
+
+      assertEquals(
+          1, meterRegistry.get("authsvc.password.time").tag("operation", "hash").timer().count());
+      assertEquals(
+          1,
+          meterRegistry.get("authsvc.password.time").tag("operation", "verify").timer().count());
+      assertEquals(2, meterRegistry.get("authsvc.password.wait").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should fail fast when queue is full")
+    void shouldFailFastWhenQueueIsFull() throws Exception {
+      final SimpleMeterRegistry busyMeterRegistry = new SimpleMeterRegistry();
+      final PasswordUtils busyPasswordUtils = new PasswordUtils(encoder, busyMeterRegistry, 1, 1);
+      final CountDownLatch started = new CountDownLatch(1);
+      final CountDownLatch release = new CountDownLatch(1);
+      when(encoder.encode("password"))
+          .thenAnswer(
+              invocation -> {
+                started.countDown();
+                release.await();
+                return "hashed";
+              });
+
+      try {
+        final CompletableFuture<String> running =
+            CompletableFuture.supplyAsync(() -> busyPasswordUtils.hashPassword("password"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        final CompletableFuture<String> queued =
+            CompletableFuture.supplyAsync(() -> busyPasswordUtils.hashPassword("password"));
+        while (busyMeterRegistry.get("authsvc.password.queue").gauge().value() < 1) {
+          Thread.sleep(10);
+        }
+
+        assertThrows(
+            PasswordEncoderBusyException.class, () -> busyPasswordUtils.hashPassword("password"));
+        assertEquals(1, busyMeterRegistry.get("authsvc.password.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("hashed", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hashed", queued.get(5, TimeUnit.SECONDS));
+      } finally {
+        release.countDown();
+        busyPasswordUtils.shutdown();
+      }
+    }
+  }
 }
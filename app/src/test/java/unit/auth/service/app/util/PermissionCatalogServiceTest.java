@@ -0,0 +1,162 @@
+package unit.auth.service.app.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import auth.service.app.model.token.PermissionCatalog;
+import auth.service.app.repository.PermissionCatalogRepository;
+import auth.service.app.repository.RawSqlRepository;
+import auth.service.app.service.PermissionCatalogService;
+import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@DisplayName("PermissionCatalogService Unit Tests")
+class PermissionCatalogServiceTest {
+
+  private static final Duration MAX_AGE = Duration.ofSeconds(60);
+
+  private final RawSqlRepository rawSqlRepository = mock(RawSqlRepository.class);
+  private final PermissionCatalogRepository permissionCatalogRepository =
+      mock(PermissionCatalogRepository.class);
+  private final MutableClock clock = new MutableClock();
+  private final PermissionCatalogService permissionCatalogService =
+      new PermissionCatalogService(
+          rawSqlRepository, permissionCatalogRepository, MAX_AGE.toMillis(), clock);
+
+  @Test
+  @DisplayName("Should evict only the catalogs with the changed permissions")
+  void shouldEvictOnlyCatalogsWithPermissions() {
+    when(rawSqlRepository.findPermissionsForPermissionCatalog(1L))
+        .thenReturn(List.of(new AuthToken.AuthTokenPermission(11L, "PERMISSION_11")));
+    when(rawSqlRepository.findPermissionsForPermissionCatalog(2L))
+        .thenReturn(List.of(new AuthToken.AuthTokenPermission(21L, "PERMISSION_21")));
+    final PermissionCatalog first = permissionCatalogService.readPermissionCatalog(1L);
+    final PermissionCatalog second = permissionCatalogService.readPermissionCatalog(2L);
+
+    permissionCatalogService.evictPermissionCatalogsByPermissionIds(List.of(21L));
+
+    assertSame(first, permissionCatalogService.readPermissionCatalog(1L));
+    assertNotSame(second, permissionCatalogService.readPermissionCatalog(2L));
+    verify(rawSqlRepository, times(1)).findPermissionsForPermissionCatalog(1L);
+    verify(rawSqlRepository, times(2)).findPermissionsForPermissionCatalog(2L);
+  }
+
+  @Test
+  @DisplayName("Should still decode a token of a catalog version evicted")
+  void shouldDecodeEvictedVersion() {
+    when(rawSqlRepository.findPermissionsForPermissionCatalog(1L))
+        .thenReturn(List.of(new AuthToken.AuthTokenPermission(11L, "PERMISSION_11")))
+        .thenReturn(List.of(new AuthToken.AuthTokenPermission(12L, "PERMISSION_12")));
+    final String version = permissionCatalogService.readPermissionCatalog(1L).version();
+
+    permissionCatalogService.evictPermissionCatalog(1L);
+
+    assertNotEquals(version, permissionCatalogService.readPermissionCatalog(1L).version());
+    assertEquals(version, permissionCatalogService.readPermissionCatalog(1L, version).version());
+  }
+
+  @Test
+  @DisplayName("Should reload a catalog past its max age and save every version loaded")
+  void shouldReloadPastMaxAge() {
+    when(rawSqlRepository.findPermissionsForPermissionCatalog(1L))
+        .thenReturn(List.of(new AuthToken.AuthTokenPermission(11L, "PERMISSION_11")))
+        .thenReturn(List.of(new AuthToken.AuthTokenPermission(12L, "PERMISSION_12")));
+    final PermissionCatalog first = permissionCatalogService.readPermissionCatalog(1L);
+    assertSame(first, permissionCatalogService.readPermissionCatalog(1L));
+
+    clock.advance(MAX_AGE);
+    final PermissionCatalog second = permissionCatalogService.readPermissionCatalog(1L);
+
+    assertNotEquals(first.version(), second.version());
+    verify(permissionCatalogRepository).savePermissionCatalog(first);
+    verify(permissionCatalogRepository).savePermissionCatalog(second);
+  }
+
+  @Test
+  @DisplayName("Should decode a token of a version saved by another instance")
+  void shouldDecodeSavedVersion() {
+    when(rawSqlRepository.findPermissionsForPermissionCatalog(1L))
+        .thenReturn(List.of(new AuthToken.AuthTokenPermission(11L, "PERMISSION_11")));
+    final PermissionCatalog savedCatalog =
+        new PermissionCatalog(
+            1L, "1.saved", List.of(new AuthToken.AuthTokenPermission(12L, "PERMISSION_12")));
+    when(permissionCatalogRepository.findPermissionCatalog("1.saved"))
+        .thenReturn(Optional.of(savedCatalog));
+
+    assertSame(savedCatalog, permissionCatalogService.readPermissionCatalog(1L, "1.saved"));
+    assertSame(savedCatalog, permissionCatalogService.readPermissionCatalog(1L, "1.saved"));
+    assertNull(permissionCatalogService.readPermissionCatalog(2L, "1.saved"));
+    verify(permissionCatalogRepository, times(1)).findPermissionCatalog("1.saved");
+  }
+
+  @Test
+  @DisplayName("Should reload the current catalog for a version neither cached nor saved")
+  void shouldReloadForUnknownVersion() {
+    when(rawSqlRepository.findPermissionsForPermissionCatalog(1L))
+        .thenReturn(List.of(new AuthToken.AuthTokenPermission(11L, "PERMISSION_11")))
+        .thenReturn(List.of(new AuthToken.AuthTokenPermission(12L, "PERMISSION_12")));
+    when(permissionCatalogRepository.findPermissionCatalog(any())).thenReturn(Optional.empty());
+    final PermissionCatalog stale = permissionCatalogService.readPermissionCatalog(1L);
+    // the catalog another instance loaded after the change
+    final PermissionCatalog current =
+        new PermissionCatalogService(rawSqlRepository, permissionCatalogRepository)
+            .readPermissionCatalog(1L);
+    assertNotEquals(stale.version(), current.version());
+
+    assertEquals(
+        current.version(),
+        permissionCatalogService.readPermissionCatalog(1L, current.version()).version());
+    assertNull(permissionCatalogService.readPermissionCatalog(1L, "1.unknown"));
+  }
+
+  @Test
+  @DisplayName("Should derive different versions for the same names with different ids")
+  void shouldDeriveVersionFromIdsAndNames() {
+    when(rawSqlRepository.findPermissionsForPermissionCatalog(1L))
+        .thenReturn(List.of(new AuthToken.AuthTokenPermission(11L, "PERMISSION")))
+        .thenReturn(List.of(new AuthToken.AuthTokenPermission(12L, "PERMISSION")));
+    final String version = permissionCatalogService.readPermissionCatalog(1L).version();
+
+    permissionCatalogService.evictPermissionCatalog(1L);
+
+    assertNotEquals(version, permissionCatalogService.readPermissionCatalog(1L).version());
+  }
+
+  private static final class MutableClock extends Clock {
+    private long millis = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+
+    void advance(final Duration duration) {
+      millis += duration.toMillis();
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(final ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public long millis() {
+      return millis;
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.ofEpochMilli(millis);
+    }
+  }
+}
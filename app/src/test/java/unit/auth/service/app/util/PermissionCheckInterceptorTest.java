@@ -0,0 +1,131 @@
+package unit.auth.service.app.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import auth.service.app.model.annotation.CheckPermission;
+import auth.service.app.repository.PermissionRepository;
+import auth.service.app.util.CommonUtils;
+import auth.service.app.util.PermissionCheck;
+import auth.service.app.util.PermissionCheckInterceptor;
+import auth.service.app.util.PermissionIndex;
+import helper.TestData;
+import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
+import io.github.bibekaryal86.shdsvc.exception.CheckPermissionException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+@Tag("unit")
+@DisplayName("PermissionCheckInterceptor Unit Tests")
+class PermissionCheckInterceptorTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private PermissionCheck permissionCheck;
+  private PermissionCheckInterceptor permissionCheckInterceptor;
+  private MockedStatic<CommonUtils> commonUtilsMock;
+
+  @BeforeEach
+  void setUp() {
+    final PermissionIndex permissionIndex = new PermissionIndex(mock(PermissionRepository.class));
+    meterRegistry = new SimpleMeterRegistry();
+    permissionCheck = spy(new PermissionCheck(permissionIndex));
+    permissionCheckInterceptor =
+        new PermissionCheckInterceptor(permissionCheck, permissionIndex, meterRegistry);
+    commonUtilsMock = mockStatic(CommonUtils.class);
+  }
+
+  @AfterEach
+  void tearDown() {
+    commonUtilsMock.close();
+  }
+
+  private static HandlerMethod getHandlerMethod(final String methodName) throws Exception {
+    return new HandlerMethod(new TestController(), TestController.class.getMethod(methodName));
+  }
+
+  private void mockAuthentication(final AuthToken authToken) {
+    commonUtilsMock.when(CommonUtils::getAuthentication).thenReturn(authToken);
+    commonUtilsMock
+        .when(() -> CommonUtils.isSuperUser(authToken))
+        .thenReturn(authToken.getIsSuperUser());
+  }
+
+  private boolean preHandle(final Object handler) {
+    return permissionCheckInterceptor.preHandle(
+        new MockHttpServletRequest(), new MockHttpServletResponse(), handler);
+  }
+
+  @Test
+  @DisplayName("Should allow handler without CheckPermission")
+  void shouldAllowHandlerWithoutCheckPermission() throws Exception {
+    assertTrue(preHandle(getHandlerMethod("notChecked")));
+    assertTrue(preHandle(new Object()));
+    verifyNoInteractions(permissionCheck);
+  }
+
+  @Test
+  @DisplayName("Should allow when profile has required permission")
+  void shouldAllowWhenProfileHasRequiredPermission() throws Exception {
+    mockAuthentication(TestData.getAuthTokenWithPermissions(List.of("TEST_READ"), false));
+
+    assertTrue(preHandle(getHandlerMethod("checked")));
+  }
+
+  @Test
+  @DisplayName("Should allow super user")
+  void shouldAllowSuperUser() throws Exception {
+    mockAuthentication(TestData.getAuthTokenWithPermissions(List.of(), true));
+
+    assertTrue(preHandle(getHandlerMethod("checked")));
+  }
+
+  @Test
+  @DisplayName("Should deny and count when profile does not have required permission")
+  void shouldDenyAndCountWhenProfileDoesNotHaveRequiredPermission() throws Exception {
+    mockAuthentication(TestData.getAuthTokenWithPermissions(List.of("TEST_DELETE"), false));
+    final HandlerMethod handlerMethod = getHandlerMethod("checked");
+
+    final CheckPermissionException exception =
+        assertThrows(CheckPermissionException.class, () -> preHandle(handlerMethod));
+    assertThrows(CheckPermissionException.class, () -> preHandle(handlerMethod));
+
+    assertEquals(
+        "Permission Denied: Profile does not have required permissions...",
+        exception.getMessage());
+    assertEquals(
+        2.0,
+        meterRegistry
+            .get("authsvc.permission.denied")
+            .tag("endpoint", "TestController.checked")
+            .counter()
+            .count());
+  }
+
+  @Test
+  @DisplayName("Should resolve required permissions once per handler method")
+  void shouldResolveRequiredPermissionsOncePerHandlerMethod() throws Exception {
+    mockAuthentication(TestData.getAuthTokenWithPermissions(List.of("TEST_WRITE"), false));
+
+    preHandle(getHandlerMethod("checked"));
+    preHandle(getHandlerMethod("checked"));
+
+    verify(permissionCheck, times(2)).checkPermission(any(long[].class));
+    assertEquals(1, meterRegistry.find("authsvc.permission.denied").counters().size());
+  }
+
+  static class TestController {
+    @CheckPermission({"TEST_READ", "TEST_WRITE"})
+    public void checked() {}
+
+    public void notChecked() {}
+  }
+}
@@ -5,9 +5,11 @@ import static org.mockito.Mockito.*;
 
 import auth.service.app.model.annotation.CheckPermission;
 import auth.service.app.model.entity.ProfileEntity;
+import auth.service.app.repository.PermissionRepository;
 import auth.service.app.util.CommonUtils;
 import auth.service.app.util.ConstantUtils;
 import auth.service.app.util.PermissionCheck;
+import auth.service.app.util.PermissionIndex;
 import helper.TestData;
 import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
 import io.github.bibekaryal86.shdsvc.exception.CheckPermissionException;
@@ -22,6 +24,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
@@ -32,6 +35,9 @@ import org.mockito.quality.Strictness;
 @DisplayName("PermissionCheck Unit Tests")
 class PermissionCheckTest {
 
+  @Spy
+  private PermissionIndex permissionIndex = new PermissionIndex(mock(PermissionRepository.class));
+
   @InjectMocks private PermissionCheck permissionCheck;
 
   private MockedStatic<CommonUtils> commonUtilsMock;
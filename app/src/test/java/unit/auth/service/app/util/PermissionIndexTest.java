@@ -0,0 +1,124 @@
+package unit.auth.service.app.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import auth.service.app.model.entity.PermissionEntity;
+import auth.service.app.repository.PermissionRepository;
+import auth.service.app.util.PermissionIndex;
+import helper.TestData;
+import io.github.bibekaryal86.shdsvc.dtos.AuthToken;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+@Tag("unit")
+@DisplayName("PermissionIndex Unit Tests")
+class PermissionIndexTest {
+
+  private final PermissionRepository permissionRepository = mock(PermissionRepository.class);
+  private PermissionIndex permissionIndex;
+
+  @BeforeEach
+  void setUp() {
+    permissionIndex = new PermissionIndex(permissionRepository);
+  }
+
+  @Nested
+  @DisplayName("loadPermissionIndex() tests")
+  class LoadPermissionIndexTests {
+
+    @Test
+    @DisplayName("Should assign dense ids to permissions in the permission table")
+    void shouldAssignDenseIdsToPermissions() {
+      final List<PermissionEntity> permissionEntities = TestData.getPermissionEntities();
+      when(permissionRepository.findAllPermissions(true)).thenReturn(permissionEntities);
+
+      permissionIndex.loadPermissionIndex();
+
+      assertEquals(permissionEntities.size(), permissionIndex.size());
+      for (int i = 0; i < permissionEntities.size(); i++) {
+        assertEquals(
+            i, permissionIndex.getPermissionId(permissionEntities.get(i).getPermissionName()));
+      }
+    }
+
+    @Test
+    @DisplayName("Should assign next id to permission not seen at startup")
+    void shouldAssignNextIdToUnknownPermission() {
+      when(permissionRepository.findAllPermissions(true)).thenReturn(List.of());
+      permissionIndex.loadPermissionIndex();
+
+      assertEquals(0, permissionIndex.getPermissionId("NEW_PERMISSION"));
+      assertEquals(0, permissionIndex.getPermissionId("NEW_PERMISSION"));
+      assertEquals(1, permissionIndex.getPermissionId("OTHER_PERMISSION"));
+    }
+  }
+
+  @Nested
+  @DisplayName("getPermissionMask() tests")
+  class GetPermissionMaskTests {
+
+    @Test
+    @DisplayName("Should set bits across multiple words")
+    void shouldSetBitsAcrossMultipleWords() {
+      final List<String> permissionNames =
+          IntStream.range(0, 130).mapToObj(i -> "PERMISSION_" + i).toList();
+      final long[] mask = permissionIndex.getPermissionMask(permissionNames);
+
+      assertEquals(3, mask.length);
+      assertTrue(permissionIndex.hasPermission(mask, "PERMISSION_0"));
+      assertTrue(permissionIndex.hasPermission(mask, "PERMISSION_129"));
+      assertFalse(permissionIndex.hasPermission(mask, "PERMISSION_130"));
+      assertFalse(permissionIndex.hasPermission(mask, null));
+    }
+
+    @Test
+    @DisplayName("Should match when masks share a permission")
+    void shouldMatchWhenMasksSharePermission() {
+      final long[] userMask =
+          permissionIndex.getPermissionMask(
+              TestData.getAuthTokenWithPermissions(List.of("READ", "WRITE"), false));
+      final long[] requiredMask = permissionIndex.getPermissionMask(List.of("DELETE", "WRITE"));
+      final long[] otherMask = permissionIndex.getPermissionMask(List.of("DELETE"));
+
+      assertTrue(PermissionIndex.intersects(userMask, requiredMask));
+      assertFalse(PermissionIndex.intersects(userMask, otherMask));
+      assertFalse(PermissionIndex.intersects(userMask, new long[0]));
+    }
+
+    @Test
+    @DisplayName("Should build auth token mask once per request")
+    void shouldBuildAuthTokenMaskOncePerRequest() {
+      final AuthToken authToken = TestData.getAuthToken();
+      RequestContextHolder.setRequestAttributes(
+          new ServletRequestAttributes(new MockHttpServletRequest()));
+
+      try {
+        final long[] mask = permissionIndex.getPermissionMask(authToken);
+        assertSame(mask, permissionIndex.getPermissionMask(authToken));
+        assertNotSame(mask, permissionIndex.getPermissionMask(TestData.getAuthToken()));
+      } finally {
+        RequestContextHolder.resetRequestAttributes();
+      }
+    }
+
+    @Test
+    @DisplayName("Should build auth token mask each time outside of request")
+    void shouldBuildAuthTokenMaskOutsideOfRequest() {
+      final AuthToken authToken = TestData.getAuthToken();
+
+      final long[] mask = permissionIndex.getPermissionMask(authToken);
+
+      assertNotSame(mask, permissionIndex.getPermissionMask(authToken));
+      assertTrue(permissionIndex.hasPermission(mask, "Permission 1"));
+    }
+  }
+}
@@ -0,0 +1,132 @@
+package unit.auth.service.app.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import auth.service.app.util.BloomFilter;
+import auth.service.app.util.ProfileEmailFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@DisplayName("ProfileEmailFilter Unit Tests")
+class ProfileEmailFilterTest {
+
+  private static final String EMAIL = "firstlast@email.com";
+  private static final String OTHER_EMAIL = "lastfirst@email.com";
+  private static final Clock CLOCK = Clock.fixed(Instant.now(), ZoneOffset.UTC);
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ProfileEmailFilter profileEmailFilter =
+      new ProfileEmailFilter(meterRegistry, 60_000, 10, 60_000, CLOCK);
+
+  private double count(final String result) {
+    return meterRegistry
+        .get("authsvc.profile.email.filter")
+        .tag("result", result)
+        .counter()
+        .count();
+  }
+
+  @Test
+  @DisplayName("Should answer might exist before the filter is built")
+  void shouldMightExistBeforeBuilt() {
+    assertTrue(profileEmailFilter.mightExist(EMAIL));
+    profileEmailFilter.addAbsent(EMAIL, profileEmailFilter.getAddVersion());
+    assertTrue(profileEmailFilter.mightExist(EMAIL));
+  }
+
+  @Test
+  @DisplayName("Should answer not exists for an email not in the filter")
+  void shouldNotExistNotInFilter() {
+    profileEmailFilter.rebuild(() -> List.of(EMAIL));
+
+    assertTrue(profileEmailFilter.mightExist(EMAIL));
+    assertFalse(profileEmailFilter.mightExist(OTHER_EMAIL));
+    assertEquals(1, count("present"));
+    assertEquals(1, count("absent"));
+  }
+
+  @Test
+  @DisplayName("Should answer not exists for an email in the negative cache until it is added")
+  void shouldNotExistInNegativeCache() {
+    profileEmailFilter.rebuild(() -> List.of(EMAIL));
+
+    profileEmailFilter.addAbsent(EMAIL, profileEmailFilter.getAddVersion());
+    assertFalse(profileEmailFilter.mightExist(EMAIL));
+    assertEquals(1, count("negative"));
+
+    profileEmailFilter.add(EMAIL);
+    assertTrue(profileEmailFilter.mightExist(EMAIL));
+  }
+
+  @Test
+  @DisplayName("Should not cache an email absent when an email was added while the db was read")
+  void shouldNotCacheAbsentAddedWhileRead() {
+    profileEmailFilter.rebuild(() -> List.of(EMAIL));
+
+    final long addVersion = profileEmailFilter.getAddVersion();
+    // a profile created while the db was read, not yet committed when it was read
+    profileEmailFilter.add(EMAIL);
+    profileEmailFilter.addAbsent(EMAIL, addVersion);
+
+    assertTrue(profileEmailFilter.mightExist(EMAIL));
+    assertEquals(0, count("negative"));
+  }
+
+  @Test
+  @DisplayName("Should answer might exist when the filter is not rebuilt within its max age")
+  void shouldMightExistPastMaxAge() {
+    final ProfileEmailFilter expiredProfileEmailFilter =
+        new ProfileEmailFilter(new SimpleMeterRegistry(), 60_000, 10, 0, CLOCK);
+    expiredProfileEmailFilter.rebuild(List::of);
+
+    assertTrue(expiredProfileEmailFilter.mightExist(EMAIL));
+  }
+
+  @Test
+  @DisplayName("Should answer might exist for an email added after the filter is built")
+  void shouldMightExistAdded() {
+    profileEmailFilter.rebuild(List::of);
+    assertFalse(profileEmailFilter.mightExist(EMAIL));
+
+    profileEmailFilter.add(EMAIL);
+    assertTrue(profileEmailFilter.mightExist(EMAIL));
+  }
+
+  @Test
+  @DisplayName("Should keep an email added while the filter is rebuilt")
+  void shouldKeepAddedWhileRebuilt() {
+    profileEmailFilter.rebuild(
+        () -> {
+          // persisted after the emails were read
+          profileEmailFilter.add(OTHER_EMAIL);
+          return List.of(EMAIL);
+        });
+
+    assertTrue(profileEmailFilter.mightExist(EMAIL));
+    assertTrue(profileEmailFilter.mightExist(OTHER_EMAIL));
+  }
+
+  @Test
+  @DisplayName("Should not have false negatives and keep false positives near the rate")
+  void shouldNotHaveFalseNegatives() {
+    final BloomFilter bloomFilter = new BloomFilter(10_000, 0.01);
+    IntStream.range(0, 10_000).forEach(i -> bloomFilter.add("user" + i + "@email.com"));
+
+    assertTrue(
+        IntStream.range(0, 10_000)
+            .allMatch(i -> bloomFilter.mightContain("user" + i + "@email.com")));
+    final long falsePositives =
+        IntStream.range(0, 10_000)
+            .filter(i -> bloomFilter.mightContain("other" + i + "@email.com"))
+            .count();
+    assertTrue(falsePositives < 300, "False positives: " + falsePositives);
+  }
+}
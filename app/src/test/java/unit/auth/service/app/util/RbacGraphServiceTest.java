@@ -0,0 +1,139 @@
+package unit.auth.service.app.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import auth.service.app.repository.RawSqlRepository;
+import auth.service.app.service.RbacGraphService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@DisplayName("RbacGraphService Unit Tests")
+class RbacGraphServiceTest {
+
+  private final List<long[]> platformRolePermissionIds = new ArrayList<>();
+  private final RawSqlRepository rawSqlRepository = mock(RawSqlRepository.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final RbacGraphService rbacGraphService =
+      new RbacGraphService(rawSqlRepository, meterRegistry);
+
+  private double getCount(final String result) {
+    return meterRegistry.get("authsvc.rbacgraph.check").tag("result", result).counter().count();
+  }
+
+  @BeforeEach
+  void setUp() {
+    platformRolePermissionIds.add(new long[] {1, 1, 1});
+    platformRolePermissionIds.add(new long[] {1, 2, 3});
+    when(rawSqlRepository.findPlatformRolePermissionIds())
+        .thenAnswer(invocation -> List.copyOf(platformRolePermissionIds));
+  }
+
+  @Nested
+  @DisplayName("Read Tests")
+  class ReadTests {
+
+    @Test
+    @DisplayName("Should answer true until loaded")
+    void shouldAnswerTrueUntilLoaded() {
+      assertTrue(rbacGraphService.hasPlatformRolePermissions(9L, 9L, 9L));
+      assertTrue(rbacGraphService.hasPlatformRolePermissionsByRoleIds(List.of(9L)));
+    }
+
+    @Test
+    @DisplayName("Should answer from graph once loaded")
+    void shouldAnswerFromGraphOnceLoaded() {
+      rbacGraphService.loadRbacGraph();
+
+      assertTrue(rbacGraphService.hasPlatformRolePermissions(1L, 2L, null));
+      assertTrue(rbacGraphService.hasPlatformRolePermissions(null, null, null));
+      assertFalse(rbacGraphService.hasPlatformRolePermissions(2L, null, null));
+      assertFalse(rbacGraphService.hasPlatformRolePermissions(1L, 3L, null));
+      assertTrue(rbacGraphService.hasPlatformRolePermissionsByPlatformIds(List.of(2L, 1L)));
+      assertFalse(rbacGraphService.hasPlatformRolePermissionsByRoleIds(List.of(3L)));
+      assertTrue(rbacGraphService.hasPlatformRolePermissionsByPermissionIds(List.of(3L)));
+      assertEquals(2, meterRegistry.get("authsvc.rbacgraph.edges").gauge().value());
+    }
+  }
+
+  @Nested
+  @DisplayName("Update Tests")
+  class UpdateTests {
+
+    @BeforeEach
+    void setUp() {
+      rbacGraphService.loadRbacGraph();
+    }
+
+    @Test
+    @DisplayName("Should add and remove edges")
+    void shouldAddAndRemoveEdges() {
+      rbacGraphService.addPlatformRolePermission(2L, 2L, 2L);
+      assertTrue(rbacGraphService.hasPlatformRolePermissions(2L, 2L, 2L));
+
+      rbacGraphService.removePlatformRolePermission(2L, 2L, 2L);
+      assertFalse(rbacGraphService.hasPlatformRolePermissions(2L, null, null));
+
+      rbacGraphService.removePlatformRolePermissionsByRoleIds(List.of(2L));
+      assertFalse(rbacGraphService.hasPlatformRolePermissionsByPermissionIds(List.of(3L)));
+
+      rbacGraphService.removePlatformRolePermissionsByPlatformIds(List.of(1L));
+      assertFalse(rbacGraphService.hasPlatformRolePermissions(1L, null, null));
+    }
+  }
+
+  @Nested
+  @DisplayName("Check Tests")
+  class CheckTests {
+
+    @BeforeEach
+    void setUp() {
+      rbacGraphService.loadRbacGraph();
+    }
+
+    @Test
+    @DisplayName("Should match when graph is same as db")
+    void shouldMatch() {
+      rbacGraphService.checkRbacGraph();
+
+      assertEquals(1, getCount("match"));
+      assertEquals(0, getCount("mismatch"));
+    }
+
+    @Test
+    @DisplayName("Should reload when graph differs from db")
+    void shouldReloadOnMismatch() {
+      platformRolePermissionIds.add(new long[] {4, 4, 4});
+
+      rbacGraphService.checkRbacGraph();
+
+      assertEquals(1, getCount("mismatch"));
+      assertTrue(rbacGraphService.hasPlatformRolePermissions(4L, 4L, 4L));
+    }
+
+    @Test
+    @DisplayName("Should skip when graph changes while loading")
+    void shouldSkipWhenChangedWhileLoading() {
+      when(rawSqlRepository.findPlatformRolePermissionIds())
+          .thenAnswer(
+              invocation -> {
+                rbacGraphService.addPlatformRolePermission(5L, 5L, 5L);
+                platformRolePermissionIds.add(new long[] {5, 5, 5});
+                return List.copyOf(platformRolePermissionIds);
+              });
+
+      rbacGraphService.checkRbacGraph();
+
+      assertEquals(1, getCount("skipped"));
+      // change made while loading is kept
+      assertTrue(rbacGraphService.hasPlatformRolePermissions(5L, 5L, 5L));
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package unit.auth.service.app.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import auth.service.app.util.RbacGraph;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+@DisplayName("RbacGraph Unit Tests")
+class RbacGraphTest {
+
+  private final RbacGraph rbacGraph =
+      RbacGraph.of(
+          List.of(
+              new long[] {5, 6, 6},
+              new long[] {1, 1, 2},
+              new long[] {1, 1, 1},
+              new long[] {5, 5, 5},
+              new long[] {1, 1, 2}));
+
+  @Nested
+  @DisplayName("Read Tests")
+  class ReadTests {
+
+    @Test
+    @DisplayName("Should ignore duplicate edges")
+    void shouldIgnoreDuplicateEdges() {
+      assertEquals(4, rbacGraph.size());
+      assertEquals(0, RbacGraph.EMPTY.size());
+    }
+
+    @Test
+    @DisplayName("Should find edges")
+    void shouldFindEdges() {
+      assertTrue(rbacGraph.hasEdge(1, 1, 2));
+      assertTrue(rbacGraph.hasEdge(5, 6, 6));
+      assertFalse(rbacGraph.hasEdge(1, 1, 3));
+      assertFalse(rbacGraph.hasEdge(5, 5, 6));
+    }
+
+    @Test
+    @DisplayName("Should find platforms, roles and permissions")
+    void shouldFindPlatformsRolesAndPermissions() {
+      assertTrue(rbacGraph.hasPlatform(1));
+      assertTrue(rbacGraph.hasPlatform(5));
+      assertFalse(rbacGraph.hasPlatform(2));
+      assertFalse(rbacGraph.hasPlatform(9));
+
+      assertTrue(rbacGraph.hasPlatformRole(5, 6));
+      assertFalse(rbacGraph.hasPlatformRole(1, 5));
+
+      assertTrue(rbacGraph.hasRole(6));
+      assertFalse(rbacGraph.hasRole(2));
+
+      assertTrue(rbacGraph.hasPermission(5));
+      assertFalse(rbacGraph.hasPermission(3));
+      assertFalse(RbacGraph.EMPTY.hasPermission(5));
+    }
+  }
+
+  @Nested
+  @DisplayName("Update Tests")
+  class UpdateTests {
+
+    @Test
+    @DisplayName("Should add edge to new graph")
+    void shouldAddEdge() {
+      RbacGraph updated = rbacGraph.withEdge(3, 3, 3);
+
+      assertTrue(updated.hasEdge(3, 3, 3));
+      assertTrue(updated.hasRole(3));
+      assertEquals(5, updated.size());
+      // original is not changed
+      assertFalse(rbacGraph.hasEdge(3, 3, 3));
+      assertSame(updated, updated.withEdge(3, 3, 3));
+    }
+
+    @Test
+    @DisplayName("Should remove edge to new graph")
+    void shouldRemoveEdge() {
+      RbacGraph updated = rbacGraph.withoutEdge(1, 1, 1);
+
+      assertFalse(updated.hasEdge(1, 1, 1));
+      assertTrue(updated.hasPlatform(1));
+      assertFalse(updated.hasPermission(1));
+      assertTrue(rbacGraph.hasEdge(1, 1, 1));
+      assertSame(updated, updated.withoutEdge(1, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Should remove platforms, roles and permissions")
+    void shouldRemovePlatformsRolesAndPermissions() {
+      assertFalse(rbacGraph.withoutPlatforms(List.of(1L)).hasPlatform(1));
+      assertEquals(2, rbacGraph.withoutPlatforms(List.of(1L)).size());
+      assertFalse(rbacGraph.withoutRoles(List.of(5L, 6L)).hasPlatform(5));
+      assertEquals(3, rbacGraph.withoutPermissions(List.of(6L)).size());
+      assertSame(rbacGraph, rbacGraph.withoutRoles(List.of(9L)));
+    }
+
+    @Test
+    @DisplayName("Should equal graph with same edges")
+    void shouldEqualGraphWithSameEdges() {
+      RbacGraph rebuilt =
+          RbacGraph.EMPTY
+              .withEdge(5, 5, 5)
+              .withEdge(1, 1, 2)
+              .withEdge(5, 6, 6)
+              .withEdge(1, 1, 1);
+
+      assertEquals(rbacGraph, rebuilt);
+      assertEquals(rbacGraph.hashCode(), rebuilt.hashCode());
+      assertNotEquals(rbacGraph, rebuilt.withoutEdge(1, 1, 1));
+    }
+  }
+}
@@ -0,0 +1,188 @@
+package unit.auth.service.app.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import auth.service.app.util.RefreshAheadCacheManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+@Tag("unit")
+@DisplayName("RefreshAheadCacheManager Unit Tests")
+class RefreshAheadCacheManagerTest {
+
+  private static final String CACHE_NAME = "redirectUrls";
+  private static final String KEY = "key";
+
+  private final MutableClock clock = new MutableClock();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AtomicInteger loads = new AtomicInteger();
+
+  // ttl 60s, reloaded from 50s, served stale up to 120s, refreshes run on the calling thread
+  private Cache getCache(final Function<Object, Object> loader, final int maxSize) {
+    return new RefreshAheadCacheManager(
+            Map.of(
+                CACHE_NAME,
+                new RefreshAheadCacheManager.CacheSpec(
+                    Duration.ofSeconds(60),
+                    Duration.ofSeconds(10),
+                    Duration.ofSeconds(60),
+                    maxSize,
+                    loader)),
+            meterRegistry,
+            clock,
+            Runnable::run)
+        .getCache(CACHE_NAME);
+  }
+
+  private Object load(final Object key) {
+    return key + "-" + loads.incrementAndGet();
+  }
+
+  @Test
+  @DisplayName("Should load a missing value once and serve it from cache after")
+  void shouldLoadOnce() {
+    final Cache cache = getCache(this::load, 10);
+
+    assertEquals("key-1", cache.get(KEY, () -> load(KEY)));
+    assertEquals("key-1", cache.get(KEY, () -> load(KEY)));
+    assertEquals(1, loads.get());
+    assertEquals(1, meterRegistry.get("authsvc.cache.gets").tag("result", "hit").counter().count());
+    assertEquals(
+        0.5, meterRegistry.get("authsvc.cache.hit.ratio").tag("cache", CACHE_NAME).gauge().value());
+    assertEquals(
+        1, meterRegistry.get("authsvc.cache.load").tag("result", "success").timer().count());
+  }
+
+  @Test
+  @DisplayName("Should reload a value before it expires and keep serving the current one")
+  void shouldRefreshAhead() {
+    final Cache cache = getCache(this::load, 10);
+    cache.put(KEY, "key-0");
+
+    clock.advance(Duration.ofSeconds(55));
+    assertEquals("key-0", cache.get(KEY, () -> load(KEY)));
+    assertEquals("key-1", cache.get(KEY).get());
+
+    clock.advance(Duration.ofSeconds(30));
+    assertEquals("key-1", cache.get(KEY).get());
+  }
+
+  @Test
+  @DisplayName("Should serve a stale value while reloads fail and drop it past max stale")
+  void shouldServeStaleWhileReloadFails() {
+    final Cache cache =
+        getCache(
+            key -> {
+              throw new IllegalStateException("env service down");
+            },
+            10);
+    cache.put(KEY, "key-0");
+
+    clock.advance(Duration.ofSeconds(90));
+    assertEquals("key-0", cache.get(KEY).get());
+    assertEquals(
+        1, meterRegistry.get("authsvc.cache.gets").tag("result", "stale").counter().count());
+    assertEquals(
+        1, meterRegistry.get("authsvc.cache.load").tag("result", "failure").timer().count());
+
+    clock.advance(Duration.ofSeconds(30));
+    assertNull(cache.get(KEY));
+  }
+
+  @Test
+  @DisplayName("Should reload values not read when due")
+  void shouldRefreshDue() {
+    final RefreshAheadCacheManager cacheManager =
+        new RefreshAheadCacheManager(
+            Map.of(
+                CACHE_NAME,
+                new RefreshAheadCacheManager.CacheSpec(
+                    Duration.ofSeconds(60),
+                    Duration.ofSeconds(10),
+                    Duration.ofSeconds(60),
+                    10,
+                    this::load)),
+            meterRegistry,
+            clock,
+            Runnable::run);
+    final Cache cache = cacheManager.getCache(CACHE_NAME);
+    cache.put(KEY, "key-0");
+
+    cacheManager.refreshDue();
+    assertEquals(0, loads.get());
+
+    clock.advance(Duration.ofSeconds(50));
+    cacheManager.refreshDue();
+    assertEquals(1, loads.get());
+    clock.advance(Duration.ofSeconds(30));
+    assertEquals("key-1", cache.get(KEY).get());
+  }
+
+  @Test
+  @DisplayName("Should drop the value loaded first when over max size")
+  void shouldEvictOldest() {
+    final Cache cache = getCache(this::load, 2);
+    cache.put("one", 1);
+    clock.advance(Duration.ofSeconds(1));
+    cache.put("two", 2);
+    clock.advance(Duration.ofSeconds(1));
+    cache.put("three", 3);
+
+    assertNull(cache.get("one"));
+    assertEquals(2, cache.get("two").get());
+    assertEquals(3, cache.get("three").get());
+  }
+
+  @Test
+  @DisplayName("Should expire values at ttl without a loader")
+  void shouldExpireWithoutLoader() {
+    final Cache cache = getCache(null, 10);
+    cache.put(KEY, null);
+
+    clock.advance(Duration.ofSeconds(59));
+    assertNotNull(cache.get(KEY));
+    assertNull(cache.get(KEY).get());
+
+    clock.advance(Duration.ofSeconds(1));
+    assertNull(cache.get(KEY));
+  }
+
+  private static final class MutableClock extends Clock {
+    private long millis = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+
+    void advance(final Duration duration) {
+      millis += duration.toMillis();
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(final ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public long millis() {
+      return millis;
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.ofEpochMilli(millis);
+    }
+  }
+}
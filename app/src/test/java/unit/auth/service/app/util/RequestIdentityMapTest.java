@@ -0,0 +1,115 @@
+package unit.auth.service.app.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import auth.service.app.exception.ElementNotFoundException;
+import auth.service.app.model.entity.PlatformEntity;
+import auth.service.app.model.entity.RoleEntity;
+import auth.service.app.util.RequestIdentityMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+@Tag("unit")
+@DisplayName("RequestIdentityMap Unit Tests")
+class RequestIdentityMapTest {
+
+  private final MockHttpServletRequest request = new MockHttpServletRequest();
+  private final AtomicInteger reads = new AtomicInteger();
+
+  @AfterEach
+  void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  private static PlatformEntity getPlatformEntity(final Long id) {
+    final PlatformEntity platformEntity = new PlatformEntity();
+    platformEntity.setId(id);
+    return platformEntity;
+  }
+
+  private Supplier<PlatformEntity> reader(final Long id) {
+    return () -> {
+      reads.incrementAndGet();
+      return getPlatformEntity(id);
+    };
+  }
+
+  @Test
+  @DisplayName("Should read an entity once per request and count the reads avoided")
+  void shouldReadOncePerRequest() {
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+    final PlatformEntity platformEntity =
+        RequestIdentityMap.read(PlatformEntity.class, 1L, reader(1L));
+    assertSame(platformEntity, RequestIdentityMap.read(PlatformEntity.class, 1L, reader(1L)));
+    assertSame(platformEntity, RequestIdentityMap.read(PlatformEntity.class, 1L, reader(1L)));
+    RequestIdentityMap.read(PlatformEntity.class, 2L, reader(2L));
+
+    assertEquals(2, reads.get());
+    assertEquals(2, RequestIdentityMap.getReadsAvoided(request));
+  }
+
+  @Test
+  @DisplayName("Should read an entity each time outside of request")
+  void shouldReadOutsideOfRequest() {
+    RequestIdentityMap.read(PlatformEntity.class, 1L, reader(1L));
+    RequestIdentityMap.read(PlatformEntity.class, 1L, reader(1L));
+
+    assertEquals(2, reads.get());
+    assertEquals(0, RequestIdentityMap.getReadsAvoided(request));
+  }
+
+  @Test
+  @DisplayName("Should not keep an entity not found")
+  void shouldNotKeepNotFound() {
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    final Supplier<PlatformEntity> notFoundReader =
+        () -> {
+          reads.incrementAndGet();
+          throw new ElementNotFoundException("Platform", "1");
+        };
+
+    assertThrows(
+        ElementNotFoundException.class,
+        () -> RequestIdentityMap.read(PlatformEntity.class, 1L, notFoundReader));
+    assertThrows(
+        ElementNotFoundException.class,
+        () -> RequestIdentityMap.read(PlatformEntity.class, 1L, notFoundReader));
+    assertEquals(2, reads.get());
+  }
+
+  @Test
+  @DisplayName("Should serve an entity put by id and evict it by every key")
+  void shouldEvictEveryKey() {
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    final RoleEntity roleEntity = new RoleEntity();
+    roleEntity.setId(1L);
+    roleEntity.setRoleName("GUEST");
+    final Supplier<RoleEntity> roleReader =
+        () -> {
+          reads.incrementAndGet();
+          return roleEntity;
+        };
+
+    RequestIdentityMap.read(RoleEntity.class, "GUEST", roleReader);
+    RequestIdentityMap.put(roleEntity);
+    assertSame(roleEntity, RequestIdentityMap.read(RoleEntity.class, 1L, roleReader));
+    assertEquals(1, reads.get());
+
+    RequestIdentityMap.evict(PlatformEntity.class, 1L);
+    RequestIdentityMap.read(RoleEntity.class, 1L, roleReader);
+    assertEquals(1, reads.get());
+
+    RequestIdentityMap.evict(RoleEntity.class, 1L);
+    RequestIdentityMap.read(RoleEntity.class, 1L, roleReader);
+    RequestIdentityMap.read(RoleEntity.class, "GUEST", roleReader);
+    assertEquals(3, reads.get());
+  }
+}
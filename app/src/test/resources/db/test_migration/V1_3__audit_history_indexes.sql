@@ -0,0 +1,11 @@
+-- audit history is read by entity newest first with keyset paging on (created_at, id)
+-- the single column entity indexes are a prefix of these, so replaced
+CREATE INDEX idx_audit_platform_platform_id_created_at ON audit_platform (platform_id, created_at DESC, id DESC);
+CREATE INDEX idx_audit_profile_profile_id_created_at ON audit_profile (profile_id, created_at DESC, id DESC);
+CREATE INDEX idx_audit_role_role_id_created_at ON audit_role (role_id, created_at DESC, id DESC);
+CREATE INDEX idx_audit_permission_permission_id_created_at ON audit_permission (permission_id, created_at DESC, id DESC);
+
+DROP INDEX idx_audit_platform_platform_id;
+DROP INDEX idx_audit_profile_profile_id;
+DROP INDEX idx_audit_role_role_id;
+DROP INDEX idx_audit_permission_permission_id;
@@ -0,0 +1,9 @@
+-- permission catalogs compact tokens are encoded against, by content version, so a token issued
+-- on one instance decodes on every other, also after the catalog changed
+CREATE TABLE permission_catalog
+(
+    version      VARCHAR(100) PRIMARY KEY NOT NULL,
+    platform_id  BIGINT                   NOT NULL,
+    permissions  TEXT                     NOT NULL,
+    created_date TIMESTAMP                NOT NULL DEFAULT CURRENT_TIMESTAMP
+);